@@ -0,0 +1,78 @@
+package Benchmarks;
+
+import CalendarManagement.Calendar;
+import CalendarManagement.WorkingTimeCalculator;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Проверки календаря: рабочий ли день (скомпилированный календарь и прежний поиск по списку праздников),
+// ближайшее рабочее время и дата окончания работы. Календарь - holidays праздников на years лет
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalendarBenchmarks {
+
+    private static final int SAMPLES = 4096; // Степень двойки: индекс берется по маске
+    private static final Duration WORK = Duration.ofHours(48);
+
+    @Param({"0", "600", "3000"})
+    public int holidays;
+
+    @Param({"1", "10"})
+    public int years;
+
+    private Calendar calendar;
+    private List<LocalDate> holidayList;
+    private int[] weekends;
+    private LocalDate[] dates;
+    private LocalDateTime[] times;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        calendar = Workloads.calendar(holidays, years);
+        holidayList = calendar.getHolidays();
+        weekends = calendar.getWeekends();
+        Random random = new Random(Workloads.SEED);
+        dates = new LocalDate[SAMPLES];
+        times = new LocalDateTime[SAMPLES];
+        int minutes = years * 365 * 24 * 60 - 60 * 24 * 30;
+        for (int i = 0; i < SAMPLES; i++) {
+            times[i] = Workloads.PROJECT_START.plusMinutes(random.nextInt(minutes));
+            dates[i] = times[i].toLocalDate();
+        }
+    }
+
+    @Benchmark
+    public boolean isWorkDay() {
+        return calendar.isWorkDay(dates[next++ & (SAMPLES - 1)]);
+    }
+
+    // Прежняя реализация Calendar.isWorkDay: поиск по списку праздников и массиву выходных
+    @Benchmark
+    public boolean isWorkDayByList() {
+        LocalDate date = dates[next++ & (SAMPLES - 1)];
+        return !holidayList.contains(date)
+                && Arrays.stream(weekends).noneMatch(day -> day == date.getDayOfWeek().getValue());
+    }
+
+    @Benchmark
+    public LocalDateTime getNextWorkingTime() {
+        return calendar.getNextWorkingTime(times[next++ & (SAMPLES - 1)]);
+    }
+
+    @Benchmark
+    public LocalDateTime addWorkingTime() {
+        return WorkingTimeCalculator.addWorkingTime(times[next++ & (SAMPLES - 1)], WORK, calendar, calendar);
+    }
+}
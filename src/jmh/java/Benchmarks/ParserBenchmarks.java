@@ -0,0 +1,50 @@
+package Benchmarks;
+
+import ProjectManagement.Project;
+import ProjectManagement.ProjectJsonLoader;
+import ProjectManagement.ProjectJsonParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// Загрузка проекта из JSON: разбор в промежуточные объекты и потоковая загрузка в модель
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParserBenchmarks {
+
+    @Param({"1000", "10000"})
+    public int taskCount;
+
+    @Param({"CHAIN", "RANDOM"})
+    public Workloads.GraphShape shape;
+
+    private Path file;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("gantt-benchmark", ".json");
+        Workloads.writeJson(file, taskCount, shape, 8);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public ProjectJsonParser.ProjectJson parseAndAssignIds() throws IOException {
+        return ProjectJsonParser.parseAndAssignIds(file.toString());
+    }
+
+    @Benchmark
+    public Project loadProject() throws IOException {
+        return ProjectJsonLoader.load(file, "Benchmark");
+    }
+}
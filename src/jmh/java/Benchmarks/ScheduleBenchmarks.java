@@ -0,0 +1,64 @@
+package Benchmarks;
+
+import ProjectManagement.Project;
+import TaskManagement.Task;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Порядок задач и расчет расписания проекта
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScheduleBenchmarks {
+
+    @Param({"1000", "10000"})
+    public int taskCount;
+
+    @Param({"CHAIN", "LAYERED", "RANDOM"})
+    public Workloads.GraphShape shape;
+
+    @Param({"8"})
+    public int durationHours;
+
+    @Param({"0.05"})
+    public double holidayDensity;
+
+    private Project project;
+    private List<Task> tasks;
+    private Random random;
+
+    @Setup
+    public void setUp() {
+        project = Workloads.project(taskCount, shape, durationHours, Workloads.calendar(holidayDensity));
+        project.calculateSchedule();
+        tasks = project.getTasks();
+        random = new Random(Workloads.SEED);
+    }
+
+    @Benchmark
+    public List<Task> getSortedTasks() {
+        return project.getSortedTasks();
+    }
+
+    @Benchmark
+    public Project calculateSchedule() {
+        project.calculateSchedule();
+        return project;
+    }
+
+    // Изменение длительности одной случайной задачи и перерасчет ее нисходящего конуса
+    @Benchmark
+    public Project recalculateProjectSchedule() {
+        Task task = tasks.get(random.nextInt(tasks.size()));
+        task.setEstimatedDuration(Duration.ofHours(1 + random.nextInt(durationHours)));
+        project.recalculateProjectSchedule();
+        return project;
+    }
+}
@@ -0,0 +1,53 @@
+package Benchmarks;
+
+import CalendarManagement.Calendar;
+import TaskManagement.Task;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Расчет окончания задачи по календарям проекта и исполнителя
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskBenchmarks {
+
+    private static final int SAMPLES = 1024;
+
+    @Param({"1", "40", "2000"})
+    public int durationHours;
+
+    @Param({"0.0", "0.05"})
+    public double holidayDensity;
+
+    private Task task;
+    private Calendar projectCalendar;
+    private Calendar resourceCalendar;
+    private LocalDateTime[] starts;
+    private Duration duration;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        projectCalendar = Workloads.calendar(holidayDensity);
+        resourceCalendar = new Calendar(10, 18, projectCalendar.getHolidays(), new int[]{6, 7});
+        task = new Task("Benchmark", Duration.ofHours(durationHours));
+        duration = Duration.ofHours(durationHours);
+        Random random = new Random(Workloads.SEED);
+        starts = new LocalDateTime[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            starts[i] = Workloads.PROJECT_START.plusMinutes(random.nextInt(365 * 24 * 60));
+        }
+    }
+
+    @Benchmark
+    public LocalDateTime calculateEndDate() {
+        return task.calculateEndDate(starts[next++ & (SAMPLES - 1)], duration, projectCalendar, resourceCalendar);
+    }
+}
@@ -0,0 +1,139 @@
+package Benchmarks;
+
+import CalendarManagement.Calendar;
+import ProjectManagement.Project;
+import ResourceManagement.Resource;
+import TaskManagement.Task;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Генерация нагрузки для замеров: календари с заданной долей праздников и проекты заданной формы.
+// Генераторы детерминированы (фиксированный seed), поэтому замеры разных сборок сравнимы.
+public final class Workloads {
+
+    static final LocalDateTime PROJECT_START = LocalDateTime.of(2025, 1, 6, 9, 0);
+    static final int CALENDAR_YEARS = 10;
+    static final long SEED = 42;
+
+    // Форма графа зависимостей
+    public enum GraphShape {
+        CHAIN,   // Одна цепочка: каждая задача зависит от предыдущей
+        LAYERED, // Слои по 32 задачи, каждая зависит от двух задач предыдущего слоя
+        RANDOM   // Две случайные зависимости от любых более ранних задач
+    }
+
+    private Workloads() {
+    }
+
+    // Календарь 9-17 с выходными в субботу и воскресенье; holidayDensity - доля праздников среди дней
+    static Calendar calendar(double holidayDensity) {
+        Random random = new Random(SEED);
+        LocalDate firstDay = PROJECT_START.toLocalDate();
+        List<LocalDate> holidays = new ArrayList<>();
+        for (int day = 0; day < CALENDAR_YEARS * 365; day++) {
+            if (random.nextDouble() < holidayDensity) holidays.add(firstDay.plusDays(day));
+        }
+        return new Calendar(9, 17, holidays, new int[]{6, 7});
+    }
+
+    // Календарь 9-17 с выходными в субботу и воскресенье и holidayCount праздниками, случайно
+    // разбросанными по years годам от начала проектов
+    static Calendar calendar(int holidayCount, int years) {
+        Random random = new Random(SEED);
+        LocalDate firstDay = PROJECT_START.toLocalDate();
+        List<LocalDate> holidays = new ArrayList<>(holidayCount);
+        for (int i = 0; i < holidayCount; i++) {
+            holidays.add(firstDay.plusDays(random.nextInt(years * 365)));
+        }
+        return new Calendar(9, 17, holidays, new int[]{6, 7});
+    }
+
+    // Число исполнителей для проекта из taskCount задач
+    static int resourceCount(int taskCount) {
+        return Math.max(1, taskCount / 50);
+    }
+
+    // Номера зависимостей задачи i (только более ранние задачи, без повторов)
+    static int[] dependencies(int i, GraphShape shape, Random random) {
+        if (i == 0) return new int[0];
+        switch (shape) {
+            case CHAIN:
+                return new int[]{i - 1};
+            case LAYERED: {
+                int layerStart = i / 32 * 32;
+                if (layerStart == 0) return new int[0];
+                int first = layerStart - 32 + random.nextInt(32);
+                int second = layerStart - 32 + random.nextInt(32);
+                return first == second ? new int[]{first} : new int[]{first, second};
+            }
+            default: {
+                int first = random.nextInt(i);
+                int second = random.nextInt(i);
+                return first == second ? new int[]{first} : new int[]{first, second};
+            }
+        }
+    }
+
+    // Проект с задачами от 1 до durationHours часов, распределенными по исполнителям
+    static Project project(int taskCount, GraphShape shape, int durationHours, Calendar calendar) {
+        Random random = new Random(SEED);
+        Project project = new Project("Benchmark", calendar);
+        project.setEstimatedStartDate(PROJECT_START);
+
+        List<Resource> resources = new ArrayList<>();
+        for (int r = 0; r < resourceCount(taskCount); r++) resources.add(new Resource("Resource " + r, calendar));
+        project.addResources(resources);
+
+        List<Task> tasks = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            Task task = new Task("Task " + i, Duration.ofHours(1 + random.nextInt(durationHours)));
+            task.setId((long) i + 1);
+            task.setAssignedResource(resources.get(random.nextInt(resources.size())));
+            for (int dependency : dependencies(i, shape, random)) task.addDependentTask(tasks.get(dependency));
+            tasks.add(task);
+        }
+        project.addTasks(tasks);
+        return project;
+    }
+
+    // Тот же проект в формате JSON (зависимости - ссылки по id)
+    static void writeJson(Path path, int taskCount, GraphShape shape, int durationHours) throws IOException {
+        Random random = new Random(SEED);
+        int resourceCount = resourceCount(taskCount);
+        try (BufferedWriter out = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            out.write("{\"maxTaskId\":" + taskCount + ",\"maxResourceId\":" + resourceCount
+                    + ",\"startDate\":\"" + PROJECT_START + "\"");
+            out.write(",\"calendar\":{\"workStartHour\":9,\"workEndHour\":17,\"holidays\":[],\"weekends\":[6,7]}");
+            out.write(",\"resources\":[");
+            for (int r = 0; r < resourceCount; r++) {
+                if (r > 0) out.write(',');
+                out.write("{\"id\":" + (r + 1) + ",\"name\":\"Resource " + r + "\"}");
+            }
+            out.write("],\"tasks\":[");
+            for (int i = 0; i < taskCount; i++) {
+                if (i > 0) out.write(',');
+                int hours = 1 + random.nextInt(durationHours);
+                int resource = random.nextInt(resourceCount);
+                out.write("{\"id\":" + (i + 1) + ",\"name\":\"Task " + i + "\",\"durationHours\":" + hours
+                        + ",\"priority\":50,\"assignedResourceName\":\"Resource " + resource + "\",\"dependencies\":[");
+                int[] dependencies = dependencies(i, shape, random);
+                for (int d = 0; d < dependencies.length; d++) {
+                    if (d > 0) out.write(',');
+                    out.write("{\"id\":" + (dependencies[d] + 1) + "}");
+                }
+                out.write("]}");
+            }
+            out.write("]}");
+        }
+    }
+}
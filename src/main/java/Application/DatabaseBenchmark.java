@@ -0,0 +1,89 @@
+package Application;
+
+import CalendarManagement.Calendar;
+import ProjectManagement.Project;
+import ProjectManagement.ProjectRepoitory;
+import ResourceManagement.Resource;
+import TaskManagement.Task;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+
+// Замер сохранения и загрузки проекта в PostgreSQL.
+// Аргумент - число задач (по умолчанию 100 000). Подключение берется из application.properties,
+// его можно переопределить свойствами -Ddb.url, -Ddb.username, -Ddb.password.
+public class DatabaseBenchmark {
+
+    private static final int RESOURCES = 100;
+
+    public static void main(String[] args) throws IOException {
+        int taskCount = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+
+        Properties properties = new Properties();
+        try (InputStream in = DatabaseBenchmark.class.getResourceAsStream("/application.properties")) {
+            if (in != null) properties.load(in);
+        }
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                System.getProperty("db.url", properties.getProperty("spring.datasource.url")),
+                System.getProperty("db.username", properties.getProperty("spring.datasource.username")),
+                System.getProperty("db.password", properties.getProperty("spring.datasource.password")));
+        ProjectRepoitory repository = new ProjectRepoitory(new JdbcTemplate(dataSource));
+        repository.createSchema();
+
+        Project project = generateProject(taskCount);
+        project.calculateSchedule();
+        System.out.println("Проект: " + taskCount + " задач, " + RESOURCES + " исполнителей");
+
+        long start = System.nanoTime();
+        long projectId = repository.saveProject(project);
+        System.out.printf("Сохранение: %.1f с (id %d)%n", (System.nanoTime() - start) / 1e9, projectId);
+
+        start = System.nanoTime();
+        Project loaded = repository.loadProject(projectId);
+        System.out.printf("Загрузка: %.1f с%n", (System.nanoTime() - start) / 1e9);
+
+        if (loaded.getTasks().size() != project.getTasks().size()
+                || !loaded.calculateProjectEstimatedDuration().equals(project.calculateProjectEstimatedDuration())) {
+            throw new IllegalStateException("Загруженный проект не совпадает с сохраненным");
+        }
+        repository.deleteProject(projectId);
+        System.out.println("Проверка пройдена, проект удален");
+    }
+
+    // Случайный проект: у каждой задачи одна зависимость среди предыдущих
+    private static Project generateProject(int taskCount) {
+        Random random = new Random(42);
+        Calendar projectCalendar = new Calendar(9, 17, List.of(LocalDate.of(2024, 12, 25)), new int[]{6, 7});
+        Project project = new Project("Database Benchmark", projectCalendar);
+        project.setEstimatedStartDate(LocalDateTime.of(2024, 1, 1, 9, 0));
+
+        List<Resource> resources = new ArrayList<>();
+        for (int r = 0; r < RESOURCES; r++) {
+            Resource resource = new Resource("Resource " + r, new Calendar(8, 16, List.of(), new int[]{6, 7}));
+            resource.setId((long) r + 1);
+            resources.add(resource);
+        }
+        project.addResources(resources);
+
+        List<Task> tasks = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            Task task = new Task("Task " + i, Duration.ofMinutes(30 + random.nextInt(500)));
+            task.setId((long) i + 1);
+            task.setPriority(1 + random.nextInt(99));
+            task.setAssignedResource(resources.get(random.nextInt(RESOURCES)));
+            if (i > 0) task.addDependentTask(tasks.get(random.nextInt(i)));
+            tasks.add(task);
+        }
+        project.addTasks(tasks);
+        return project;
+    }
+}
@@ -1,6 +1,7 @@
 package Application;
 
 import CalendarManagement.Calendar;
+import Monitoring.GanttMetrics;
 import ProjectManagement.Project;
 import ResourceManagement.Resource;
 import TaskManagement.Task;
@@ -150,6 +151,9 @@ public class GanttChartApplication {
 
 		//System.out.println("\n\nProject Factual Duration: " + schoolProject.calculateProjectFactualDuration());
 
+		// Показатели проекта появятся в метриках Actuator после запуска приложения
+		GanttMetrics.monitorProject(schoolProject);
+
 		SpringApplication.run(GanttChartApplication.class, args);
 	}
 
@@ -0,0 +1,19 @@
+package Application;
+
+import Monitoring.GanttMetrics;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Подключение метрик планировщика к реестру Actuator.
+// Выключаются свойством gantt.metrics.enabled=false - тогда замеры в коде ничего не стоят
+@Configuration
+@ConditionalOnProperty(name = "gantt.metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class MetricsConfiguration {
+
+    @Bean
+    public MeterBinder ganttMetrics() {
+        return GanttMetrics::enable;
+    }
+}
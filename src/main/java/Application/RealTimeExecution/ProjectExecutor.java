@@ -1,4 +1,302 @@
 package Application.RealTimeExecution;
 
+import Monitoring.GanttMetrics;
+import ProjectManagement.Project;
+import ResourceManagement.Resource;
+import TaskManagement.Task;
+import TaskManagement.TaskStatus;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+// Выполнение задач проекта в реальном времени.
+// Каждая готовая задача выполняется в своем виртуальном потоке; у каждой задачи есть атомарный счетчик
+// незавершенных зависимостей, и завершившаяся задача сама запускает последователей, у которых он дошел до нуля.
+// Задачи одного исполнителя выполняются по одной: готовые ждут в очереди исполнителя
+// (сначала большее число приоритета, затем раньшая в топологическом порядке).
+// Если задача не завершилась (отменена, не смогла начаться или ее работа упала с исключением),
+// ее последователи не запускаются.
+// Отмена запуска (cancel) не отменяет задачи проекта: прерванная задача остается начатой
+// (или приостановленной), и следующий запуск продолжит ее работу.
+// Часы выполнения (например, VirtualClock) назначаются задачам при начале, и их даты отмечаются по этим часам.
+@Slf4j
 public class ProjectExecutor {
+
+    // Работа над задачей (по умолчанию - ожидание ее оценочной длительности)
+    @FunctionalInterface
+    public interface TaskWork {
+        void perform(Task task) throws InterruptedException;
+    }
+
+    private static final long PAUSE_CHECK_MILLIS = 10;
+
+    private final Project project;
+    private final TaskWork work;
+    private final Clock clock; // null - часы задач не меняются
+
+    // Состояние текущего запуска
+    private List<Task> tasks;
+    private int[] successorOffsets;
+    private int[] successorTargets;
+    private AtomicIntegerArray remaining;
+    private AtomicIntegerArray blocked;
+    private ResourceLane[] lanes;
+    private int[] taskLanes;
+    private ExecutorService threads;
+    private CountDownLatch finished;
+    private final AtomicInteger completedCount = new AtomicInteger();
+    private final AtomicInteger skippedCount = new AtomicInteger();
+    private final AtomicInteger queuedCount = new AtomicInteger(); // Готовые задачи в очередях исполнителей
+    private volatile boolean cancelled;
+
+    // Очередь готовых задач одного исполнителя
+    private final class ResourceLane {
+        private final PriorityQueue<Integer> ready = new PriorityQueue<>(
+                Comparator.<Integer>comparingInt(i -> tasks.get(i).getPriority()).reversed().thenComparingInt(i -> i));
+        private boolean busy;
+
+        synchronized void offer(int i) {
+            if (busy) {
+                ready.add(i);
+                queuedCount.incrementAndGet();
+            } else {
+                busy = true;
+                submit(i);
+            }
+        }
+
+        synchronized void next() {
+            Integer i = ready.poll();
+            if (i != null) {
+                queuedCount.decrementAndGet();
+                submit(i);
+            } else {
+                busy = false;
+            }
+        }
+    }
+
+    public ProjectExecutor(Project project) {
+        this(project, task -> Thread.sleep(task.getEstimatedDuration().toMillis()));
+    }
+
+    public ProjectExecutor(Project project, TaskWork work) {
+        this(project, work, null);
+    }
+
+    public ProjectExecutor(Project project, Clock clock) {
+        this(project, task -> Thread.sleep(task.getEstimatedDuration().toMillis()), clock);
+    }
+
+    public ProjectExecutor(Project project, TaskWork work, Clock clock) {
+        this.project = project;
+        this.work = work;
+        this.clock = clock;
+    }
+
+    // Выполнение всех задач проекта с ожиданием окончания
+    public void execute() throws InterruptedException {
+        start();
+        awaitCompletion();
+    }
+
+    // Запуск выполнения (без ожидания)
+    public synchronized void start() {
+        if (threads != null) {
+            throw new IllegalStateException("Project execution has already been started.");
+        }
+        tasks = new ArrayList<>(project.getSortedTasks()); // Копия: порядок проекта может измениться во время выполнения
+        int size = tasks.size();
+        Map<Task, Integer> positions = new IdentityHashMap<>(size * 2);
+        for (int i = 0; i < size; i++) positions.put(tasks.get(i), i);
+
+        // Последователи (CSR) и счетчики зависимостей внутри проекта
+        int[] dependencyCounts = new int[size];
+        successorOffsets = new int[size + 1];
+        for (int i = 0; i < size; i++) {
+            for (Task dependency : tasks.get(i).getDependencies()) {
+                Integer position = positions.get(dependency);
+                if (position != null) {
+                    dependencyCounts[i]++;
+                    successorOffsets[position + 1]++;
+                }
+            }
+        }
+        for (int i = 0; i < size; i++) successorOffsets[i + 1] += successorOffsets[i];
+        successorTargets = new int[successorOffsets[size]];
+        int[] fill = Arrays.copyOf(successorOffsets, size);
+        for (int i = 0; i < size; i++) {
+            for (Task dependency : tasks.get(i).getDependencies()) {
+                Integer position = positions.get(dependency);
+                if (position != null) successorTargets[fill[position]++] = i;
+            }
+        }
+        remaining = new AtomicIntegerArray(dependencyCounts);
+        blocked = new AtomicIntegerArray(size);
+
+        // Очереди исполнителей
+        Map<Resource, Integer> laneIndexes = new IdentityHashMap<>();
+        List<ResourceLane> laneList = new ArrayList<>();
+        taskLanes = new int[size];
+        for (int i = 0; i < size; i++) {
+            Resource resource = tasks.get(i).getAssignedResource();
+            if (resource == null) {
+                taskLanes[i] = -1;
+                continue;
+            }
+            Integer lane = laneIndexes.get(resource);
+            if (lane == null) {
+                lane = laneList.size();
+                laneIndexes.put(resource, lane);
+                laneList.add(new ResourceLane());
+            }
+            taskLanes[i] = lane;
+        }
+        lanes = laneList.toArray(new ResourceLane[0]);
+
+        finished = new CountDownLatch(size);
+        threads = Executors.newVirtualThreadPerTaskExecutor();
+        GanttMetrics.monitorExecutor(project.getName(), this, ProjectExecutor::getQueuedCount);
+        ArrayDeque<Integer> done = new ArrayDeque<>();
+        for (int i = 0; i < size; i++) {
+            if (dependencyCounts[i] == 0) release(i, done);
+        }
+        drain(done);
+    }
+
+    // Ожидание окончания (или отмены) выполнения
+    public void awaitCompletion() throws InterruptedException {
+        finished.await();
+        threads.shutdown();
+        threads.awaitTermination(1, TimeUnit.MINUTES);
+    }
+
+    public boolean awaitCompletion(long timeout, TimeUnit unit) throws InterruptedException {
+        if (!finished.await(timeout, unit)) return false;
+        threads.shutdown();
+        return true;
+    }
+
+    // Отмена запуска: новые задачи не начинаются, выполняемые прерываются (статусы задач не меняются)
+    public void cancel() {
+        cancelled = true;
+        if (threads == null) return;
+        threads.shutdownNow();
+        try {
+            threads.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        while (finished.getCount() > 0) finished.countDown();
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    // Число выполненных задач и задач, пропущенных из-за незавершенных зависимостей
+    public int getCompletedCount() {
+        return completedCount.get();
+    }
+
+    public int getSkippedCount() {
+        return skippedCount.get();
+    }
+
+    // Число готовых задач, ожидающих освобождения исполнителя
+    public int getQueuedCount() {
+        return queuedCount.get();
+    }
+
+    // Все зависимости задачи разрешены: выполнить, поставить в очередь исполнителя
+    // или сразу закончить (задача пропускается или уже выполнена) - тогда она попадает в done
+    private void release(int i, ArrayDeque<Integer> done) {
+        Task task = tasks.get(i);
+        if (blocked.get(i) != 0 || task.getStatus() == TaskStatus.CANCELLED) {
+            skippedCount.incrementAndGet();
+            done.push(~i);
+        } else if (task.getStatus() == TaskStatus.COMPLETED) {
+            completedCount.incrementAndGet();
+            done.push(i);
+        } else if (taskLanes[i] >= 0) {
+            lanes[taskLanes[i]].offer(i);
+        } else {
+            submit(i);
+        }
+    }
+
+    private void submit(int i) {
+        if (cancelled) return;
+        try {
+            threads.execute(() -> run(i));
+        } catch (RejectedExecutionException e) {
+            // Выполнение отменено
+        }
+    }
+
+    // Выполнение задачи в виртуальном потоке
+    private void run(int i) {
+        Task task = tasks.get(i);
+        boolean completed = false;
+        try {
+            if (cancelled) return;
+            // Задача, начатая прерванным запуском, продолжается без повторного начала
+            if (clock != null) task.setClock(clock);
+            if (task.getStatus() == TaskStatus.NOT_STARTED) task.start();
+            if (task.getStatus() == TaskStatus.IN_PROGRESS) {
+                work.perform(task);
+                // Приостановленная задача ждет возобновления
+                while (task.getStatus() == TaskStatus.PAUSED) {
+                    Thread.sleep(PAUSE_CHECK_MILLIS);
+                }
+                if (task.getStatus() == TaskStatus.IN_PROGRESS) task.complete();
+            }
+            completed = task.getStatus() == TaskStatus.COMPLETED;
+        } catch (InterruptedException e) {
+            // Запуск отменен: задача остается в текущем статусе
+            Thread.currentThread().interrupt();
+            return;
+        } catch (RuntimeException e) {
+            // Задача считается невыполненной, иначе ее последователи и ожидание окончания зависли бы
+            log.warn("Задача {} не выполнена из-за ошибки", task.getName(), e);
+        } finally {
+            if (taskLanes[i] >= 0) lanes[taskLanes[i]].next();
+        }
+        if (completed) {
+            completedCount.incrementAndGet();
+        } else {
+            skippedCount.incrementAndGet();
+        }
+        finish(i, completed);
+    }
+
+    // Окончание задачи: последователи, у которых не осталось зависимостей, становятся готовыми.
+    // Цепочки пропускаемых задач обходятся без рекурсии (в done: i - выполнена, ~i - не выполнена)
+    private void finish(int first, boolean firstCompleted) {
+        ArrayDeque<Integer> done = new ArrayDeque<>();
+        done.push(firstCompleted ? first : ~first);
+        drain(done);
+    }
+
+    private void drain(ArrayDeque<Integer> done) {
+        while (!done.isEmpty()) {
+            int entry = done.pop();
+            boolean completed = entry >= 0;
+            int i = completed ? entry : ~entry;
+            for (int k = successorOffsets[i]; k < successorOffsets[i + 1]; k++) {
+                int successor = successorTargets[k];
+                if (!completed) blocked.set(successor, 1);
+                if (remaining.decrementAndGet(successor) == 0) release(successor, done);
+            }
+            finished.countDown();
+        }
+    }
 }
@@ -0,0 +1,244 @@
+package Application.RealTimeExecution;
+
+import CalendarManagement.Calendar;
+import CalendarManagement.WorkingTimeCalculator;
+import ProjectManagement.Project;
+import ResourceManagement.Resource;
+import TaskManagement.Task;
+import TaskManagement.TaskStatus;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+
+// Симуляция выполнения проекта по дискретным событиям.
+// Вместо ожидания модельное время сразу переводится к ближайшему окончанию задачи (очередь событий по времени),
+// поэтому годовой проект проходит за секунды. Правила те же, что у ProjectExecutor: задача готова, когда выполнены
+// все ее зависимости, задачи одного исполнителя идут по одной (сначала большее число приоритета, затем раньшая
+// в топологическом порядке), задача без исполнителя не ждет очереди, последователи невыполненной задачи
+// пропускаются. Выполняются только задачи NOT_STARTED: выполненные засчитываются, остальные пропускаются.
+// Отличие одно: задачу без исполнителя симуляция выполняет сразу, а в ProjectExecutor ее не начнет Task.start.
+// Задачи проекта не изменяются: статусы и даты симуляции хранятся в ее собственных массивах,
+// поэтому повторный запуск дает тот же результат и не порождает событий задач.
+// Длительность отсчитывается в рабочем времени календарей проекта и исполнителя.
+// Одновременные события обрабатываются вместе и в фиксированном порядке, поэтому результат детерминирован.
+// Кроме окончания проекта результат содержит модельные даты начала и окончания каждой выполненной симуляцией задачи.
+@Getter
+public class ProjectSimulator {
+
+    private final Project project;
+    private final Function<Task, Duration> durations;
+
+    // Результат последней симуляции
+    private int completedCount;
+    private int skippedCount;
+    private LocalDateTime endDate;
+    private Map<Task, LocalDateTime> startDates = Map.of(); // Только задачи, выполненные симуляцией
+    private Map<Task, LocalDateTime> endDates = Map.of();
+
+    public ProjectSimulator(Project project) {
+        this(project, Task::getEstimatedDuration);
+    }
+
+    // durations - длительность выполнения задачи (например, случайная для анализа рисков)
+    public ProjectSimulator(Project project, Function<Task, Duration> durations) {
+        this.project = project;
+        this.durations = durations;
+    }
+
+    // Симуляция с начала startDate; возвращает дату окончания последней задачи
+    public LocalDateTime simulate(LocalDateTime startDate) {
+        new Run(new VirtualClock(startDate)).execute();
+        return endDate;
+    }
+
+    // Модельные даты задачи в последней симуляции (null, если симуляция ее не выполняла)
+    public LocalDateTime getStartDate(Task task) {
+        return startDates.get(task);
+    }
+
+    public LocalDateTime getEndDate(Task task) {
+        return endDates.get(task);
+    }
+
+    // Состояние одной симуляции
+    private final class Run {
+        private final VirtualClock clock;
+        private final List<Task> tasks;
+        private final int[] successorOffsets;
+        private final int[] successorTargets;
+        private final int[] remaining;
+        private final boolean[] blocked;      // Зависимость в проекте не выполнена
+        private final boolean[] waitsOutside; // Зависимость вне проекта не выполнена
+        private final int[] taskLanes;
+        private final Resource[] laneResources;
+        private final List<PriorityQueue<Integer>> laneReady;
+        private final boolean[] laneBusy;
+        private final LocalDateTime[] starts;
+        private final LocalDateTime[] ends;
+        private final PriorityQueue<Integer> events;
+        private final ArrayDeque<Integer> done = new ArrayDeque<>(); // i - выполнена, ~i - не выполнена
+        private final ArrayDeque<Integer> dispatch = new ArrayDeque<>(); // Исполнители с новыми готовыми задачами
+
+        Run(VirtualClock clock) {
+            this.clock = clock;
+            tasks = project.getSortedTasks();
+            int size = tasks.size();
+            Map<Task, Integer> positions = new IdentityHashMap<>(size * 2);
+            for (int i = 0; i < size; i++) positions.put(tasks.get(i), i);
+
+            // Последователи (CSR) и счетчики зависимостей внутри проекта.
+            // Незавершенная зависимость вне проекта не даст задаче начаться (как Task.canStart)
+            remaining = new int[size];
+            blocked = new boolean[size];
+            waitsOutside = new boolean[size];
+            successorOffsets = new int[size + 1];
+            for (int i = 0; i < size; i++) {
+                for (Task dependency : tasks.get(i).getDependencies()) {
+                    Integer position = positions.get(dependency);
+                    if (position != null) {
+                        remaining[i]++;
+                        successorOffsets[position + 1]++;
+                    } else if (dependency.getStatus() != TaskStatus.COMPLETED) {
+                        waitsOutside[i] = true;
+                    }
+                }
+            }
+            for (int i = 0; i < size; i++) successorOffsets[i + 1] += successorOffsets[i];
+            successorTargets = new int[successorOffsets[size]];
+            int[] fill = Arrays.copyOf(successorOffsets, size);
+            for (int i = 0; i < size; i++) {
+                for (Task dependency : tasks.get(i).getDependencies()) {
+                    Integer position = positions.get(dependency);
+                    if (position != null) successorTargets[fill[position]++] = i;
+                }
+            }
+
+            // Очереди исполнителей
+            Map<Resource, Integer> laneIndexes = new IdentityHashMap<>();
+            List<Resource> resources = new ArrayList<>();
+            taskLanes = new int[size];
+            for (int i = 0; i < size; i++) {
+                Resource resource = tasks.get(i).getAssignedResource();
+                if (resource == null) {
+                    taskLanes[i] = -1;
+                    continue;
+                }
+                Integer lane = laneIndexes.get(resource);
+                if (lane == null) {
+                    lane = resources.size();
+                    laneIndexes.put(resource, lane);
+                    resources.add(resource);
+                }
+                taskLanes[i] = lane;
+            }
+            laneResources = resources.toArray(new Resource[0]);
+            laneReady = new ArrayList<>(laneResources.length);
+            Comparator<Integer> byPriority = Comparator.<Integer>comparingInt(i -> tasks.get(i).getPriority())
+                    .reversed().thenComparingInt(i -> i);
+            for (int lane = 0; lane < laneResources.length; lane++) laneReady.add(new PriorityQueue<>(byPriority));
+            laneBusy = new boolean[laneResources.length];
+
+            starts = new LocalDateTime[size];
+            ends = new LocalDateTime[size];
+            events = new PriorityQueue<>(Comparator.<Integer, LocalDateTime>comparing(i -> ends[i]).thenComparingInt(i -> i));
+        }
+
+        void execute() {
+            completedCount = 0;
+            skippedCount = 0;
+            for (int i = 0; i < tasks.size(); i++) {
+                if (remaining[i] == 0) release(i);
+            }
+            settle();
+
+            while (!events.isEmpty()) {
+                // Все задачи, заканчивающиеся в один момент, завершаются до выбора следующих
+                LocalDateTime now = ends[events.peek()];
+                clock.advanceTo(now);
+                while (!events.isEmpty() && ends[events.peek()].equals(now)) {
+                    int i = events.poll();
+                    completedCount++;
+                    if (taskLanes[i] >= 0) {
+                        laneBusy[taskLanes[i]] = false;
+                        dispatch.add(taskLanes[i]);
+                    }
+                    done.push(i);
+                }
+                settle();
+            }
+            endDate = clock.getTime();
+
+            Map<Task, LocalDateTime> taskStarts = new IdentityHashMap<>();
+            Map<Task, LocalDateTime> taskEnds = new IdentityHashMap<>();
+            for (int i = 0; i < tasks.size(); i++) {
+                if (starts[i] == null) continue;
+                taskStarts.put(tasks.get(i), starts[i]);
+                taskEnds.put(tasks.get(i), ends[i]);
+            }
+            startDates = Collections.unmodifiableMap(taskStarts);
+            endDates = Collections.unmodifiableMap(taskEnds);
+        }
+
+        // Обработка окончаний и запуск задач освободившихся исполнителей, пока есть что делать
+        private void settle() {
+            while (!done.isEmpty() || !dispatch.isEmpty()) {
+                while (!done.isEmpty()) {
+                    int entry = done.pop();
+                    boolean completed = entry >= 0;
+                    int i = completed ? entry : ~entry;
+                    for (int k = successorOffsets[i]; k < successorOffsets[i + 1]; k++) {
+                        int successor = successorTargets[k];
+                        if (!completed) blocked[successor] = true;
+                        if (--remaining[successor] == 0) release(successor);
+                    }
+                }
+                if (!dispatch.isEmpty()) {
+                    int lane = dispatch.poll();
+                    PriorityQueue<Integer> ready = laneReady.get(lane);
+                    if (!laneBusy[lane] && !ready.isEmpty()) begin(ready.poll());
+                }
+            }
+        }
+
+        // Все зависимости задачи разрешены: в очередь исполнителя, сразу в работу (без исполнителя)
+        // или сразу закончить (задача пропускается или уже выполнена)
+        private void release(int i) {
+            TaskStatus status = tasks.get(i).getStatus();
+            if (blocked[i] || status == TaskStatus.CANCELLED) {
+                skippedCount++;
+                done.push(~i);
+            } else if (status == TaskStatus.COMPLETED) {
+                completedCount++;
+                done.push(i);
+            } else if (status != TaskStatus.NOT_STARTED || waitsOutside[i]) {
+                skippedCount++;
+                done.push(~i);
+            } else if (taskLanes[i] < 0) {
+                begin(i);
+            } else {
+                laneReady.get(taskLanes[i]).add(i);
+                dispatch.add(taskLanes[i]);
+            }
+        }
+
+        // Начало задачи в текущий момент модельного времени
+        private void begin(int i) {
+            Task task = tasks.get(i);
+            int lane = taskLanes[i];
+            if (lane >= 0) laneBusy[lane] = true;
+            Duration duration = durations.apply(task);
+            if (duration == null) duration = Duration.ZERO;
+            Calendar projectCalendar = project.getProjectCalendar();
+            Calendar resourceCalendar = lane >= 0 ? laneResources[lane].getResourceCalendar() : null;
+            starts[i] = clock.getTime();
+            // Без календарей время идет подряд и с точностью до секунд
+            ends[i] = projectCalendar == null && resourceCalendar == null
+                    ? clock.getTime().plus(duration)
+                    : WorkingTimeCalculator.addWorkingTime(clock.getTime(), duration, projectCalendar, resourceCalendar);
+            events.add(i);
+        }
+    }
+}
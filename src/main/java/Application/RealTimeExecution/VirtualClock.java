@@ -0,0 +1,54 @@
+package Application.RealTimeExecution;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+// Виртуальные часы: время стоит на месте, пока его не передвинут.
+// Модельное время симуляции; могут служить часами задач (Task.setClock), чтобы даты отмечались по нему.
+// Время хранится в UTC, поэтому переходы на летнее время не искажают модельные даты.
+public class VirtualClock extends Clock {
+
+    private final ZoneId zone;
+    private volatile Instant instant;
+
+    public VirtualClock(LocalDateTime startTime) {
+        this(startTime.toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+    }
+
+    private VirtualClock(Instant instant, ZoneId zone) {
+        this.instant = instant;
+        this.zone = zone;
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    @Override
+    public Clock withZone(ZoneId newZone) {
+        return new VirtualClock(instant, newZone);
+    }
+
+    @Override
+    public Instant instant() {
+        return instant;
+    }
+
+    // Текущее модельное время
+    public LocalDateTime getTime() {
+        return LocalDateTime.ofInstant(instant, zone);
+    }
+
+    // Перевод часов вперед (назад время не идет)
+    public void advanceTo(LocalDateTime time) {
+        Instant next = time.atZone(zone).toInstant();
+        if (next.isBefore(instant)) {
+            throw new IllegalArgumentException("Virtual time cannot go back from " + getTime() + " to " + time);
+        }
+        instant = next;
+    }
+}
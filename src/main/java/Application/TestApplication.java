@@ -1,13 +1,14 @@
 package Application;
 
+import Application.RealTimeExecution.ProjectExecutor;
+import Application.RealTimeExecution.ProjectSimulator;
 import CalendarManagement.Calendar;
 import ProjectManagement.Project;
+import ProjectManagement.ProjectSnapshot;
+import ProjectManagement.TaskSnapshot;
 import ResourceManagement.Resource;
 import TaskManagement.Task;
-import TaskManagement.TaskStatus;
 
-import java.util.ArrayList;
-import java.util.concurrent.*;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -44,8 +45,8 @@ public class TestApplication {
         subTask3.assignResource(developer2);
         subTask4.assignResource(developer2);
 
-        sideTask.setPriority(90); // маленький приоритет (чтобы выполнялась после mainTask1)
-        subTask3.setPriority(30); // большой приоритет (чтобы выполнялась перед subTask4)
+        sideTask.setPriority(30); // маленький приоритет (чтобы выполнялась после mainTask1)
+        subTask3.setPriority(90); // большой приоритет (чтобы выполнялась перед subTask4)
 
         Project project = new Project("Project", commonCalendar);
         project.addTasks(List.of(mainTask1, mainTask2, subTask4, subTask3, subTask2, subTask1, sideTask));
@@ -57,6 +58,11 @@ public class TestApplication {
         executeProjectTasks(project);
          */
 
+        /*
+        System.out.println("=== ТЕСТ 3: Симуляция выполнения ===");
+        simulateProjectTasks(project);
+         */
+
         System.out.println("=== ТЕСТ 2: Динамическое управление проектом ===");
         System.out.println(project.getSortedTasks());
         Thread projectExecutionThread = new Thread(() -> executeProjectTasks(project));
@@ -67,20 +73,32 @@ public class TestApplication {
     // Выполнить задачи проекта
     public static void executeProjectTasks(Project project) {
         LocalDateTime projectStart = project.getFactualStartDate();
-        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime now = LocalDateTime.now(project.getClock());
 
         if (now.isBefore(projectStart)) {
             waitForStart(projectStart);
         }
 
-        for (Task task : project.getTasks()) {
-            executeTask(task);
+        try {
+            new ProjectExecutor(project).execute();
+        } catch (InterruptedException e) {
+            System.err.println("Выполнение проекта прервано: " + e.getMessage());
+            Thread.currentThread().interrupt();
+            return;
         }
 
         System.out.println("Все задачи проекта завершены!");
     }
 
 
+    // Симуляция выполнения задач проекта в модельном времени (без ожидания)
+    public static void simulateProjectTasks(Project project) {
+        ProjectSimulator simulator = new ProjectSimulator(project);
+        LocalDateTime endDate = simulator.simulate(project.getFactualStartDate());
+        System.out.println("Симуляция завершена: выполнено задач " + simulator.getCompletedCount()
+                + ", пропущено " + simulator.getSkippedCount() + ", окончание проекта " + endDate);
+    }
+
     // Ожидание старта
     public static void waitForStart(LocalDateTime startTime) {
         long delay = java.time.Duration.between(LocalDateTime.now(), startTime).toMillis();
@@ -94,63 +112,19 @@ public class TestApplication {
         }
     }
 
-    // Выполнить задачу
-    public static void executeTask(Task task) {
-        ExecutorService executorService = Executors.newCachedThreadPool();
-        try {
-            if (task.getStatus() == TaskStatus.COMPLETED) {
-                return;
-            }
-            if (!task.getDependencies().isEmpty()) {
-                List<Future<?>> dependencyFutures = new ArrayList<>();
-                for (Task dependency : task.getDependencies()) {
-                    if (dependency.getStatus() == TaskStatus.NOT_STARTED) {
-                        System.out.println("Запуск зависимости: " + dependency.getName());
-                        dependencyFutures.add(executorService.submit(() -> executeTask(dependency)));
-                    }
-                }
-
-                for (Future<?> future : dependencyFutures) {
-                    future.get();
-                }
-
-                for (Task dependency : task.getDependencies()) {
-                    if (dependency.getStatus() != TaskStatus.COMPLETED) {
-                        System.out.println("Невозможно начать задачу " + task.getName() +
-                                ". Зависимость " + dependency.getName() + " не завершена.");
-                        return;
-                    }
-                }
-            }
-
-            task.start();
-
-            long taskDurationMillis = task.getEstimatedDuration().toMillis();
-            Thread.sleep(taskDurationMillis);
-
-            task.complete();
-            System.out.println("\n");
-
-        } catch (InterruptedException e) {
-            System.err.println("Ошибка выполнения задачи " + task.getName() + ": " + e.getMessage());
-            Thread.currentThread().interrupt();
-        } catch (ExecutionException e) {
-            System.err.println("Ошибка выполнения зависимости задачи " + task.getName() + ": " + e.getCause());
-        } finally {
-            executorService.shutdown();
-        }
-    }
-
-
-
     // Управление при помощи консоли
     public static void manageProjectInRealTime(Project project, Thread projectExecutionThread) {
         Scanner scanner = new Scanner(System.in);
 
         while (projectExecutionThread.isAlive()) {
-            System.out.println("Введите команду (cancel [task], reassign [task] [resource]): ");
+            System.out.println("Введите команду (cancel [task], reassign [task] [resource], status): ");
             String input = scanner.nextLine();
 
+            if (input.trim().equals("status")) {
+                showSnapshot(project.getSnapshot());
+                continue;
+            }
+
             String[] commandParts = input.split(" ", 2);
 
             if (commandParts.length < 2) {
@@ -198,5 +172,14 @@ public class TestApplication {
         System.out.println("Проект завершен. Управление больше недоступно.");
     }
 
+    // Вывод состояния задач из снимка проекта (без блокировки исполнителя)
+    public static void showSnapshot(ProjectSnapshot snapshot) {
+        System.out.println("=== Состояние проекта (версия " + snapshot.getVersion() + ") ===");
+        for (TaskSnapshot task : snapshot.getSortedTasks()) {
+            System.out.println(task.getName() + ": " + task.getStatus() +
+                    (task.getResourceName() != null ? " (" + task.getResourceName() + ")" : ""));
+        }
+    }
+
 }
 
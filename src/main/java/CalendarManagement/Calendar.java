@@ -1,5 +1,6 @@
 package CalendarManagement;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -7,49 +8,97 @@ import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Set;
 
 @Getter
 @Setter
 public class Calendar {
 
-    private List<LocalDate> holidays; // Набор выходных дней/праздников
+    // Набор выходных дней/праздников: своя копия, меняется только через методы календаря (сбрасывают кэш)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private List<LocalDate> holidays;
     private int startHour; // Начало рабочего дня
     private int endHour; // Конец рабочего дня
-    private int[] weekends; // Выходные
+    private int[] weekends; // Выходные (своя копия, как и праздники)
+
+    // Скомпилированное представление (сбрасывается при любом изменении календаря)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile CompiledCalendar compiled;
 
     // Конструктор с указанием графика работы и списка праздников
     public Calendar(int startHour, int endHour, List<LocalDate> holidays, int[] weekends) {
-        this.holidays = holidays;
+        this.holidays = holidays != null ? new ArrayList<>(holidays) : null;
         this.startHour = startHour;
         this.endHour = endHour;
-        this.weekends = weekends;
+        this.weekends = weekends != null ? weekends.clone() : null;
+    }
+
+    // Скомпилированное представление календаря (строится при первом обращении)
+    public CompiledCalendar compile() {
+        CompiledCalendar result = compiled;
+        if (result == null) {
+            result = new CompiledCalendar(startHour, endHour, holidays, weekends);
+            compiled = result;
+        }
+        return result;
     }
 
     // Добавление выходного дня
     public void addHoliday(LocalDate holiday) {
+        if (holidays == null) holidays = new ArrayList<>();
         holidays.add(holiday);
+        compiled = null;
     }
 
     // Удаление выходного дня
     public void removeHoliday(LocalDate holiday) {
+        if (holidays == null) return;
         holidays.remove(holiday);
+        compiled = null;
+    }
+
+    // Праздники только для чтения (изменение - через addHoliday/removeHoliday/setHolidays)
+    public List<LocalDate> getHolidays() {
+        return holidays != null ? Collections.unmodifiableList(holidays) : null;
+    }
+
+    public void setHolidays(List<LocalDate> holidays) {
+        this.holidays = holidays != null ? new ArrayList<>(holidays) : null;
+        compiled = null;
+    }
+
+    public void setStartHour(int startHour) {
+        this.startHour = startHour;
+        compiled = null;
+    }
+
+    public void setEndHour(int endHour) {
+        this.endHour = endHour;
+        compiled = null;
+    }
+
+    // Копия выходных: изменение массива не должно обходить сброс скомпилированного календаря
+    public int[] getWeekends() {
+        return weekends != null ? weekends.clone() : null;
+    }
+
+    public void setWeekends(int[] weekends) {
+        this.weekends = weekends != null ? weekends.clone() : null;
+        compiled = null;
     }
 
     // Является ли данный день рабочим
     public boolean isWorkDay(LocalDate date) {
-        return (holidays == null || !holidays.contains(date)) &&
-                Arrays.stream(weekends).noneMatch(day -> day == date.getDayOfWeek().getValue());
+        return compile().isWorkDay(date);
     }
 
     // Является ли данное время рабочим
     public boolean isWorkHour(LocalDateTime dateTime) {
-        LocalDate date = dateTime.toLocalDate();
-        int hour = dateTime.getHour();
-
-        return isWorkDay(date) && (hour >= startHour) && (hour <= endHour);
+        return compile().isWorkHour(dateTime);
     }
 
     // Расчет следующего рабочего времени
@@ -0,0 +1,126 @@
+package CalendarManagement;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Скомпилированное (неизменяемое) представление календаря.
+// Строится один раз из Calendar и отвечает на вопросы "рабочий ли день/час" за O(1):
+// выходные хранятся битовой маской дней недели, праздники - битовыми наборами по годам.
+public final class CompiledCalendar {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final int weekendMask; // Бит (dayOfWeek - 1) установлен для выходных
+    private final int firstHolidayYear;
+    private final long[][] holidaysByYear; // [год - firstHolidayYear][номер дня в году / 64]
+    private final int startHour;
+    private final int endHour;
+    private final int dayStartMinute; // Начало рабочего дня (в минутах от полуночи)
+    private final int dayEndMinute; // Конец рабочего дня, не включительно (в минутах от полуночи)
+
+    CompiledCalendar(int startHour, int endHour, List<LocalDate> holidays, int[] weekends) {
+        int mask = 0;
+        if (weekends != null) {
+            for (int day : weekends) {
+                if (day >= 1 && day <= 7) mask |= 1 << (day - 1);
+            }
+        }
+        this.weekendMask = mask;
+        this.startHour = startHour;
+        this.endHour = endHour;
+
+        // Час окончания включается в рабочее время, как в Calendar.isWorkHour
+        this.dayStartMinute = Math.max(0, Math.min(MINUTES_PER_DAY, startHour * 60));
+        this.dayEndMinute = Math.max(0, Math.min(MINUTES_PER_DAY, (endHour + 1) * 60));
+
+        int minYear = Integer.MAX_VALUE;
+        int maxYear = Integer.MIN_VALUE;
+        if (holidays != null) {
+            for (LocalDate holiday : holidays) {
+                minYear = Math.min(minYear, holiday.getYear());
+                maxYear = Math.max(maxYear, holiday.getYear());
+            }
+        }
+
+        if (minYear > maxYear) {
+            this.firstHolidayYear = 0;
+            this.holidaysByYear = new long[0][];
+        } else {
+            this.firstHolidayYear = minYear;
+            this.holidaysByYear = new long[maxYear - minYear + 1][];
+            for (LocalDate holiday : holidays) {
+                int yearIndex = holiday.getYear() - minYear;
+                if (holidaysByYear[yearIndex] == null) holidaysByYear[yearIndex] = new long[6];
+                int dayIndex = holiday.getDayOfYear() - 1;
+                holidaysByYear[yearIndex][dayIndex >>> 6] |= 1L << dayIndex;
+            }
+        }
+    }
+
+    // Является ли день выходным по дню недели
+    public boolean isWeekend(LocalDate date) {
+        return (weekendMask & (1 << (date.getDayOfWeek().getValue() - 1))) != 0;
+    }
+
+    // Является ли день праздником
+    public boolean isHoliday(LocalDate date) {
+        int yearIndex = date.getYear() - firstHolidayYear;
+        if (yearIndex < 0 || yearIndex >= holidaysByYear.length) return false;
+
+        long[] days = holidaysByYear[yearIndex];
+        if (days == null) return false;
+
+        int dayIndex = date.getDayOfYear() - 1;
+        return (days[dayIndex >>> 6] & (1L << dayIndex)) != 0;
+    }
+
+    // Является ли данный день рабочим
+    public boolean isWorkDay(LocalDate date) {
+        return !isWeekend(date) && !isHoliday(date);
+    }
+
+    // Является ли рабочим день с данным номером от эпохи (1970-01-01 - четверг)
+    public boolean isWorkDay(long epochDay) {
+        int dayOfWeek = (int) Math.floorMod(epochDay + 3, 7L) + 1;
+        if ((weekendMask & (1 << (dayOfWeek - 1))) != 0) return false;
+        return holidaysByYear.length == 0 || !isHoliday(LocalDate.ofEpochDay(epochDay));
+    }
+
+    // Является ли данное время рабочим
+    public boolean isWorkHour(LocalDateTime dateTime) {
+        return isWorkHour(dateTime.toLocalDate(), dateTime.getHour());
+    }
+
+    // Является ли данный час дня рабочим
+    public boolean isWorkHour(LocalDate date, int hour) {
+        int minute = hour * 60;
+        return minute >= dayStartMinute && minute < dayEndMinute && isWorkDay(date);
+    }
+
+    // Начало рабочего дня (в часах)
+    public int getStartHour() {
+        return startHour;
+    }
+
+    // Конец рабочего дня (в часах, включительно)
+    public int getEndHour() {
+        return endHour;
+    }
+
+    // Начало рабочего дня (в минутах от полуночи)
+    public int getDayStartMinute() {
+        return dayStartMinute;
+    }
+
+    // Конец рабочего дня, не включительно (в минутах от полуночи)
+    public int getDayEndMinute() {
+        return dayEndMinute;
+    }
+
+    // Длина рабочего окна дня в минутах (0 для нерабочего дня)
+    public int workMinutes(LocalDate date) {
+        if (dayEndMinute <= dayStartMinute || !isWorkDay(date)) return 0;
+        return dayEndMinute - dayStartMinute;
+    }
+}
@@ -0,0 +1,162 @@
+package CalendarManagement;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+// Расчет рабочего времени по пересечению календаря проекта и календаря исполнителя.
+// Вместо поминутного перебора время сдвигается целыми рабочими интервалами:
+// остаток текущего дня, затем полные дни, затем часть последнего дня.
+public final class WorkingTimeCalculator {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final long NANOS_PER_MINUTE = 60_000_000_000L;
+    private static final long NANOS_PER_DAY = MINUTES_PER_DAY * NANOS_PER_MINUTE;
+
+    // Предел поиска рабочего дня (защита от календарей без рабочего времени)
+    private static final int MAX_IDLE_DAYS = 3660;
+
+    private WorkingTimeCalculator() {
+    }
+
+    // Дата окончания работы длительностью duration, начатой в startDate.
+    // Учитываются только целые минуты длительности, как и раньше в Task.calculateEndDate
+    public static LocalDateTime addWorkingTime(LocalDateTime startDate, Duration duration,
+                                               Calendar projectCalendar, Calendar resourceCalendar) {
+        if (startDate == null || duration == null) {
+            return null;
+        }
+
+        long minutes = duration.toMinutes();
+        if (minutes <= 0) {
+            return startDate;
+        }
+
+        if (projectCalendar == null && resourceCalendar == null) {
+            return startDate.plusMinutes(minutes);
+        }
+
+        CompiledCalendar project = projectCalendar != null ? projectCalendar.compile() : null;
+        CompiledCalendar resource = resourceCalendar != null ? resourceCalendar.compile() : null;
+
+        long remaining = minutes * NANOS_PER_MINUTE;
+        long day = startDate.toLocalDate().toEpochDay();
+        long position = startDate.toLocalTime().toNanoOfDay();
+        int idleDays = 0;
+
+        while (true) {
+            long windowStart = windowStartMinute(project, resource) * NANOS_PER_MINUTE;
+            long windowEnd = windowEndMinute(day, project, resource) * NANOS_PER_MINUTE;
+            long from = Math.max(position, windowStart);
+
+            if (from < windowEnd) {
+                long available = windowEnd - from;
+                if (remaining <= available) {
+                    return toDateTime(day, from + remaining);
+                }
+                remaining -= available;
+                idleDays = 0;
+            } else if (++idleDays > MAX_IDLE_DAYS) {
+                throw new IllegalStateException("Calendars have no common working time after " + startDate);
+            }
+
+            day++;
+            position = 0;
+        }
+    }
+
+    // То же в минутах от эпохи (без создания объектов дат)
+    public static long addWorkingMinutes(long startMinute, long minutes,
+                                         CompiledCalendar projectCalendar, CompiledCalendar resourceCalendar) {
+        if (minutes <= 0) {
+            return startMinute;
+        }
+
+        if (projectCalendar == null && resourceCalendar == null) {
+            return startMinute + minutes;
+        }
+
+        long remaining = minutes;
+        long day = Math.floorDiv(startMinute, MINUTES_PER_DAY);
+        long position = startMinute - day * MINUTES_PER_DAY;
+        int idleDays = 0;
+
+        while (true) {
+            long from = Math.max(position, windowStartMinute(projectCalendar, resourceCalendar));
+            long windowEnd = windowEndMinute(day, projectCalendar, resourceCalendar);
+
+            if (from < windowEnd) {
+                long available = windowEnd - from;
+                if (remaining <= available) {
+                    return day * MINUTES_PER_DAY + from + remaining;
+                }
+                remaining -= available;
+                idleDays = 0;
+            } else if (++idleDays > MAX_IDLE_DAYS) {
+                throw new IllegalStateException("Calendars have no common working time after minute " + startMinute);
+            }
+
+            day++;
+            position = 0;
+        }
+    }
+
+    // Следующее рабочее время в минутах от эпохи (как Calendar.getNextWorkingTime)
+    public static long nextWorkingMinute(long minute, CompiledCalendar calendar) {
+        if (calendar == null) {
+            return minute;
+        }
+
+        long day = Math.floorDiv(minute, MINUTES_PER_DAY);
+        long firstDay = day;
+        while (!calendar.isWorkDay(day)) {
+            if (day - firstDay > MAX_IDLE_DAYS) {
+                throw new IllegalStateException("Calendar has no working days after minute " + minute);
+            }
+            day++;
+        }
+
+        long startOfWorkDay = day * MINUTES_PER_DAY + calendar.getStartHour() * 60L;
+
+        if (minute > day * MINUTES_PER_DAY + calendar.getEndHour() * 60L)
+            return (day + 1) * MINUTES_PER_DAY + calendar.getStartHour() * 60L;
+
+        if (minute > startOfWorkDay) return minute;
+
+        return startOfWorkDay;
+    }
+
+    // Перевод даты в минуты от эпохи (секунды отбрасываются)
+    public static long toEpochMinute(LocalDateTime dateTime) {
+        return dateTime.toLocalDate().toEpochDay() * MINUTES_PER_DAY + dateTime.getHour() * 60L + dateTime.getMinute();
+    }
+
+    // Перевод минут от эпохи в дату
+    public static LocalDateTime fromEpochMinute(long epochMinute) {
+        return toDateTime(Math.floorDiv(epochMinute, MINUTES_PER_DAY), Math.floorMod(epochMinute, MINUTES_PER_DAY) * NANOS_PER_MINUTE);
+    }
+
+    // Начало рабочего окна дня (в минутах от полуночи)
+    private static long windowStartMinute(CompiledCalendar project, CompiledCalendar resource) {
+        int start = 0;
+        if (project != null) start = Math.max(start, project.getDayStartMinute());
+        if (resource != null) start = Math.max(start, resource.getDayStartMinute());
+        return start;
+    }
+
+    // Конец рабочего окна дня (0, если день нерабочий хотя бы в одном календаре)
+    private static long windowEndMinute(long epochDay, CompiledCalendar project, CompiledCalendar resource) {
+        int end = MINUTES_PER_DAY;
+        if (project != null) end = Math.min(end, project.isWorkDay(epochDay) ? project.getDayEndMinute() : 0);
+        if (resource != null) end = Math.min(end, resource.isWorkDay(epochDay) ? resource.getDayEndMinute() : 0);
+        return end;
+    }
+
+    private static LocalDateTime toDateTime(long epochDay, long nanoOfDay) {
+        if (nanoOfDay >= NANOS_PER_DAY) {
+            return LocalDate.ofEpochDay(epochDay + 1).atStartOfDay();
+        }
+        return LocalDateTime.of(LocalDate.ofEpochDay(epochDay), LocalTime.ofNanoOfDay(nanoOfDay));
+    }
+}
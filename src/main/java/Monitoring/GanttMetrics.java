@@ -0,0 +1,246 @@
+package Monitoring;
+
+import ProjectManagement.Project;
+import ProjectManagement.ProjectSnapshot;
+import ProjectManagement.TaskSnapshot;
+import TaskManagement.TaskStatus;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+// Метрики планировщика (Micrometer).
+// Доменные классы не являются бинами Spring, поэтому реестр хранится в статическом поле.
+// Пока метрики не включены (enable), замер - это чтение одного поля: время не запрашивается и ничего не пишется.
+// Показатели проектов (задачи по статусам, загрузка исполнителей) считаются по последнему снимку проекта
+// один раз на его версию; очередь исполнителя снимается с самого исполнителя.
+public final class GanttMetrics {
+
+    // Замеряемые операции
+    public enum Phase {
+        SORTED_TASKS("gantt.project.sorted.tasks", "Получение задач в топологическом порядке"),
+        SCHEDULE("gantt.project.schedule", "Полный расчет расписания"),
+        RESCHEDULE("gantt.project.reschedule", "Перерасчет расписания после изменений"),
+        END_DATE("gantt.task.end.date", "Расчет окончания задачи по календарям"),
+        JSON_LOAD("gantt.json.load", "Загрузка проекта из JSON"),
+        JSON_SAVE("gantt.json.save", "Запись проекта в JSON");
+
+        private final String meterName;
+        private final String description;
+
+        Phase(String meterName, String description) {
+            this.meterName = meterName;
+            this.description = description;
+        }
+    }
+
+    // Включенные метрики (null - метрики выключены)
+    private static volatile Meters meters;
+
+    // Проекты и исполнители под наблюдением (по имени проекта); показатели регистрируются при включении
+    private static final Map<String, ProjectGauges> projects = new HashMap<>();
+    private static final Map<String, ExecutorGauge<?>> executors = new HashMap<>();
+
+    private GanttMetrics() {
+    }
+
+    private static final class Meters {
+        final MeterRegistry registry;
+        final Timer[] timers = new Timer[Phase.values().length];
+        final DistributionSummary rescheduledTasks;
+        final List<Meter> registered = new ArrayList<>();
+
+        Meters(MeterRegistry registry) {
+            this.registry = registry;
+            for (Phase phase : Phase.values()) {
+                timers[phase.ordinal()] = Timer.builder(phase.meterName)
+                        .description(phase.description)
+                        .register(registry);
+                registered.add(timers[phase.ordinal()]);
+            }
+            rescheduledTasks = DistributionSummary.builder("gantt.project.reschedule.tasks")
+                    .description("Число задач, просмотренных одним перерасчетом")
+                    .baseUnit("tasks")
+                    .register(registry);
+            registered.add(rescheduledTasks);
+        }
+    }
+
+    // Включение метрик с записью в реестр
+    public static synchronized void enable(MeterRegistry registry) {
+        if (meters != null) disable();
+        Meters enabled = new Meters(registry);
+        for (ProjectGauges gauges : projects.values()) gauges.register(enabled);
+        for (ExecutorGauge<?> gauge : executors.values()) gauge.register(enabled);
+        meters = enabled;
+    }
+
+    // Выключение метрик (счетчики удаляются из реестра)
+    public static synchronized void disable() {
+        Meters enabled = meters;
+        if (enabled == null) return;
+        meters = null;
+        for (Meter meter : enabled.registered) enabled.registry.remove(meter);
+        for (ProjectGauges gauges : projects.values()) gauges.meters.clear();
+        for (ExecutorGauge<?> gauge : executors.values()) gauge.meter = null;
+    }
+
+    public static boolean isEnabled() {
+        return meters != null;
+    }
+
+    // Начало замера (0, если метрики выключены)
+    public static long start() {
+        return meters != null ? System.nanoTime() : 0;
+    }
+
+    // Окончание замера, начатого start()
+    public static void stop(Phase phase, long start) {
+        Meters enabled = meters;
+        if (enabled != null && start != 0) {
+            enabled.timers[phase.ordinal()].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // Число задач, затронутых одним перерасчетом расписания
+    public static void recordRescheduled(int tasks) {
+        Meters enabled = meters;
+        if (enabled != null) enabled.rescheduledTasks.record(tasks);
+    }
+
+    // Наблюдение за проектом: число задач по статусам и доля занятых исполнителей.
+    // Проект с тем же именем заменяет прежний; сам проект удерживается слабой ссылкой
+    public static synchronized void monitorProject(Project project) {
+        ProjectGauges previous = projects.remove(project.getName());
+        if (previous != null) previous.unregister();
+        ProjectGauges gauges = new ProjectGauges(project);
+        projects.put(project.getName(), gauges);
+        if (meters != null) gauges.register(meters);
+    }
+
+    public static synchronized void stopMonitoring(Project project) {
+        ProjectGauges gauges = projects.get(project.getName());
+        if (gauges != null && gauges.project.get() == project) {
+            projects.remove(project.getName());
+            gauges.unregister();
+        }
+    }
+
+    // Наблюдение за очередью готовых задач исполнителя проекта (исполнитель удерживается слабой ссылкой)
+    public static synchronized <T> void monitorExecutor(String projectName, T executor, ToDoubleFunction<T> queueDepth) {
+        ExecutorGauge<?> previous = executors.remove(projectName);
+        if (previous != null) previous.unregister();
+        ExecutorGauge<T> gauge = new ExecutorGauge<>(projectName, executor, queueDepth);
+        executors.put(projectName, gauge);
+        if (meters != null) gauge.register(meters);
+    }
+
+    // Показатели одного проекта, пересчитываемые при смене версии снимка
+    private static final class ProjectGauges {
+        final WeakReference<Project> project;
+        final String projectName;
+        final List<Meter> meters = new ArrayList<>();
+        MeterRegistry registry;
+
+        private long version = -1;
+        private final int[] statusCounts = new int[TaskStatus.values().length];
+        private double utilization;
+
+        ProjectGauges(Project project) {
+            this.project = new WeakReference<>(project);
+            this.projectName = project.getName();
+        }
+
+        void register(Meters enabled) {
+            registry = enabled.registry;
+            for (TaskStatus status : TaskStatus.values()) {
+                meters.add(Gauge.builder("gantt.project.tasks", this, gauges -> gauges.statusCount(status))
+                        .description("Число задач проекта в статусе")
+                        .tag("project", projectName)
+                        .tag("status", status.name())
+                        .register(registry));
+            }
+            meters.add(Gauge.builder("gantt.project.resource.utilization", this, ProjectGauges::utilization)
+                    .description("Доля исполнителей проекта, занятых выполняемой задачей")
+                    .tag("project", projectName)
+                    .register(registry));
+            enabled.registered.addAll(meters);
+        }
+
+        void unregister() {
+            if (registry != null) {
+                for (Meter meter : meters) registry.remove(meter);
+            }
+            meters.clear();
+        }
+
+        synchronized double statusCount(TaskStatus status) {
+            return refresh() ? statusCounts[status.ordinal()] : Double.NaN;
+        }
+
+        synchronized double utilization() {
+            return refresh() ? utilization : Double.NaN;
+        }
+
+        // Пересчет по снимку проекта, если он изменился; false, если проекта уже нет
+        private boolean refresh() {
+            Project current = project.get();
+            if (current == null) return false;
+            ProjectSnapshot snapshot = current.getSnapshot();
+            if (snapshot.getVersion() == version) return true;
+
+            Arrays.fill(statusCounts, 0);
+            Set<String> busyResources = new HashSet<>();
+            for (TaskSnapshot task : snapshot.getSortedTasks()) {
+                statusCounts[task.getStatus().ordinal()]++;
+                if (task.getStatus() == TaskStatus.IN_PROGRESS && task.getResourceName() != null) {
+                    busyResources.add(task.getResourceName());
+                }
+            }
+            int resourceCount = snapshot.getResourceNames().size();
+            utilization = resourceCount == 0 ? 0 : (double) busyResources.size() / resourceCount;
+            version = snapshot.getVersion();
+            return true;
+        }
+    }
+
+    // Очередь готовых задач исполнителя проекта
+    private static final class ExecutorGauge<T> {
+        final String projectName;
+        final WeakReference<T> executor;
+        final ToDoubleFunction<T> queueDepth;
+        Meter meter;
+        MeterRegistry registry;
+
+        ExecutorGauge(String projectName, T executor, ToDoubleFunction<T> queueDepth) {
+            this.projectName = projectName;
+            this.executor = new WeakReference<>(executor);
+            this.queueDepth = queueDepth;
+        }
+
+        void register(Meters enabled) {
+            registry = enabled.registry;
+            meter = Gauge.builder("gantt.executor.queue", this, ExecutorGauge::depth)
+                    .description("Число готовых задач, ожидающих исполнителя")
+                    .tag("project", projectName)
+                    .register(registry);
+            enabled.registered.add(meter);
+        }
+
+        void unregister() {
+            if (meter != null) registry.remove(meter);
+            meter = null;
+        }
+
+        double depth() {
+            T current = executor.get();
+            return current != null ? queueDepth.applyAsDouble(current) : Double.NaN;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package Monitoring;
+
+import org.slf4j.Logger;
+
+// Тихий режим: подавление сообщений о действиях с отдельными задачами и исполнителями.
+// Включается на время пакетной работы в текущем потоке (enter/exit, вложенно) или для всего процесса
+// (setGlobal, свойство -Dgantt.quiet=true). Предупреждения и ошибки не подавляются.
+public final class QuietMode {
+
+    private static volatile boolean global = Boolean.getBoolean("gantt.quiet");
+    private static final ThreadLocal<int[]> depth = ThreadLocal.withInitial(() -> new int[1]);
+
+    private QuietMode() {
+    }
+
+    public static boolean isGlobal() {
+        return global;
+    }
+
+    public static void setGlobal(boolean quiet) {
+        global = quiet;
+    }
+
+    // Начало тихого участка в текущем потоке
+    public static void enter() {
+        depth.get()[0]++;
+    }
+
+    // Конец тихого участка, начатого enter()
+    public static void exit() {
+        int[] current = depth.get();
+        if (current[0] > 0) current[0]--;
+    }
+
+    public static void run(Runnable action) {
+        enter();
+        try {
+            action.run();
+        } finally {
+            exit();
+        }
+    }
+
+    public static boolean isActive() {
+        return global || depth.get()[0] > 0;
+    }
+
+    // Нужно ли писать сообщение о действии с сущностью (уровень логгера и тихий режим)
+    public static boolean isInfoEnabled(Logger log) {
+        return log.isInfoEnabled() && !isActive();
+    }
+
+    public static boolean isDebugEnabled(Logger log) {
+        return log.isDebugEnabled() && !isActive();
+    }
+}
@@ -0,0 +1,361 @@
+package ProjectManagement;
+
+import CalendarManagement.Calendar;
+import CalendarManagement.CompiledCalendar;
+import CalendarManagement.WorkingTimeCalculator;
+import TaskManagement.Task;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+// Метод критического пути (CPM) по графу зависимостей задач проекта.
+// Прямой проход дает ранние начало/окончание, обратный - поздние; все величины считаются
+// в рабочих минутах календаря проекта от даты начала проекта (исполнители не ограничивают).
+// Резерв задачи - насколько ее можно сдвинуть без сдвига окончания проекта (полный)
+// или без сдвига ранних сроков последователей (свободный). Критические задачи - с нулевым полным резервом.
+// Зависимости от задач вне проекта не учитываются.
+public final class CriticalPath {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int MAX_IDLE_DAYS = 3660;
+
+    private final Project project;
+
+    private List<Task> sortedTasks;
+    private int builtChanges; // Счетчик изменений графа (TaskOrder.changes) на момент построения массивов
+    private final Map<Task, Integer> positions = new IdentityHashMap<>();
+    private int[] predecessorOffsets; // Предшественники задачи i - predecessorTargets[predecessorOffsets[i] .. predecessorOffsets[i + 1])
+    private int[] predecessorTargets;
+    private int[] successorOffsets;
+    private int[] successorTargets;
+
+    private long[] durations; // Длительности в рабочих минутах
+    private long[] earliestStarts; // Ранние начала (рабочих минут от начала проекта)
+    private long[] tails; // Самый длинный путь от начала задачи до конца проекта (включая саму задачу)
+    private long projectLength;
+
+    // Перевод рабочих минут в даты: dayOffsets[i] - рабочих минут до начала дня originDay + i
+    private final long originMinute;
+    private final long originDay;
+    private final CompiledCalendar calendar;
+    private long[] dayOffsets = new long[16];
+    private int dayCount;
+
+    private CriticalPath(Project project) {
+        this.project = project;
+        Calendar projectCalendar = project.getProjectCalendar();
+        this.calendar = projectCalendar != null ? projectCalendar.compile() : null;
+        this.originMinute = WorkingTimeCalculator.toEpochMinute(project.getEstimatedStartDate());
+        this.originDay = Math.floorDiv(originMinute, MINUTES_PER_DAY);
+    }
+
+    // Расчет критического пути проекта
+    public static CriticalPath of(Project project) {
+        if (project.getEstimatedStartDate() == null) {
+            throw new IllegalStateException("Project start date must be set before calculating the critical path.");
+        }
+        CriticalPath criticalPath = new CriticalPath(project);
+        criticalPath.build();
+        return criticalPath;
+    }
+
+    // Пересчет после изменения длительности задачи: обходятся только ее нисходящий
+    // и восходящий конусы. При изменении состава или связей задач - полный расчет.
+    public void updateDuration(Task task) {
+        if (isStale()) {
+            build();
+            return;
+        }
+        Integer position = positions.get(task);
+        if (position == null) {
+            throw new IllegalArgumentException("Task '" + task.getName() + "' is not part of the project.");
+        }
+        long duration = minutesOf(task);
+        if (duration == durations[position]) return;
+        durations[position] = duration;
+
+        // Прямой проход от задачи: ранние начала последователей
+        PriorityQueue<Integer> forward = new PriorityQueue<>();
+        BitSet queued = new BitSet();
+        enqueueSuccessors(forward, queued, position);
+        while (!forward.isEmpty()) {
+            int i = forward.poll();
+            long earliestStart = earliestStartOf(i);
+            if (earliestStart != earliestStarts[i]) {
+                earliestStarts[i] = earliestStart;
+                enqueueSuccessors(forward, queued, i);
+            }
+        }
+
+        // Обратный проход от задачи: хвосты предшественников
+        PriorityQueue<Integer> backward = new PriorityQueue<>(Comparator.reverseOrder());
+        queued.clear();
+        backward.add(position);
+        queued.set(position);
+        while (!backward.isEmpty()) {
+            int i = backward.poll();
+            long tail = tailOf(i);
+            if (tail != tails[i]) {
+                tails[i] = tail;
+                for (int k = predecessorOffsets[i]; k < predecessorOffsets[i + 1]; k++) {
+                    int predecessor = predecessorTargets[k];
+                    if (!queued.get(predecessor)) {
+                        queued.set(predecessor);
+                        backward.add(predecessor);
+                    }
+                }
+            }
+        }
+
+        // Длина проекта - один проход по массиву
+        projectLength = 0;
+        for (int i = 0; i < durations.length; i++) {
+            projectLength = Math.max(projectLength, earliestStarts[i] + durations[i]);
+        }
+    }
+
+    // Изменились ли задачи или связи после построения массивов. Сравнения порядка по ссылке мало:
+    // связь, не потребовавшая перестановки, и удаление связи порядок не меняют
+    private boolean isStale() {
+        return project.getSortedTasks() != sortedTasks || project.getTaskOrder().changes() != builtChanges;
+    }
+
+    // Полный расчет: построение массивов связей, прямой и обратный проходы
+    private void build() {
+        sortedTasks = project.getSortedTasks();
+        builtChanges = project.getTaskOrder().changes();
+        int size = sortedTasks.size();
+        positions.clear();
+        for (int i = 0; i < size; i++) positions.put(sortedTasks.get(i), i);
+
+        predecessorOffsets = new int[size + 1];
+        successorOffsets = new int[size + 1];
+        for (int i = 0; i < size; i++) {
+            for (Task subTask : sortedTasks.get(i).getSubTasks()) {
+                Integer child = positions.get(subTask);
+                if (child != null) {
+                    successorOffsets[i + 1]++;
+                    predecessorOffsets[child + 1]++;
+                }
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            successorOffsets[i + 1] += successorOffsets[i];
+            predecessorOffsets[i + 1] += predecessorOffsets[i];
+        }
+        successorTargets = new int[successorOffsets[size]];
+        predecessorTargets = new int[predecessorOffsets[size]];
+        int[] predecessorFill = Arrays.copyOf(predecessorOffsets, size);
+        int fill = 0;
+        for (int i = 0; i < size; i++) {
+            for (Task subTask : sortedTasks.get(i).getSubTasks()) {
+                Integer child = positions.get(subTask);
+                if (child != null) {
+                    successorTargets[fill++] = child;
+                    predecessorTargets[predecessorFill[child]++] = i;
+                }
+            }
+        }
+
+        durations = new long[size];
+        earliestStarts = new long[size];
+        tails = new long[size];
+        for (int i = 0; i < size; i++) durations[i] = minutesOf(sortedTasks.get(i));
+
+        projectLength = 0;
+        for (int i = 0; i < size; i++) {
+            earliestStarts[i] = earliestStartOf(i);
+            projectLength = Math.max(projectLength, earliestStarts[i] + durations[i]);
+        }
+        for (int i = size - 1; i >= 0; i--) {
+            tails[i] = tailOf(i);
+        }
+    }
+
+    private static long minutesOf(Task task) {
+        Duration duration = task.getEstimatedDuration();
+        return duration != null ? Math.max(0, duration.toMinutes()) : 0;
+    }
+
+    private long earliestStartOf(int i) {
+        long earliestStart = 0;
+        for (int k = predecessorOffsets[i]; k < predecessorOffsets[i + 1]; k++) {
+            int predecessor = predecessorTargets[k];
+            earliestStart = Math.max(earliestStart, earliestStarts[predecessor] + durations[predecessor]);
+        }
+        return earliestStart;
+    }
+
+    private long tailOf(int i) {
+        long tail = 0;
+        for (int k = successorOffsets[i]; k < successorOffsets[i + 1]; k++) {
+            tail = Math.max(tail, tails[successorTargets[k]]);
+        }
+        return durations[i] + tail;
+    }
+
+    private void enqueueSuccessors(PriorityQueue<Integer> queue, BitSet queued, int i) {
+        for (int k = successorOffsets[i]; k < successorOffsets[i + 1]; k++) {
+            int successor = successorTargets[k];
+            if (!queued.get(successor)) {
+                queued.set(successor);
+                queue.add(successor);
+            }
+        }
+    }
+
+    private int positionOf(Task task) {
+        if (isStale()) build();
+        Integer position = positions.get(task);
+        if (position == null) {
+            throw new IllegalArgumentException("Task '" + task.getName() + "' is not part of the project.");
+        }
+        return position;
+    }
+
+    // Длительность проекта по критическому пути (в рабочем времени)
+    public Duration getProjectDuration() {
+        return Duration.ofMinutes(projectLength);
+    }
+
+    // Окончание проекта по критическому пути
+    public LocalDateTime getProjectEndDate() {
+        return finishDate(projectLength);
+    }
+
+    public LocalDateTime getEarliestStart(Task task) {
+        return startDate(earliestStarts[positionOf(task)]);
+    }
+
+    public LocalDateTime getEarliestFinish(Task task) {
+        int i = positionOf(task);
+        return finishDate(earliestStarts[i] + durations[i]);
+    }
+
+    public LocalDateTime getLatestStart(Task task) {
+        return startDate(projectLength - tails[positionOf(task)]);
+    }
+
+    public LocalDateTime getLatestFinish(Task task) {
+        int i = positionOf(task);
+        return finishDate(projectLength - tails[i] + durations[i]);
+    }
+
+    // Полный резерв (в рабочем времени)
+    public Duration getTotalSlack(Task task) {
+        int i = positionOf(task);
+        return Duration.ofMinutes(projectLength - tails[i] - earliestStarts[i]);
+    }
+
+    // Свободный резерв: сдвиг без влияния на ранние начала последователей (в рабочем времени)
+    public Duration getFreeSlack(Task task) {
+        int i = positionOf(task);
+        long limit = projectLength;
+        for (int k = successorOffsets[i]; k < successorOffsets[i + 1]; k++) {
+            limit = Math.min(limit, earliestStarts[successorTargets[k]]);
+        }
+        return Duration.ofMinutes(limit - earliestStarts[i] - durations[i]);
+    }
+
+    public boolean isCritical(Task task) {
+        int i = positionOf(task);
+        return projectLength - tails[i] == earliestStarts[i];
+    }
+
+    // Критические задачи в топологическом порядке
+    public List<Task> getCriticalTasks() {
+        if (isStale()) build();
+        List<Task> criticalTasks = new ArrayList<>();
+        for (int i = 0; i < durations.length; i++) {
+            if (projectLength - tails[i] == earliestStarts[i]) criticalTasks.add(sortedTasks.get(i));
+        }
+        return criticalTasks;
+    }
+
+    // Связи и длительности для анализа рисков (массивы не копируются и не должны изменяться)
+    List<Task> sortedTasks() {
+        return sortedTasks;
+    }
+
+    int[] predecessorOffsets() {
+        return predecessorOffsets;
+    }
+
+    int[] predecessorTargets() {
+        return predecessorTargets;
+    }
+
+    int[] successorOffsets() {
+        return successorOffsets;
+    }
+
+    int[] successorTargets() {
+        return successorTargets;
+    }
+
+    long duration(int i) {
+        return durations[i];
+    }
+
+    // Дата окончания проекта длиной workingMinutes рабочих минут
+    synchronized LocalDateTime finishDateAfter(long workingMinutes) {
+        return finishDate(workingMinutes);
+    }
+
+    // Дата, в которую начинается рабочая минута с номером offset
+    private LocalDateTime startDate(long offset) {
+        if (calendar == null) return WorkingTimeCalculator.fromEpochMinute(originMinute + offset);
+        ensureDays(offset + 1);
+        int day = firstDayReaching(offset + 1);
+        return WorkingTimeCalculator.fromEpochMinute(dayWindowStart(day) + offset - dayOffsets[day]);
+    }
+
+    // Дата, в которую заканчивается рабочая минута с номером offset - 1
+    private LocalDateTime finishDate(long offset) {
+        if (calendar == null || offset == 0) return WorkingTimeCalculator.fromEpochMinute(originMinute + offset);
+        ensureDays(offset);
+        int day = firstDayReaching(offset);
+        return WorkingTimeCalculator.fromEpochMinute(dayWindowStart(day) + offset - dayOffsets[day]);
+    }
+
+    // Первый день i, к концу которого набирается minutes рабочих минут
+    private int firstDayReaching(long minutes) {
+        int low = 0;
+        int high = dayCount - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (dayOffsets[middle + 1] >= minutes) high = middle;
+            else low = middle + 1;
+        }
+        return low;
+    }
+
+    // Начало рабочего окна дня i (в минутах от эпохи)
+    private long dayWindowStart(int i) {
+        long dayStart = (originDay + i) * MINUTES_PER_DAY;
+        long windowStart = dayStart + calendar.getDayStartMinute();
+        return i == 0 ? Math.max(windowStart, originMinute) : windowStart;
+    }
+
+    // Продление таблицы дней, пока в ней не наберется minutes рабочих минут
+    private void ensureDays(long minutes) {
+        int idleDays = 0;
+        while (dayCount == 0 || dayOffsets[dayCount] < minutes) {
+            if (dayCount + 1 >= dayOffsets.length) dayOffsets = Arrays.copyOf(dayOffsets, dayOffsets.length * 2);
+
+            long available = 0;
+            if (calendar.isWorkDay(originDay + dayCount)) {
+                long windowEnd = (originDay + dayCount) * MINUTES_PER_DAY + calendar.getDayEndMinute();
+                available = Math.max(0, windowEnd - dayWindowStart(dayCount));
+            }
+            if (available == 0 && ++idleDays > MAX_IDLE_DAYS) {
+                throw new IllegalStateException("Project calendar has no working time after " + project.getEstimatedStartDate());
+            }
+            if (available > 0) idleDays = 0;
+
+            dayOffsets[dayCount + 1] = dayOffsets[dayCount] + available;
+            dayCount++;
+        }
+    }
+}
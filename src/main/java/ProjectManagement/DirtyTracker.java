@@ -0,0 +1,67 @@
+package ProjectManagement;
+
+import TaskManagement.Task;
+import TaskManagement.TaskField;
+import TaskManagement.TaskListener;
+
+import java.util.*;
+
+// Учет задач с несохраненными изменениями.
+// Задача сама отмечает измененные поля; трекер лишь запоминает, какие задачи их отметили,
+// чтобы при сборе изменений не обходить весь проект. Пока учет выключен, задачи не запоминаются.
+class DirtyTracker implements TaskListener {
+
+    private Set<Task> dirtyTasks = Collections.newSetFromMap(new IdentityHashMap<>());
+    private volatile boolean enabled;
+
+    // Включение учета: уже отмеченные задачи попадут в следующий сбор
+    synchronized void enable(Collection<Task> tasks) {
+        enabled = true;
+        for (Task task : tasks) {
+            if (task.isDirty()) dirtyTasks.add(task);
+        }
+    }
+
+    synchronized void disable() {
+        enabled = false;
+        dirtyTasks = Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+
+    private void record(Task task) {
+        if (!enabled) return;
+        synchronized (this) {
+            dirtyTasks.add(task);
+        }
+    }
+
+    synchronized void forget(Task task) {
+        dirtyTasks.remove(task);
+    }
+
+    // Сбор изменений: значения полей снимаются сейчас, отметки задач сбрасываются
+    synchronized List<TaskChange> drain() {
+        List<TaskChange> changes = new ArrayList<>(dirtyTasks.size());
+        for (Task task : dirtyTasks) {
+            EnumSet<TaskField> fields = task.takeDirtyFields();
+            if (!fields.isEmpty()) changes.add(new TaskChange(task, fields));
+        }
+        // Набор заменяется новым: IdentityHashMap не уменьшается при очистке
+        dirtyTasks = Collections.newSetFromMap(new IdentityHashMap<>());
+        return changes;
+    }
+
+    @Override
+    public void priorityChanged(Task task) {
+        record(task);
+    }
+
+    @Override
+    public void durationChanged(Task task) {
+        record(task);
+    }
+
+    @Override
+    public void taskChanged(Task task) {
+        record(task);
+    }
+}
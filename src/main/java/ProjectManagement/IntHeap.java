@@ -0,0 +1,63 @@
+package ProjectManagement;
+
+import java.util.Arrays;
+
+// Двоичная куча номеров задач без упаковки в объекты.
+// Порядок задается внешним массивом ключей: меньший keys[id] выше, при равенстве - меньший id.
+// Ключ элемента не должен меняться, пока элемент в куче.
+final class IntHeap {
+
+    private final long[] keys;
+    private int[] items;
+    private int size;
+
+    IntHeap(long[] keys, int initialCapacity) {
+        this.keys = keys;
+        this.items = new int[Math.max(4, initialCapacity)];
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void add(int id) {
+        if (size == items.length) items = Arrays.copyOf(items, size * 2);
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!less(id, items[parent])) break;
+            items[i] = items[parent];
+            i = parent;
+        }
+        items[i] = id;
+    }
+
+    int peek() {
+        if (size == 0) throw new IllegalStateException("Heap is empty");
+        return items[0];
+    }
+
+    int poll() {
+        int top = peek();
+        int last = items[--size];
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && less(items[child + 1], items[child])) child++;
+            if (!less(items[child], last)) break;
+            items[i] = items[child];
+            i = child;
+        }
+        if (size > 0) items[i] = last;
+        return top;
+    }
+
+    private boolean less(int a, int b) {
+        return keys[a] < keys[b] || (keys[a] == keys[b] && a < b);
+    }
+}
@@ -0,0 +1,233 @@
+package ProjectManagement;
+
+import TaskManagement.DurationDistribution;
+import TaskManagement.Task;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Анализ рисков сроков проекта методом Монте-Карло.
+// В каждой итерации длительности задач с распределением разыгрываются заново (остальные берутся из оценок),
+// и по графу зависимостей считается длина проекта, как в CriticalPath (рабочие минуты календаря проекта,
+// исполнители не ограничивают). Итерации делятся на порции с собственными генераторами случайных чисел,
+// порции разбирают потоки пула; у каждого потока свои массивы под длительности и сроки, задачи не изменяются.
+// Результат при одном seed не зависит от числа потоков.
+// Индекс критичности задачи - доля итераций, в которых задача лежала на критическом пути.
+public final class MonteCarloAnalysis {
+
+    // Итераций в одной порции
+    private static final int CHUNK = 32;
+
+    private final CriticalPath criticalPath;
+    private final int iterations;
+    private final long[] projectLengths; // Длины проекта по итерациям (по возрастанию)
+    private final int[] criticalCounts; // Число итераций, в которых задача была критической
+    private final Map<Task, Integer> positions = new IdentityHashMap<>();
+
+    private MonteCarloAnalysis(CriticalPath criticalPath, int iterations) {
+        this.criticalPath = criticalPath;
+        this.iterations = iterations;
+        this.projectLengths = new long[iterations];
+        this.criticalCounts = new int[criticalPath.sortedTasks().size()];
+    }
+
+    // Анализ на общем пуле потоков
+    public static MonteCarloAnalysis of(Project project, int iterations, long seed) {
+        return of(project, iterations, seed, ForkJoinPool.commonPool());
+    }
+
+    public static MonteCarloAnalysis of(Project project, int iterations, long seed, ForkJoinPool pool) {
+        if (iterations <= 0) {
+            throw new IllegalArgumentException("Number of iterations must be positive.");
+        }
+        MonteCarloAnalysis analysis = new MonteCarloAnalysis(CriticalPath.of(project), iterations);
+        analysis.run(seed, pool);
+        return analysis;
+    }
+
+    private void run(long seed, ForkJoinPool pool) {
+        List<Task> sortedTasks = criticalPath.sortedTasks();
+        int size = sortedTasks.size();
+        DurationDistribution[] distributions = new DurationDistribution[size];
+        long[] fixedDurations = new long[size];
+        for (int i = 0; i < size; i++) {
+            Task task = sortedTasks.get(i);
+            positions.put(task, i);
+            distributions[i] = task.getDurationDistribution();
+            fixedDurations[i] = criticalPath.duration(i);
+        }
+
+        // Генераторы порций создаются заранее и по порядку, поэтому результат не зависит от распределения по потокам
+        int chunkCount = (iterations + CHUNK - 1) / CHUNK;
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] chunkRandoms = new SplittableRandom[chunkCount];
+        for (int c = 0; c < chunkCount; c++) chunkRandoms[c] = root.split();
+
+        AtomicInteger nextChunk = new AtomicInteger();
+        int workerCount = Math.max(1, Math.min(pool.getParallelism(), chunkCount));
+        List<Callable<int[]>> workers = new ArrayList<>(workerCount);
+        for (int w = 0; w < workerCount; w++) {
+            workers.add(new Worker(distributions, fixedDurations, chunkRandoms, nextChunk));
+        }
+
+        try {
+            for (Future<int[]> result : pool.invokeAll(workers)) {
+                int[] counts = result.get();
+                for (int i = 0; i < size; i++) criticalCounts[i] += counts[i];
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Monte Carlo analysis was interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Monte Carlo analysis failed.", e.getCause());
+        }
+        Arrays.sort(projectLengths);
+    }
+
+    // Поток анализа: разбирает порции итераций, пока они не кончатся
+    private final class Worker implements Callable<int[]> {
+        private final DurationDistribution[] distributions;
+        private final long[] fixedDurations;
+        private final SplittableRandom[] chunkRandoms;
+        private final AtomicInteger nextChunk;
+
+        // Рабочие массивы потока (выделяются один раз)
+        private final long[] durations;
+        private final long[] finishes;
+        private final long[] tails;
+        private final int[] counts;
+
+        Worker(DurationDistribution[] distributions, long[] fixedDurations, SplittableRandom[] chunkRandoms, AtomicInteger nextChunk) {
+            this.distributions = distributions;
+            this.fixedDurations = fixedDurations;
+            this.chunkRandoms = chunkRandoms;
+            this.nextChunk = nextChunk;
+            int size = fixedDurations.length;
+            this.durations = new long[size];
+            this.finishes = new long[size];
+            this.tails = new long[size];
+            this.counts = new int[size];
+        }
+
+        @Override
+        public int[] call() {
+            int chunk;
+            while ((chunk = nextChunk.getAndIncrement()) < chunkRandoms.length) {
+                SplittableRandom random = chunkRandoms[chunk];
+                int end = Math.min(iterations, (chunk + 1) * CHUNK);
+                for (int iteration = chunk * CHUNK; iteration < end; iteration++) {
+                    projectLengths[iteration] = iterate(random);
+                }
+            }
+            return counts;
+        }
+
+        // Одна итерация: розыгрыш длительностей, прямой и обратный проходы; возвращает длину проекта
+        private long iterate(SplittableRandom random) {
+            int size = durations.length;
+            int[] predecessorOffsets = criticalPath.predecessorOffsets();
+            int[] predecessorTargets = criticalPath.predecessorTargets();
+            int[] successorOffsets = criticalPath.successorOffsets();
+            int[] successorTargets = criticalPath.successorTargets();
+
+            for (int i = 0; i < size; i++) {
+                DurationDistribution distribution = distributions[i];
+                durations[i] = distribution == null
+                        ? fixedDurations[i]
+                        : Math.max(0, Math.round(distribution.sampleMinutes(random)));
+            }
+
+            long length = 0;
+            for (int i = 0; i < size; i++) {
+                long start = 0;
+                for (int k = predecessorOffsets[i]; k < predecessorOffsets[i + 1]; k++) {
+                    start = Math.max(start, finishes[predecessorTargets[k]]);
+                }
+                finishes[i] = start + durations[i];
+                length = Math.max(length, finishes[i]);
+            }
+
+            for (int i = size - 1; i >= 0; i--) {
+                long tail = 0;
+                for (int k = successorOffsets[i]; k < successorOffsets[i + 1]; k++) {
+                    tail = Math.max(tail, tails[successorTargets[k]]);
+                }
+                tails[i] = durations[i] + tail;
+                if (finishes[i] - durations[i] + tails[i] == length) counts[i]++;
+            }
+            return length;
+        }
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    // Длительность проекта, которая не будет превышена с вероятностью percentile (от 0 до 1)
+    public Duration getDuration(double percentile) {
+        return Duration.ofMinutes(lengthAt(percentile));
+    }
+
+    // Дата окончания проекта, которая не будет превышена с вероятностью percentile (от 0 до 1)
+    public LocalDateTime getCompletionDate(double percentile) {
+        return criticalPath.finishDateAfter(lengthAt(percentile));
+    }
+
+    public LocalDateTime getP50() {
+        return getCompletionDate(0.5);
+    }
+
+    public LocalDateTime getP80() {
+        return getCompletionDate(0.8);
+    }
+
+    public LocalDateTime getP95() {
+        return getCompletionDate(0.95);
+    }
+
+    // Средняя длительность проекта
+    public Duration getMeanDuration() {
+        double sum = 0;
+        for (long length : projectLengths) sum += length;
+        return Duration.ofMinutes(Math.round(sum / iterations));
+    }
+
+    // Длительность проекта по точечным оценкам (для сравнения с процентилями)
+    public Duration getDeterministicDuration() {
+        return criticalPath.getProjectDuration();
+    }
+
+    // Доля итераций, в которых задача была критической (от 0 до 1)
+    public double getCriticalityIndex(Task task) {
+        Integer position = positions.get(task);
+        if (position == null) {
+            throw new IllegalArgumentException("Task '" + task.getName() + "' is not part of the project.");
+        }
+        return (double) criticalCounts[position] / iterations;
+    }
+
+    // Задачи по убыванию индекса критичности (не больше limit)
+    public List<Task> getMostCriticalTasks(int limit) {
+        List<Task> sortedTasks = criticalPath.sortedTasks();
+        Integer[] order = new Integer[sortedTasks.size()];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, Comparator.<Integer>comparingInt(i -> -criticalCounts[i]).thenComparingInt(i -> i));
+        List<Task> result = new ArrayList<>(Math.min(limit, order.length));
+        for (int i = 0; i < order.length && result.size() < limit; i++) result.add(sortedTasks.get(order[i]));
+        return result;
+    }
+
+    private long lengthAt(double percentile) {
+        if (!(percentile >= 0 && percentile <= 1)) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 1.");
+        }
+        int index = (int) Math.ceil(percentile * iterations) - 1;
+        return projectLengths[Math.max(0, Math.min(iterations - 1, index))];
+    }
+}
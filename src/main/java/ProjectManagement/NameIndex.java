@@ -0,0 +1,72 @@
+package ProjectManagement;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+// Индекс имен без учета регистра: имя -> первый по порядку элемент списка с этим именем.
+// Поиск, добавление и переименование - O(1); полный проход по списку нужен только при удалении
+// или переименовании элемента, который был первым со своим именем (чтобы найти следующего).
+final class NameIndex<T> {
+
+    private final List<T> items;
+    private final Function<T, String> names;
+    private final Map<String, T> firstByName = new HashMap<>();
+
+    NameIndex(List<T> items, Function<T, String> names) {
+        this.items = items;
+        this.names = names;
+        rebuild();
+    }
+
+    // Ключ сравнения как у equalsIgnoreCase (сначала верхний, затем нижний регистр)
+    private static String key(String name) {
+        return name.toUpperCase(Locale.ROOT).toLowerCase(Locale.ROOT);
+    }
+
+    T get(String name) {
+        return name == null ? null : firstByName.get(key(name));
+    }
+
+    // Элемент добавлен в конец списка
+    void added(T item) {
+        String name = names.apply(item);
+        if (name != null) firstByName.putIfAbsent(key(name), item);
+    }
+
+    // Элемент удален из списка
+    void removed(T item) {
+        String name = names.apply(item);
+        if (name != null && firstByName.get(key(name)) == item) repair(key(name));
+    }
+
+    // Элемент переименован (previous - прежнее имя)
+    void renamed(T item, String previous) {
+        if (previous != null && firstByName.get(key(previous)) == item) repair(key(previous));
+        String name = names.apply(item);
+        if (name == null) return;
+        T first = firstByName.get(key(name));
+        if (first == null) firstByName.put(key(name), item);
+        // Переименованный элемент мог оказаться раньше прежнего первого с этим именем
+        else if (first != item) repair(key(name));
+    }
+
+    void rebuild() {
+        firstByName.clear();
+        for (T item : items) added(item);
+    }
+
+    // Поиск первого элемента с именем key заново
+    private void repair(String key) {
+        firstByName.remove(key);
+        for (T item : items) {
+            String name = names.apply(item);
+            if (name != null && key(name).equals(key)) {
+                firstByName.put(key, item);
+                return;
+            }
+        }
+    }
+}
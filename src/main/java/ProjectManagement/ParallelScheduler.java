@@ -0,0 +1,194 @@
+package ProjectManagement;
+
+import CalendarManagement.Calendar;
+import CalendarManagement.WorkingTimeCalculator;
+import ResourceManagement.Resource;
+import TaskManagement.Task;
+import TaskManagement.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Расчет расписания по компонентам связности.
+// Задачи, связанные зависимостями или общим исполнителем, попадают в одну компоненту;
+// компоненты не влияют друг на друга и считаются параллельно на ForkJoinPool.
+// Внутри компоненты задачи идут в общем топологическом порядке, поэтому результат
+// совпадает с последовательным расчетом. Задачи при расчете не изменяются,
+// сроки записываются в массивы и переносятся в задачи вызывающим кодом.
+class ParallelScheduler {
+
+    // Минимальный объем работы (в задачах) для отдельной подзадачи пула
+    private static final int GRAIN = 512;
+
+    private final List<Task> sortedTasks;
+    private final LocalDateTime projectStartDate;
+    private final Calendar projectCalendar;
+
+    private final Map<Task, Integer> positions;
+    private final LocalDateTime[] startDates;
+    private final LocalDateTime[] endDates;
+
+    private int[] componentOffsets; // Компонента c - это componentTasks[componentOffsets[c] .. componentOffsets[c + 1])
+    private int[] componentTasks;
+
+    ParallelScheduler(List<Task> sortedTasks, LocalDateTime projectStartDate, Calendar projectCalendar) {
+        this.sortedTasks = sortedTasks;
+        this.projectStartDate = projectStartDate;
+        this.projectCalendar = projectCalendar;
+        this.positions = new IdentityHashMap<>(sortedTasks.size() * 2);
+        this.startDates = new LocalDateTime[sortedTasks.size()];
+        this.endDates = new LocalDateTime[sortedTasks.size()];
+    }
+
+    // Расчет сроков всех задач
+    void run(ForkJoinPool pool) {
+        for (int i = 0; i < sortedTasks.size(); i++) {
+            Task task = sortedTasks.get(i);
+            if (task.getAssignedResource() == null) {
+                throw new IllegalStateException("Task '" + task.getName() + "' has no assigned resource.");
+            }
+            positions.put(task, i);
+        }
+
+        splitIntoComponents();
+
+        int componentCount = componentOffsets.length - 1;
+        if (componentCount < 2 || sortedTasks.size() <= GRAIN || pool.getParallelism() < 2) {
+            for (int c = 0; c < componentCount; c++) scheduleComponent(c);
+        } else {
+            pool.invoke(new ComponentAction(0, componentCount));
+        }
+    }
+
+    int getComponentCount() {
+        return componentOffsets.length - 1;
+    }
+
+    LocalDateTime getStartDate(int position) {
+        return startDates[position];
+    }
+
+    LocalDateTime getEndDate(int position) {
+        return endDates[position];
+    }
+
+    // Разбиение на компоненты (система непересекающихся множеств по связям и исполнителям)
+    private void splitIntoComponents() {
+        int size = sortedTasks.size();
+        int[] parent = new int[size];
+        for (int i = 0; i < size; i++) parent[i] = i;
+
+        Map<Resource, Integer> firstTaskOfResource = new IdentityHashMap<>();
+        for (int i = 0; i < size; i++) {
+            Task task = sortedTasks.get(i);
+            for (Task subTask : task.getSubTasks()) {
+                Integer child = positions.get(subTask);
+                if (child != null) union(parent, i, child);
+            }
+            Integer first = firstTaskOfResource.putIfAbsent(task.getAssignedResource(), i);
+            if (first != null) union(parent, first, i);
+        }
+
+        // Номера компонент в порядке первой задачи, задачи внутри - в топологическом порядке
+        int[] componentOfRoot = new int[size];
+        Arrays.fill(componentOfRoot, -1);
+        int[] component = new int[size];
+        int componentCount = 0;
+        for (int i = 0; i < size; i++) {
+            int root = find(parent, i);
+            if (componentOfRoot[root] < 0) componentOfRoot[root] = componentCount++;
+            component[i] = componentOfRoot[root];
+        }
+
+        componentOffsets = new int[componentCount + 1];
+        for (int i = 0; i < size; i++) componentOffsets[component[i] + 1]++;
+        for (int c = 0; c < componentCount; c++) componentOffsets[c + 1] += componentOffsets[c];
+
+        componentTasks = new int[size];
+        int[] fill = Arrays.copyOf(componentOffsets, componentCount);
+        for (int i = 0; i < size; i++) componentTasks[fill[component[i]]++] = i;
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    private static void union(int[] parent, int a, int b) {
+        int rootA = find(parent, a);
+        int rootB = find(parent, b);
+        if (rootA != rootB) parent[Math.max(rootA, rootB)] = Math.min(rootA, rootB);
+    }
+
+    // Последовательный расчет одной компоненты
+    private void scheduleComponent(int component) {
+        Map<Resource, LocalDateTime> resourceAvailability = new IdentityHashMap<>();
+
+        for (int k = componentOffsets[component]; k < componentOffsets[component + 1]; k++) {
+            int position = componentTasks[k];
+            Task task = sortedTasks.get(position);
+            Resource assignedResource = task.getAssignedResource();
+
+            LocalDateTime taskStartDate = calculateStartDate(task, resourceAvailability);
+            LocalDateTime taskEndDate = WorkingTimeCalculator.addWorkingTime(taskStartDate, task.getEstimatedDuration(),
+                    projectCalendar, assignedResource.getResourceCalendar());
+
+            startDates[position] = taskStartDate;
+            endDates[position] = taskEndDate;
+            // Отмененная задача не занимает исполнителя
+            if (task.getStatus() != TaskStatus.CANCELLED) {
+                resourceAvailability.put(assignedResource, taskEndDate);
+            }
+        }
+    }
+
+    // Расчет даты начала задачи: после зависимостей и после освобождения исполнителя
+    private LocalDateTime calculateStartDate(Task task, Map<Resource, LocalDateTime> resourceAvailability) {
+        LocalDateTime earliestStart = projectStartDate;
+
+        for (Task dependency : task.getDependencies()) {
+            Integer position = positions.get(dependency);
+            LocalDateTime dependencyEnd = position != null ? endDates[position] : dependency.getEstimatedEndDate();
+            if (dependencyEnd != null && dependencyEnd.isAfter(earliestStart)) {
+                earliestStart = dependencyEnd;
+            }
+        }
+
+        LocalDateTime resourceAvailable = resourceAvailability.getOrDefault(task.getAssignedResource(), projectStartDate);
+        if (resourceAvailable.isAfter(earliestStart)) {
+            earliestStart = resourceAvailable;
+        }
+
+        return projectCalendar.getNextWorkingTime(earliestStart);
+    }
+
+    // Подзадача пула: диапазон компонент, делится пополам, пока работы достаточно
+    private class ComponentAction extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+
+        ComponentAction(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            int taskCount = componentOffsets[to] - componentOffsets[from];
+            if (to - from == 1 || taskCount <= GRAIN) {
+                for (int c = from; c < to; c++) scheduleComponent(c);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ComponentAction(from, middle), new ComponentAction(middle, to));
+        }
+    }
+}
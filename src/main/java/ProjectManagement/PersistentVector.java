@@ -0,0 +1,97 @@
+package ProjectManagement;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+// Неизменяемый список-дерево с ветвлением 32.
+// Замена элемента копирует только путь от корня до листа (O(log32 n)),
+// остальные узлы разделяются между старой и новой версией.
+final class PersistentVector<T> extends AbstractList<T> implements RandomAccess {
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    private static final PersistentVector<?> EMPTY = new PersistentVector<>(new Object[0], 0, 0);
+
+    private final Object[] root;
+    private final int shift;
+    private final int size;
+
+    private PersistentVector(Object[] root, int shift, int size) {
+        this.root = root;
+        this.shift = shift;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> PersistentVector<T> empty() {
+        return (PersistentVector<T>) EMPTY;
+    }
+
+    // Построение дерева из списка (снизу вверх, O(n))
+    static <T> PersistentVector<T> of(List<? extends T> items) {
+        int size = items.size();
+        if (size == 0) return empty();
+
+        Object[] level = new Object[(size + MASK) >>> BITS];
+        for (int i = 0; i < level.length; i++) {
+            int from = i << BITS;
+            Object[] leaf = new Object[Math.min(WIDTH, size - from)];
+            for (int j = 0; j < leaf.length; j++) {
+                leaf[j] = items.get(from + j);
+            }
+            level[i] = leaf;
+        }
+
+        int shift = 0;
+        while (level.length > 1) {
+            Object[] parents = new Object[(level.length + MASK) >>> BITS];
+            for (int i = 0; i < parents.length; i++) {
+                int from = i << BITS;
+                Object[] node = new Object[Math.min(WIDTH, level.length - from)];
+                System.arraycopy(level, from, node, 0, node.length);
+                parents[i] = node;
+            }
+            level = parents;
+            shift += BITS;
+        }
+
+        return new PersistentVector<>((Object[]) level[0], shift, size);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException(index);
+
+        Object[] node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(index >>> level) & MASK];
+        }
+        return (T) node[index & MASK];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    // Новая версия списка с замененным элементом (текущая версия не меняется)
+    PersistentVector<T> with(int index, T value) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException(index);
+        return new PersistentVector<>(replace(root, shift, index, value), shift, size);
+    }
+
+    private static Object[] replace(Object[] node, int level, int index, Object value) {
+        Object[] copy = node.clone();
+        if (level == 0) {
+            copy[index & MASK] = value;
+        } else {
+            int child = (index >>> level) & MASK;
+            copy[child] = replace((Object[]) node[child], level - BITS, index, value);
+        }
+        return copy;
+    }
+}
@@ -1,15 +1,23 @@
 package ProjectManagement;
 
 import CalendarManagement.Calendar;
+import CalendarManagement.WorkingTimeCalculator;
+import Monitoring.GanttMetrics;
+import Monitoring.QuietMode;
 import ResourceManagement.Resource;
+import ResourceManagement.ResourceListener;
 import TaskManagement.Task;
+import TaskManagement.TaskListener;
 import TaskManagement.TaskStatus;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.time.Clock;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 // Класс диаграммы
 @Getter
@@ -25,172 +33,432 @@ public class Project {
     private LocalDateTime estimatedEndDate;
     private LocalDateTime factualEndDate;
 
+    // Пул для параллельного расчета расписания
+    private ForkJoinPool schedulingPool = ForkJoinPool.commonPool();
+
+    // Топологический порядок задач (поддерживается при изменении графа)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private TaskOrder taskOrder;
+
+    // Публикация неизменяемых снимков для читателей
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final SnapshotPublisher snapshotPublisher;
+
+    // Инкрементальный пересчет сроков после изменений
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final ScheduleUpdater scheduleUpdater;
+
+    // Очереди готовых к началу задач по исполнителям
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private ReadyQueues readyQueues;
+
+    // Учет задач с несохраненными изменениями (для отложенной записи в базу)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final DirtyTracker dirtyTracker;
+
+    // Внешние слушатели задач проекта (журнал и т.п.): подключаются ко всем задачам, в том числе будущим
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final List<TaskListener> taskListeners = new ArrayList<>();
+
+    // Часы проекта: передаются всем его задачам (в том числе добавленным позже)
+    private Clock clock = Clock.systemDefaultZone();
+
+    // Индексы имен задач и исполнителей (без учета регистра)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private NameIndex<Task> taskNames;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private NameIndex<Resource> resourceNames;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final NameTracker nameTracker = new NameTracker();
+
+    // Следующий id для задач, добавленных без id (больше всех id задач проекта)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private long nextTaskId = 1;
+
+    // Задачи проекта по id (id уникален в проекте)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final Map<Long, Task> tasksById = new HashMap<>();
+
+    // Переименования и смена id задач и исполнителей проекта -> индексы имен и id
+    private final class NameTracker implements TaskListener, ResourceListener {
+        @Override
+        public void nameChanged(Task task, String previous) {
+            taskNames.renamed(task, previous);
+        }
+
+        @Override
+        public boolean beforeIdChanged(Task task, Long newId) {
+            Task holder = newId != null ? tasksById.get(newId) : null;
+            return holder == null || holder == task;
+        }
+
+        @Override
+        public void idChanged(Task task, Long previous) {
+            if (previous != null) tasksById.remove(previous, task);
+            registerId(task);
+        }
+
+        @Override
+        public void nameChanged(Resource resource, String previous) {
+            resourceNames.renamed(resource, previous);
+        }
+    }
+
     // Конструктор
     public Project(String name, Calendar projectCalendar) {
         this.name = name;
         this.projectCalendar = projectCalendar;
         tasks = new ArrayList<>();
         resources = new ArrayList<>();
+        taskNames = new NameIndex<>(tasks, Task::getName);
+        resourceNames = new NameIndex<>(resources, Resource::getName);
+        taskOrder = new TaskOrder();
+        readyQueues = new ReadyQueues(tasks);
+        snapshotPublisher = new SnapshotPublisher(this);
+        scheduleUpdater = new ScheduleUpdater(this);
+        dirtyTracker = new DirtyTracker();
     }
 
-    // Получение сортированных заданий
-    public List<Task> getSortedTasks() {
-        List<Task> sortedTasks = new ArrayList<>();
-        List<Task> prioritySorter = new ArrayList<>();
-        Map<Task, Integer> taskDepCount = new HashMap<>();
-        Queue<Task> readyTasks = new LinkedList<>();
+    // Последний опубликованный снимок проекта (чтение без блокировок)
+    public ProjectSnapshot getSnapshot() {
+        return snapshotPublisher.current();
+    }
 
-        for (Task task : tasks) {
-            taskDepCount.put(task, task.getDependencies().size());
-            if (task.getDependencies().isEmpty()) {
-                readyTasks.add(task);
-            }
-        }
+    // Публикация снимка после изменений, сделанных в обход методов проекта
+    public void publishSnapshot() {
+        snapshotPublisher.publish();
+    }
 
-        while (!readyTasks.isEmpty()) {
-            Task currentTask = readyTasks.poll();
-            sortedTasks.add(currentTask);
+    // Пакетное изменение проекта в обход его методов (загрузка): снимок публикуется один раз в конце,
+    // сообщения о действиях с отдельными задачами на это время подавляются
+    void beginBatch() {
+        snapshotPublisher.beginBatch();
+        QuietMode.enter();
+    }
 
-            for (Task subTask : currentTask.getSubTasks()) {
-                taskDepCount.put(subTask, taskDepCount.get(subTask) - 1);
-                if (taskDepCount.get(subTask) == 0) {
-                    prioritySorter.add(subTask);
-                }
-            }
+    void endBatch() {
+        QuietMode.exit();
+        snapshotPublisher.endBatch();
+    }
 
-            if (prioritySorter.size() == 1) {
-                readyTasks.add(prioritySorter.get(0));
-            } else if (prioritySorter.size() > 1) {
-                prioritySorter.sort(Comparator.comparingInt(Task::getPriority));
+    // Включение учета измененных задач (отметки, сделанные до включения, тоже учитываются)
+    public void enableChangeTracking() {
+        dirtyTracker.enable(tasks);
+    }
 
-                readyTasks.addAll(prioritySorter);
-            }
+    public void disableChangeTracking() {
+        dirtyTracker.disable();
+    }
 
-            prioritySorter.clear();
-        }
+    // Подключение слушателя ко всем задачам проекта (и к задачам, добавленным позже)
+    public void addTaskListener(TaskListener listener) {
+        if (taskListeners.contains(listener)) return;
+        taskListeners.add(listener);
+        for (Task task : tasks) task.addListener(listener);
+    }
+
+    public void removeTaskListener(TaskListener listener) {
+        if (!taskListeners.remove(listener)) return;
+        for (Task task : tasks) task.removeListener(listener);
+    }
+
+    // Смена часов проекта и всех его задач
+    public void setClock(Clock newClock) {
+        this.clock = newClock;
+        for (Task task : tasks) task.setClock(newClock);
+    }
+
+    // Изменения задач с прошлого сбора (значения снимаются в момент вызова)
+    public List<TaskChange> drainChanges() {
+        return dirtyTracker.drain();
+    }
+
+    // Задачи проекта (изменяются только через addTask/removeTask)
+    public List<Task> getTasks() {
+        return Collections.unmodifiableList(tasks);
+    }
 
-        // Проверка на наличие циклов
-        if (sortedTasks.size() != tasks.size()) {
-            throw new IllegalStateException("There is a cycle in the tasks!");
+    // Замена списка задач
+    public void setTasks(List<Task> newTasks) {
+        for (Task task : tasks) {
+            task.removeListener(taskOrder);
+            task.removeListener(snapshotPublisher);
+            task.removeListener(scheduleUpdater);
+            task.removeListener(dirtyTracker);
+            task.removeListener(nameTracker);
+            task.removeListener(readyQueues);
+            dirtyTracker.forget(task);
+            for (TaskListener listener : taskListeners) task.removeListener(listener);
+        }
+        readyQueues.detach();
+        tasks = new ArrayList<>();
+        tasksById.clear();
+        taskNames = new NameIndex<>(tasks, Task::getName);
+        taskOrder = new TaskOrder();
+        readyQueues = new ReadyQueues(tasks);
+        snapshotPublisher.beginBatch();
+        try {
+            snapshotPublisher.markStructureChanged();
+            addTasks(newTasks);
+        } finally {
+            snapshotPublisher.endBatch();
         }
+    }
 
+    // Получение сортированных заданий (порядок поддерживается инкрементально)
+    public List<Task> getSortedTasks() {
+        long start = GanttMetrics.start();
+        List<Task> sortedTasks = taskOrder.getSortedTasks();
+        GanttMetrics.stop(GanttMetrics.Phase.SORTED_TASKS, start);
         return sortedTasks;
     }
 
+    // Поддерживаемый топологический порядок (для пересчета расписания)
+    TaskOrder getTaskOrder() {
+        return taskOrder;
+    }
+
     // Расчет расписания
     public void calculateSchedule() {
         if (estimatedStartDate == null) {
             throw new IllegalStateException("Project start date must be set before calculating the schedule.");
         }
 
-        List<Task> sortedTasks = getSortedTasks();
-
-        Map<Resource, LocalDateTime> resourceAvailability = new HashMap<>();
-        for (Resource resource : resources) {
-            resourceAvailability.put(resource, estimatedStartDate);
+        long start = GanttMetrics.start();
+        snapshotPublisher.beginBatch();
+        try {
+            scheduleSortedTasks();
+            scheduleUpdater.reset();
+        } finally {
+            snapshotPublisher.endBatch();
+            GanttMetrics.stop(GanttMetrics.Phase.SCHEDULE, start);
         }
+    }
 
-        // Расчет расписания задач
-        for (Task task : sortedTasks) {
-            Resource assignedResource = task.getAssignedResource();
-            if (assignedResource == null) {
-                throw new IllegalStateException("Task '" + task.getName() + "' has no assigned resource.");
-            }
-
-            LocalDateTime taskStartDate = calculateStartDateForTask(task, resourceAvailability);
-
-            LocalDateTime taskEndDate = calculateTaskEndDate(taskStartDate, task.getEstimatedDuration(), assignedResource.getResourceCalendar());
+    // Расчет сроков задач: независимые части проекта считаются параллельно.
+    // Задачи идут в порядке расчета: из готовых задач исполнитель первой получает задачу с большим приоритетом
+    private void scheduleSortedTasks() {
+        List<Task> sortedTasks = taskOrder.getScheduleOrder().getTasks();
 
-            task.setEstimatedStartDate(taskStartDate);
-            task.setEstimatedEndDate(taskEndDate);
+        ParallelScheduler scheduler = new ParallelScheduler(sortedTasks, estimatedStartDate, projectCalendar);
+        scheduler.run(schedulingPool);
 
-            resourceAvailability.put(assignedResource, taskEndDate);
+        for (int i = 0; i < sortedTasks.size(); i++) {
+            Task task = sortedTasks.get(i);
+            task.setEstimatedStartDate(scheduler.getStartDate(i));
+            task.setEstimatedEndDate(scheduler.getEndDate(i));
         }
     }
 
-    // Перерасчет расписания зависимостей задачи
-    public void updateScheduleAfterChange(Task changedTask) {
-        for (Task dependentTask : changedTask.getSubTasks()) {
-            dependentTask.updateEstimatedEndDate();
-            updateScheduleAfterChange(dependentTask);
+    // Расчет расписания по событиям: исполнитель, освободившись, берет готовую задачу
+    // с наивысшим приоритетом, даже если она стала готовой позже других
+    public void calculateResourceConstrainedSchedule() {
+        if (estimatedStartDate == null) {
+            throw new IllegalStateException("Project start date must be set before calculating the schedule.");
         }
-    }
 
-    // Расчет даты начала задачи
-    private LocalDateTime calculateStartDateForTask(Task task, Map<Resource, LocalDateTime> resourceAvailability) {
-        LocalDateTime earliestStart = estimatedStartDate;
+        snapshotPublisher.beginBatch();
+        try {
+            List<Task> sortedTasks = getSortedTasks();
+            ResourceConstrainedScheduler scheduler = new ResourceConstrainedScheduler(sortedTasks, estimatedStartDate, projectCalendar);
+            scheduler.run();
 
-        for (Task dependency : task.getDependencies()) {
-            if (dependency.getEstimatedEndDate() != null && dependency.getEstimatedEndDate().isAfter(earliestStart)) {
-                earliestStart = dependency.getEstimatedEndDate();
+            for (int i = 0; i < sortedTasks.size(); i++) {
+                Task task = sortedTasks.get(i);
+                task.setEstimatedStartDate(scheduler.getStartDate(i));
+                task.setEstimatedEndDate(scheduler.getEndDate(i));
             }
+            scheduleUpdater.reset();
+        } finally {
+            snapshotPublisher.endBatch();
         }
+    }
 
-        // Учитываем доступность исполнителя
-        Resource assignedResource = task.getAssignedResource();
-        LocalDateTime resourceAvailable = resourceAvailability.getOrDefault(assignedResource, estimatedStartDate);
-        if (resourceAvailable.isAfter(earliestStart)) {
-            earliestStart = resourceAvailable;
+    // Расчет расписания с заполнением окон: задачи идут в топологическом порядке,
+    // каждая бронирует у исполнителя самое раннее окно после своих зависимостей,
+    // в том числе промежутки, оставшиеся между ранее размещенными задачами
+    public void calculateScheduleWithBackfilling() {
+        if (estimatedStartDate == null) {
+            throw new IllegalStateException("Project start date must be set before calculating the schedule.");
         }
 
-        return projectCalendar.getNextWorkingTime(earliestStart);
-    }
+        snapshotPublisher.beginBatch();
+        try {
+            List<Task> sortedTasks = getSortedTasks();
+            for (Task task : sortedTasks) {
+                if (task.getAssignedResource() == null) {
+                    throw new IllegalStateException("Task '" + task.getName() + "' has no assigned resource.");
+                }
+                task.getAssignedResource().getTimeline().release(task);
+            }
 
-    // Расчет даты конца задачи
-    private LocalDateTime calculateTaskEndDate(LocalDateTime startDate, Duration duration, Calendar resourceCalendar) {
-        LocalDateTime currentDate = startDate;
-        long remainingHours = duration.toHours();
+            for (Task task : sortedTasks) {
+                LocalDateTime earliestStart = estimatedStartDate;
+                for (Task dependency : task.getDependencies()) {
+                    LocalDateTime dependencyEnd = dependency.getEstimatedEndDate();
+                    if (dependencyEnd != null && dependencyEnd.isAfter(earliestStart)) earliestStart = dependencyEnd;
+                }
 
-        while (remainingHours > 0) {
-            if (resourceCalendar.isWorkDay(currentDate.toLocalDate())) {
-                long availableHours = resourceCalendar.workHoursLeftForDay(currentDate.toLocalDate(), currentDate);
-                if (remainingHours <= availableHours) {
-                    return currentDate.plusHours(remainingHours);
+                Resource resource = task.getAssignedResource();
+                LocalDateTime startDate;
+                if (task.getStatus() == TaskStatus.CANCELLED) {
+                    // Отмененная задача не занимает исполнителя
+                    startDate = projectCalendar.getNextWorkingTime(earliestStart);
                 } else {
-                    remainingHours -= availableHours;
-                    currentDate = currentDate.plusDays(1).withHour(resourceCalendar.getStartHour()).withMinute(0);
+                    startDate = resource.getTimeline().findEarliestSlot(earliestStart, task.getEstimatedDuration(), projectCalendar);
+                }
+                LocalDateTime endDate = WorkingTimeCalculator.addWorkingTime(startDate, task.getEstimatedDuration(),
+                        projectCalendar, resource.getResourceCalendar());
+                if (task.getStatus() != TaskStatus.CANCELLED) {
+                    resource.getTimeline().book(task, startDate, endDate);
                 }
-            } else {
-                currentDate = currentDate.plusDays(1).withHour(resourceCalendar.getStartHour()).withMinute(0);
+
+                task.setEstimatedStartDate(startDate);
+                task.setEstimatedEndDate(endDate);
             }
+            scheduleUpdater.reset();
+        } finally {
+            snapshotPublisher.endBatch();
         }
-
-        return currentDate;
     }
 
+    // Перерасчет расписания зависимостей задачи
+    public void updateScheduleAfterChange(Task changedTask) {
+        scheduleUpdater.markDirty(changedTask);
+        recalculateProjectSchedule();
+    }
 
-    // Добавление задачи
+    // Добавление задачи (связи с задачами проекта проверяются на цикл).
+    // Задача без id получает следующий свободный id проекта; id, занятый другой задачей проекта, отклоняется
     public void addTask(Task task) {
+        addTask(task, false);
+    }
+
+    // Добавление задачи из проверенного графа в топологическом порядке (ProjectBuilder)
+    void addValidatedTask(Task task) {
+        addTask(task, true);
+    }
+
+    private void addTask(Task task, boolean validated) {
+        if (taskOrder.contains(task)) return;
+        if (task.getId() != null && tasksById.containsKey(task.getId())) {
+            throw new IllegalArgumentException("Task id " + task.getId() + " is already used in the project");
+        }
+        if (validated) taskOrder.append(task);
+        else taskOrder.add(task);
+        if (task.getId() == null) task.setId(nextTaskId);
+        registerId(task);
         tasks.add(task);
+        taskNames.added(task);
+        task.setClock(clock);
+        task.addListener(snapshotPublisher);
+        task.addListener(scheduleUpdater);
+        task.addListener(dirtyTracker);
+        task.addListener(nameTracker);
+        task.addListener(readyQueues);
+        for (TaskListener listener : taskListeners) task.addListener(listener);
+        scheduleUpdater.taskAdded(task);
+        readyQueues.taskAdded(task);
+        snapshotPublisher.markStructureChanged();
+    }
+
+    private void registerId(Task task) {
+        if (task.getId() == null) return;
+        tasksById.put(task.getId(), task);
+        nextTaskId = Math.max(nextTaskId, task.getId() + 1);
     }
 
     // Добавление задач
     public void addTasks(List<Task> newTasks) {
-        tasks.addAll(newTasks);
+        snapshotPublisher.beginBatch();
+        try {
+            for (Task task : newTasks) {
+                addTask(task);
+            }
+        } finally {
+            snapshotPublisher.endBatch();
+        }
+    }
+
+    // Удаление задачи из проекта (связи самой задачи сохраняются)
+    public void removeTask(Task task) {
+        if (!taskOrder.contains(task)) return;
+        scheduleUpdater.taskRemoved(task);
+        taskOrder.remove(task);
+        tasks.removeIf(t -> t == task);
+        if (task.getId() != null) tasksById.remove(task.getId(), task);
+        taskNames.removed(task);
+        task.removeListener(nameTracker);
+        task.removeListener(readyQueues);
+        readyQueues.taskRemoved(task);
+        task.removeListener(snapshotPublisher);
+        task.removeListener(scheduleUpdater);
+        task.removeListener(dirtyTracker);
+        dirtyTracker.forget(task);
+        for (TaskListener listener : taskListeners) task.removeListener(listener);
+        snapshotPublisher.markStructureChanged();
+    }
+
+    // Исполнители проекта (изменяются только через addResource/setResources)
+    public List<Resource> getResources() {
+        return Collections.unmodifiableList(resources);
+    }
+
+    // Замена списка исполнителей
+    public void setResources(List<Resource> newResources) {
+        for (Resource resource : resources) resource.removeListener(nameTracker);
+        resources = new ArrayList<>();
+        resourceNames = new NameIndex<>(resources, Resource::getName);
+        addResources(newResources);
     }
 
     // Добавление исполнителя
     public void addResource(Resource resource) {
         resources.add(resource);
+        resourceNames.added(resource);
+        resource.addListener(nameTracker);
+        snapshotPublisher.markStructureChanged();
     }
 
     // Добавление исполнителей
     public void addResources(List<Resource> newResources) {
-        resources.addAll(newResources);
+        for (Resource resource : newResources) {
+            resources.add(resource);
+            resourceNames.added(resource);
+            resource.addListener(nameTracker);
+        }
+        snapshotPublisher.markStructureChanged();
     }
 
-    // Расчет оценочной длительности проекта
+    // Расчет оценочной длительности проекта (от самого раннего начала до самого позднего окончания)
     public Duration calculateProjectEstimatedDuration() {
         if (tasks.isEmpty()) {
             return Duration.ZERO;
         }
 
-        LocalDateTime startDateCalc = this.getSortedTasks().get(0).getEstimatedStartDate();
-
-        LocalDateTime endDateCalc = this.getSortedTasks().get(this.getSortedTasks().size()-1).getEstimatedEndDate();
-
-        if (startDateCalc == null || endDateCalc == null) {
-            throw new IllegalStateException("Недостаточно данных для расчёта оценочной длительности проекта.");
+        LocalDateTime startDateCalc = null;
+        LocalDateTime endDateCalc = null;
+        for (Task task : tasks) {
+            LocalDateTime taskStart = task.getEstimatedStartDate();
+            LocalDateTime taskEnd = task.getEstimatedEndDate();
+            if (taskStart == null || taskEnd == null) {
+                throw new IllegalStateException("Недостаточно данных для расчёта оценочной длительности проекта.");
+            }
+            if (startDateCalc == null || taskStart.isBefore(startDateCalc)) startDateCalc = taskStart;
+            if (endDateCalc == null || taskEnd.isAfter(endDateCalc)) endDateCalc = taskEnd;
         }
 
         return Duration.between(startDateCalc, endDateCalc);
@@ -210,87 +478,41 @@ public class Project {
             throw new IllegalStateException("Проект не завершён. Невозможно рассчитать фактическую длительность.");
         }
 
-        LocalDateTime startDateCalc = this.getSortedTasks().get(0).getFactualStartDate();
-
-        LocalDateTime endDateCalc = this.getSortedTasks().get(this.getSortedTasks().size()-1).getFactualEndDate();
-
-        if (startDateCalc == null || endDateCalc == null) {
-            throw new IllegalStateException("Недостаточно данных для расчёта фактической длительности проекта.");
-        }
-
-        return Duration.between(startDateCalc, endDateCalc);
-    }
-
-
-    // Пересчёт расписания проекта
-    public void recalculateProjectSchedule() {
-        Set<Task> updatedTasks = new HashSet<>();
-
+        LocalDateTime startDateCalc = null;
+        LocalDateTime endDateCalc = null;
         for (Task task : tasks) {
-            if (task.getStatus() == TaskStatus.NOT_STARTED) {
-
-                LocalDateTime startDate = calculateStartDateForTask(task);
-                if (!startDate.equals(task.getEstimatedStartDate())) {
-                    task.setEstimatedStartDate(startDate);
-                    updatedTasks.add(task);
-                }
-
-                LocalDateTime endDate = task.calculateEndDate(startDate, task.getEstimatedDuration(), projectCalendar, task.getAssignedResource().getResourceCalendar());
-                if (!endDate.equals(task.getEstimatedEndDate())) {
-                    task.setEstimatedEndDate(endDate);
-                    updatedTasks.add(task);
-                }
+            LocalDateTime taskStart = task.getFactualStartDate();
+            LocalDateTime taskEnd = task.getFactualEndDate();
+            if (taskStart == null || taskEnd == null) {
+                throw new IllegalStateException("Недостаточно данных для расчёта фактической длительности проекта.");
             }
+            if (startDateCalc == null || taskStart.isBefore(startDateCalc)) startDateCalc = taskStart;
+            if (endDateCalc == null || taskEnd.isAfter(endDateCalc)) endDateCalc = taskEnd;
         }
 
-        for (Task updatedTask : updatedTasks) {
-            updateDependentTasks(updatedTask);
-            recalculateSubTasks(updatedTask);
-        }
+        return Duration.between(startDateCalc, endDateCalc);
     }
 
-    // Дата начала задачи на основе зависимостей
-    private static LocalDateTime calculateStartDateForTask(Task task) {
-        LocalDateTime earliestStartDate = task.getEstimatedStartDate(); // Начальное значение для даты начала задачи
-
-        for (Task dependency : task.getDependencies()) {
-            if (dependency.getEstimatedEndDate() != null && dependency.getEstimatedEndDate().isAfter(earliestStartDate)) {
-                // Если зависимость заканчивается позже, то задача может начинаться только после неё
-                earliestStartDate = dependency.getEstimatedEndDate();
-            }
-        }
-
-        return earliestStartDate;
+    // Критический путь проекта (ранние/поздние сроки, резервы, критические задачи)
+    public CriticalPath calculateCriticalPath() {
+        return CriticalPath.of(this);
     }
 
-    // Пересчет зависимых задач
-    private void updateDependentTasks(Task task) {
-        for (Task dependentTask : task.getSubTasks()) {
-
-            LocalDateTime newStartDate = calculateStartDateForTask(dependentTask);
-            if (!newStartDate.equals(dependentTask.getEstimatedStartDate())) {
-                dependentTask.setEstimatedStartDate(newStartDate);
-            }
-
-            LocalDateTime newEndDate = dependentTask.calculateEndDate(newStartDate, dependentTask.getEstimatedDuration(), projectCalendar, dependentTask.getAssignedResource().getResourceCalendar());
-            if (!newEndDate.equals(dependentTask.getEstimatedEndDate())) {
-                dependentTask.setEstimatedEndDate(newEndDate);
-            }
-        }
+    // Анализ рисков сроков методом Монте-Карло (итерации считаются параллельно)
+    public MonteCarloAnalysis analyzeScheduleRisk(int iterations, long seed) {
+        return MonteCarloAnalysis.of(this, iterations, seed, schedulingPool);
     }
 
-    // Пересчет подзадач для каждой задачи
-    private void recalculateSubTasks(Task task) {
-        for (Task subTask : task.getSubTasks()) {
-            LocalDateTime newStartDate = calculateStartDateForTask(subTask);
-            if (!newStartDate.equals(subTask.getEstimatedStartDate())) {
-                subTask.setEstimatedStartDate(newStartDate);
-            }
 
-            LocalDateTime newEndDate = subTask.calculateEndDate(newStartDate, subTask.getEstimatedDuration(), projectCalendar, subTask.getAssignedResource().getResourceCalendar());
-            if (!newEndDate.equals(subTask.getEstimatedEndDate())) {
-                subTask.setEstimatedEndDate(newEndDate);
-            }
+    // Пересчёт расписания проекта: только задачи, затронутые изменениями с прошлого расчета
+    public void recalculateProjectSchedule() {
+        long start = GanttMetrics.start();
+        snapshotPublisher.beginBatch();
+        try {
+            GanttMetrics.recordRescheduled(scheduleUpdater.propagate());
+        } finally {
+            snapshotPublisher.endBatch();
+            GanttMetrics.stop(GanttMetrics.Phase.RESCHEDULE, start);
         }
     }
 
@@ -316,25 +538,32 @@ public class Project {
  */
 
 
-    // Получение следующей задачи для ресурса
+    // Получение следующей задачи для ресурса: готовая к началу задача с наибольшим приоритетом
+    // (при равенстве - добавленная раньше); очереди готовых задач поддерживаются по событиям задач
     public Task getNextTaskForResource(Resource resource) {
-        return tasks.stream()
-                .filter(task -> resource.equals(task.getAssignedResource()) && task.canStart())
-                .min(Comparator.comparing(Task::hasUnresolvedDependencies)
-                .thenComparing(Comparator.comparing(Task::getPriority).reversed()))
-                .orElse(null);
+        return readyQueues.next(resource);
     }
 
     // Отмена задачи
     public void cancelTask(Task task) {
-        task.setStatus(TaskStatus.CANCELLED);
-        this.recalculateProjectSchedule();
+        snapshotPublisher.beginBatch();
+        try {
+            task.setStatus(TaskStatus.CANCELLED);
+            this.recalculateProjectSchedule();
+        } finally {
+            snapshotPublisher.endBatch();
+        }
     }
 
     // Замена исполнителя
     public void changeResource(Task task, Resource newResource) {
-        task.setAssignedResource(newResource);
-        this.recalculateProjectSchedule();
+        snapshotPublisher.beginBatch();
+        try {
+            task.setAssignedResource(newResource);
+            this.recalculateProjectSchedule();
+        } finally {
+            snapshotPublisher.endBatch();
+        }
     }
 
     // Представить задачи проетка в виде построчной иерархии (в консоли)
@@ -362,23 +591,13 @@ public class Project {
         }
     }
 
-    // Поиск задачи по имени
+    // Поиск задачи по имени без учета регистра (при одинаковых именах - добавленная раньше)
     public Task getTaskByName(String taskName) {
-        for (Task task : tasks) {
-            if (task.getName().equalsIgnoreCase(taskName)) {
-                return task;
-            }
-        }
-        return null;
+        return taskNames.get(taskName);
     }
 
-    // Поиск исполнителя по имени
+    // Поиск исполнителя по имени без учета регистра (при одинаковых именах - добавленный раньше)
     public Resource getResourceByName(String resourceName) {
-        for (Resource resource : resources) {
-            if (resource.getName().equalsIgnoreCase(resourceName)) {
-                return resource;
-            }
-        }
-        return null;
+        return resourceNames.get(resourceName);
     }
 }
@@ -0,0 +1,355 @@
+package ProjectManagement;
+
+import CalendarManagement.Calendar;
+import ResourceManagement.Resource;
+import TaskManagement.Task;
+
+import java.util.*;
+
+// Пакетная сборка проекта: задачи, исполнители и связи принимаются без проверок,
+// а весь граф проверяется один раз в build() за O(V + E):
+// ссылки на неизвестные задачи и исполнителей, циклы, повторные id, задачи без исполнителя (если требуется).
+// Задачи изменяются только после всех проверок: при ошибке сборки они остаются как были.
+// Повторные связи отбрасываются. Проверенные связи записываются в задачи одним проходом
+// (списки нужного размера), задачи добавляются в проект в топологическом порядке, поэтому
+// порядок проекта строится без перестановок и повторного поиска циклов. Ссылки по id и имени могут указывать
+// на задачи, добавленные позже. Связи, уже заданные у задач до сборки, тоже учитываются.
+public final class ProjectBuilder {
+
+    // Сколько примеров выводится в сообщении об ошибке
+    private static final int MAX_REPORTED = 10;
+
+    private final Project project;
+    private final List<Task> tasks = new ArrayList<>();
+    private final Map<Task, Integer> indexes = new IdentityHashMap<>();
+    private final List<Resource> resources = new ArrayList<>();
+    private boolean requireResources;
+    private boolean built;
+
+    // Связи parent -> child по индексам задач построителя
+    private int edgeCount;
+    private int[] edgeParents = new int[16];
+    private int[] edgeChildren = new int[16];
+
+    // Зависимости, заданные по id и по имени задачи (разрешаются в build)
+    private int idRefCount;
+    private int[] idRefChildren = new int[16];
+    private long[] idRefParents = new long[16];
+    private int nameRefCount;
+    private int[] nameRefChildren = new int[16];
+    private String[] nameRefParents = new String[16];
+
+    // Исполнители, заданные по имени
+    private int resourceRefCount;
+    private int[] resourceRefTasks = new int[16];
+    private String[] resourceRefNames = new String[16];
+
+    public ProjectBuilder(String name, Calendar projectCalendar) {
+        this.project = new Project(name, projectCalendar);
+    }
+
+    // Собираемый проект (его свойства можно задавать до build)
+    public Project getProject() {
+        return project;
+    }
+
+    // Считать ли ошибкой задачу без исполнителя
+    public ProjectBuilder requireResources(boolean require) {
+        this.requireResources = require;
+        return this;
+    }
+
+    // Добавление задачи (возвращает ее индекс в построителе); повторное добавление возвращает прежний индекс
+    public int addTask(Task task) {
+        Integer index = indexes.get(task);
+        if (index != null) return index;
+        indexes.put(task, tasks.size());
+        tasks.add(task);
+        return tasks.size() - 1;
+    }
+
+    public void addTasks(List<Task> newTasks) {
+        for (Task task : newTasks) addTask(task);
+    }
+
+    public void addResource(Resource resource) {
+        resources.add(resource);
+    }
+
+    public void addResources(List<Resource> newResources) {
+        resources.addAll(newResources);
+    }
+
+    public int getTaskCount() {
+        return tasks.size();
+    }
+
+    // Связь parent -> child по индексам задач
+    public void addEdge(int parent, int child) {
+        if (parent < 0 || parent >= tasks.size() || child < 0 || child >= tasks.size()) {
+            throw new IndexOutOfBoundsException("Task index out of range: " + parent + " -> " + child);
+        }
+        if (edgeCount == edgeParents.length) {
+            edgeParents = Arrays.copyOf(edgeParents, edgeCount * 2);
+            edgeChildren = Arrays.copyOf(edgeChildren, edgeCount * 2);
+        }
+        edgeParents[edgeCount] = parent;
+        edgeChildren[edgeCount] = child;
+        edgeCount++;
+    }
+
+    // Связь parent -> child по задачам (задачи добавляются в построитель, если их там нет)
+    public void addEdge(Task parent, Task child) {
+        addEdge(addTask(parent), addTask(child));
+    }
+
+    // Зависимость задачи child от задачи с id parentId
+    public void addDependency(int child, long parentId) {
+        if (idRefCount == idRefChildren.length) {
+            idRefChildren = Arrays.copyOf(idRefChildren, idRefCount * 2);
+            idRefParents = Arrays.copyOf(idRefParents, idRefCount * 2);
+        }
+        idRefChildren[idRefCount] = child;
+        idRefParents[idRefCount] = parentId;
+        idRefCount++;
+    }
+
+    // Зависимость задачи child от задачи с именем parentName (при одинаковых именах - добавленной раньше)
+    public void addDependency(int child, String parentName) {
+        if (nameRefCount == nameRefChildren.length) {
+            nameRefChildren = Arrays.copyOf(nameRefChildren, nameRefCount * 2);
+            nameRefParents = Arrays.copyOf(nameRefParents, nameRefCount * 2);
+        }
+        nameRefChildren[nameRefCount] = child;
+        nameRefParents[nameRefCount] = parentName;
+        nameRefCount++;
+    }
+
+    // Назначение задаче исполнителя по имени (исполнитель может быть добавлен позже)
+    public void assignResource(int task, String resourceName) {
+        if (resourceRefCount == resourceRefTasks.length) {
+            resourceRefTasks = Arrays.copyOf(resourceRefTasks, resourceRefCount * 2);
+            resourceRefNames = Arrays.copyOf(resourceRefNames, resourceRefCount * 2);
+        }
+        resourceRefTasks[resourceRefCount] = task;
+        resourceRefNames[resourceRefCount] = resourceName;
+        resourceRefCount++;
+    }
+
+    // Проверка графа и сборка проекта (построитель используется один раз)
+    public Project build() {
+        if (built) throw new IllegalStateException("Project builder has already been used.");
+        built = true;
+        int size = tasks.size();
+
+        checkIds();
+        Resource[] assigned = resolveResources();
+        collectExistingEdges();
+        resolveDependencies();
+
+        // Связи по родителю (CSR, в порядке добавления) - для отбора повторов и топологической сортировки
+        int[] offsets = new int[size + 1];
+        for (int e = 0; e < edgeCount; e++) offsets[edgeParents[e] + 1]++;
+        for (int i = 0; i < size; i++) offsets[i + 1] += offsets[i];
+        int[] edgesByParent = new int[edgeCount];
+        int[] fill = Arrays.copyOf(offsets, size);
+        for (int e = 0; e < edgeCount; e++) edgesByParent[fill[edgeParents[e]]++] = e;
+
+        // Первое вхождение каждой связи; повторы отбрасываются
+        boolean[] duplicate = new boolean[edgeCount];
+        int[] lastParent = new int[size];
+        Arrays.fill(lastParent, -1);
+        int[] inDegree = new int[size];
+        int[] outDegree = new int[size];
+        List<String> selfLoops = new ArrayList<>();
+        for (int parent = 0; parent < size; parent++) {
+            for (int k = offsets[parent]; k < offsets[parent + 1]; k++) {
+                int e = edgesByParent[k];
+                int child = edgeChildren[e];
+                if (lastParent[child] == parent) {
+                    duplicate[e] = true;
+                    continue;
+                }
+                lastParent[child] = parent;
+                if (child == parent && selfLoops.size() < MAX_REPORTED) selfLoops.add(tasks.get(parent).getName());
+                inDegree[child]++;
+                outDegree[parent]++;
+            }
+        }
+        if (!selfLoops.isEmpty()) {
+            throw new IllegalStateException("There is a cycle in the tasks: " + selfLoops);
+        }
+
+        // Топологический порядок (Кан); готовые задачи идут в порядке добавления
+        int[] remaining = Arrays.copyOf(inDegree, size);
+        int[] order = new int[size];
+        int head = 0;
+        int tail = 0;
+        for (int i = 0; i < size; i++) {
+            if (remaining[i] == 0) order[tail++] = i;
+        }
+        while (head < tail) {
+            int parent = order[head++];
+            for (int k = offsets[parent]; k < offsets[parent + 1]; k++) {
+                int e = edgesByParent[k];
+                if (!duplicate[e] && --remaining[edgeChildren[e]] == 0) order[tail++] = edgeChildren[e];
+            }
+        }
+        if (tail != size) {
+            List<String> blocked = new ArrayList<>();
+            for (int i = 0; i < size && blocked.size() < MAX_REPORTED; i++) {
+                if (remaining[i] > 0) blocked.add(tasks.get(i).getName());
+            }
+            throw new IllegalStateException("There is a cycle in the tasks: " + blocked);
+        }
+
+        // Проверки пройдены: назначение исполнителей и запись связей в задачи
+        for (int i = 0; i < size; i++) {
+            if (assigned[i] != null) tasks.get(i).setAssignedResource(assigned[i]);
+        }
+
+        // Связи записываются списками точного размера, порядок - порядок добавления связей
+        List<List<Task>> dependencies = new ArrayList<>(size);
+        List<List<Task>> subTasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            dependencies.add(new ArrayList<>(inDegree[i]));
+            subTasks.add(new ArrayList<>(outDegree[i]));
+        }
+        for (int e = 0; e < edgeCount; e++) {
+            if (duplicate[e]) continue;
+            dependencies.get(edgeChildren[e]).add(tasks.get(edgeParents[e]));
+            subTasks.get(edgeParents[e]).add(tasks.get(edgeChildren[e]));
+        }
+        for (int i = 0; i < size; i++) {
+            tasks.get(i).setDependencies(dependencies.get(i));
+            tasks.get(i).setSubTasks(subTasks.get(i));
+        }
+        edgeParents = edgeChildren = null;
+
+        project.beginBatch();
+        try {
+            project.addResources(resources);
+            for (int i = 0; i < size; i++) project.addValidatedTask(tasks.get(order[i]));
+        } finally {
+            project.endBatch();
+        }
+        return project;
+    }
+
+    // Id задач уникальны среди задач построителя и уже добавленных в проект задач
+    private void checkIds() {
+        Set<Long> ids = new HashSet<>(tasks.size() * 2);
+        for (Task task : project.getTasks()) {
+            if (task.getId() != null) ids.add(task.getId());
+        }
+        Set<Long> repeated = new LinkedHashSet<>();
+        for (Task task : tasks) {
+            Long id = task.getId();
+            if (id != null && !ids.add(id) && repeated.size() < MAX_REPORTED) repeated.add(id);
+        }
+        if (!repeated.isEmpty()) {
+            throw new IllegalArgumentException("Duplicate task ids: " + repeated);
+        }
+    }
+
+    // Исполнители по имени (при одинаковых именах - добавленный раньше); проверка, что исполнители задач
+    // входят в проект. Задачи не изменяются: возвращаются исполнители по индексам задач (null - без изменений)
+    private Resource[] resolveResources() {
+        Map<String, Resource> resourcesByName = new HashMap<>();
+        Set<Resource> known = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Resource resource : resources) {
+            resourcesByName.putIfAbsent(resource.getName(), resource);
+            known.add(resource);
+        }
+
+        Resource[] assigned = new Resource[tasks.size()];
+        Set<String> unknown = new LinkedHashSet<>();
+        for (int r = 0; r < resourceRefCount; r++) {
+            Resource resource = resourcesByName.get(resourceRefNames[r]);
+            if (resource != null) {
+                assigned[resourceRefTasks[r]] = resource;
+            } else {
+                unknown.add(resourceRefNames[r]);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            throw new IllegalArgumentException("Unknown resources: " + unknown);
+        }
+        resourceRefNames = null;
+
+        List<String> foreign = new ArrayList<>();
+        List<String> unassigned = new ArrayList<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            Resource resource = assigned[i] != null ? assigned[i] : task.getAssignedResource();
+            if (resource == null) {
+                if (requireResources && unassigned.size() < MAX_REPORTED) unassigned.add(task.getName());
+            } else if (!known.contains(resource) && foreign.size() < MAX_REPORTED) {
+                foreign.add(task.getName() + " -> " + resource.getName());
+            }
+        }
+        if (!foreign.isEmpty()) {
+            throw new IllegalArgumentException("Tasks are assigned to resources outside the project: " + foreign);
+        }
+        if (!unassigned.isEmpty()) {
+            throw new IllegalArgumentException("Tasks without an assigned resource: " + unassigned);
+        }
+        return assigned;
+    }
+
+    // Связи, заданные у задач до сборки (обе стороны связи должны быть в построителе)
+    private void collectExistingEdges() {
+        Set<String> unknown = new LinkedHashSet<>();
+        for (int i = 0, size = tasks.size(); i < size; i++) {
+            Task task = tasks.get(i);
+            for (Task dependency : task.getDependencies()) {
+                Integer parent = indexes.get(dependency);
+                if (parent != null) addEdge(parent, i);
+                else if (unknown.size() < MAX_REPORTED) unknown.add(dependency.getName());
+            }
+            for (Task subTask : task.getSubTasks()) {
+                Integer child = indexes.get(subTask);
+                if (child != null) addEdge(i, child);
+                else if (unknown.size() < MAX_REPORTED) unknown.add(subTask.getName());
+            }
+        }
+        if (!unknown.isEmpty()) {
+            throw new IllegalArgumentException("Unknown task dependencies: " + unknown);
+        }
+    }
+
+    // Разрешение ссылок на зависимости по id и по имени
+    private void resolveDependencies() {
+        Set<String> unknown = new LinkedHashSet<>();
+        if (idRefCount > 0) {
+            Map<Long, Integer> byId = new HashMap<>(tasks.size() * 2);
+            for (int i = tasks.size() - 1; i >= 0; i--) {
+                Long id = tasks.get(i).getId();
+                if (id != null) byId.put(id, i);
+            }
+            for (int r = 0; r < idRefCount; r++) {
+                Integer parent = byId.get(idRefParents[r]);
+                if (parent != null) addEdge(parent, idRefChildren[r]);
+                else if (unknown.size() < MAX_REPORTED) unknown.add("#" + idRefParents[r]);
+            }
+        }
+        if (nameRefCount > 0) {
+            Map<String, Integer> byName = new HashMap<>(tasks.size() * 2);
+            for (int i = 0; i < tasks.size(); i++) {
+                String name = tasks.get(i).getName();
+                if (name != null) byName.putIfAbsent(name, i);
+            }
+            for (int r = 0; r < nameRefCount; r++) {
+                Integer parent = byName.get(nameRefParents[r]);
+                if (parent != null) addEdge(parent, nameRefChildren[r]);
+                else if (unknown.size() < MAX_REPORTED) unknown.add(nameRefParents[r]);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            throw new IllegalArgumentException("Unknown task dependencies: " + unknown);
+        }
+        idRefChildren = nameRefChildren = null;
+        idRefParents = null;
+        nameRefParents = null;
+    }
+}
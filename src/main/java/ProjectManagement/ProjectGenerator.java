@@ -0,0 +1,228 @@
+package ProjectManagement;
+
+import CalendarManagement.Calendar;
+import ResourceManagement.Resource;
+import TaskManagement.Task;
+import com.google.gson.stream.JsonWriter;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Генератор синтетических проектов для замеров и проверок на больших объемах.
+// Задачи раскладываются по слоям шириной layerWidth (глубина графа - taskCount / layerWidth);
+// каждая задача зависит от 0..maxFanIn задач из lookbackLayers предыдущих слоев,
+// доля hubShare зависимостей указывает на немногие "узловые" задачи слоя, давая большой fan-out.
+// Исполнители получают один из calendarCount календарей с разными часами, выходными и праздниками.
+// При одном seed и одинаковых настройках результат одинаков; план строится в примитивных массивах
+// один раз и выдается как Project или как файл в формате ProjectJson (потоковой записью).
+@Getter
+@Setter
+public class ProjectGenerator {
+
+    private static final int HUBS_PER_LAYER = 4;
+
+    private long seed = 42;
+    private int taskCount = 10_000;
+    private int layerWidth = 100;
+    private int maxFanIn = 3;
+    private int lookbackLayers = 2;
+    private double hubShare = 0.1;
+    private int resourceCount = 100;
+    private int calendarCount = 5;
+    private double holidayDensity = 0.03;
+    private int calendarYears = 10;
+    private Duration minDuration = Duration.ofHours(1);
+    private Duration maxDuration = Duration.ofHours(40);
+    private LocalDateTime startDate = LocalDateTime.of(2025, 1, 6, 9, 0);
+
+    public ProjectGenerator() {
+    }
+
+    public ProjectGenerator(long seed, int taskCount) {
+        this.seed = seed;
+        this.taskCount = taskCount;
+    }
+
+    // План проекта: сроки, исполнители и связи задач в массивах
+    private final class Plan {
+        final long[] durationSeconds = new long[taskCount];
+        final int[] priorities = new int[taskCount];
+        final int[] resources = new int[taskCount];
+        final int[] dependencyOffsets = new int[taskCount + 1]; // Зависимости задачи i - dependencyTargets[dependencyOffsets[i] .. dependencyOffsets[i + 1])
+        int[] dependencyTargets = new int[Math.max(16, taskCount * Math.max(1, maxFanIn) / 2)];
+        final int[] resourceCalendars = new int[resourceCount];
+        final List<Calendar> calendars = new ArrayList<>();
+
+        Plan() {
+            validate();
+            SplittableRandom random = new SplittableRandom(seed);
+            for (int c = 0; c < calendarCount; c++) calendars.add(calendar(c, random.split()));
+            for (int r = 0; r < resourceCount; r++) resourceCalendars[r] = r % calendarCount;
+
+            long minSeconds = minDuration.getSeconds();
+            long spread = maxDuration.getSeconds() - minSeconds + 1;
+            int edges = 0;
+            int[] chosen = new int[maxFanIn];
+            for (int i = 0; i < taskCount; i++) {
+                durationSeconds[i] = minSeconds + random.nextLong(spread);
+                priorities[i] = 1 + random.nextInt(100);
+                resources[i] = random.nextInt(resourceCount);
+
+                int layer = i / layerWidth;
+                int firstLayer = Math.max(0, layer - lookbackLayers);
+                int candidates = layer * layerWidth - firstLayer * layerWidth;
+                int fanIn = candidates == 0 ? 0 : random.nextInt(maxFanIn + 1);
+                int count = 0;
+                for (int k = 0; k < fanIn; k++) {
+                    int source;
+                    if (random.nextDouble() < hubShare) {
+                        int hubLayer = firstLayer + random.nextInt(layer - firstLayer);
+                        source = hubLayer * layerWidth + random.nextInt(Math.min(HUBS_PER_LAYER, layerWidth));
+                    } else {
+                        source = firstLayer * layerWidth + random.nextInt(candidates);
+                    }
+                    boolean duplicate = false;
+                    for (int d = 0; d < count; d++) duplicate |= chosen[d] == source;
+                    if (!duplicate) chosen[count++] = source;
+                }
+                if (edges + count > dependencyTargets.length) {
+                    dependencyTargets = Arrays.copyOf(dependencyTargets, Math.max(edges + count, dependencyTargets.length * 2));
+                }
+                System.arraycopy(chosen, 0, dependencyTargets, edges, count);
+                edges += count;
+                dependencyOffsets[i + 1] = edges;
+            }
+        }
+
+        // Календарь с номером c: часы начала 7-10, рабочий день 6-9 часов, у части календарей нестандартные выходные
+        private Calendar calendar(int c, SplittableRandom random) {
+            int startHour = 7 + random.nextInt(4);
+            int endHour = Math.min(23, startHour + 6 + random.nextInt(4));
+            int[] weekends = c % 3 == 2 ? new int[]{5, 6} : new int[]{6, 7};
+            List<LocalDate> holidays = new ArrayList<>();
+            LocalDate firstDay = startDate.toLocalDate();
+            for (int day = 0; day < calendarYears * 365; day++) {
+                if (random.nextDouble() < holidayDensity) holidays.add(firstDay.plusDays(day));
+            }
+            return new Calendar(startHour, endHour, holidays, weekends);
+        }
+    }
+
+    private void validate() {
+        if (taskCount < 0 || layerWidth <= 0 || maxFanIn < 0 || lookbackLayers <= 0
+                || resourceCount <= 0 || calendarCount <= 0 || calendarYears <= 0) {
+            throw new IllegalArgumentException("Generator sizes must be positive (task and fan-in counts non-negative).");
+        }
+        if (hubShare < 0 || hubShare > 1 || holidayDensity < 0 || holidayDensity >= 1) {
+            throw new IllegalArgumentException("Hub share and holiday density must be fractions.");
+        }
+        if (minDuration.isNegative() || maxDuration.compareTo(minDuration) < 0) {
+            throw new IllegalArgumentException("Duration range must satisfy 0 <= minimum <= maximum.");
+        }
+    }
+
+    // Проект в памяти (граф проверяется и снимок публикуется один раз, при сборке)
+    public Project generateProject() {
+        Plan plan = new Plan();
+        ProjectBuilder builder = new ProjectBuilder("Generated " + taskCount, plan.calendars.get(0));
+        builder.getProject().setEstimatedStartDate(startDate);
+
+        List<Resource> resources = new ArrayList<>(resourceCount);
+        for (int r = 0; r < resourceCount; r++) {
+            Resource resource = new Resource("Resource " + r, plan.calendars.get(plan.resourceCalendars[r]));
+            resource.setId((long) r + 1);
+            resources.add(resource);
+        }
+        builder.addResources(resources);
+
+        for (int i = 0; i < taskCount; i++) {
+            Task task = new Task("Task " + i, Duration.ofSeconds(plan.durationSeconds[i]));
+            task.setId((long) i + 1);
+            task.setPriority(plan.priorities[i]);
+            task.setAssignedResource(resources.get(plan.resources[i]));
+            builder.addTask(task);
+            for (int k = plan.dependencyOffsets[i]; k < plan.dependencyOffsets[i + 1]; k++) {
+                builder.addEdge(plan.dependencyTargets[k], i);
+            }
+        }
+        return builder.build();
+    }
+
+    // Тот же проект в формате ProjectJson (зависимости - ссылки по id)
+    public void writeJson(Path path) throws IOException {
+        try (Writer writer = new BufferedWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8), 1 << 16)) {
+            writeJson(writer);
+        }
+    }
+
+    public void writeJson(Writer writer) throws IOException {
+        Plan plan = new Plan();
+        JsonWriter out = new JsonWriter(writer);
+        out.beginObject();
+        out.name("maxTaskId").value(taskCount);
+        out.name("maxResourceId").value(resourceCount);
+        out.name("startDate").value(startDate.toString());
+        out.name("calendar");
+        writeCalendar(out, plan.calendars.get(0));
+
+        out.name("resources").beginArray();
+        for (int r = 0; r < resourceCount; r++) {
+            out.beginObject();
+            out.name("id").value(r + 1);
+            out.name("name").value("Resource " + r);
+            out.name("calendar");
+            writeCalendar(out, plan.calendars.get(plan.resourceCalendars[r]));
+            out.endObject();
+        }
+        out.endArray();
+
+        out.name("tasks").beginArray();
+        for (int i = 0; i < taskCount; i++) {
+            out.beginObject();
+            out.name("id").value(i + 1);
+            out.name("name").value("Task " + i);
+            out.name("durationSeconds").value(plan.durationSeconds[i]);
+            out.name("priority").value(plan.priorities[i]);
+            out.name("assignedResourceName").value("Resource " + plan.resources[i]);
+            out.name("dependencies").beginArray();
+            for (int k = plan.dependencyOffsets[i]; k < plan.dependencyOffsets[i + 1]; k++) {
+                out.beginObject().name("id").value(plan.dependencyTargets[k] + 1).endObject();
+            }
+            out.endArray();
+            out.endObject();
+        }
+        out.endArray();
+        out.endObject();
+        out.flush();
+    }
+
+    private static void writeCalendar(JsonWriter out, Calendar calendar) throws IOException {
+        out.beginObject();
+        out.name("workStartHour").value(calendar.getStartHour());
+        out.name("workEndHour").value(calendar.getEndHour());
+        out.name("holidays").beginArray();
+        if (calendar.getHolidays() != null) {
+            for (LocalDate holiday : calendar.getHolidays()) out.value(holiday.toString());
+        }
+        out.endArray();
+        out.name("weekends").beginArray();
+        if (calendar.getWeekends() != null) {
+            for (int weekend : calendar.getWeekends()) out.value(weekend);
+        }
+        out.endArray();
+        out.endObject();
+    }
+}
@@ -0,0 +1,625 @@
+package ProjectManagement;
+
+import CalendarManagement.Calendar;
+import ResourceManagement.Resource;
+import TaskManagement.Task;
+import TaskManagement.TaskStatus;
+
+import java.io.IOException;
+import java.nio.*;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+
+// Двоичный снимок проекта (версионированный формат).
+// Запись идет через FileChannel, чтение - через MappedByteBuffer: файл отображается в память,
+// и данные задачи декодируются только при обращении к ней, поэтому открытие
+// даже очень большого проекта почти мгновенно. toProject() строит полную объектную модель.
+//
+// Формат (little-endian, секции выровнены по 8 байтам):
+//   заголовок: MAGIC, VERSION, число задач, связей, исполнителей, календарей,
+//              начало проекта (секунды от эпохи), индекс календаря проекта,
+//              номер последнего события журнала, вошедшего в снимок, таблица смещений секций;
+//   секции: имя проекта; календари (часы, выходные, праздники в днях от эпохи);
+//           исполнители (id, календарь, имя); столбцы задач в порядке getSortedTasks
+//           (id, длительность в секундах, четыре даты в секундах от эпохи, статус, приоритет,
+//           исполнитель, смещения имен и байты имен UTF-8, фактическая длительность и суммарная пауза
+//           в секундах, начало текущей паузы в секундах от эпохи); связи в виде CSR (зависимости и подзадачи).
+// Версия 2 добавила столбцы пауз и фактической длительности и номер события журнала; файлы версии 1 не читаются.
+// Даты и длительности хранятся с точностью до секунды.
+public final class ProjectImage {
+
+    private static final int MAGIC = 0x424E5447; // "GTNB"
+    private static final int VERSION = 2;
+
+    // "Значение не задано" для id, длительностей и дат
+    public static final long NONE = Long.MIN_VALUE;
+
+    private static final int SECTION_PROJECT_NAME = 0;
+    private static final int SECTION_CALENDARS = 1;
+    private static final int SECTION_RESOURCES = 2;
+    private static final int SECTION_IDS = 3;
+    private static final int SECTION_DURATIONS = 4;
+    private static final int SECTION_ESTIMATED_STARTS = 5;
+    private static final int SECTION_ESTIMATED_ENDS = 6;
+    private static final int SECTION_FACTUAL_STARTS = 7;
+    private static final int SECTION_FACTUAL_ENDS = 8;
+    private static final int SECTION_STATUSES = 9;
+    private static final int SECTION_PRIORITIES = 10;
+    private static final int SECTION_RESOURCE_INDEXES = 11;
+    private static final int SECTION_NAME_OFFSETS = 12;
+    private static final int SECTION_NAME_BYTES = 13;
+    private static final int SECTION_DEPENDENCY_OFFSETS = 14;
+    private static final int SECTION_DEPENDENCY_TARGETS = 15;
+    private static final int SECTION_SUBTASK_OFFSETS = 16;
+    private static final int SECTION_SUBTASK_TARGETS = 17;
+    private static final int SECTION_FACTUAL_DURATIONS = 18;
+    private static final int SECTION_PAUSE_DURATIONS = 19;
+    private static final int SECTION_PAUSE_STARTS = 20;
+    private static final int SECTION_COUNT = 21;
+
+    private static final int HEADER_SIZE = 48;
+    private static final int DATA_START = HEADER_SIZE + SECTION_COUNT * 8;
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private final MappedByteBuffer buffer;
+    private final int taskCount;
+    private final int edgeCount;
+    private final String projectName;
+    private final LocalDateTime projectStartDate;
+    private final List<Calendar> calendars;
+    private final int projectCalendarIndex;
+    private final long journalSequence;
+    private final List<Resource> resources;
+
+    private final LongBuffer ids;
+    private final LongBuffer durations;
+    private final LongBuffer estimatedStarts;
+    private final LongBuffer estimatedEnds;
+    private final LongBuffer factualStarts;
+    private final LongBuffer factualEnds;
+    private final ByteBuffer statuses;
+    private final ByteBuffer priorities;
+    private final IntBuffer resourceIndexes;
+    private final IntBuffer nameOffsets;
+    private final ByteBuffer nameBytes;
+    private final IntBuffer dependencyOffsets;
+    private final IntBuffer dependencyTargets;
+    private final IntBuffer subTaskOffsets;
+    private final IntBuffer subTaskTargets;
+    private final LongBuffer factualDurations;
+    private final LongBuffer pauseDurations;
+    private final LongBuffer pauseStarts;
+
+    private ProjectImage(MappedByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.capacity() < DATA_START || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a project image");
+        }
+        int version = buffer.getInt(4);
+        if (version != VERSION) {
+            throw new IOException("Unsupported project image version: " + version);
+        }
+        taskCount = buffer.getInt(8);
+        edgeCount = buffer.getInt(12);
+        int resourceCount = buffer.getInt(16);
+        int calendarCount = buffer.getInt(20);
+        projectStartDate = toDateTime(buffer.getLong(24));
+        projectCalendarIndex = buffer.getInt(32);
+        journalSequence = buffer.getLong(40);
+
+        ByteBuffer nameSection = section(SECTION_PROJECT_NAME, -1);
+        projectName = readString(nameSection);
+
+        ByteBuffer calendarSection = section(SECTION_CALENDARS, -1);
+        calendars = new ArrayList<>(calendarCount);
+        for (int c = 0; c < calendarCount; c++) calendars.add(readCalendar(calendarSection));
+
+        ByteBuffer resourceSection = section(SECTION_RESOURCES, -1);
+        resources = new ArrayList<>(resourceCount);
+        for (int r = 0; r < resourceCount; r++) {
+            long id = resourceSection.getLong();
+            int calendarIndex = resourceSection.getInt();
+            String name = readString(resourceSection);
+            Resource resource = new Resource(name, calendarIndex >= 0 ? calendars.get(calendarIndex) : null);
+            resource.setId(id != NONE ? id : null);
+            resources.add(resource);
+        }
+
+        ids = section(SECTION_IDS, taskCount * 8).asLongBuffer();
+        durations = section(SECTION_DURATIONS, taskCount * 8).asLongBuffer();
+        estimatedStarts = section(SECTION_ESTIMATED_STARTS, taskCount * 8).asLongBuffer();
+        estimatedEnds = section(SECTION_ESTIMATED_ENDS, taskCount * 8).asLongBuffer();
+        factualStarts = section(SECTION_FACTUAL_STARTS, taskCount * 8).asLongBuffer();
+        factualEnds = section(SECTION_FACTUAL_ENDS, taskCount * 8).asLongBuffer();
+        statuses = section(SECTION_STATUSES, taskCount);
+        priorities = section(SECTION_PRIORITIES, taskCount);
+        resourceIndexes = section(SECTION_RESOURCE_INDEXES, taskCount * 4).asIntBuffer();
+        nameOffsets = section(SECTION_NAME_OFFSETS, (taskCount + 1) * 4).asIntBuffer();
+        nameBytes = section(SECTION_NAME_BYTES, nameOffsets.get(taskCount));
+        dependencyOffsets = section(SECTION_DEPENDENCY_OFFSETS, (taskCount + 1) * 4).asIntBuffer();
+        dependencyTargets = section(SECTION_DEPENDENCY_TARGETS, edgeCount * 4).asIntBuffer();
+        subTaskOffsets = section(SECTION_SUBTASK_OFFSETS, (taskCount + 1) * 4).asIntBuffer();
+        subTaskTargets = section(SECTION_SUBTASK_TARGETS, edgeCount * 4).asIntBuffer();
+        factualDurations = section(SECTION_FACTUAL_DURATIONS, taskCount * 8).asLongBuffer();
+        pauseDurations = section(SECTION_PAUSE_DURATIONS, taskCount * 8).asLongBuffer();
+        pauseStarts = section(SECTION_PAUSE_STARTS, taskCount * 8).asLongBuffer();
+    }
+
+    // Открытие снимка: файл отображается в память, задачи не декодируются
+    public static ProjectImage open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Project image is larger than 2 GB: " + path);
+            }
+            return new ProjectImage(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    // Секция как отдельный буфер; length < 0 - до конца файла
+    private ByteBuffer section(int section, int length) {
+        int offset = (int) buffer.getLong(HEADER_SIZE + section * 8);
+        int end = length >= 0 ? offset + length : buffer.capacity();
+        return buffer.slice(offset, end - offset).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    public String getProjectName() {
+        return projectName;
+    }
+
+    public LocalDateTime getProjectStartDate() {
+        return projectStartDate;
+    }
+
+    public Calendar getProjectCalendar() {
+        return projectCalendarIndex >= 0 ? calendars.get(projectCalendarIndex) : null;
+    }
+
+    public List<Resource> getResources() {
+        return Collections.unmodifiableList(resources);
+    }
+
+    // Номер последнего события журнала, уже учтенного в снимке (0 - снимок без журнала)
+    public long getJournalSequence() {
+        return journalSequence;
+    }
+
+    public int getTaskCount() {
+        return taskCount;
+    }
+
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    // Доступ к задаче по индексу (индексы - в топологическом порядке)
+    public Long getId(int index) {
+        long id = ids.get(index);
+        return id != NONE ? id : null;
+    }
+
+    public String getName(int index) {
+        int from = nameOffsets.get(index);
+        int to = nameOffsets.get(index + 1);
+        if (to - from == 1 && nameBytes.get(from) == 0) return null;
+        byte[] bytes = new byte[to - from];
+        nameBytes.get(from, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public Duration getEstimatedDuration(int index) {
+        long seconds = durations.get(index);
+        return seconds != NONE ? Duration.ofSeconds(seconds) : null;
+    }
+
+    public LocalDateTime getEstimatedStartDate(int index) {
+        return toDateTime(estimatedStarts.get(index));
+    }
+
+    public LocalDateTime getEstimatedEndDate(int index) {
+        return toDateTime(estimatedEnds.get(index));
+    }
+
+    public LocalDateTime getFactualStartDate(int index) {
+        return toDateTime(factualStarts.get(index));
+    }
+
+    public LocalDateTime getFactualEndDate(int index) {
+        return toDateTime(factualEnds.get(index));
+    }
+
+    public Duration getFactualDuration(int index) {
+        long seconds = factualDurations.get(index);
+        return seconds != NONE ? Duration.ofSeconds(seconds) : null;
+    }
+
+    public Duration getTotalPauseDuration(int index) {
+        long seconds = pauseDurations.get(index);
+        return seconds != NONE ? Duration.ofSeconds(seconds) : null;
+    }
+
+    public LocalDateTime getPauseStartTime(int index) {
+        return toDateTime(pauseStarts.get(index));
+    }
+
+    public TaskStatus getStatus(int index) {
+        return STATUSES[statuses.get(index)];
+    }
+
+    public int getPriority(int index) {
+        return priorities.get(index);
+    }
+
+    // Индекс исполнителя в getResources() (-1 - не назначен)
+    public int getResourceIndex(int index) {
+        return resourceIndexes.get(index);
+    }
+
+    public int dependencyCount(int index) {
+        return dependencyOffsets.get(index + 1) - dependencyOffsets.get(index);
+    }
+
+    public int dependency(int index, int k) {
+        return dependencyTargets.get(dependencyOffsets.get(index) + k);
+    }
+
+    public int subTaskCount(int index) {
+        return subTaskOffsets.get(index + 1) - subTaskOffsets.get(index);
+    }
+
+    public int subTask(int index, int k) {
+        return subTaskTargets.get(subTaskOffsets.get(index) + k);
+    }
+
+    // Построение полной объектной модели проекта
+    public Project toProject() {
+        Project project = new Project(projectName, getProjectCalendar());
+        project.setEstimatedStartDate(projectStartDate);
+        project.addResources(resources);
+
+        Task[] tasks = new Task[taskCount];
+        for (int i = 0; i < taskCount; i++) {
+            Task task = new Task(getName(i), getEstimatedDuration(i));
+            task.setId(getId(i));
+            task.setPriority(getPriority(i));
+            task.setStatus(getStatus(i));
+            int resourceIndex = getResourceIndex(i);
+            if (resourceIndex >= 0) task.setAssignedResource(resources.get(resourceIndex));
+            task.setEstimatedStartDate(getEstimatedStartDate(i));
+            task.setEstimatedEndDate(getEstimatedEndDate(i));
+            task.setFactualStartDate(getFactualStartDate(i));
+            task.setFactualEndDate(getFactualEndDate(i));
+            task.setFactualDuration(getFactualDuration(i));
+            task.setTotalPauseDuration(getTotalPauseDuration(i));
+            task.setPauseStartTime(getPauseStartTime(i));
+            tasks[i] = task;
+        }
+        // Связи до добавления в проект: задачи идут в топологическом порядке, перестановок не будет
+        for (int i = 0; i < taskCount; i++) {
+            for (int k = 0; k < subTaskCount(i); k++) {
+                tasks[subTask(i, k)].addDependentTask(tasks[i]);
+            }
+        }
+
+        project.beginBatch();
+        try {
+            for (Task task : tasks) project.addTask(task);
+        } finally {
+            project.endBatch();
+        }
+        return project;
+    }
+
+    // Запись снимка проекта (через временный файл, замена атомарная)
+    public static void write(Project project, Path path) throws IOException {
+        write(project, path, 0);
+    }
+
+    // Запись снимка с номером последнего события журнала, которое в нем учтено
+    public static void write(Project project, Path path, long journalSequence) throws IOException {
+        List<Task> sortedTasks = project.getSortedTasks();
+        int size = sortedTasks.size();
+        Map<Task, Integer> positions = new IdentityHashMap<>(size * 2);
+        for (int i = 0; i < size; i++) positions.put(sortedTasks.get(i), i);
+
+        // Календари и исполнители получают номера
+        List<Calendar> calendars = new ArrayList<>();
+        Map<Calendar, Integer> calendarIndexes = new IdentityHashMap<>();
+        int projectCalendarIndex = indexOf(project.getProjectCalendar(), calendars, calendarIndexes);
+        List<Resource> resources = new ArrayList<>();
+        Map<Resource, Integer> resourceIndexes = new IdentityHashMap<>();
+        for (Resource resource : project.getResources()) indexOf(resource, resources, resourceIndexes);
+
+        // Столбцы задач собираются за один проход по задачам
+        long[] ids = new long[size];
+        long[] durations = new long[size];
+        long[] estimatedStarts = new long[size];
+        long[] estimatedEnds = new long[size];
+        long[] factualStarts = new long[size];
+        long[] factualEnds = new long[size];
+        byte[] statuses = new byte[size];
+        byte[] priorities = new byte[size];
+        int[] taskResources = new int[size];
+        long[] factualDurations = new long[size];
+        long[] pauseDurations = new long[size];
+        long[] pauseStarts = new long[size];
+        // Имена: смещения и байты UTF-8 (null записывается одним нулевым байтом)
+        byte[][] names = new byte[size][];
+        int[] nameOffsets = new int[size + 1];
+        for (int i = 0; i < size; i++) {
+            Task task = sortedTasks.get(i);
+            ids[i] = task.getId() != null ? task.getId() : NONE;
+            durations[i] = task.getEstimatedDuration() != null ? task.getEstimatedDuration().getSeconds() : NONE;
+            estimatedStarts[i] = toSeconds(task.getEstimatedStartDate());
+            estimatedEnds[i] = toSeconds(task.getEstimatedEndDate());
+            factualStarts[i] = toSeconds(task.getFactualStartDate());
+            factualEnds[i] = toSeconds(task.getFactualEndDate());
+            statuses[i] = (byte) task.getStatus().ordinal();
+            priorities[i] = (byte) task.getPriority();
+            taskResources[i] = indexOf(task.getAssignedResource(), resources, resourceIndexes);
+            factualDurations[i] = task.getFactualDuration() != null ? task.getFactualDuration().getSeconds() : NONE;
+            pauseDurations[i] = task.getTotalPauseDuration() != null ? task.getTotalPauseDuration().getSeconds() : NONE;
+            pauseStarts[i] = toSeconds(task.getPauseStartTime());
+            names[i] = task.getName() != null ? task.getName().getBytes(StandardCharsets.UTF_8) : new byte[]{0};
+            nameOffsets[i + 1] = nameOffsets[i] + names[i].length;
+        }
+        for (Resource resource : resources) indexOf(resource.getResourceCalendar(), calendars, calendarIndexes);
+
+        // Зависимости в виде CSR (один поиск позиции на связь); подзадачи - транспонированием,
+        // поэтому подзадачи каждой задачи записываются в топологическом порядке
+        int[] dependencyOffsets = new int[size + 1];
+        int[] dependencyTargets = new int[size];
+        int edgeCount = 0;
+        for (int i = 0; i < size; i++) {
+            for (Task dependency : sortedTasks.get(i).getDependencies()) {
+                Integer position = positions.get(dependency);
+                if (position == null) continue;
+                if (edgeCount == dependencyTargets.length) dependencyTargets = Arrays.copyOf(dependencyTargets, edgeCount * 2 + 1);
+                dependencyTargets[edgeCount++] = position;
+            }
+            dependencyOffsets[i + 1] = edgeCount;
+        }
+        int[] subTaskOffsets = new int[size + 1];
+        for (int k = 0; k < edgeCount; k++) subTaskOffsets[dependencyTargets[k] + 1]++;
+        for (int i = 0; i < size; i++) subTaskOffsets[i + 1] += subTaskOffsets[i];
+        int[] subTaskTargets = new int[edgeCount];
+        int[] fill = Arrays.copyOf(subTaskOffsets, size);
+        for (int i = 0; i < size; i++) {
+            for (int k = dependencyOffsets[i]; k < dependencyOffsets[i + 1]; k++) {
+                subTaskTargets[fill[dependencyTargets[k]]++] = i;
+            }
+        }
+
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            SectionWriter out = new SectionWriter(channel);
+            long[] offsets = new long[SECTION_COUNT];
+
+            offsets[SECTION_PROJECT_NAME] = out.beginSection();
+            out.putString(project.getName());
+
+            offsets[SECTION_CALENDARS] = out.beginSection();
+            for (Calendar calendar : calendars) writeCalendar(out, calendar);
+
+            offsets[SECTION_RESOURCES] = out.beginSection();
+            for (Resource resource : resources) {
+                out.putLong(resource.getId() != null ? resource.getId() : NONE);
+                Integer calendarIndex = resource.getResourceCalendar() != null ? calendarIndexes.get(resource.getResourceCalendar()) : null;
+                out.putInt(calendarIndex != null ? calendarIndex : -1);
+                out.putString(resource.getName());
+            }
+
+            offsets[SECTION_IDS] = out.beginSection();
+            out.putLongs(ids);
+            offsets[SECTION_DURATIONS] = out.beginSection();
+            out.putLongs(durations);
+            offsets[SECTION_ESTIMATED_STARTS] = out.beginSection();
+            out.putLongs(estimatedStarts);
+            offsets[SECTION_ESTIMATED_ENDS] = out.beginSection();
+            out.putLongs(estimatedEnds);
+            offsets[SECTION_FACTUAL_STARTS] = out.beginSection();
+            out.putLongs(factualStarts);
+            offsets[SECTION_FACTUAL_ENDS] = out.beginSection();
+            out.putLongs(factualEnds);
+            offsets[SECTION_STATUSES] = out.beginSection();
+            out.putBytes(statuses);
+            offsets[SECTION_PRIORITIES] = out.beginSection();
+            out.putBytes(priorities);
+            offsets[SECTION_RESOURCE_INDEXES] = out.beginSection();
+            out.putInts(taskResources, size);
+            offsets[SECTION_NAME_OFFSETS] = out.beginSection();
+            out.putInts(nameOffsets, size + 1);
+            offsets[SECTION_NAME_BYTES] = out.beginSection();
+            for (byte[] name : names) out.putBytes(name);
+
+            offsets[SECTION_DEPENDENCY_OFFSETS] = out.beginSection();
+            out.putInts(dependencyOffsets, size + 1);
+            offsets[SECTION_DEPENDENCY_TARGETS] = out.beginSection();
+            out.putInts(dependencyTargets, edgeCount);
+            offsets[SECTION_SUBTASK_OFFSETS] = out.beginSection();
+            out.putInts(subTaskOffsets, size + 1);
+            offsets[SECTION_SUBTASK_TARGETS] = out.beginSection();
+            out.putInts(subTaskTargets, edgeCount);
+            offsets[SECTION_FACTUAL_DURATIONS] = out.beginSection();
+            out.putLongs(factualDurations);
+            offsets[SECTION_PAUSE_DURATIONS] = out.beginSection();
+            out.putLongs(pauseDurations);
+            offsets[SECTION_PAUSE_STARTS] = out.beginSection();
+            out.putLongs(pauseStarts);
+            out.flush();
+
+            // Заголовок пишется последним, когда известны смещения секций
+            ByteBuffer header = ByteBuffer.allocate(DATA_START).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(size).putInt(edgeCount)
+                    .putInt(resources.size()).putInt(calendars.size())
+                    .putLong(toSeconds(project.getEstimatedStartDate()))
+                    .putInt(projectCalendarIndex).putInt(0)
+                    .putLong(journalSequence);
+            for (long offset : offsets) header.putLong(offset);
+            header.flip();
+            while (header.hasRemaining()) channel.write(header, header.position());
+            channel.force(true);
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static <T> int indexOf(T item, List<T> items, Map<T, Integer> indexes) {
+        if (item == null) return -1;
+        Integer index = indexes.get(item);
+        if (index == null) {
+            index = items.size();
+            items.add(item);
+            indexes.put(item, index);
+        }
+        return index;
+    }
+
+    private static void writeCalendar(SectionWriter out, Calendar calendar) throws IOException {
+        out.putInt(calendar.getStartHour());
+        out.putInt(calendar.getEndHour());
+        int[] weekends = calendar.getWeekends();
+        out.putInt(weekends != null ? weekends.length : -1);
+        if (weekends != null) {
+            for (int day : weekends) out.putInt(day);
+        }
+        List<LocalDate> holidays = calendar.getHolidays();
+        out.putInt(holidays != null ? holidays.size() : 0);
+        if (holidays != null) {
+            for (LocalDate holiday : holidays) out.putInt((int) holiday.toEpochDay());
+        }
+    }
+
+    private static Calendar readCalendar(ByteBuffer in) {
+        int startHour = in.getInt();
+        int endHour = in.getInt();
+        int weekendCount = in.getInt();
+        int[] weekends = null;
+        if (weekendCount >= 0) {
+            weekends = new int[weekendCount];
+            for (int i = 0; i < weekendCount; i++) weekends[i] = in.getInt();
+        }
+        int holidayCount = in.getInt();
+        List<LocalDate> holidays = new ArrayList<>(holidayCount);
+        for (int i = 0; i < holidayCount; i++) holidays.add(LocalDate.ofEpochDay(in.getInt()));
+        return new Calendar(startHour, endHour, holidays, weekends);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) return null;
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static long toSeconds(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.toEpochSecond(ZoneOffset.UTC) : NONE;
+    }
+
+    private static LocalDateTime toDateTime(long seconds) {
+        return seconds != NONE ? LocalDateTime.ofEpochSecond(seconds, 0, ZoneOffset.UTC) : null;
+    }
+
+    // Последовательная запись секций через буфер; каждая секция начинается с границы 8 байт
+    private static final class SectionWriter {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+        private long position = DATA_START;
+
+        SectionWriter(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        long beginSection() throws IOException {
+            while ((position & 7) != 0) putByte((byte) 0);
+            return position;
+        }
+
+        void putByte(byte value) throws IOException {
+            ensure(1);
+            buffer.put(value);
+            position++;
+        }
+
+        void putInt(int value) throws IOException {
+            ensure(4);
+            buffer.putInt(value);
+            position += 4;
+        }
+
+        void putLong(long value) throws IOException {
+            ensure(8);
+            buffer.putLong(value);
+            position += 8;
+        }
+
+        // Массивы пишутся блоками через представление буфера
+        void putLongs(long[] values) throws IOException {
+            int offset = 0;
+            while (offset < values.length) {
+                ensure(8);
+                int chunk = Math.min(buffer.remaining() / 8, values.length - offset);
+                buffer.asLongBuffer().put(values, offset, chunk);
+                buffer.position(buffer.position() + chunk * 8);
+                offset += chunk;
+                position += chunk * 8L;
+            }
+        }
+
+        void putInts(int[] values, int count) throws IOException {
+            int offset = 0;
+            while (offset < count) {
+                ensure(4);
+                int chunk = Math.min(buffer.remaining() / 4, count - offset);
+                buffer.asIntBuffer().put(values, offset, chunk);
+                buffer.position(buffer.position() + chunk * 4);
+                offset += chunk;
+                position += chunk * 4L;
+            }
+        }
+
+        void putBytes(byte[] bytes) throws IOException {
+            int offset = 0;
+            while (offset < bytes.length) {
+                ensure(1);
+                int chunk = Math.min(buffer.remaining(), bytes.length - offset);
+                buffer.put(bytes, offset, chunk);
+                offset += chunk;
+                position += chunk;
+            }
+        }
+
+        void putString(String value) throws IOException {
+            if (value == null) {
+                putInt(-1);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            putInt(bytes.length);
+            putBytes(bytes);
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) flush();
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            long at = position - buffer.remaining();
+            while (buffer.hasRemaining()) at += channel.write(buffer, at);
+            buffer.clear();
+        }
+    }
+}
@@ -0,0 +1,477 @@
+package ProjectManagement;
+
+import ResourceManagement.Resource;
+import TaskManagement.Task;
+import TaskManagement.TaskListener;
+import TaskManagement.TaskStatus;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+// Журнал изменений задач проекта (только дописывание).
+// В каталоге журнала лежат снимок проекта (ProjectImage) и файл событий: смена статуса (с фактическими датами,
+// фактической длительностью и учетом пауз), смена исполнителя и смена длительности. Каждое событие - запись с длиной впереди и CRC в конце.
+// Записи копятся в буфере и пишутся фоновым потоком группами: одна запись в файл и один force на группу.
+// Восстановление: снимок + события после него, поэтому время восстановления зависит от числа событий
+// с последнего уплотнения. Уплотнение записывает новый снимок и начинает журнал заново.
+// Снимок хранит номер последнего учтенного события; события с меньшим или равным номером при
+// восстановлении пропускаются. Повторять их нельзя: событие статуса перезаписывает фактические даты и паузы,
+// а их прямые изменения (setFactualStartDate/setFactualEndDate) в журнал не попадают.
+// Даты в событиях хранятся с точностью до секунды, как и в снимке.
+public final class ProjectJournal implements AutoCloseable {
+
+    private static final int MAGIC = 0x4C4E524A; // "JRNL"
+    private static final int VERSION = 2; // 2 - событие статуса хранит фактическую длительность и паузы
+    private static final int HEADER_SIZE = 16;
+    private static final long NONE = Long.MIN_VALUE;
+
+    private static final String SNAPSHOT_FILE = "snapshot.img";
+    private static final String JOURNAL_FILE = "journal.log";
+
+    private static final byte STATUS_EVENT = 1;
+    private static final byte RESOURCE_EVENT = 2;
+    private static final byte DURATION_EVENT = 3;
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    // Событие журнала (для аудита)
+    @Getter
+    public static final class Event {
+        private final long sequence;
+        private final LocalDateTime time;
+        private final long taskId;
+        private final byte type;
+        private final TaskStatus status;
+        private final LocalDateTime factualStartDate;
+        private final LocalDateTime factualEndDate;
+        private final Duration factualDuration;
+        private final Duration totalPauseDuration;
+        private final LocalDateTime pauseStartTime;
+        private final Long resourceId;
+        private final Duration duration;
+
+        private Event(long sequence, LocalDateTime time, long taskId, byte type, TaskStatus status,
+                      LocalDateTime factualStartDate, LocalDateTime factualEndDate, Duration factualDuration,
+                      Duration totalPauseDuration, LocalDateTime pauseStartTime, Long resourceId, Duration duration) {
+            this.sequence = sequence;
+            this.time = time;
+            this.taskId = taskId;
+            this.type = type;
+            this.status = status;
+            this.factualStartDate = factualStartDate;
+            this.factualEndDate = factualEndDate;
+            this.factualDuration = factualDuration;
+            this.totalPauseDuration = totalPauseDuration;
+            this.pauseStartTime = pauseStartTime;
+            this.resourceId = resourceId;
+            this.duration = duration;
+        }
+
+        public boolean isStatusChange() {
+            return type == STATUS_EVENT;
+        }
+
+        public boolean isResourceChange() {
+            return type == RESOURCE_EVENT;
+        }
+
+        public boolean isDurationChange() {
+            return type == DURATION_EVENT;
+        }
+
+        @Override
+        public String toString() {
+            return switch (type) {
+                case STATUS_EVENT -> "#" + sequence + " task " + taskId + " status " + status;
+                case RESOURCE_EVENT -> "#" + sequence + " task " + taskId + " resource " + resourceId;
+                default -> "#" + sequence + " task " + taskId + " duration " + duration;
+            };
+        }
+    }
+
+    @Getter
+    private final Project project;
+    private final Path directory;
+    private FileChannel channel;
+
+    // Буферы группового сброса: в active пишут изменения, фоновый поток сбрасывает flushing
+    private ByteBuffer active = newBuffer(1 << 16);
+    private ByteBuffer flushing = newBuffer(1 << 16);
+    private int recordStart; // Начало текущей записи в active
+    private long lastSequence;
+    private long durableSequence;
+    private IOException failure;
+    private boolean closed;
+    private final Thread committer;
+
+    // Задачи, у которых сменился статус: событие пишется после taskChanged, когда уже выставлены фактические даты
+    private final Set<Task> statusChanged = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private final TaskListener listener = new TaskListener() {
+        @Override
+        public void statusChanged(Task task, TaskStatus previous) {
+            synchronized (ProjectJournal.this) {
+                statusChanged.add(task);
+            }
+        }
+
+        @Override
+        public void taskChanged(Task task) {
+            synchronized (ProjectJournal.this) {
+                if (statusChanged.remove(task)) appendStatus(task);
+            }
+        }
+
+        @Override
+        public void resourceChanged(Task task, Resource previous) {
+            appendResource(task);
+        }
+
+        @Override
+        public void durationChanged(Task task) {
+            appendDuration(task);
+        }
+    };
+
+    private ProjectJournal(Project project, Path directory, FileChannel channel, long lastSequence) {
+        this.project = project;
+        this.directory = directory;
+        this.channel = channel;
+        this.lastSequence = lastSequence;
+        this.durableSequence = lastSequence;
+        this.committer = new Thread(this::commitLoop, "journal-" + directory.getFileName());
+        committer.setDaemon(true);
+        committer.start();
+        project.addTaskListener(listener);
+    }
+
+    // Новый журнал для проекта: снимок текущего состояния и пустой файл событий
+    public static ProjectJournal create(Path directory, Project project) throws IOException {
+        Files.createDirectories(directory);
+        ProjectImage.write(project, directory.resolve(SNAPSHOT_FILE), 0);
+        FileChannel channel = createJournalFile(directory, 0);
+        return new ProjectJournal(project, directory, channel, 0);
+    }
+
+    // Восстановление проекта: снимок и события после него.
+    // Недописанный хвост (сбой посреди записи) отбрасывается.
+    public static ProjectJournal recover(Path directory) throws IOException {
+        ProjectImage image = ProjectImage.open(directory.resolve(SNAPSHOT_FILE));
+        long imageSequence = image.getJournalSequence();
+        Project project = image.toProject();
+        Path journalPath = directory.resolve(JOURNAL_FILE);
+        if (!Files.exists(journalPath)) {
+            return new ProjectJournal(project, directory, createJournalFile(directory, imageSequence), imageSequence);
+        }
+
+        Map<Long, Task> tasksById = new HashMap<>();
+        for (Task task : project.getTasks()) {
+            if (task.getId() != null) tasksById.put(task.getId(), task);
+        }
+        Map<Long, Resource> resourcesById = new HashMap<>();
+        for (Resource resource : project.getResources()) {
+            if (resource.getId() != null) resourcesById.put(resource.getId(), resource);
+        }
+
+        FileChannel channel = FileChannel.open(journalPath, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long[] lastSequence = new long[1];
+        long validEnd;
+        project.beginBatch();
+        try {
+            validEnd = readJournal(channel, event -> {
+                // Событие уже в снимке (сбой между заменой снимка и журнала при уплотнении)
+                if (event.getSequence() > imageSequence) apply(event, tasksById, resourcesById);
+                lastSequence[0] = event.getSequence();
+            }, lastSequence);
+        } finally {
+            project.endBatch();
+        }
+        channel.truncate(validEnd);
+        channel.position(validEnd);
+        return new ProjectJournal(project, directory, channel, Math.max(lastSequence[0], imageSequence));
+    }
+
+    // Все события журнала (аудит)
+    public static List<Event> readEvents(Path directory) throws IOException {
+        List<Event> events = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(directory.resolve(JOURNAL_FILE), StandardOpenOption.READ)) {
+            readJournal(channel, events::add, new long[1]);
+        }
+        return events;
+    }
+
+    private static void apply(Event event, Map<Long, Task> tasksById, Map<Long, Resource> resourcesById) {
+        Task task = tasksById.get(event.getTaskId());
+        if (task == null) return;
+        switch (event.type) {
+            case STATUS_EVENT -> {
+                task.setStatus(event.getStatus());
+                task.setFactualStartDate(event.getFactualStartDate());
+                task.setFactualEndDate(event.getFactualEndDate());
+                task.setFactualDuration(event.getFactualDuration());
+                task.setTotalPauseDuration(event.getTotalPauseDuration() != null ? event.getTotalPauseDuration() : Duration.ZERO);
+                task.setPauseStartTime(event.getPauseStartTime());
+            }
+            case RESOURCE_EVENT -> task.setAssignedResource(
+                    event.getResourceId() != null ? resourcesById.get(event.getResourceId()) : null);
+            case DURATION_EVENT -> task.setEstimatedDuration(event.getDuration());
+        }
+    }
+
+    // Чтение записей; возвращает конец последней целой записи
+    private static long readJournal(FileChannel channel, Consumer<Event> consumer, long[] baseSequence) throws IOException {
+        ByteBuffer header = newBuffer(HEADER_SIZE);
+        readFully(channel, header, 0);
+        header.flip();
+        if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC) {
+            throw new IOException("Not a project journal");
+        }
+        int version = header.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported journal version: " + version);
+        }
+        baseSequence[0] = header.getLong();
+
+        long position = HEADER_SIZE;
+        long size = channel.size();
+        ByteBuffer lengthBuffer = newBuffer(4);
+        ByteBuffer body = newBuffer(64);
+        CRC32 crc = new CRC32();
+        while (position + 4 <= size) {
+            lengthBuffer.clear();
+            readFully(channel, lengthBuffer, position);
+            int length = lengthBuffer.getInt(0);
+            if (length <= 0 || position + 4 + length + 4 > size) break;
+            if (body.capacity() < length + 4) body = newBuffer(length + 4);
+            body.clear().limit(length + 4);
+            readFully(channel, body, position + 4);
+            crc.reset();
+            crc.update(body.array(), 0, length);
+            if ((int) crc.getValue() != body.getInt(length)) break;
+
+            body.position(0);
+            consumer.accept(decode(body));
+            position += 4 + length + 4;
+        }
+        return position;
+    }
+
+    private static Event decode(ByteBuffer body) {
+        byte type = body.get();
+        long sequence = body.getLong();
+        LocalDateTime time = toDateTime(body.getLong());
+        long taskId = body.getLong();
+        return switch (type) {
+            case STATUS_EVENT -> new Event(sequence, time, taskId, type, STATUSES[body.get()],
+                    toDateTime(body.getLong()), toDateTime(body.getLong()), toDuration(body.getLong()),
+                    toDuration(body.getLong()), toDateTime(body.getLong()), null, null);
+            case RESOURCE_EVENT -> {
+                long resourceId = body.getLong();
+                yield new Event(sequence, time, taskId, type, null, null, null, null, null, null,
+                        resourceId != NONE ? resourceId : null, null);
+            }
+            default -> new Event(sequence, time, taskId, type, null, null, null, null, null, null, null,
+                    toDuration(body.getLong()));
+        };
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) break;
+            position += read;
+        }
+    }
+
+    private static FileChannel createJournalFile(Path directory, long baseSequence) throws IOException {
+        Path temporary = directory.resolve(JOURNAL_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = newBuffer(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).putLong(baseSequence).flip();
+            while (header.hasRemaining()) channel.write(header);
+            channel.force(true);
+        }
+        Path journalPath = directory.resolve(JOURNAL_FILE);
+        Files.move(temporary, journalPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        FileChannel channel = FileChannel.open(journalPath, StandardOpenOption.WRITE);
+        channel.position(channel.size());
+        return channel;
+    }
+
+    // Запись событий (задачи без id не журналируются: их нельзя найти при восстановлении)
+    private synchronized void appendStatus(Task task) {
+        if (task.getId() == null || closed) return;
+        ByteBuffer out = begin(STATUS_EVENT, task, 1 + 40);
+        out.put((byte) task.getStatus().ordinal());
+        out.putLong(toSeconds(task.getFactualStartDate()));
+        out.putLong(toSeconds(task.getFactualEndDate()));
+        out.putLong(toSeconds(task.getFactualDuration()));
+        out.putLong(toSeconds(task.getTotalPauseDuration()));
+        out.putLong(toSeconds(task.getPauseStartTime()));
+        end(out);
+    }
+
+    private synchronized void appendResource(Task task) {
+        if (task.getId() == null || closed) return;
+        ByteBuffer out = begin(RESOURCE_EVENT, task, 8);
+        Resource resource = task.getAssignedResource();
+        out.putLong(resource != null && resource.getId() != null ? resource.getId() : NONE);
+        end(out);
+    }
+
+    private synchronized void appendDuration(Task task) {
+        if (task.getId() == null || closed) return;
+        ByteBuffer out = begin(DURATION_EVENT, task, 8);
+        out.putLong(toSeconds(task.getEstimatedDuration()));
+        end(out);
+    }
+
+    // Начало записи: место под длину, затем тип, номер, время и id задачи
+    private ByteBuffer begin(byte type, Task task, int payload) {
+        int length = 1 + 8 + 8 + 8 + payload;
+        if (active.remaining() < 4 + length + 4) {
+            ByteBuffer grown = newBuffer(Math.max(active.capacity() * 2, active.position() + 4 + length + 4));
+            active.flip();
+            grown.put(active);
+            active = grown;
+        }
+        recordStart = active.position();
+        active.putInt(length);
+        active.put(type);
+        active.putLong(++lastSequence);
+        active.putLong(toSeconds(LocalDateTime.now(task.getClock())));
+        active.putLong(task.getId());
+        return active;
+    }
+
+    // Конец записи: CRC по телу записи
+    private void end(ByteBuffer out) {
+        int length = out.getInt(recordStart);
+        CRC32 crc = new CRC32();
+        crc.update(out.array(), recordStart + 4, length);
+        out.putInt((int) crc.getValue());
+        notifyAll();
+    }
+
+    // Фоновый поток группового сброса: забирает накопленные записи, пишет их и делает один force
+    private void commitLoop() {
+        while (true) {
+            ByteBuffer batch;
+            long batchSequence;
+            synchronized (this) {
+                while (active.position() == 0 && !closed) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (active.position() == 0) return;
+                batch = active;
+                active = flushing;
+                active.clear();
+                flushing = batch;
+                batchSequence = lastSequence;
+            }
+            try {
+                batch.flip();
+                while (batch.hasRemaining()) channel.write(batch);
+                channel.force(false);
+                synchronized (this) {
+                    durableSequence = batchSequence;
+                    notifyAll();
+                }
+            } catch (IOException e) {
+                synchronized (this) {
+                    failure = e;
+                    closed = true;
+                    notifyAll();
+                }
+                return;
+            }
+        }
+    }
+
+    // Ожидание, пока все записанные события окажутся на диске
+    public synchronized void sync() throws IOException {
+        long target = lastSequence;
+        while (durableSequence < target && failure == null) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for the journal", e);
+            }
+        }
+        if (failure != null) throw failure;
+    }
+
+    // Номер последнего события
+    public synchronized long getLastSequence() {
+        return lastSequence;
+    }
+
+    // Уплотнение: текущее состояние проекта - в новый снимок, журнал начинается заново.
+    // Если сбой случится между заменой снимка и журнала, старые события останутся в журнале,
+    // но при восстановлении будут пропущены по номеру, записанному в снимок.
+    public synchronized void compact() throws IOException {
+        sync();
+        ProjectImage.write(project, directory.resolve(SNAPSHOT_FILE), lastSequence);
+        FileChannel previous = channel;
+        channel = createJournalFile(directory, lastSequence);
+        previous.close();
+    }
+
+    // Закрытие: запись оставшихся событий и остановка фонового потока
+    @Override
+    public void close() throws IOException {
+        project.removeTaskListener(listener);
+        synchronized (this) {
+            closed = true;
+            notifyAll();
+        }
+        try {
+            committer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+        synchronized (this) {
+            if (failure != null) throw failure;
+        }
+    }
+
+    private static ByteBuffer newBuffer(int capacity) {
+        return ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static long toSeconds(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.toEpochSecond(ZoneOffset.UTC) : NONE;
+    }
+
+    private static LocalDateTime toDateTime(long seconds) {
+        return seconds != NONE ? LocalDateTime.ofEpochSecond(seconds, 0, ZoneOffset.UTC) : null;
+    }
+
+    private static long toSeconds(Duration duration) {
+        return duration != null ? duration.getSeconds() : NONE;
+    }
+
+    private static Duration toDuration(long seconds) {
+        return seconds != NONE ? Duration.ofSeconds(seconds) : null;
+    }
+}
@@ -0,0 +1,302 @@
+package ProjectManagement;
+
+import CalendarManagement.Calendar;
+import Monitoring.GanttMetrics;
+import ResourceManagement.Resource;
+import TaskManagement.Task;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+// Потоковая загрузка проекта из JSON (формат ProjectJsonParser.ProjectJson).
+// Файл читается по токенам, без промежуточного дерева объектов: календари, исполнители
+// и задачи сразу превращаются в объекты модели и добавляются в проект, ID назначаются по ходу чтения.
+// Связи и исполнители задач собираются в ProjectBuilder и проверяются одним проходом после чтения,
+// поэтому исполнители и зависимости могут встречаться в файле и после ссылающихся на них задач.
+public final class ProjectJsonLoader {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    // Календарь: {"workStartHour", "workEndHour", "holidays": ["yyyy-MM-dd"], "weekends": [6, 7]}
+    public static final TypeAdapter<Calendar> CALENDAR_ADAPTER = new TypeAdapter<>() {
+        @Override
+        public void write(JsonWriter out, Calendar calendar) throws IOException {
+            if (calendar == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("workStartHour").value(calendar.getStartHour());
+            out.name("workEndHour").value(calendar.getEndHour());
+            out.name("holidays").beginArray();
+            if (calendar.getHolidays() != null) {
+                for (LocalDate holiday : calendar.getHolidays()) out.value(holiday.toString());
+            }
+            out.endArray();
+            out.name("weekends").beginArray();
+            if (calendar.getWeekends() != null) {
+                for (int day : calendar.getWeekends()) out.value(day);
+            }
+            out.endArray();
+            out.endObject();
+        }
+
+        @Override
+        public Calendar read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            int startHour = 0;
+            int endHour = 0;
+            List<LocalDate> holidays = new ArrayList<>();
+            int[] weekends = new int[0];
+
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "workStartHour" -> startHour = in.nextInt();
+                    case "workEndHour" -> endHour = in.nextInt();
+                    case "holidays" -> {
+                        in.beginArray();
+                        while (in.hasNext()) holidays.add(LocalDate.parse(in.nextString()));
+                        in.endArray();
+                    }
+                    case "weekends" -> {
+                        List<Integer> days = new ArrayList<>();
+                        in.beginArray();
+                        while (in.hasNext()) days.add(in.nextInt());
+                        in.endArray();
+                        weekends = days.stream().mapToInt(Integer::intValue).toArray();
+                    }
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return new Calendar(startHour, endHour, holidays, weekends);
+        }
+    };
+
+    // Исполнитель: {"id", "name", "calendar"}
+    public static final TypeAdapter<Resource> RESOURCE_ADAPTER = new TypeAdapter<>() {
+        @Override
+        public void write(JsonWriter out, Resource resource) throws IOException {
+            if (resource == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            if (resource.getId() != null) out.name("id").value(resource.getId());
+            out.name("name").value(resource.getName());
+            out.name("calendar");
+            CALENDAR_ADAPTER.write(out, resource.getResourceCalendar());
+            out.endObject();
+        }
+
+        @Override
+        public Resource read(JsonReader in) throws IOException {
+            Long id = null;
+            String name = null;
+            Calendar calendar = null;
+
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id" -> id = readNullableLong(in);
+                    case "name" -> name = in.nextString();
+                    case "calendar" -> calendar = CALENDAR_ADAPTER.read(in);
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+
+            Resource resource = new Resource(name, calendar);
+            resource.setId(id);
+            return resource;
+        }
+    };
+
+    private final ProjectBuilder builder;
+    private final Project project;
+    private long maxTaskId;
+    private long maxResourceId;
+
+    private ProjectJsonLoader(String projectName) {
+        this.builder = new ProjectBuilder(projectName, null);
+        this.project = builder.getProject();
+    }
+
+    // Загрузка проекта из файла
+    public static Project load(Path path, String projectName) throws IOException {
+        try (Reader reader = new BufferedReader(
+                new InputStreamReader(Files.newInputStream(path), StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            return load(reader, projectName);
+        }
+    }
+
+    // Загрузка проекта из потока (поток не закрывается)
+    public static Project load(Reader reader, String projectName) throws IOException {
+        long start = GanttMetrics.start();
+        ProjectJsonLoader loader = new ProjectJsonLoader(projectName);
+        JsonReader in = new JsonReader(reader);
+        try {
+            loader.readProject(in);
+            return loader.builder.build();
+        } finally {
+            GanttMetrics.stop(GanttMetrics.Phase.JSON_LOAD, start);
+        }
+    }
+
+    private void readProject(JsonReader in) throws IOException {
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "maxTaskId" -> maxTaskId = Math.max(maxTaskId, in.nextLong());
+                case "maxResourceId" -> maxResourceId = Math.max(maxResourceId, in.nextLong());
+                case "startDate" -> {
+                    String startDate = readNullableString(in);
+                    if (startDate != null && !startDate.isEmpty()) {
+                        project.setEstimatedStartDate(LocalDateTime.parse(startDate, DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+                    }
+                }
+                case "calendar" -> project.setProjectCalendar(CALENDAR_ADAPTER.read(in));
+                case "resources" -> {
+                    in.beginArray();
+                    while (in.hasNext()) addResource(RESOURCE_ADAPTER.read(in));
+                    in.endArray();
+                }
+                case "tasks" -> {
+                    in.beginArray();
+                    while (in.hasNext()) readTask(in);
+                    in.endArray();
+                }
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+    }
+
+    private void addResource(Resource resource) {
+        if (resource.getId() == null) {
+            resource.setId(++maxResourceId);
+        } else {
+            maxResourceId = Math.max(maxResourceId, resource.getId());
+        }
+        builder.addResource(resource);
+    }
+
+    // Задача со вложенными подзадачами; возвращает индекс созданной задачи в построителе
+    private int readTask(JsonReader in) throws IOException {
+        Long id = null;
+        String name = null;
+        long seconds = 0;
+        int priority = 0;
+        String resourceName = null;
+        List<Integer> subTasks = new ArrayList<>();
+        List<Object> dependencyRefs = new ArrayList<>();
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "id" -> id = readNullableLong(in);
+                case "name" -> name = in.nextString();
+                case "durationSeconds" -> seconds += in.nextLong();
+                case "durationMinutes" -> seconds += in.nextLong() * 60L;
+                case "durationHours" -> seconds += in.nextLong() * 3600L;
+                case "priority" -> priority = in.nextInt();
+                case "assignedResourceName" -> resourceName = readNullableString(in);
+                case "dependencies" -> readDependencyRefs(in, dependencyRefs);
+                case "subtasks" -> {
+                    if (in.peek() == JsonToken.NULL) {
+                        in.nextNull();
+                    } else {
+                        in.beginArray();
+                        while (in.hasNext()) subTasks.add(readTask(in));
+                        in.endArray();
+                    }
+                }
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+
+        Task task = new Task(name, Duration.ofSeconds(seconds));
+        if (id == null) {
+            id = ++maxTaskId;
+        } else {
+            maxTaskId = Math.max(maxTaskId, id);
+        }
+        task.setId(id);
+        if (priority != 0) task.setPriority(priority);
+
+        int index = builder.addTask(task);
+        if (resourceName != null) builder.assignResource(index, resourceName);
+
+        // Повторное описание той же связи отбрасывается построителем
+        for (int subTask : subTasks) builder.addEdge(index, subTask);
+        for (Object ref : dependencyRefs) {
+            if (ref instanceof Long refId) builder.addDependency(index, refId);
+            else builder.addDependency(index, (String) ref);
+        }
+        return index;
+    }
+
+    // Зависимость задается объектом задачи (по id, иначе по имени), строкой-именем или числом-id
+    private static void readDependencyRefs(JsonReader in, List<Object> refs) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return;
+        }
+        in.beginArray();
+        while (in.hasNext()) {
+            switch (in.peek()) {
+                case STRING -> refs.add(in.nextString());
+                case NUMBER -> refs.add(in.nextLong());
+                case BEGIN_OBJECT -> {
+                    Long id = null;
+                    String name = null;
+                    in.beginObject();
+                    while (in.hasNext()) {
+                        switch (in.nextName()) {
+                            case "id" -> id = readNullableLong(in);
+                            case "name" -> name = in.nextString();
+                            default -> in.skipValue();
+                        }
+                    }
+                    in.endObject();
+                    if (id != null) refs.add(id);
+                    else if (name != null) refs.add(name);
+                }
+                default -> in.skipValue();
+            }
+        }
+        in.endArray();
+    }
+
+    private static Long readNullableLong(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextLong();
+    }
+
+    private static String readNullableString(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextString();
+    }
+}
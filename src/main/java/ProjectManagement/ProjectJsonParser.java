@@ -1,24 +1,32 @@
 package ProjectManagement;
 
 
+import Monitoring.GanttMetrics;
 import com.google.gson.*;
+import lombok.extern.slf4j.Slf4j;
+
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 
+@Slf4j
 public class ProjectJsonParser {
 
+    // Один экземпляр на все вызовы (Gson потокобезопасен, а его создание дорого)
+    private static final Gson GSON = new GsonBuilder()
+            .setPrettyPrinting()
+            .create();
+
     // Метод для чтения JSON из файла и назначения ID
+    // (для больших файлов - ProjectJsonLoader, без промежуточного дерева объектов)
     public static ProjectJson parseAndAssignIds(String filePath) throws IOException {
-        Gson gson = new GsonBuilder()
-                .setPrettyPrinting()
-                .create();
-
-        try (Reader reader = new FileReader(filePath)) {
-            ProjectJson project = gson.fromJson(reader, ProjectJson.class);
+        long start = GanttMetrics.start();
+        try (Reader reader = new BufferedReader(new FileReader(filePath, StandardCharsets.UTF_8))) {
+            ProjectJson project = GSON.fromJson(reader, ProjectJson.class);
 
             if (project.tasks != null) {
                 List<TaskJson> allTasks = new ArrayList<>(project.tasks);
@@ -37,29 +45,23 @@ public class ProjectJsonParser {
                 }
             }
 
-            System.out.println("=== PARSED PROJECT STRUCTURE ===");
-            for (ProjectJsonParser.TaskJson task : project.tasks) {
-                System.out.println("Task: " + task.name);
-                if (task.subtasks != null) {
-                    for (ProjectJsonParser.TaskJson subtask : task.subtasks) {
-                        System.out.println("  -> Sub Task: " + subtask.name);
-                    }
-                }
-            }
-            System.out.println("===============================");
-
-
+            log.debug("Файл {} прочитан: задач {}, исполнителей {}", filePath,
+                    project.tasks != null ? project.tasks.size() : 0,
+                    project.resources != null ? project.resources.size() : 0);
             return project;
+        } finally {
+            GanttMetrics.stop(GanttMetrics.Phase.JSON_LOAD, start);
         }
     }
 
 
     // Метод для записи обновлённого проекта обратно в файл
     public static void writeProjectToFile(ProjectJson project, String filePath) throws IOException {
-        Gson gson = new GsonBuilder().setPrettyPrinting().create();
-
-        try (Writer writer = new FileWriter(filePath)) {
-            gson.toJson(project, writer);
+        long start = GanttMetrics.start();
+        try (Writer writer = new BufferedWriter(new FileWriter(filePath, StandardCharsets.UTF_8))) {
+            GSON.toJson(project, writer);
+        } finally {
+            GanttMetrics.stop(GanttMetrics.Phase.JSON_SAVE, start);
         }
     }
 
@@ -1,12 +1,97 @@
 package ProjectManagement;
 
+import CalendarManagement.Calendar;
+import ResourceManagement.Resource;
+import TaskManagement.Task;
+import TaskManagement.TaskField;
+import TaskManagement.TaskStatus;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 
-// Репозиторий
+import java.nio.charset.StandardCharsets;
+import java.sql.*;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+// Репозиторий проектов в PostgreSQL.
+// Схема нормализована: проекты, календари и их праздники, исполнители, задачи и связи между задачами.
+// Задачи и исполнители хранятся под номерами позиций внутри проекта (задачи - в топологическом порядке),
+// поэтому граф собирается по массивам без поиска по id.
+// Запись идет через COPY (CopyManager) одной транзакцией, чтение - одним запросом на таблицу с курсором.
+// Изменения отдельных задач записываются многострочными UPDATE только по измененным полям.
+// Длительности хранятся в секундах; фактическая длительность пишется вместе с фактическими датами.
 @Repository
 public class ProjectRepoitory {
 
+    private static final int FETCH_SIZE = 10_000;
+    // Предел параметров одного запроса (протокол PostgreSQL допускает 65535)
+    private static final int MAX_PARAMETERS = 30_000;
+
+    private static final String[] SCHEMA = {
+            "CREATE TABLE IF NOT EXISTS projects (\n" +
+                    "id BIGSERIAL PRIMARY KEY,\n" +
+                    "name TEXT,\n" +
+                    "start_date TIMESTAMP,\n" +
+                    "calendar_index INT\n" +
+                    ")",
+            "CREATE TABLE IF NOT EXISTS calendars (\n" +
+                    "project_id BIGINT NOT NULL REFERENCES projects (id) ON DELETE CASCADE,\n" +
+                    "calendar_index INT NOT NULL,\n" +
+                    "start_hour INT NOT NULL,\n" +
+                    "end_hour INT NOT NULL,\n" +
+                    "weekends INT[],\n" +
+                    "PRIMARY KEY (project_id, calendar_index)\n" +
+                    ")",
+            "CREATE TABLE IF NOT EXISTS calendar_holidays (\n" +
+                    "project_id BIGINT NOT NULL,\n" +
+                    "calendar_index INT NOT NULL,\n" +
+                    "holiday DATE NOT NULL,\n" +
+                    "FOREIGN KEY (project_id, calendar_index) REFERENCES calendars (project_id, calendar_index) ON DELETE CASCADE\n" +
+                    ")",
+            "CREATE TABLE IF NOT EXISTS resources (\n" +
+                    "project_id BIGINT NOT NULL REFERENCES projects (id) ON DELETE CASCADE,\n" +
+                    "resource_index INT NOT NULL,\n" +
+                    "id BIGINT,\n" +
+                    "name TEXT,\n" +
+                    "calendar_index INT,\n" +
+                    "PRIMARY KEY (project_id, resource_index)\n" +
+                    ")",
+            "CREATE TABLE IF NOT EXISTS tasks (\n" +
+                    "project_id BIGINT NOT NULL REFERENCES projects (id) ON DELETE CASCADE,\n" +
+                    "position INT NOT NULL,\n" +
+                    "id BIGINT,\n" +
+                    "name TEXT,\n" +
+                    "duration_seconds BIGINT,\n" +
+                    "priority INT NOT NULL,\n" +
+                    "status VARCHAR(16) NOT NULL,\n" +
+                    "resource_index INT,\n" +
+                    "estimated_start TIMESTAMP,\n" +
+                    "estimated_end TIMESTAMP,\n" +
+                    "factual_start TIMESTAMP,\n" +
+                    "factual_end TIMESTAMP,\n" +
+                    "factual_duration_seconds BIGINT,\n" +
+                    "total_pause_seconds BIGINT,\n" +
+                    "pause_start TIMESTAMP,\n" +
+                    "PRIMARY KEY (project_id, position)\n" +
+                    ")",
+            // Таблицы, созданные до появления столбцов фактической длительности и пауз
+            "ALTER TABLE tasks ADD COLUMN IF NOT EXISTS factual_duration_seconds BIGINT",
+            "ALTER TABLE tasks ADD COLUMN IF NOT EXISTS total_pause_seconds BIGINT",
+            "ALTER TABLE tasks ADD COLUMN IF NOT EXISTS pause_start TIMESTAMP",
+            "CREATE INDEX IF NOT EXISTS tasks_project_task_id ON tasks (project_id, id)",
+            "CREATE TABLE IF NOT EXISTS task_dependencies (\n" +
+                    "project_id BIGINT NOT NULL REFERENCES projects (id) ON DELETE CASCADE,\n" +
+                    "dependency_position INT NOT NULL,\n" +
+                    "task_position INT NOT NULL,\n" +
+                    "PRIMARY KEY (project_id, dependency_position, task_position)\n" +
+                    ")"
+    };
+
     private final JdbcTemplate jdbcTemplate;
 
     // Конструктор
@@ -14,14 +99,431 @@ public class ProjectRepoitory {
         this.jdbcTemplate = jdbcTemplate;
     }
 
-    // Создание диаграммы (таблицы SQL)
-    public void createChart(Long id) {
-        String sql = "CREATE TABLE IF NOT EXISTS ? (\n" +
-                "id SERIAL PRIMARY KEY,\n" +
-                "doers VARCHAR(40),\n" +
-                "tasks VARCHAR(40),\n" +
-                 ");";
-        String name = "chart_" + id;
-        jdbcTemplate.update(sql, name);
+    // Создание таблиц (если их еще нет)
+    public void createSchema() {
+        for (String sql : SCHEMA) {
+            jdbcTemplate.execute(sql);
+        }
+    }
+
+    // Удаление проекта со всеми задачами, связями, исполнителями и календарями
+    public void deleteProject(long projectId) {
+        jdbcTemplate.update("DELETE FROM projects WHERE id = ?", projectId);
+    }
+
+    // Сохранение проекта; возвращает id проекта в базе
+    public long saveProject(Project project) {
+        List<Task> sortedTasks = project.getSortedTasks();
+        int size = sortedTasks.size();
+        Map<Task, Integer> positions = new IdentityHashMap<>(size * 2);
+        for (int i = 0; i < size; i++) positions.put(sortedTasks.get(i), i);
+
+        // Календари и исполнители получают номера
+        List<Calendar> calendars = new ArrayList<>();
+        Map<Calendar, Integer> calendarIndexes = new IdentityHashMap<>();
+        int projectCalendarIndex = indexOf(project.getProjectCalendar(), calendars, calendarIndexes);
+        List<Resource> resources = new ArrayList<>();
+        Map<Resource, Integer> resourceIndexes = new IdentityHashMap<>();
+        for (Resource resource : project.getResources()) indexOf(resource, resources, resourceIndexes);
+        for (Task task : sortedTasks) indexOf(task.getAssignedResource(), resources, resourceIndexes);
+        for (Resource resource : resources) indexOf(resource.getResourceCalendar(), calendars, calendarIndexes);
+
+        return inTransaction(connection -> {
+            long projectId;
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO projects (name, start_date, calendar_index) VALUES (?, ?, ?) RETURNING id")) {
+                statement.setString(1, project.getName());
+                statement.setObject(2, project.getEstimatedStartDate());
+                statement.setObject(3, projectCalendarIndex >= 0 ? projectCalendarIndex : null);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    projectId = resultSet.getLong(1);
+                }
+            }
+            PGConnection pgConnection = connection.unwrap(PGConnection.class);
+
+            try (CopyWriter out = new CopyWriter(pgConnection, "calendars (project_id, calendar_index, start_hour, end_hour, weekends)")) {
+                for (int c = 0; c < calendars.size(); c++) {
+                    Calendar calendar = calendars.get(c);
+                    out.value(projectId).value(c).value(calendar.getStartHour()).value(calendar.getEndHour())
+                            .value(toArrayLiteral(calendar.getWeekends())).endRow();
+                }
+            }
+            try (CopyWriter out = new CopyWriter(pgConnection, "calendar_holidays (project_id, calendar_index, holiday)")) {
+                for (int c = 0; c < calendars.size(); c++) {
+                    List<LocalDate> holidays = calendars.get(c).getHolidays();
+                    if (holidays == null) continue;
+                    for (LocalDate holiday : holidays) {
+                        out.value(projectId).value(c).value(holiday).endRow();
+                    }
+                }
+            }
+            try (CopyWriter out = new CopyWriter(pgConnection, "resources (project_id, resource_index, id, name, calendar_index)")) {
+                for (int r = 0; r < resources.size(); r++) {
+                    Resource resource = resources.get(r);
+                    int calendarIndex = indexOf(resource.getResourceCalendar(), calendars, calendarIndexes);
+                    out.value(projectId).value(r).value(resource.getId()).value(resource.getName())
+                            .value(calendarIndex >= 0 ? calendarIndex : null).endRow();
+                }
+            }
+            try (CopyWriter out = new CopyWriter(pgConnection, "tasks (project_id, position, id, name, duration_seconds, priority, status, "
+                    + "resource_index, estimated_start, estimated_end, factual_start, factual_end, "
+                    + "factual_duration_seconds, total_pause_seconds, pause_start)")) {
+                for (int i = 0; i < size; i++) {
+                    Task task = sortedTasks.get(i);
+                    int resourceIndex = indexOf(task.getAssignedResource(), resources, resourceIndexes);
+                    out.value(projectId).value(i).value(task.getId()).value(task.getName())
+                            .value(toSeconds(task.getEstimatedDuration()))
+                            .value(task.getPriority()).value(task.getStatus().name())
+                            .value(resourceIndex >= 0 ? resourceIndex : null)
+                            .value(task.getEstimatedStartDate()).value(task.getEstimatedEndDate())
+                            .value(task.getFactualStartDate()).value(task.getFactualEndDate())
+                            .value(toSeconds(task.getFactualDuration())).value(toSeconds(task.getTotalPauseDuration()))
+                            .value(task.getPauseStartTime()).endRow();
+                }
+            }
+            try (CopyWriter out = new CopyWriter(pgConnection, "task_dependencies (project_id, dependency_position, task_position)")) {
+                for (int i = 0; i < size; i++) {
+                    for (Task subTask : sortedTasks.get(i).getSubTasks()) {
+                        Integer position = positions.get(subTask);
+                        if (position != null) out.value(projectId).value(i).value(position).endRow();
+                    }
+                }
+            }
+            return projectId;
+        });
+    }
+
+    // Загрузка проекта: по одному запросу на таблицу
+    public Project loadProject(long projectId) {
+        return inTransaction(connection -> {
+            Project project;
+            int projectCalendarIndex;
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT name, start_date, calendar_index FROM projects WHERE id = ?")) {
+                statement.setLong(1, projectId);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    if (!resultSet.next()) {
+                        throw new IllegalArgumentException("Project " + projectId + " not found.");
+                    }
+                    project = new Project(resultSet.getString(1), null);
+                    project.setEstimatedStartDate(resultSet.getObject(2, LocalDateTime.class));
+                    projectCalendarIndex = resultSet.getObject(3) != null ? resultSet.getInt(3) : -1;
+                }
+            }
+
+            // Праздники читаются раньше календарей: календарь создается уже с ними
+            Map<Integer, List<LocalDate>> holidays = new HashMap<>();
+            query(connection, "SELECT calendar_index, holiday FROM calendar_holidays WHERE project_id = ? ORDER BY calendar_index, holiday",
+                    projectId, resultSet -> holidays.computeIfAbsent(resultSet.getInt(1), k -> new ArrayList<>())
+                            .add(resultSet.getObject(2, LocalDate.class)));
+
+            List<Calendar> calendars = new ArrayList<>();
+            query(connection, "SELECT start_hour, end_hour, weekends FROM calendars WHERE project_id = ? ORDER BY calendar_index",
+                    projectId, resultSet -> {
+                        Array weekendsArray = resultSet.getArray(3);
+                        int[] weekends = null;
+                        if (weekendsArray != null) {
+                            Integer[] days = (Integer[]) weekendsArray.getArray();
+                            weekends = new int[days.length];
+                            for (int d = 0; d < days.length; d++) weekends[d] = days[d];
+                        }
+                        calendars.add(new Calendar(resultSet.getInt(1), resultSet.getInt(2),
+                                holidays.getOrDefault(calendars.size(), new ArrayList<>()), weekends));
+                    });
+            if (projectCalendarIndex >= 0) project.setProjectCalendar(calendars.get(projectCalendarIndex));
+
+            List<Resource> resources = new ArrayList<>();
+            query(connection, "SELECT id, name, calendar_index FROM resources WHERE project_id = ? ORDER BY resource_index",
+                    projectId, resultSet -> {
+                        Resource resource = new Resource(resultSet.getString(2),
+                                resultSet.getObject(3) != null ? calendars.get(resultSet.getInt(3)) : null);
+                        resource.setId(resultSet.getObject(1) != null ? resultSet.getLong(1) : null);
+                        resources.add(resource);
+                    });
+            project.addResources(resources);
+
+            List<Task> tasks = new ArrayList<>();
+            query(connection, "SELECT id, name, duration_seconds, priority, status, resource_index, "
+                            + "estimated_start, estimated_end, factual_start, factual_end, factual_duration_seconds, total_pause_seconds, "
+                            + "pause_start FROM tasks WHERE project_id = ? ORDER BY position",
+                    projectId, resultSet -> {
+                        Task task = new Task(resultSet.getString(2), getDuration(resultSet, 3));
+                        task.setId(resultSet.getObject(1) != null ? resultSet.getLong(1) : null);
+                        task.setPriority(resultSet.getInt(4));
+                        task.setStatus(TaskStatus.valueOf(resultSet.getString(5)));
+                        if (resultSet.getObject(6) != null) task.setAssignedResource(resources.get(resultSet.getInt(6)));
+                        task.setEstimatedStartDate(resultSet.getObject(7, LocalDateTime.class));
+                        task.setEstimatedEndDate(resultSet.getObject(8, LocalDateTime.class));
+                        task.setFactualStartDate(resultSet.getObject(9, LocalDateTime.class));
+                        task.setFactualEndDate(resultSet.getObject(10, LocalDateTime.class));
+                        task.setFactualDuration(getDuration(resultSet, 11));
+                        Duration totalPause = getDuration(resultSet, 12);
+                        task.setTotalPauseDuration(totalPause != null ? totalPause : Duration.ZERO);
+                        task.setPauseStartTime(resultSet.getObject(13, LocalDateTime.class));
+                        tasks.add(task);
+                    });
+
+            // Связи до добавления в проект: задачи идут в топологическом порядке
+            query(connection, "SELECT dependency_position, task_position FROM task_dependencies WHERE project_id = ? "
+                            + "ORDER BY dependency_position, task_position",
+                    projectId, resultSet -> tasks.get(resultSet.getInt(2)).addDependentTask(tasks.get(resultSet.getInt(1))));
+
+            project.beginBatch();
+            try {
+                for (Task task : tasks) project.addTask(task);
+            } finally {
+                project.endBatch();
+            }
+            return project;
+        });
+    }
+
+    // Запись изменений задач (по id) одной транзакцией.
+    // Изменения с одинаковым набором полей идут одним запросом UPDATE ... FROM (VALUES ...).
+    public int updateTasks(long projectId, List<TaskChange> changes) {
+        Map<Set<TaskField>, List<TaskChange>> groups = new LinkedHashMap<>();
+        for (TaskChange change : changes) {
+            if (change.getId() == null) {
+                throw new IllegalStateException("Task '" + change.getName() + "' has no id and cannot be updated.");
+            }
+            groups.computeIfAbsent(change.getFields(), k -> new ArrayList<>()).add(change);
+        }
+        return inTransaction(connection -> {
+            int updated = 0;
+            for (Map.Entry<Set<TaskField>, List<TaskChange>> group : groups.entrySet()) {
+                updated += updateGroup(connection, projectId, group.getKey(), group.getValue());
+            }
+            return updated;
+        });
+    }
+
+    private static int updateGroup(Connection connection, long projectId, Set<TaskField> fields, List<TaskChange> changes) throws SQLException {
+        // Столбцы значений (v.*), их типы и присваивания
+        List<String> columns = new ArrayList<>(List.of("id"));
+        List<String> types = new ArrayList<>(List.of("bigint"));
+        List<String> assignments = new ArrayList<>();
+        for (TaskField field : fields) {
+            switch (field) {
+                case NAME -> addColumn(columns, types, assignments, "name", "text");
+                case DURATION -> addColumn(columns, types, assignments, "duration_seconds", "bigint");
+                case ESTIMATED_DATES -> {
+                    addColumn(columns, types, assignments, "estimated_start", "timestamp");
+                    addColumn(columns, types, assignments, "estimated_end", "timestamp");
+                }
+                case FACTUAL_DATES -> {
+                    addColumn(columns, types, assignments, "factual_start", "timestamp");
+                    addColumn(columns, types, assignments, "factual_end", "timestamp");
+                    addColumn(columns, types, assignments, "factual_duration_seconds", "bigint");
+                }
+                case PAUSE -> {
+                    addColumn(columns, types, assignments, "total_pause_seconds", "bigint");
+                    addColumn(columns, types, assignments, "pause_start", "timestamp");
+                }
+                case STATUS -> addColumn(columns, types, assignments, "status", "varchar");
+                case PRIORITY -> addColumn(columns, types, assignments, "priority", "int");
+                case RESOURCE -> {
+                    columns.add("resource_id");
+                    types.add("bigint");
+                    assignments.add("resource_index = (SELECT r.resource_index FROM resources r "
+                            + "WHERE r.project_id = t.project_id AND r.id = v.resource_id)");
+                }
+            }
+        }
+
+        StringBuilder rowTemplate = new StringBuilder("(");
+        for (int c = 0; c < types.size(); c++) {
+            if (c > 0) rowTemplate.append(", ");
+            rowTemplate.append("?::").append(types.get(c));
+        }
+        rowTemplate.append(')');
+
+        int rowsPerStatement = Math.max(1, MAX_PARAMETERS / columns.size());
+        int updated = 0;
+        for (int from = 0; from < changes.size(); from += rowsPerStatement) {
+            List<TaskChange> rows = changes.subList(from, Math.min(changes.size(), from + rowsPerStatement));
+            StringBuilder sql = new StringBuilder("UPDATE tasks AS t SET ")
+                    .append(String.join(", ", assignments))
+                    .append(" FROM (VALUES ");
+            for (int i = 0; i < rows.size(); i++) {
+                if (i > 0) sql.append(", ");
+                sql.append(rowTemplate);
+            }
+            sql.append(") AS v (").append(String.join(", ", columns))
+                    .append(") WHERE t.project_id = ? AND t.id = v.id");
+
+            try (PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+                int parameter = 1;
+                for (TaskChange change : rows) {
+                    statement.setLong(parameter++, change.getId());
+                    for (TaskField field : fields) {
+                        switch (field) {
+                            case NAME -> statement.setString(parameter++, change.getName());
+                            case DURATION -> statement.setObject(parameter++, toSeconds(change.getEstimatedDuration()), Types.BIGINT);
+                            case ESTIMATED_DATES -> {
+                                statement.setObject(parameter++, change.getEstimatedStartDate());
+                                statement.setObject(parameter++, change.getEstimatedEndDate());
+                            }
+                            case FACTUAL_DATES -> {
+                                statement.setObject(parameter++, change.getFactualStartDate());
+                                statement.setObject(parameter++, change.getFactualEndDate());
+                                statement.setObject(parameter++, toSeconds(change.getFactualDuration()), Types.BIGINT);
+                            }
+                            case PAUSE -> {
+                                statement.setObject(parameter++, toSeconds(change.getTotalPauseDuration()), Types.BIGINT);
+                                statement.setObject(parameter++, change.getPauseStartTime());
+                            }
+                            case STATUS -> statement.setString(parameter++, change.getStatus().name());
+                            case PRIORITY -> statement.setInt(parameter++, change.getPriority());
+                            case RESOURCE -> statement.setObject(parameter++, change.getResourceId(), Types.BIGINT);
+                        }
+                    }
+                }
+                statement.setLong(parameter, projectId);
+                updated += statement.executeUpdate();
+            }
+        }
+        return updated;
+    }
+
+    private static void addColumn(List<String> columns, List<String> types, List<String> assignments, String column, String type) {
+        columns.add(column);
+        types.add(type);
+        assignments.add(column + " = v." + column);
+    }
+
+    private interface ConnectionWork<T> {
+        T apply(Connection connection) throws Exception;
+    }
+
+    private interface RowHandler {
+        void handle(ResultSet resultSet) throws SQLException;
+    }
+
+    // Работа в одной транзакции на одном соединении (курсорное чтение в PostgreSQL требует выключенного autocommit)
+    private <T> T inTransaction(ConnectionWork<T> work) {
+        return jdbcTemplate.execute((ConnectionCallback<T>) connection -> {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                T result = work.apply(connection);
+                connection.commit();
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } catch (Exception e) {
+                connection.rollback();
+                throw new IllegalStateException("Database operation failed.", e);
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        });
+    }
+
+    // Потоковое чтение строк запроса с параметром project_id
+    private static void query(Connection connection, String sql, long projectId, RowHandler handler) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setFetchSize(FETCH_SIZE);
+            statement.setLong(1, projectId);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) handler.handle(resultSet);
+            }
+        }
+    }
+
+    private static <T> int indexOf(T item, List<T> items, Map<T, Integer> indexes) {
+        if (item == null) return -1;
+        Integer index = indexes.get(item);
+        if (index == null) {
+            index = items.size();
+            items.add(item);
+            indexes.put(item, index);
+        }
+        return index;
+    }
+
+    private static Long toSeconds(Duration duration) {
+        return duration != null ? duration.getSeconds() : null;
+    }
+
+    private static Duration getDuration(ResultSet resultSet, int column) throws SQLException {
+        long seconds = resultSet.getLong(column);
+        return resultSet.wasNull() ? null : Duration.ofSeconds(seconds);
+    }
+
+    private static String toArrayLiteral(int[] values) {
+        if (values == null) return null;
+        StringBuilder literal = new StringBuilder("{");
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) literal.append(',');
+            literal.append(values[i]);
+        }
+        return literal.append('}').toString();
+    }
+
+    // Запись строк в COPY ... FROM STDIN (текстовый формат) блоками по 64 КБ
+    private static final class CopyWriter implements AutoCloseable {
+
+        private static final int CHUNK_SIZE = 1 << 16;
+
+        private final CopyIn copyIn;
+        private final StringBuilder row = new StringBuilder(256);
+        private byte[] chunk = new byte[CHUNK_SIZE];
+        private int chunkLength;
+        private boolean firstValue = true;
+
+        CopyWriter(PGConnection connection, String target) throws SQLException {
+            this.copyIn = connection.getCopyAPI().copyIn("COPY " + target + " FROM STDIN");
+        }
+
+        CopyWriter value(Object value) {
+            if (!firstValue) row.append('\t');
+            firstValue = false;
+            if (value == null) {
+                row.append("\\N");
+                return this;
+            }
+            String text = value.toString();
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                switch (c) {
+                    case '\\' -> row.append("\\\\");
+                    case '\t' -> row.append("\\t");
+                    case '\n' -> row.append("\\n");
+                    case '\r' -> row.append("\\r");
+                    default -> row.append(c);
+                }
+            }
+            return this;
+        }
+
+        void endRow() throws SQLException {
+            row.append('\n');
+            byte[] bytes = row.toString().getBytes(StandardCharsets.UTF_8);
+            row.setLength(0);
+            firstValue = true;
+            if (chunkLength + bytes.length > chunk.length) {
+                flushChunk();
+                if (bytes.length > chunk.length) chunk = new byte[bytes.length];
+            }
+            System.arraycopy(bytes, 0, chunk, chunkLength, bytes.length);
+            chunkLength += bytes.length;
+        }
+
+        private void flushChunk() throws SQLException {
+            if (chunkLength > 0) copyIn.writeToCopy(chunk, 0, chunkLength);
+            chunkLength = 0;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                flushChunk();
+                copyIn.endCopy();
+            } finally {
+                if (copyIn.isActive()) copyIn.cancelCopy();
+            }
+        }
     }
 }
@@ -0,0 +1,46 @@
+package ProjectManagement;
+
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Неизменяемый снимок проекта для читателей (консоль, отчеты, сервисы).
+// Публикуется проектом после каждого изменения и читается без блокировок;
+// соседние версии разделяют неизменившиеся части списка задач.
+@Getter
+public final class ProjectSnapshot {
+
+    private final long version;
+    private final String projectName;
+    private final List<TaskSnapshot> sortedTasks; // В порядке Project.getSortedTasks
+    private final List<String> resourceNames;
+    private final LocalDateTime estimatedStartDate; // Самое раннее начало задачи (null - сроки не рассчитаны)
+    private final LocalDateTime estimatedEndDate;   // Самое позднее окончание задачи
+    private final Duration estimatedDuration;       // null, если расписание не рассчитано
+
+    // Сроки проекта передает публикующий: он ведет их по ходу изменений, без обхода всех задач
+    ProjectSnapshot(long version, String projectName, PersistentVector<TaskSnapshot> sortedTasks, List<String> resourceNames,
+                    LocalDateTime estimatedStartDate, LocalDateTime estimatedEndDate) {
+        this.version = version;
+        this.projectName = projectName;
+        this.sortedTasks = sortedTasks;
+        this.resourceNames = resourceNames;
+        this.estimatedStartDate = estimatedStartDate;
+        this.estimatedEndDate = estimatedEndDate;
+        if (sortedTasks.isEmpty()) {
+            this.estimatedDuration = Duration.ZERO;
+        } else {
+            this.estimatedDuration = estimatedStartDate != null && estimatedEndDate != null
+                    ? Duration.between(estimatedStartDate, estimatedEndDate) : null;
+        }
+    }
+
+    // Задачи, назначенные исполнителю
+    public List<TaskSnapshot> getTasksOfResource(String resourceName) {
+        return sortedTasks.stream()
+                .filter(task -> resourceName.equals(task.getResourceName()))
+                .toList();
+    }
+}
@@ -0,0 +1,281 @@
+package ProjectManagement;
+
+import ResourceManagement.Resource;
+import TaskManagement.Task;
+import TaskManagement.TaskListener;
+import TaskManagement.TaskStatus;
+
+import java.util.*;
+
+// Очереди задач, готовых к началу, по исполнителям.
+// У каждой задачи хранится число незавершенных зависимостей: завершение задачи уменьшает счетчики
+// ее подзадач, и задача со счетчиком 0 в статусе NOT_STARTED попадает в кучу своего исполнителя
+// (выше приоритет - раньше, при равенстве - в порядке добавления в проект). Выбор следующей задачи - O(1),
+// каждое изменение - O(log n) плюс обход подзадач завершенной задачи.
+// Очереди строятся при первом запросе; до этого события задач не обрабатываются.
+// На зависимости вне проекта очереди подписываются сами (пока у зависимости есть связи с задачами проекта),
+// поэтому смена их статуса тоже меняет счетчики.
+class ReadyQueues implements TaskListener {
+
+    private static final class Entry {
+        final Task task;
+        final long sequence;
+        int remaining; // Незавершенные зависимости
+        int priority;
+        Heap heap;     // Куча, в которой лежит задача (null - не готова)
+        int heapIndex = -1;
+
+        Entry(Task task, long sequence) {
+            this.task = task;
+            this.sequence = sequence;
+        }
+    }
+
+    // Двоичная куча с позициями элементов (удаление и изменение приоритета за O(log n))
+    private static final class Heap {
+        private Entry[] entries = new Entry[8];
+        private int size;
+
+        Entry peek() {
+            return size > 0 ? entries[0] : null;
+        }
+
+        void add(Entry entry) {
+            if (size == entries.length) entries = Arrays.copyOf(entries, size * 2);
+            entry.heap = this;
+            place(entry, size++);
+            siftUp(entry.heapIndex);
+        }
+
+        void remove(Entry entry) {
+            int index = entry.heapIndex;
+            Entry last = entries[--size];
+            entries[size] = null;
+            entry.heap = null;
+            entry.heapIndex = -1;
+            if (last != entry) {
+                place(last, index);
+                update(last);
+            }
+        }
+
+        // Восстановление порядка после изменения приоритета элемента
+        void update(Entry entry) {
+            siftUp(entry.heapIndex);
+            siftDown(entry.heapIndex);
+        }
+
+        private static boolean before(Entry a, Entry b) {
+            return a.priority != b.priority ? a.priority > b.priority : a.sequence < b.sequence;
+        }
+
+        private void place(Entry entry, int index) {
+            entries[index] = entry;
+            entry.heapIndex = index;
+        }
+
+        private void siftUp(int index) {
+            Entry entry = entries[index];
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (!before(entry, entries[parent])) break;
+                place(entries[parent], index);
+                index = parent;
+            }
+            place(entry, index);
+        }
+
+        private void siftDown(int index) {
+            Entry entry = entries[index];
+            while (true) {
+                int child = 2 * index + 1;
+                if (child >= size) break;
+                if (child + 1 < size && before(entries[child + 1], entries[child])) child++;
+                if (!before(entries[child], entry)) break;
+                place(entries[child], index);
+                index = child;
+            }
+            place(entry, index);
+        }
+    }
+
+    private final List<Task> tasks; // Задачи проекта в порядке добавления
+    private Map<Task, Entry> entries; // null - очереди еще не построены
+    private final Map<Resource, Heap> heaps = new IdentityHashMap<>();
+    private long nextSequence;
+
+    // Зависимости вне проекта -> число их связей с задачами проекта
+    private final Map<Task, Integer> external = new IdentityHashMap<>();
+    // Внешние зависимости, потерявшие связи с проектом. Отписка откладывается: связь удаляется
+    // во время обхода слушателей задачи, и менять этот список в уведомлении нельзя
+    private final List<Task> unwatched = new ArrayList<>();
+
+    ReadyQueues(List<Task> tasks) {
+        this.tasks = tasks;
+    }
+
+    // Готовая задача исполнителя с наибольшим приоритетом (null, если готовых нет)
+    synchronized Task next(Resource resource) {
+        ensureBuilt();
+        releaseUnwatched();
+        Heap heap = heaps.get(resource);
+        Entry top = heap != null ? heap.peek() : null;
+        return top != null ? top.task : null;
+    }
+
+    // Задача добавлена в конец списка задач проекта
+    synchronized void taskAdded(Task task) {
+        if (entries == null) return;
+        // Задача могла быть внешней зависимостью: теперь на нее подписан сам проект
+        external.remove(task);
+        Entry entry = new Entry(task, nextSequence++);
+        entries.put(task, entry);
+        entry.remaining = countUnfinished(task);
+        watchExternalDependencies(task);
+        refresh(entry);
+        releaseUnwatched();
+    }
+
+    // Задача удалена из проекта (связи задачи сохраняются, поэтому счетчики подзадач не меняются).
+    // Вызывается после отписки проекта от задачи: для оставшихся в проекте подзадач она становится внешней зависимостью
+    synchronized void taskRemoved(Task task) {
+        if (entries == null) return;
+        Entry entry = entries.remove(task);
+        if (entry == null) return;
+        if (entry.heap != null) entry.heap.remove(entry);
+        for (Task subTask : task.getSubTasks()) {
+            if (entries.containsKey(subTask)) watch(task);
+        }
+        for (Task dependency : task.getDependencies()) {
+            if (!entries.containsKey(dependency)) unwatch(dependency);
+        }
+        releaseUnwatched();
+    }
+
+    // Отписка от внешних зависимостей (очереди больше не используются)
+    synchronized void detach() {
+        for (Task task : external.keySet()) task.removeListener(this);
+        external.clear();
+        releaseUnwatched();
+    }
+
+    @Override
+    public synchronized void edgeAdded(Task parent, Task child) {
+        Entry entry = entries != null ? entries.get(child) : null;
+        if (entry == null) return;
+        if (!entries.containsKey(parent)) watch(parent);
+        if (parent.getStatus() != TaskStatus.COMPLETED) {
+            entry.remaining++;
+            refresh(entry);
+        }
+    }
+
+    @Override
+    public synchronized void edgeRemoved(Task parent, Task child) {
+        Entry entry = entries != null ? entries.get(child) : null;
+        if (entry == null) return;
+        if (!entries.containsKey(parent)) unwatch(parent);
+        if (parent.getStatus() != TaskStatus.COMPLETED) {
+            entry.remaining--;
+            refresh(entry);
+        }
+    }
+
+    @Override
+    public synchronized void statusChanged(Task task, TaskStatus previous) {
+        if (entries == null) return;
+        Entry entry = entries.get(task);
+        if (entry == null && !external.containsKey(task)) return;
+        boolean completed = task.getStatus() == TaskStatus.COMPLETED;
+        if (completed != (previous == TaskStatus.COMPLETED)) {
+            for (Task subTask : task.getSubTasks()) {
+                Entry subEntry = entries.get(subTask);
+                if (subEntry != null) {
+                    subEntry.remaining += completed ? -1 : 1;
+                    refresh(subEntry);
+                }
+            }
+        }
+        if (entry != null) refresh(entry);
+    }
+
+    @Override
+    public synchronized void resourceChanged(Task task, Resource previous) {
+        Entry entry = entries != null ? entries.get(task) : null;
+        if (entry != null) refresh(entry);
+    }
+
+    @Override
+    public synchronized void priorityChanged(Task task) {
+        Entry entry = entries != null ? entries.get(task) : null;
+        if (entry != null) refresh(entry);
+    }
+
+    private void ensureBuilt() {
+        if (entries != null) return;
+        entries = new IdentityHashMap<>(tasks.size() * 2);
+        nextSequence = 0;
+        for (Task task : tasks) entries.put(task, new Entry(task, nextSequence++));
+        for (Task task : tasks) {
+            Entry entry = entries.get(task);
+            entry.remaining = countUnfinished(task);
+            watchExternalDependencies(task);
+            refresh(entry);
+        }
+    }
+
+    private void watchExternalDependencies(Task task) {
+        for (Task dependency : task.getDependencies()) {
+            if (!entries.containsKey(dependency)) watch(dependency);
+        }
+    }
+
+    // Новая связь внешней зависимости с задачей проекта (первая - подписка на задачу)
+    private void watch(Task task) {
+        if (external.merge(task, 1, Integer::sum) == 1) task.addListener(this);
+    }
+
+    private void unwatch(Task task) {
+        Integer links = external.get(task);
+        if (links == null) return;
+        if (links > 1) {
+            external.put(task, links - 1);
+        } else {
+            external.remove(task);
+            unwatched.add(task);
+        }
+    }
+
+    // Отложенная отписка от внешних зависимостей без связей (если связи не появились снова)
+    private void releaseUnwatched() {
+        for (Task task : unwatched) {
+            if (!external.containsKey(task) && (entries == null || !entries.containsKey(task))) task.removeListener(this);
+        }
+        unwatched.clear();
+    }
+
+    private static int countUnfinished(Task task) {
+        int count = 0;
+        for (Task dependency : task.getDependencies()) {
+            if (dependency.getStatus() != TaskStatus.COMPLETED) count++;
+        }
+        return count;
+    }
+
+    // Перемещение задачи в кучу ее исполнителя (или из кучи) по текущему состоянию
+    private void refresh(Entry entry) {
+        Task task = entry.task;
+        Resource resource = task.getAssignedResource();
+        boolean ready = entry.remaining == 0 && resource != null && task.getStatus() == TaskStatus.NOT_STARTED;
+        Heap target = ready ? heaps.computeIfAbsent(resource, r -> new Heap()) : null;
+
+        if (entry.heap != target) {
+            if (entry.heap != null) entry.heap.remove(entry);
+            entry.priority = task.getPriority();
+            if (target != null) target.add(entry);
+        } else if (target != null && entry.priority != task.getPriority()) {
+            entry.priority = task.getPriority();
+            target.update(entry);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package ProjectManagement;
+
+import CalendarManagement.Calendar;
+import CalendarManagement.CompiledCalendar;
+import CalendarManagement.WorkingTimeCalculator;
+import ResourceManagement.Resource;
+import TaskManagement.Task;
+import TaskManagement.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+// Расчет расписания по событиям с учетом занятости исполнителей.
+// Время идет от события к событию (окончание задачи или готовность новой задачи).
+// В каждый момент свободный исполнитель берет из своей очереди готовую задачу
+// с наивысшим приоритетом (большее число, как в getNextTaskForResource), при равенстве - раньшую в топологическом порядке.
+// Задача, ставшая готовой позже, может обогнать менее приоритетные задачи того же исполнителя.
+// Все очереди - двоичные кучи, поэтому размещение каждой задачи стоит O(log n).
+class ResourceConstrainedScheduler {
+
+    private final List<Task> sortedTasks;
+    private final LocalDateTime projectStartDate;
+    private final CompiledCalendar projectCalendar;
+
+    private long[] startMinutes;
+    private long[] endMinutes;
+
+    ResourceConstrainedScheduler(List<Task> sortedTasks, LocalDateTime projectStartDate, Calendar projectCalendar) {
+        this.sortedTasks = sortedTasks;
+        this.projectStartDate = projectStartDate;
+        this.projectCalendar = projectCalendar != null ? projectCalendar.compile() : null;
+    }
+
+    // Расчет сроков всех задач
+    void run() {
+        int size = sortedTasks.size();
+        Map<Task, Integer> positions = new IdentityHashMap<>(size * 2);
+        for (int i = 0; i < size; i++) positions.put(sortedTasks.get(i), i);
+
+        // Исполнители и их календари
+        Map<Resource, Integer> resourceIndexes = new IdentityHashMap<>();
+        List<CompiledCalendar> resourceCalendars = new ArrayList<>();
+        int[] taskResources = new int[size];
+        long[] durations = new long[size];
+        long[] ranks = new long[size]; // Минус приоритет в старших 32 битах, позиция - в младших
+        boolean[] cancelled = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            Task task = sortedTasks.get(i);
+            Resource resource = task.getAssignedResource();
+            if (resource == null) {
+                throw new IllegalStateException("Task '" + task.getName() + "' has no assigned resource.");
+            }
+            Integer index = resourceIndexes.get(resource);
+            if (index == null) {
+                index = resourceCalendars.size();
+                resourceIndexes.put(resource, index);
+                resourceCalendars.add(resource.getResourceCalendar() != null ? resource.getResourceCalendar().compile() : null);
+            }
+            taskResources[i] = index;
+            durations[i] = task.getEstimatedDuration() != null ? Math.max(0, task.getEstimatedDuration().toMinutes()) : 0;
+            ranks[i] = ((long) -task.getPriority() << 32) | i;
+            cancelled[i] = task.getStatus() == TaskStatus.CANCELLED;
+        }
+
+        // Последователи (CSR), счетчики незавершенных зависимостей и моменты готовности
+        long origin = WorkingTimeCalculator.toEpochMinute(projectStartDate);
+        int[] remaining = new int[size];
+        long[] releaseMinutes = new long[size];
+        int[] successorOffsets = new int[size + 1];
+        for (int i = 0; i < size; i++) {
+            long release = origin;
+            for (Task dependency : sortedTasks.get(i).getDependencies()) {
+                Integer position = positions.get(dependency);
+                if (position != null) {
+                    remaining[i]++;
+                    successorOffsets[position + 1]++;
+                } else if (dependency.getEstimatedEndDate() != null) {
+                    release = Math.max(release, WorkingTimeCalculator.toEpochMinute(dependency.getEstimatedEndDate()));
+                }
+            }
+            releaseMinutes[i] = release;
+        }
+        for (int i = 0; i < size; i++) successorOffsets[i + 1] += successorOffsets[i];
+        int[] successorTargets = new int[successorOffsets[size]];
+        int[] fill = Arrays.copyOf(successorOffsets, size);
+        for (int i = 0; i < size; i++) {
+            for (Task dependency : sortedTasks.get(i).getDependencies()) {
+                Integer position = positions.get(dependency);
+                if (position != null) successorTargets[fill[position]++] = i;
+            }
+        }
+
+        startMinutes = new long[size];
+        endMinutes = new long[size];
+
+        int resourceCount = resourceCalendars.size();
+        IntHeap released = new IntHeap(releaseMinutes, size);
+        IntHeap running = new IntHeap(endMinutes, resourceCount);
+        IntHeap[] queues = new IntHeap[resourceCount];
+        for (int r = 0; r < resourceCount; r++) queues[r] = new IntHeap(ranks, 4);
+        boolean[] busy = new boolean[resourceCount];
+        int[] dispatch = new int[resourceCount]; // Исполнители, у которых что-то изменилось
+        boolean[] inDispatch = new boolean[resourceCount];
+        int dispatchCount = 0;
+
+        for (int i = 0; i < size; i++) {
+            if (remaining[i] == 0) released.add(i);
+        }
+
+        long now = origin;
+        int finished = 0;
+        while (finished < size) {
+            // Готовые к текущему моменту задачи - в очереди исполнителей
+            while (!released.isEmpty() && releaseMinutes[released.peek()] <= now) {
+                int i = released.poll();
+                if (cancelled[i]) {
+                    // Отмененная задача не занимает исполнителя, но последователи ждут ее сроков
+                    place(i, now, durations[i], resourceCalendars.get(taskResources[i]));
+                    running.add(i);
+                    continue;
+                }
+                int r = taskResources[i];
+                queues[r].add(i);
+                if (!inDispatch[r]) {
+                    inDispatch[r] = true;
+                    dispatch[dispatchCount++] = r;
+                }
+            }
+
+            // Свободные исполнители берут задачу с наивысшим приоритетом
+            for (int k = 0; k < dispatchCount; k++) {
+                int r = dispatch[k];
+                inDispatch[r] = false;
+                if (!busy[r] && !queues[r].isEmpty()) {
+                    int i = queues[r].poll();
+                    place(i, now, durations[i], resourceCalendars.get(r));
+                    running.add(i);
+                    busy[r] = true;
+                }
+            }
+            dispatchCount = 0;
+
+            // Переход к следующему событию
+            long next = Long.MAX_VALUE;
+            if (!running.isEmpty()) next = endMinutes[running.peek()];
+            if (!released.isEmpty()) next = Math.min(next, releaseMinutes[released.peek()]);
+            if (next == Long.MAX_VALUE) {
+                throw new IllegalStateException("There is a cycle in the tasks!");
+            }
+            now = Math.max(now, next);
+
+            // Завершение задач: исполнитель освобождается, последователи становятся готовыми
+            while (!running.isEmpty() && endMinutes[running.peek()] <= now) {
+                int i = running.poll();
+                finished++;
+                if (!cancelled[i]) {
+                    int r = taskResources[i];
+                    busy[r] = false;
+                    if (!inDispatch[r]) {
+                        inDispatch[r] = true;
+                        dispatch[dispatchCount++] = r;
+                    }
+                }
+                for (int k = successorOffsets[i]; k < successorOffsets[i + 1]; k++) {
+                    int successor = successorTargets[k];
+                    releaseMinutes[successor] = Math.max(releaseMinutes[successor], endMinutes[i]);
+                    if (--remaining[successor] == 0) released.add(successor);
+                }
+            }
+        }
+    }
+
+    // Начало задачи в ближайшее рабочее время проекта и окончание по общему рабочему времени
+    private void place(int i, long now, long duration, CompiledCalendar resourceCalendar) {
+        long start = WorkingTimeCalculator.nextWorkingMinute(now, projectCalendar);
+        startMinutes[i] = start;
+        endMinutes[i] = WorkingTimeCalculator.addWorkingMinutes(start, duration, projectCalendar, resourceCalendar);
+    }
+
+    LocalDateTime getStartDate(int position) {
+        return WorkingTimeCalculator.fromEpochMinute(startMinutes[position]);
+    }
+
+    LocalDateTime getEndDate(int position) {
+        return WorkingTimeCalculator.fromEpochMinute(endMinutes[position]);
+    }
+}
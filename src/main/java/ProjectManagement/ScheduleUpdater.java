@@ -0,0 +1,241 @@
+package ProjectManagement;
+
+import CalendarManagement.Calendar;
+import CalendarManagement.WorkingTimeCalculator;
+import ResourceManagement.Resource;
+import TaskManagement.Task;
+import TaskManagement.TaskListener;
+import TaskManagement.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+// Инкрементальный пересчет расписания.
+// Измененные задачи помечаются "грязными"; при пересчете обходится только их
+// нисходящий конус в порядке расчета (TaskOrder.ScheduleOrder): подзадачи и следующая задача того же
+// исполнителя. Если сроки задачи не изменились, обход дальше нее не идет.
+// Правила расчета совпадают с calculateSchedule (ParallelScheduler): начало - после зависимостей
+// и предыдущей задачи исполнителя, статус задачи не учитывается, кроме отмены -
+// отмененные задачи не занимают исполнителя.
+// Очереди исполнителей строятся по порядку расчета и обновляются на месте при смене исполнителя.
+// Порядок расчета зависит от связей, состава задач и приоритетов: их изменение строит новый порядок
+// и приводит к одному полному проходу.
+// Статусы задач могут меняться из разных потоков (ProjectExecutor), поэтому методы синхронизированы.
+class ScheduleUpdater implements TaskListener {
+
+    private final Project project;
+
+    // Порядок расчета, по которому построены очереди (null - очереди не построены)
+    private TaskOrder.ScheduleOrder indexedOrder;
+    // Задачи исполнителя в порядке расчета: соседние элементы - предшественник и преемник по исполнителю
+    private final Map<Resource, TreeSet<Task>> resourceSequences = new IdentityHashMap<>();
+
+    // Помеченные задачи
+    private Set<Task> dirtyTasks = Collections.newSetFromMap(new IdentityHashMap<>());
+    private boolean fullRecalculation;
+
+    ScheduleUpdater(Project project) {
+        this.project = project;
+    }
+
+    // Пометка задачи для пересчета
+    synchronized void markDirty(Task task) {
+        if (task != null) dirtyTasks.add(task);
+    }
+
+    // Полный расчет выполнен: помеченные задачи уже актуальны
+    synchronized void reset() {
+        ensureIndexes();
+        clearDirtyTasks();
+        fullRecalculation = false;
+    }
+
+    // Задача добавлена в проект (порядок расчета при этом строится заново)
+    synchronized void taskAdded(Task task) {
+        markDirty(task);
+    }
+
+    // Задача удаляется из проекта (порядок расчета при этом строится заново)
+    synchronized void taskRemoved(Task task) {
+        for (Task subTask : task.getSubTasks()) markDirty(subTask);
+    }
+
+    @Override
+    public synchronized boolean beforeEdgeAdded(Task parent, Task child) {
+        markDirty(child);
+        return true;
+    }
+
+    @Override
+    public synchronized void edgeRemoved(Task parent, Task child) {
+        markDirty(child);
+    }
+
+    @Override
+    public synchronized void durationChanged(Task task) {
+        markDirty(task);
+    }
+
+    @Override
+    public synchronized void resourceChanged(Task task, Resource previous) {
+        markDirty(task);
+        if (!isIndexed() || indexedOrder.positionOf(task) < 0) return;
+
+        // Прежние преемники могут начать раньше; новые получат изменения от самой задачи
+        TreeSet<Task> sequence = previous != null ? resourceSequences.get(previous) : null;
+        if (sequence != null) {
+            markResourceSuccessors(sequence, task);
+            sequence.remove(task);
+        }
+        Resource current = task.getAssignedResource();
+        if (current != null) sequenceOf(current).add(task);
+    }
+
+    @Override
+    public synchronized void statusChanged(Task task, TaskStatus previous) {
+        // Отмена освобождает исполнителя: изменения пойдут от задачи к ее преемникам
+        if (task.getStatus() == TaskStatus.CANCELLED || previous == TaskStatus.CANCELLED) {
+            markDirty(task);
+        }
+    }
+
+    // Пересчет помеченных задач и их нисходящего конуса; возвращает число просмотренных задач
+    synchronized int propagate() {
+        LocalDateTime projectStartDate = project.getEstimatedStartDate();
+        if (projectStartDate == null) {
+            // Расписание еще не рассчитывалось - пересчитывать нечего
+            clearDirtyTasks();
+            return 0;
+        }
+        ensureIndexes();
+        if (dirtyTasks.isEmpty() && !fullRecalculation) return 0;
+
+        TaskOrder.ScheduleOrder order = indexedOrder;
+        PriorityQueue<Integer> queue = new PriorityQueue<>();
+        BitSet queued = new BitSet();
+        if (fullRecalculation) {
+            for (int i = 0; i < order.size(); i++) enqueue(queue, queued, i);
+        } else {
+            for (Task task : dirtyTasks) enqueue(queue, queued, order.positionOf(task));
+        }
+        // Помеченные задачи могли уже изменить свои сроки сами (например, setEstimatedDuration),
+        // поэтому от них изменения передаются дальше всегда
+        BitSet seeds = (BitSet) queued.clone();
+        clearDirtyTasks();
+        fullRecalculation = false;
+
+        int visited = 0;
+        while (!queue.isEmpty()) {
+            int position = queue.poll();
+            Task task = order.taskAt(position);
+            visited++;
+            if (!reschedule(task, projectStartDate) && !seeds.get(position)) continue;
+
+            for (Task subTask : task.getSubTasks()) {
+                enqueue(queue, queued, order.positionOf(subTask));
+            }
+            // Следующие задачи исполнителя: отмененные (их дата начала тоже зависит от этой задачи)
+            // и первая не отмененная
+            TreeSet<Task> sequence = resourceSequences.get(task.getAssignedResource());
+            Task next = sequence != null ? sequence.higher(task) : null;
+            while (next != null) {
+                enqueue(queue, queued, order.positionOf(next));
+                if (next.getStatus() != TaskStatus.CANCELLED) break;
+                next = sequence.higher(next);
+            }
+        }
+        return visited;
+    }
+
+    private static void enqueue(PriorityQueue<Integer> queue, BitSet queued, int position) {
+        if (position >= 0 && !queued.get(position)) {
+            queued.set(position);
+            queue.add(position);
+        }
+    }
+
+    // Таблица IdentityHashMap не сжимается: после большого пакета заменяем ее,
+    // чтобы очистка при одиночных изменениях не стоила O(емкости)
+    private void clearDirtyTasks() {
+        if (dirtyTasks.size() > 64) {
+            dirtyTasks = Collections.newSetFromMap(new IdentityHashMap<>());
+        } else {
+            dirtyTasks.clear();
+        }
+    }
+
+    // Пересчет сроков одной задачи; false, если сроки не изменились
+    private boolean reschedule(Task task, LocalDateTime projectStartDate) {
+        Resource resource = task.getAssignedResource();
+        if (resource == null) return false;
+
+        Calendar projectCalendar = project.getProjectCalendar();
+        LocalDateTime earliestStart = projectStartDate;
+        for (Task dependency : task.getDependencies()) {
+            LocalDateTime dependencyEnd = dependency.getEstimatedEndDate();
+            if (dependencyEnd != null && dependencyEnd.isAfter(earliestStart)) {
+                earliestStart = dependencyEnd;
+            }
+        }
+        Task previous = resourcePredecessor(resource, task);
+        if (previous != null && previous.getEstimatedEndDate() != null
+                && previous.getEstimatedEndDate().isAfter(earliestStart)) {
+            earliestStart = previous.getEstimatedEndDate();
+        }
+        LocalDateTime startDate = projectCalendar.getNextWorkingTime(earliestStart);
+        LocalDateTime endDate = WorkingTimeCalculator.addWorkingTime(startDate, task.getEstimatedDuration(),
+                projectCalendar, resource.getResourceCalendar());
+
+        if (startDate.equals(task.getEstimatedStartDate()) && Objects.equals(endDate, task.getEstimatedEndDate())) {
+            return false;
+        }
+        task.setEstimatedStartDate(startDate);
+        task.setEstimatedEndDate(endDate);
+        return true;
+    }
+
+    // Предыдущая (не отмененная) задача исполнителя в порядке расчета
+    private Task resourcePredecessor(Resource resource, Task task) {
+        TreeSet<Task> sequence = resourceSequences.get(resource);
+        Task previous = sequence != null ? sequence.lower(task) : null;
+        while (previous != null && previous.getStatus() == TaskStatus.CANCELLED) {
+            previous = sequence.lower(previous);
+        }
+        return previous;
+    }
+
+    // Пометка задач исполнителя, следующих за задачей: отмененных и первой не отмененной
+    private void markResourceSuccessors(TreeSet<Task> sequence, Task task) {
+        Task next = sequence.higher(task);
+        while (next != null) {
+            markDirty(next);
+            if (next.getStatus() != TaskStatus.CANCELLED) break;
+            next = sequence.higher(next);
+        }
+    }
+
+    private TreeSet<Task> sequenceOf(Resource resource) {
+        TaskOrder.ScheduleOrder order = indexedOrder;
+        return resourceSequences.computeIfAbsent(resource, r -> new TreeSet<>(Comparator.comparingInt(order::positionOf)));
+    }
+
+    // Очереди построены по текущему порядку расчета (устаревший порядок здесь не перестраивается)
+    private boolean isIndexed() {
+        return indexedOrder != null && indexedOrder == project.getTaskOrder().getBuiltScheduleOrder();
+    }
+
+    // Построение очередей исполнителей (при первом расчете и после смены порядка расчета);
+    // порядок расчета мог измениться - нужен полный проход
+    private void ensureIndexes() {
+        if (isIndexed()) return;
+
+        TaskOrder.ScheduleOrder order = project.getTaskOrder().getScheduleOrder();
+        fullRecalculation = true;
+        indexedOrder = order;
+        resourceSequences.clear();
+        for (int i = 0; i < order.size(); i++) {
+            Task task = order.taskAt(i);
+            if (task.getAssignedResource() != null) sequenceOf(task.getAssignedResource()).add(task);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package ProjectManagement;
+
+import ResourceManagement.Resource;
+import TaskManagement.Task;
+import TaskManagement.TaskListener;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+// Публикация снимков проекта.
+// Запоминает измененные задачи и при публикации заменяет в новом снимке только их,
+// разделяя остальное дерево со старым снимком. Полная пересборка нужна лишь после
+// изменения состава задач или исполнителей проекта. Связь меняет срез родителя и позиции задач,
+// которые TaskOrder переставил при ее вставке; приоритет меняет только срез самой задачи.
+// Сроки проекта (самое раннее начало и самое позднее окончание задач) ведутся по ходу замены срезов.
+// Публикуют писатели (синхронизированы между собой), читатели берут снимок из volatile-поля.
+class SnapshotPublisher implements TaskListener {
+
+    private final Project project;
+
+    private volatile ProjectSnapshot snapshot;
+    private long version;
+
+    private final Map<Task, Integer> positions = new IdentityHashMap<>(); // Позиции задач в текущем снимке
+    private Set<Task> changedTasks = Collections.newSetFromMap(new IdentityHashMap<>());
+    private boolean structureChanged = true;
+    private int batchDepth;
+
+    // Даты начала и окончания задач текущего снимка с числом задач на каждую дату
+    private final TreeMap<LocalDateTime, Integer> startDates = new TreeMap<>();
+    private final TreeMap<LocalDateTime, Integer> endDates = new TreeMap<>();
+
+    SnapshotPublisher(Project project) {
+        this.project = project;
+        this.snapshot = new ProjectSnapshot(0, project.getName(), PersistentVector.empty(), List.of(), null, null);
+    }
+
+    // Текущий снимок (без блокировок)
+    ProjectSnapshot current() {
+        return snapshot;
+    }
+
+    // Начало пакетного изменения (публикация откладывается до endBatch)
+    synchronized void beginBatch() {
+        batchDepth++;
+    }
+
+    // Конец пакетного изменения
+    synchronized void endBatch() {
+        if (--batchDepth == 0) publish();
+    }
+
+    // Изменение структуры проекта (публикуется сразу, если не идет пакетное изменение)
+    synchronized void markStructureChanged() {
+        structureChanged = true;
+        if (batchDepth == 0) publish();
+    }
+
+    // Связь публикуется после добавления: до этого ее еще нет в списках задач.
+    // Меняется срез родителя (список подзадач); переставленные задачи берутся из TaskOrder при публикации
+    @Override
+    public synchronized void edgeAdded(Task parent, Task child) {
+        taskChanged(parent);
+    }
+
+    @Override
+    public synchronized void edgeRemoved(Task parent, Task child) {
+        taskChanged(parent);
+    }
+
+    @Override
+    public synchronized void priorityChanged(Task task) {
+        taskChanged(task);
+    }
+
+    // Изменение состояния задачи публикуется сразу, если не идет пакетное изменение
+    @Override
+    public synchronized void taskChanged(Task task) {
+        changedTasks.add(task);
+        if (batchDepth == 0) publish();
+    }
+
+    // Публикация нового снимка
+    synchronized void publish() {
+        ProjectSnapshot previous = snapshot;
+        PersistentVector<TaskSnapshot> tasks;
+        List<String> resourceNames;
+
+        List<Task> moved = project.getTaskOrder().takeMoved();
+        if (moved == null) structureChanged = true;
+
+        if (structureChanged) {
+            List<Task> sortedTasks = project.getSortedTasks();
+            List<TaskSnapshot> taskSnapshots = new ArrayList<>(sortedTasks.size());
+            positions.clear();
+            startDates.clear();
+            endDates.clear();
+            for (Task task : sortedTasks) {
+                positions.put(task, taskSnapshots.size());
+                TaskSnapshot taskSnapshot = new TaskSnapshot(task);
+                countDates(taskSnapshot, 1);
+                taskSnapshots.add(taskSnapshot);
+            }
+            tasks = PersistentVector.of(taskSnapshots);
+
+            List<String> names = new ArrayList<>(project.getResources().size());
+            for (Resource resource : project.getResources()) {
+                names.add(resource.getName());
+            }
+            resourceNames = Collections.unmodifiableList(names);
+            structureChanged = false;
+        } else {
+            if (changedTasks.isEmpty() && moved.isEmpty()) return;
+
+            changedTasks.addAll(moved);
+            // Сначала снимаются даты прежних срезов: переставленные задачи меняются позициями друг с другом
+            tasks = (PersistentVector<TaskSnapshot>) previous.getSortedTasks();
+            for (Task task : changedTasks) {
+                Integer position = positions.get(task);
+                if (position != null) countDates(tasks.get(position), -1);
+            }
+            TaskOrder taskOrder = project.getTaskOrder();
+            for (Task task : changedTasks) {
+                if (!positions.containsKey(task)) continue;
+                int position = taskOrder.positionOf(task);
+                positions.put(task, position);
+                TaskSnapshot taskSnapshot = new TaskSnapshot(task);
+                countDates(taskSnapshot, 1);
+                tasks = tasks.with(position, taskSnapshot);
+            }
+            resourceNames = previous.getResourceNames();
+        }
+
+        // Таблица IdentityHashMap не сжимается: после большого пакета заменяем ее,
+        // чтобы обход и очистка при одиночных изменениях не стоили O(емкости)
+        if (changedTasks.size() > 64) {
+            changedTasks = Collections.newSetFromMap(new IdentityHashMap<>());
+        } else {
+            changedTasks.clear();
+        }
+        snapshot = new ProjectSnapshot(++version, project.getName(), tasks, resourceNames,
+                startDates.isEmpty() ? null : startDates.firstKey(),
+                endDates.isEmpty() ? null : endDates.lastKey());
+    }
+
+    // Учет дат среза задачи (delta = 1 - добавить, -1 - убрать)
+    private void countDates(TaskSnapshot taskSnapshot, int delta) {
+        count(startDates, taskSnapshot.getEstimatedStartDate(), delta);
+        count(endDates, taskSnapshot.getEstimatedEndDate(), delta);
+    }
+
+    private static void count(TreeMap<LocalDateTime, Integer> dates, LocalDateTime date, int delta) {
+        if (date != null) dates.merge(date, delta, (a, b) -> a + b == 0 ? null : a + b);
+    }
+}
@@ -0,0 +1,78 @@
+package ProjectManagement;
+
+import TaskManagement.Task;
+import TaskManagement.TaskField;
+import TaskManagement.TaskStatus;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+
+// Измененные поля задачи и их значения на момент сбора изменений (строка для отложенной записи)
+@Getter
+public final class TaskChange {
+
+    private final Long id;
+    private final Set<TaskField> fields;
+    private final String name;
+    private final Duration estimatedDuration;
+    private final LocalDateTime estimatedStartDate;
+    private final LocalDateTime estimatedEndDate;
+    private final LocalDateTime factualStartDate;
+    private final LocalDateTime factualEndDate;
+    private final Duration factualDuration;
+    private final Duration totalPauseDuration;
+    private final LocalDateTime pauseStartTime;
+    private final TaskStatus status;
+    private final int priority;
+    private final Long resourceId;
+
+    TaskChange(Task task, Set<TaskField> fields) {
+        this.id = task.getId();
+        this.fields = fields;
+        this.name = task.getName();
+        this.estimatedDuration = task.getEstimatedDuration();
+        this.estimatedStartDate = task.getEstimatedStartDate();
+        this.estimatedEndDate = task.getEstimatedEndDate();
+        this.factualStartDate = task.getFactualStartDate();
+        this.factualEndDate = task.getFactualEndDate();
+        this.factualDuration = task.getFactualDuration();
+        this.totalPauseDuration = task.getTotalPauseDuration();
+        this.pauseStartTime = task.getPauseStartTime();
+        this.status = task.getStatus();
+        this.priority = task.getPriority();
+        this.resourceId = task.getAssignedResource() != null ? task.getAssignedResource().getId() : null;
+    }
+
+    private TaskChange(TaskChange values, Set<TaskField> fields) {
+        this.id = values.id;
+        this.fields = fields;
+        this.name = values.name;
+        this.estimatedDuration = values.estimatedDuration;
+        this.estimatedStartDate = values.estimatedStartDate;
+        this.estimatedEndDate = values.estimatedEndDate;
+        this.factualStartDate = values.factualStartDate;
+        this.factualEndDate = values.factualEndDate;
+        this.factualDuration = values.factualDuration;
+        this.totalPauseDuration = values.totalPauseDuration;
+        this.pauseStartTime = values.pauseStartTime;
+        this.status = values.status;
+        this.priority = values.priority;
+        this.resourceId = values.resourceId;
+    }
+
+    // Объединение с более поздним изменением той же задачи: значения - новые, поля - оба набора
+    TaskChange mergedWith(TaskChange newer) {
+        EnumSet<TaskField> merged = EnumSet.noneOf(TaskField.class);
+        merged.addAll(fields);
+        merged.addAll(newer.fields);
+        return new TaskChange(newer, merged);
+    }
+
+    @Override
+    public String toString() {
+        return "TaskChange{" + id + " " + fields + "}";
+    }
+}
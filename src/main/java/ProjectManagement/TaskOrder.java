@@ -0,0 +1,303 @@
+package ProjectManagement;
+
+import TaskManagement.Task;
+import TaskManagement.TaskListener;
+
+import java.util.*;
+
+// Динамический топологический порядок задач проекта (алгоритм Пирса-Келли).
+// Каждая задача имеет позицию; при добавлении связи parent -> child порядок
+// исправляется только внутри затронутого участка [pos(child), pos(parent)],
+// там же обнаруживается цикл. Новая задача ставится в конец, удаление сдвигает
+// следующие позиции. getSortedTasks отдает сам поддерживаемый порядок без копирования.
+// Порядок расчета расписания учитывает приоритеты: из готовых задач первой идет задача
+// с большим приоритетом (при равенстве - раньше в поддерживаемом порядке). Он строится лениво
+// и сбрасывается при изменении связей, состава задач и приоритетов.
+class TaskOrder implements TaskListener {
+
+    private final Map<Task, Integer> positions = new IdentityHashMap<>();
+    private final List<Task> byPosition = new ArrayList<>();
+    private List<Task> view; // Представление порядка (новый объект после каждого изменения)
+    private int reorders;    // Число перестановок задач друг относительно друга
+    private int changes;     // Число изменений состава задач и связей между ними
+    private ScheduleOrder scheduleOrder; // null - порядок расчета нужно построить заново
+    private List<Task> moved = new ArrayList<>(); // Переставленные с прошлого takeMoved задачи (null - слишком много)
+
+    // Порядок расчета расписания (неизменяемый; после изменения графа или приоритетов строится новый)
+    static final class ScheduleOrder {
+        private final List<Task> tasks;
+        private final Map<Task, Integer> positions;
+
+        private ScheduleOrder(List<Task> tasks) {
+            this.tasks = Collections.unmodifiableList(tasks);
+            this.positions = new IdentityHashMap<>(tasks.size() * 2);
+            for (int i = 0; i < tasks.size(); i++) positions.put(tasks.get(i), i);
+        }
+
+        List<Task> getTasks() {
+            return tasks;
+        }
+
+        // Позиция задачи (-1, если задачи нет)
+        int positionOf(Task task) {
+            Integer position = positions.get(task);
+            return position != null ? position : -1;
+        }
+
+        Task taskAt(int position) {
+            return tasks.get(position);
+        }
+
+        int size() {
+            return tasks.size();
+        }
+    }
+
+    // Входит ли задача в порядок
+    boolean contains(Task task) {
+        return positions.containsKey(task);
+    }
+
+    // Позиция задачи в топологическом порядке (-1, если задачи нет)
+    int positionOf(Task task) {
+        Integer position = positions.get(task);
+        return position != null ? position : -1;
+    }
+
+    // Задача на позиции
+    Task taskAt(int position) {
+        return byPosition.get(position);
+    }
+
+    int size() {
+        return byPosition.size();
+    }
+
+    // Счетчик перестановок при вставке связей (добавление в конец и удаление
+    // взаимный порядок остальных задач не меняют)
+    int reorders() {
+        return reorders;
+    }
+
+    // Счетчик изменений графа: добавление и удаление задач и связей (в том числе связей,
+    // не потребовавших перестановки, - по ним одним getSortedTasks не меняется)
+    int changes() {
+        return changes;
+    }
+
+    // Задачи, переставленные вставкой связей с прошлого вызова (для SnapshotPublisher); учет начинается заново.
+    // Переставленные задачи занимают ровно освобожденные ими позиции. null - перестановок больше,
+    // чем задач, и проще считать переставленными все
+    List<Task> takeMoved() {
+        List<Task> result = moved;
+        if (result != null && result.isEmpty()) return List.of();
+        moved = new ArrayList<>();
+        return result;
+    }
+
+    // Добавление задачи вместе со связями с уже добавленными задачами
+    void add(Task task) {
+        if (positions.containsKey(task)) return;
+
+        positions.put(task, byPosition.size());
+        byPosition.add(task);
+
+        try {
+            for (Task dependency : task.getDependencies()) {
+                if (positions.containsKey(dependency) && !insertEdge(dependency, task)) {
+                    throw new IllegalStateException("There is a cycle in the tasks!");
+                }
+            }
+            for (Task subTask : task.getSubTasks()) {
+                if (positions.containsKey(subTask) && !insertEdge(task, subTask)) {
+                    throw new IllegalStateException("There is a cycle in the tasks!");
+                }
+            }
+        } catch (IllegalStateException e) {
+            remove(task);
+            throw e;
+        }
+
+        task.addListener(this);
+        view = null;
+        scheduleOrder = null;
+        changes++;
+    }
+
+    // Добавление задачи из заранее проверенного графа (ProjectBuilder): задачи идут в топологическом порядке,
+    // поэтому позиция в конце верна без перестановок и поиска цикла
+    void append(Task task) {
+        if (positions.containsKey(task)) return;
+        positions.put(task, byPosition.size());
+        byPosition.add(task);
+        task.addListener(this);
+        view = null;
+        scheduleOrder = null;
+        changes++;
+    }
+
+    // Удаление задачи со сдвигом следующих позиций
+    void remove(Task task) {
+        Integer position = positions.remove(task);
+        if (position == null) return;
+
+        byPosition.remove((int) position);
+        for (int i = position; i < byPosition.size(); i++) {
+            positions.put(byPosition.get(i), i);
+        }
+        task.removeListener(this);
+        view = null;
+        scheduleOrder = null;
+        changes++;
+    }
+
+    @Override
+    public boolean beforeEdgeAdded(Task parent, Task child) {
+        if (!positions.containsKey(parent) || !positions.containsKey(child)) return true;
+        return insertEdge(parent, child);
+    }
+
+    @Override
+    public void edgeAdded(Task parent, Task child) {
+        scheduleOrder = null;
+        changes++;
+    }
+
+    @Override
+    public void edgeRemoved(Task parent, Task child) {
+        scheduleOrder = null;
+        changes++;
+    }
+
+    @Override
+    public void priorityChanged(Task task) {
+        scheduleOrder = null;
+    }
+
+    // Порядок расчета расписания (строится при первом запросе после изменения)
+    ScheduleOrder getScheduleOrder() {
+        ScheduleOrder result = scheduleOrder;
+        if (result == null) {
+            result = new ScheduleOrder(prioritize());
+            scheduleOrder = result;
+        }
+        return result;
+    }
+
+    // Порядок расчета, если он уже построен (null - устарел); сам порядок не строится
+    ScheduleOrder getBuiltScheduleOrder() {
+        return scheduleOrder;
+    }
+
+    // Поддерживаемый порядок (только для чтения). Список отражает текущий порядок;
+    // после изменения графа возвращается новый объект, поэтому сравнение по ссылке
+    // показывает, изменился ли порядок с прошлого чтения
+    List<Task> getSortedTasks() {
+        List<Task> result = view;
+        if (result == null) {
+            result = Collections.unmodifiableList(byPosition);
+            view = result;
+        }
+        return result;
+    }
+
+    // Вставка связи parent -> child с исправлением порядка (false при цикле)
+    private boolean insertEdge(Task parent, Task child) {
+        if (parent == child) return false;
+
+        int lowerBound = positions.get(child);
+        int upperBound = positions.get(parent);
+        if (lowerBound > upperBound) return true;
+
+        // Вперед от child по задачам левее parent: если дошли до parent - цикл
+        List<Task> forward = new ArrayList<>();
+        Set<Task> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<Task> stack = new ArrayDeque<>();
+        stack.push(child);
+        visited.add(child);
+        while (!stack.isEmpty()) {
+            Task current = stack.pop();
+            forward.add(current);
+            for (Task next : current.getSubTasks()) {
+                Integer position = positions.get(next);
+                if (position == null) continue;
+                if (position == upperBound) return false;
+                if (position < upperBound && visited.add(next)) stack.push(next);
+            }
+        }
+
+        // Назад от parent по задачам правее child
+        List<Task> backward = new ArrayList<>();
+        stack.push(parent);
+        visited.add(parent);
+        while (!stack.isEmpty()) {
+            Task current = stack.pop();
+            backward.add(current);
+            for (Task previous : current.getDependencies()) {
+                Integer position = positions.get(previous);
+                if (position == null) continue;
+                if (position > lowerBound && visited.add(previous)) stack.push(previous);
+            }
+        }
+
+        // Предки parent ставятся перед потомками child на освободившиеся позиции
+        Comparator<Task> byCurrentPosition = Comparator.comparingInt(positions::get);
+        backward.sort(byCurrentPosition);
+        forward.sort(byCurrentPosition);
+
+        int[] freed = new int[backward.size() + forward.size()];
+        int i = 0;
+        for (Task task : backward) freed[i++] = positions.get(task);
+        for (Task task : forward) freed[i++] = positions.get(task);
+        Arrays.sort(freed);
+
+        i = 0;
+        for (Task task : backward) place(task, freed[i++]);
+        for (Task task : forward) place(task, freed[i++]);
+        if (moved != null) {
+            if (moved.size() + freed.length > byPosition.size()) {
+                moved = null;
+            } else {
+                moved.addAll(backward);
+                moved.addAll(forward);
+            }
+        }
+        reorders++;
+        view = null;
+        return true;
+    }
+
+    // Топологическая сортировка Кана: из готовых задач берется задача с большим приоритетом,
+    // при равенстве - с меньшей позицией в поддерживаемом порядке
+    private List<Task> prioritize() {
+        int size = byPosition.size();
+        int[] remaining = new int[size];
+        PriorityQueue<Task> ready = new PriorityQueue<>(
+                Comparator.comparingInt((Task task) -> -task.getPriority()).thenComparingInt(positions::get));
+        for (int i = 0; i < size; i++) {
+            Task task = byPosition.get(i);
+            int count = 0;
+            for (Task dependency : task.getDependencies()) {
+                if (positions.containsKey(dependency)) count++;
+            }
+            remaining[i] = count;
+            if (count == 0) ready.add(task);
+        }
+
+        List<Task> sorted = new ArrayList<>(size);
+        while (!ready.isEmpty()) {
+            Task task = ready.poll();
+            sorted.add(task);
+            for (Task subTask : task.getSubTasks()) {
+                Integer position = positions.get(subTask);
+                if (position != null && --remaining[position] == 0) ready.add(subTask);
+            }
+        }
+        return sorted;
+    }
+
+    private void place(Task task, int position) {
+        positions.put(task, position);
+        byPosition.set(position, task);
+    }
+}
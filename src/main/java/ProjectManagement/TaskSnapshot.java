@@ -0,0 +1,53 @@
+package ProjectManagement;
+
+import TaskManagement.Task;
+import TaskManagement.TaskStatus;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Неизменяемый срез состояния задачи для читателей снимка проекта
+@Getter
+public final class TaskSnapshot {
+
+    private final Long id;
+    private final String name;
+    private final TaskStatus status;
+    private final int priority;
+    private final Duration estimatedDuration;
+    private final LocalDateTime estimatedStartDate;
+    private final LocalDateTime estimatedEndDate;
+    private final LocalDateTime factualStartDate;
+    private final LocalDateTime factualEndDate;
+    private final String resourceName;
+    private final List<String> subTaskNames;
+
+    // Срез текущего состояния задачи
+    TaskSnapshot(Task task) {
+        this.id = task.getId();
+        this.name = task.getName();
+        this.status = task.getStatus();
+        this.priority = task.getPriority();
+        this.estimatedDuration = task.getEstimatedDuration();
+        this.estimatedStartDate = task.getEstimatedStartDate();
+        this.estimatedEndDate = task.getEstimatedEndDate();
+        this.factualStartDate = task.getFactualStartDate();
+        this.factualEndDate = task.getFactualEndDate();
+        this.resourceName = task.getAssignedResource() != null ? task.getAssignedResource().getName() : null;
+
+        List<String> names = new ArrayList<>(task.getSubTasks().size());
+        for (Task subTask : task.getSubTasks()) {
+            names.add(subTask.getName());
+        }
+        this.subTaskNames = Collections.unmodifiableList(names);
+    }
+
+    @Override
+    public String toString() {
+        return "Task{" + name + "}";
+    }
+}
@@ -0,0 +1,508 @@
+package ProjectManagement;
+
+import CalendarManagement.Calendar;
+import CalendarManagement.CompiledCalendar;
+import CalendarManagement.WorkingTimeCalculator;
+import ResourceManagement.Resource;
+import TaskManagement.Task;
+import TaskManagement.TaskStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+// Компактное хранилище задач для очень больших проектов (миллионы задач).
+// Задачи лежат в примитивных столбцах, связи - в сжатых строках (CSR):
+// зависимости задачи i - это dependencyTargets[dependencyOffsets[i] .. dependencyOffsets[i + 1]).
+// Индексы задач идут в порядке расчета (как в Project.calculateSchedule: из готовых задач первой -
+// задача с большим приоритетом), поэтому расписание считается одним проходом по массивам.
+// Для каждой строки хранится ее номер в порядке добавления в построитель (для from - позиция в getSortedTasks),
+// по нему сроки переносятся обратно в задачи проекта.
+//
+// Память на задачу (64-битная JVM, сжатые ссылки):
+//   объектная модель - около 700 байт: Task 88, Long 16, Duration 24,
+//   две LocalDateTime по 72, три ArrayList со своими массивами ~240,
+//   записи в индексах Project (порядок, снимок) ~120, плюс имя и по 8 байт на связь;
+//   TaskStore - 46 байт: id 4, длительность 4, начало 8, окончание 8, статус 1, приоритет 1,
+//   исполнитель 4, номер исходной строки 4, два смещения CSR 8, ссылка на имя 4, плюс имя и 8 байт на связь.
+// Замер (дерево, одна связь на задачу, имена вида "Task 123456" ~56 байт):
+//   объектная модель с рассчитанным расписанием - ~680 байт на задачу, TaskStore - ~109 байт.
+public final class TaskStore {
+
+    // Значение "дата не задана" в столбцах дат
+    public static final long NO_DATE = Long.MIN_VALUE;
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private final int size;
+    private final int[] ids;
+    private final String[] names;
+    private final int[] durationMinutes;
+    private final long[] startMinutes; // Минуты от эпохи
+    private final long[] endMinutes;
+    private final byte[] statuses;
+    private final byte[] priorities;
+    private final int[] resourceIndexes; // -1 - исполнитель не назначен
+    private final int[] sourceIndexes;   // Номер строки в порядке добавления в построитель
+
+    private final int[] dependencyOffsets;
+    private final int[] dependencyTargets;
+    private final int[] subTaskOffsets;
+    private final int[] subTaskTargets;
+
+    private final Resource[] resources;
+
+    private TaskStore(int size, int[] ids, String[] names, int[] durationMinutes, byte[] statuses, byte[] priorities,
+                      int[] resourceIndexes, int[] sourceIndexes, int[] dependencyOffsets, int[] dependencyTargets,
+                      int[] subTaskOffsets, int[] subTaskTargets, Resource[] resources) {
+        this.size = size;
+        this.ids = ids;
+        this.names = names;
+        this.durationMinutes = durationMinutes;
+        this.statuses = statuses;
+        this.priorities = priorities;
+        this.resourceIndexes = resourceIndexes;
+        this.sourceIndexes = sourceIndexes;
+        this.dependencyOffsets = dependencyOffsets;
+        this.dependencyTargets = dependencyTargets;
+        this.subTaskOffsets = subTaskOffsets;
+        this.subTaskTargets = subTaskTargets;
+        this.resources = resources;
+        this.startMinutes = new long[size];
+        this.endMinutes = new long[size];
+        Arrays.fill(startMinutes, NO_DATE);
+        Arrays.fill(endMinutes, NO_DATE);
+    }
+
+    // Построение хранилища из задач проекта (задачи добавляются в порядке getSortedTasks).
+    // Id задач хранятся как int: задача с id вне диапазона int отклоняется
+    public static TaskStore from(Project project) {
+        List<Task> sortedTasks = project.getSortedTasks();
+
+        Map<Resource, Integer> resourceIndexes = new IdentityHashMap<>();
+        for (Resource resource : project.getResources()) {
+            resourceIndexes.putIfAbsent(resource, resourceIndexes.size());
+        }
+
+        int edgeCount = 0;
+        for (Task task : sortedTasks) {
+            edgeCount += task.getSubTasks().size();
+        }
+
+        Builder builder = new Builder(sortedTasks.size(), edgeCount);
+        Map<Task, Integer> indexes = new IdentityHashMap<>(sortedTasks.size() * 2);
+        for (Task task : sortedTasks) {
+            Resource resource = task.getAssignedResource();
+            int resourceIndex = -1;
+            if (resource != null) {
+                resourceIndex = resourceIndexes.computeIfAbsent(resource, r -> resourceIndexes.size());
+            }
+            Long id = task.getId();
+            if (id != null && (id > Integer.MAX_VALUE || id < Integer.MIN_VALUE)) {
+                throw new IllegalArgumentException("Task id " + id + " does not fit the task store.");
+            }
+            int index = builder.addTask(id != null ? id.intValue() : indexes.size(), task.getName(),
+                    (int) task.getEstimatedDuration().toMinutes(), task.getPriority(), resourceIndex);
+            builder.setStatus(index, task.getStatus());
+            indexes.put(task, index);
+        }
+        for (Task task : sortedTasks) {
+            for (Task subTask : task.getSubTasks()) {
+                Integer child = indexes.get(subTask);
+                if (child != null) builder.addEdge(indexes.get(task), child);
+            }
+        }
+
+        Resource[] resources = new Resource[resourceIndexes.size()];
+        resourceIndexes.forEach((resource, index) -> resources[index] = resource);
+        return builder.build(resources);
+    }
+
+    // Запись рассчитанных сроков обратно в задачи проекта, из которого построено хранилище (from).
+    // Строка находит свою задачу по исходной позиции в getSortedTasks; id задачи должен совпасть
+    public void applyTo(Project project) {
+        List<Task> sortedTasks = project.getSortedTasks();
+        if (sortedTasks.size() != size) {
+            throw new IllegalStateException("Project has changed since the store was built.");
+        }
+        Task[] tasks = new Task[size];
+        for (int i = 0; i < size; i++) {
+            Task task = sortedTasks.get(sourceIndexes[i]);
+            if (task.getId() == null || task.getId() != ids[i]) {
+                throw new IllegalStateException("Project has changed since the store was built.");
+            }
+            tasks[i] = task;
+        }
+        for (int i = 0; i < size; i++) {
+            tasks[i].setEstimatedStartDate(getEstimatedStartDate(i));
+            tasks[i].setEstimatedEndDate(getEstimatedEndDate(i));
+        }
+    }
+
+    // Расчет расписания прямо по столбцам (та же логика, что Project.calculateSchedule, с точностью до минуты)
+    public void calculateSchedule(LocalDateTime projectStartDate, Calendar projectCalendar) {
+        if (projectStartDate == null) {
+            throw new IllegalStateException("Project start date must be set before calculating the schedule.");
+        }
+
+        long projectStart = WorkingTimeCalculator.toEpochMinute(projectStartDate);
+        CompiledCalendar calendar = projectCalendar != null ? projectCalendar.compile() : null;
+
+        CompiledCalendar[] resourceCalendars = new CompiledCalendar[resources.length];
+        long[] resourceAvailability = new long[resources.length];
+        for (int r = 0; r < resources.length; r++) {
+            Calendar resourceCalendar = resources[r].getResourceCalendar();
+            resourceCalendars[r] = resourceCalendar != null ? resourceCalendar.compile() : null;
+            resourceAvailability[r] = projectStart;
+        }
+
+        for (int i = 0; i < size; i++) {
+            int resource = resourceIndexes[i];
+            if (resource < 0) {
+                throw new IllegalStateException("Task '" + names[i] + "' has no assigned resource.");
+            }
+
+            long earliestStart = projectStart;
+            for (int e = dependencyOffsets[i]; e < dependencyOffsets[i + 1]; e++) {
+                long dependencyEnd = endMinutes[dependencyTargets[e]];
+                if (dependencyEnd != NO_DATE && dependencyEnd > earliestStart) earliestStart = dependencyEnd;
+            }
+            if (resourceAvailability[resource] > earliestStart) earliestStart = resourceAvailability[resource];
+
+            long start = WorkingTimeCalculator.nextWorkingMinute(earliestStart, calendar);
+            long end = WorkingTimeCalculator.addWorkingMinutes(start, durationMinutes[i], calendar, resourceCalendars[resource]);
+
+            startMinutes[i] = start;
+            endMinutes[i] = end;
+            resourceAvailability[resource] = end;
+        }
+    }
+
+    // Количество задач
+    public int size() {
+        return size;
+    }
+
+    // Количество связей
+    public int edgeCount() {
+        return subTaskTargets.length;
+    }
+
+    public int getId(int index) {
+        return ids[index];
+    }
+
+    public String getName(int index) {
+        return names[index];
+    }
+
+    public int getDurationMinutes(int index) {
+        return durationMinutes[index];
+    }
+
+    public TaskStatus getStatus(int index) {
+        return STATUSES[statuses[index]];
+    }
+
+    public void setStatus(int index, TaskStatus status) {
+        statuses[index] = (byte) status.ordinal();
+    }
+
+    public int getPriority(int index) {
+        return priorities[index];
+    }
+
+    public Resource getResource(int index) {
+        return resourceIndexes[index] >= 0 ? resources[resourceIndexes[index]] : null;
+    }
+
+    public int getResourceIndex(int index) {
+        return resourceIndexes[index];
+    }
+
+    // Номер задачи в порядке добавления в построитель
+    public int getSourceIndex(int index) {
+        return sourceIndexes[index];
+    }
+
+    public long getStartMinute(int index) {
+        return startMinutes[index];
+    }
+
+    public long getEndMinute(int index) {
+        return endMinutes[index];
+    }
+
+    public LocalDateTime getEstimatedStartDate(int index) {
+        return startMinutes[index] == NO_DATE ? null : WorkingTimeCalculator.fromEpochMinute(startMinutes[index]);
+    }
+
+    public LocalDateTime getEstimatedEndDate(int index) {
+        return endMinutes[index] == NO_DATE ? null : WorkingTimeCalculator.fromEpochMinute(endMinutes[index]);
+    }
+
+    // Число зависимостей задачи
+    public int dependencyCount(int index) {
+        return dependencyOffsets[index + 1] - dependencyOffsets[index];
+    }
+
+    // k-я зависимость задачи
+    public int dependency(int index, int k) {
+        return dependencyTargets[dependencyOffsets[index] + k];
+    }
+
+    // Число подзадач задачи
+    public int subTaskCount(int index) {
+        return subTaskOffsets[index + 1] - subTaskOffsets[index];
+    }
+
+    // k-я подзадача задачи
+    public int subTask(int index, int k) {
+        return subTaskTargets[subTaskOffsets[index] + k];
+    }
+
+    public Resource[] getResources() {
+        return resources.clone();
+    }
+
+    // Легковесное представление задачи (один объект можно переставлять по индексам)
+    public View view(int index) {
+        return new View(index);
+    }
+
+    // Представление задачи поверх столбцов хранилища
+    public final class View {
+
+        private int index;
+
+        private View(int index) {
+            this.index = index;
+        }
+
+        // Переход к другой задаче без создания объекта
+        public View moveTo(int index) {
+            this.index = index;
+            return this;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public int getId() {
+            return ids[index];
+        }
+
+        public String getName() {
+            return names[index];
+        }
+
+        public Duration getEstimatedDuration() {
+            return Duration.ofMinutes(durationMinutes[index]);
+        }
+
+        public LocalDateTime getEstimatedStartDate() {
+            return TaskStore.this.getEstimatedStartDate(index);
+        }
+
+        public LocalDateTime getEstimatedEndDate() {
+            return TaskStore.this.getEstimatedEndDate(index);
+        }
+
+        public TaskStatus getStatus() {
+            return TaskStore.this.getStatus(index);
+        }
+
+        public int getPriority() {
+            return priorities[index];
+        }
+
+        public Resource getAssignedResource() {
+            return getResource(index);
+        }
+
+        @Override
+        public String toString() {
+            return "Task{" + names[index] + "}";
+        }
+    }
+
+    // Построитель хранилища: задачи и связи добавляются по индексам, без объектов Task
+    public static final class Builder {
+
+        private int size;
+        private int[] ids;
+        private String[] names;
+        private int[] durationMinutes;
+        private byte[] statuses;
+        private byte[] priorities;
+        private int[] resourceIndexes;
+
+        private int edgeCount;
+        private int[] edgeParents;
+        private int[] edgeChildren;
+
+        public Builder(int expectedTasks, int expectedEdges) {
+            int tasks = Math.max(expectedTasks, 16);
+            int edges = Math.max(expectedEdges, 16);
+            ids = new int[tasks];
+            names = new String[tasks];
+            durationMinutes = new int[tasks];
+            statuses = new byte[tasks];
+            priorities = new byte[tasks];
+            resourceIndexes = new int[tasks];
+            edgeParents = new int[edges];
+            edgeChildren = new int[edges];
+        }
+
+        // Добавление задачи (возвращает ее индекс в построителе)
+        public int addTask(int id, String name, int durationMinutes, int priority, int resourceIndex) {
+            if (size == ids.length) growTasks();
+            ids[size] = id;
+            names[size] = name;
+            this.durationMinutes[size] = durationMinutes;
+            statuses[size] = (byte) TaskStatus.NOT_STARTED.ordinal();
+            priorities[size] = (byte) priority;
+            resourceIndexes[size] = resourceIndex;
+            return size++;
+        }
+
+        public void setStatus(int index, TaskStatus status) {
+            statuses[index] = (byte) status.ordinal();
+        }
+
+        // Добавление связи parent -> child
+        public void addEdge(int parent, int child) {
+            if (edgeCount == edgeParents.length) {
+                edgeParents = Arrays.copyOf(edgeParents, edgeCount * 2);
+                edgeChildren = Arrays.copyOf(edgeChildren, edgeCount * 2);
+            }
+            edgeParents[edgeCount] = parent;
+            edgeChildren[edgeCount] = child;
+            edgeCount++;
+        }
+
+        // Сборка: топологическая сортировка с учетом приоритетов и упаковка связей в CSR.
+        // Из готовых задач первой идет задача с большим приоритетом, при равенстве - добавленная раньше
+        public TaskStore build(Resource[] resources) {
+            int[] subOffsets = new int[size + 1];
+            for (int e = 0; e < edgeCount; e++) subOffsets[edgeParents[e] + 1]++;
+            for (int i = 0; i < size; i++) subOffsets[i + 1] += subOffsets[i];
+            int[] subTargets = new int[edgeCount];
+            int[] fill = Arrays.copyOf(subOffsets, size);
+            int[] inDegree = new int[size];
+            for (int e = 0; e < edgeCount; e++) {
+                subTargets[fill[edgeParents[e]]++] = edgeChildren[e];
+                inDegree[edgeChildren[e]]++;
+            }
+
+            // Куча готовых задач по ключу: сначала больший приоритет, затем меньший индекс
+            long[] heap = new long[size];
+            int heapSize = 0;
+            for (int i = 0; i < size; i++) {
+                if (inDegree[i] == 0) heapSize = push(heap, heapSize, readyKey(i));
+            }
+            int[] order = new int[size];
+            int tail = 0;
+            while (heapSize > 0) {
+                int current = (int) heap[0];
+                heapSize = pop(heap, heapSize);
+                order[tail++] = current;
+                for (int e = subOffsets[current]; e < subOffsets[current + 1]; e++) {
+                    int child = subTargets[e];
+                    if (--inDegree[child] == 0) heapSize = push(heap, heapSize, readyKey(child));
+                }
+            }
+            if (tail != size) {
+                throw new IllegalStateException("There is a cycle in the tasks!");
+            }
+
+            int[] newIndex = new int[size];
+            for (int i = 0; i < size; i++) newIndex[order[i]] = i;
+
+            int[] sortedIds = new int[size];
+            String[] sortedNames = new String[size];
+            int[] sortedDurations = new int[size];
+            byte[] sortedStatuses = new byte[size];
+            byte[] sortedPriorities = new byte[size];
+            int[] sortedResources = new int[size];
+            for (int i = 0; i < size; i++) {
+                int old = order[i];
+                sortedIds[i] = ids[old];
+                sortedNames[i] = names[old];
+                sortedDurations[i] = durationMinutes[old];
+                sortedStatuses[i] = statuses[old];
+                sortedPriorities[i] = priorities[old];
+                sortedResources[i] = resourceIndexes[old];
+            }
+
+            int[] subTaskOffsets = new int[size + 1];
+            int[] dependencyOffsets = new int[size + 1];
+            for (int e = 0; e < edgeCount; e++) {
+                subTaskOffsets[newIndex[edgeParents[e]] + 1]++;
+                dependencyOffsets[newIndex[edgeChildren[e]] + 1]++;
+            }
+            for (int i = 0; i < size; i++) {
+                subTaskOffsets[i + 1] += subTaskOffsets[i];
+                dependencyOffsets[i + 1] += dependencyOffsets[i];
+            }
+            int[] subTaskTargets = new int[edgeCount];
+            int[] dependencyTargets = new int[edgeCount];
+            int[] subFill = Arrays.copyOf(subTaskOffsets, size);
+            int[] dependencyFill = Arrays.copyOf(dependencyOffsets, size);
+            // Связи переносятся в порядке добавления, чтобы сохранить порядок подзадач
+            for (int e = 0; e < edgeCount; e++) {
+                int parent = newIndex[edgeParents[e]];
+                int child = newIndex[edgeChildren[e]];
+                subTaskTargets[subFill[parent]++] = child;
+                dependencyTargets[dependencyFill[child]++] = parent;
+            }
+
+            return new TaskStore(size, sortedIds, sortedNames, sortedDurations, sortedStatuses, sortedPriorities,
+                    sortedResources, order, dependencyOffsets, dependencyTargets, subTaskOffsets, subTaskTargets,
+                    resources != null ? resources : new Resource[0]);
+        }
+
+        private long readyKey(int index) {
+            return ((long) -priorities[index] << 32) | index;
+        }
+
+        // Двоичная куча ключей (добавление и извлечение минимума); возвращается новый размер
+        private static int push(long[] heap, int size, long key) {
+            int index = size;
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (heap[parent] <= key) break;
+                heap[index] = heap[parent];
+                index = parent;
+            }
+            heap[index] = key;
+            return size + 1;
+        }
+
+        private static int pop(long[] heap, int size) {
+            long last = heap[--size];
+            int index = 0;
+            while (true) {
+                int child = 2 * index + 1;
+                if (child >= size) break;
+                if (child + 1 < size && heap[child + 1] < heap[child]) child++;
+                if (heap[child] >= last) break;
+                heap[index] = heap[child];
+                index = child;
+            }
+            if (size > 0) heap[index] = last;
+            return size;
+        }
+
+        private void growTasks() {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            names = Arrays.copyOf(names, capacity);
+            durationMinutes = Arrays.copyOf(durationMinutes, capacity);
+            statuses = Arrays.copyOf(statuses, capacity);
+            priorities = Arrays.copyOf(priorities, capacity);
+            resourceIndexes = Arrays.copyOf(resourceIndexes, capacity);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package ProjectManagement;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Отложенная запись изменений проекта в базу.
+// Раз в интервал собирает измененные задачи проекта и пишет только их измененные поля
+// пакетами не больше maxBatchSize строк. Объем записи пропорционален числу изменений, а не размеру проекта.
+// Неудачно записанные изменения повторяются при следующем сбросе (изменения одной задачи сливаются в одно);
+// при закрытии (и при остановке JVM) выполняется последний сброс.
+// Очередь ограничена: пока в ней maxPending изменений, новые изменения остаются в проекте (там они тоже
+// сливаются по задаче). Изменение, которое не записалось MAX_ATTEMPTS раз (после первой неудачи оно пишется
+// отдельно от других), и изменение задачи без id убираются из повторов в список отклоненных.
+@Slf4j
+public final class WriteBehindFlusher implements AutoCloseable {
+
+    public static final int DEFAULT_MAX_PENDING = 100_000;
+    private static final int MAX_ATTEMPTS = 3;
+
+    // Изменение в очереди и число неудачных попыток записи
+    private static final class PendingChange {
+        TaskChange change;
+        int failures;
+
+        PendingChange(TaskChange change) {
+            this.change = change;
+        }
+    }
+
+    private final ProjectRepoitory repository;
+    private final Project project;
+    private final long projectId;
+    private final Duration flushInterval;
+    private final int maxBatchSize;
+    private final int maxPending;
+
+    private final Map<Long, PendingChange> pending = new LinkedHashMap<>(); // Изменения по id задачи
+    private final Deque<TaskChange> rejected = new ArrayDeque<>(); // Убранные из повторов (не больше maxPending)
+    private ScheduledExecutorService scheduler;
+    private Thread shutdownHook;
+
+    public WriteBehindFlusher(ProjectRepoitory repository, Project project, long projectId,
+                              Duration flushInterval, int maxBatchSize) {
+        this(repository, project, projectId, flushInterval, maxBatchSize, DEFAULT_MAX_PENDING);
+    }
+
+    public WriteBehindFlusher(ProjectRepoitory repository, Project project, long projectId,
+                              Duration flushInterval, int maxBatchSize, int maxPending) {
+        if (flushInterval == null || flushInterval.isNegative() || flushInterval.isZero()) {
+            throw new IllegalArgumentException("Flush interval must be positive.");
+        }
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive.");
+        }
+        if (maxPending <= 0) {
+            throw new IllegalArgumentException("Pending queue size must be positive.");
+        }
+        this.repository = repository;
+        this.project = project;
+        this.projectId = projectId;
+        this.flushInterval = flushInterval;
+        this.maxBatchSize = maxBatchSize;
+        this.maxPending = maxPending;
+    }
+
+    // Запуск периодического сброса
+    public synchronized void start() {
+        if (scheduler != null) return;
+        project.enableChangeTracking();
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "write-behind-" + projectId);
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = flushInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        shutdownHook = new Thread(this::flushQuietly, "write-behind-shutdown-" + projectId);
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    // Сброс накопленных изменений; возвращает число записанных строк
+    public synchronized int flush() {
+        if (pending.size() < maxPending) {
+            for (TaskChange change : project.drainChanges()) enqueue(change);
+        }
+        int written = 0;
+        while (!pending.isEmpty()) {
+            List<PendingChange> batch = nextBatch();
+            List<TaskChange> changes = new ArrayList<>(batch.size());
+            for (PendingChange entry : batch) changes.add(entry.change);
+            try {
+                repository.updateTasks(projectId, changes);
+            } catch (RuntimeException e) {
+                for (PendingChange entry : batch) {
+                    if (++entry.failures >= MAX_ATTEMPTS) {
+                        pending.remove(entry.change.getId());
+                        reject(entry.change, e);
+                    }
+                }
+                throw e;
+            }
+            for (TaskChange change : changes) pending.remove(change.getId());
+            written += changes.size();
+        }
+        return written;
+    }
+
+    // Изменения, убранные из повторов (список очищается)
+    public synchronized List<TaskChange> drainRejected() {
+        List<TaskChange> result = new ArrayList<>(rejected);
+        rejected.clear();
+        return result;
+    }
+
+    public synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    // Постановка в очередь со слиянием с прежним изменением той же задачи
+    private void enqueue(TaskChange change) {
+        if (change.getId() == null) {
+            reject(change, null);
+            return;
+        }
+        PendingChange entry = pending.get(change.getId());
+        if (entry == null) {
+            pending.put(change.getId(), new PendingChange(change));
+        } else {
+            entry.change = entry.change.mergedWith(change);
+        }
+    }
+
+    // Следующий пакет от начала очереди; изменение, которое уже не записалось, идет отдельно,
+    // чтобы не мешать остальным
+    private List<PendingChange> nextBatch() {
+        List<PendingChange> batch = new ArrayList<>(Math.min(maxBatchSize, pending.size()));
+        for (PendingChange entry : pending.values()) {
+            if (entry.failures > 0) {
+                if (batch.isEmpty()) batch.add(entry);
+                break;
+            }
+            batch.add(entry);
+            if (batch.size() == maxBatchSize) break;
+        }
+        return batch;
+    }
+
+    private void reject(TaskChange change, RuntimeException cause) {
+        log.warn("Изменение {} проекта {} не будет записано повторно", change, projectId, cause);
+        if (rejected.size() == maxPending) rejected.pollFirst();
+        rejected.addLast(change);
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Не удалось записать изменения проекта {}", projectId, e);
+        }
+    }
+
+    // Остановка периодического сброса с последним сбросом
+    @Override
+    public void close() {
+        ScheduledExecutorService stopped;
+        synchronized (this) {
+            if (scheduler == null) return;
+            stopped = scheduler;
+            scheduler = null;
+        }
+        // Ожидание идет без блокировки, иначе идущий сброс не смог бы завершиться
+        stopped.shutdown();
+        try {
+            stopped.awaitTermination(flushInterval.toMillis() + 1000, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // JVM уже останавливается: хук выполнится сам
+        }
+        flush();
+        project.disableChangeTracking();
+    }
+}
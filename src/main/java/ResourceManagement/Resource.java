@@ -2,14 +2,21 @@ package ResourceManagement;
 
 
 import CalendarManagement.Calendar;
+import CalendarManagement.CompiledCalendar;
+import Monitoring.QuietMode;
 import TaskManagement.Task;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 // Класс исполнителя
+@Slf4j
 @Getter
 @Setter
 public class Resource {
@@ -18,15 +25,39 @@ public class Resource {
     private String name;
     private Calendar resourceCalendar;
 
+    // Забронированное время исполнителя
+    private final ResourceTimeline timeline = new ResourceTimeline(this);
+
+    // Слушатели изменений (проекты, в которые входит исполнитель)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final List<ResourceListener> listeners = new ArrayList<>();
+
     // Конструктор
     public Resource(String name, Calendar resourceCalendar) {
         this.name = name;
         this.resourceCalendar = resourceCalendar;
     }
 
+    public void setName(String newName) {
+        String previous = this.name;
+        this.name = newName;
+        for (ResourceListener listener : listeners) listener.nameChanged(this, previous);
+    }
+
+    // Подписка на изменения исполнителя
+    public void addListener(ResourceListener listener) {
+        if (!listeners.contains(listener)) listeners.add(listener);
+    }
+
+    // Отписка от изменений исполнителя
+    public void removeListener(ResourceListener listener) {
+        listeners.remove(listener);
+    }
+
     // Уведомление об изменениях
     public void notify(String message) {
-        System.out.println("Уведомление для " + name + ": " + message);
+        if (QuietMode.isInfoEnabled(log)) log.info("Уведомление для {}: {}", name, message);
     }
 
     // Назначение задачи
@@ -41,13 +72,28 @@ public class Resource {
         }
     }
 
-    // Проверка доступности исполнителя в определенное время
+    // Проверка доступности исполнителя в определенное время:
+    // все часы интервала рабочие по календарю и не заняты бронированиями
     public boolean isAvailable(LocalDateTime startTime, int durationHours) {
-        for (int i = 0; i < durationHours; i++) {
-            LocalDateTime dateTime = startTime.plusHours(i);
-            if (!resourceCalendar.isWorkHour(dateTime)) {
-                return false;
-            }
+        if (durationHours <= 0) return true;
+        if (!timeline.isFree(startTime, startTime.plusHours(durationHours))) return false;
+
+        CompiledCalendar calendar = resourceCalendar.compile();
+        LocalDate date = startTime.toLocalDate();
+        int hour = startTime.getHour();
+        if (!calendar.isWorkHour(date, hour)) return false;
+
+        // Рабочие часы дня идут подряд: до конца окна текущего дня
+        int lastHour = Math.min(calendar.getEndHour(), 23);
+        int remaining = durationHours - (lastHour - hour + 1);
+        if (remaining <= 0) return true;
+
+        // Переход через полночь возможен только при круглосуточном окне
+        if (calendar.getStartHour() > 0 || lastHour < 23) return false;
+        while (remaining > 0) {
+            date = date.plusDays(1);
+            if (!calendar.isWorkDay(date)) return false;
+            remaining -= 24;
         }
         return true;
     }
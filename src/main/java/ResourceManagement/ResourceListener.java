@@ -0,0 +1,9 @@
+package ResourceManagement;
+
+// Слушатель изменений исполнителя (через него проект поддерживает свои индексы)
+public interface ResourceListener {
+
+    // После переименования исполнителя
+    default void nameChanged(Resource resource, String previous) {
+    }
+}
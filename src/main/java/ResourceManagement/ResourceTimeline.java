@@ -0,0 +1,249 @@
+package ResourceManagement;
+
+import CalendarManagement.Calendar;
+import CalendarManagement.CompiledCalendar;
+import CalendarManagement.WorkingTimeCalculator;
+import TaskManagement.Task;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+// Занятость исполнителя: непересекающиеся интервалы [начало, конец) в минутах от эпохи.
+// Интервалы хранятся в декартовом дереве (treap) по началу; каждый узел знает
+// самое раннее начало, самый поздний конец и самый длинный промежуток между интервалами
+// своего поддерева. Поэтому поиск первого подходящего окна, вставка и удаление - O(log n).
+public final class ResourceTimeline {
+
+    private static final long NONE = Long.MIN_VALUE;
+
+    private final Resource resource;
+    private final Random random = new Random(0x5eed);
+    private final Map<Task, Long> startByTask = new IdentityHashMap<>();
+    private Node root;
+    private long lastEnd; // Служебное поле поиска: конец последнего просмотренного интервала
+
+    ResourceTimeline(Resource resource) {
+        this.resource = resource;
+    }
+
+    private static final class Node {
+        final long start;
+        final long end;
+        final Task task;
+        final int priority;
+        Node left;
+        Node right;
+
+        long minStart;
+        long maxEnd;
+        long maxGap; // Самый длинный промежуток между соседними интервалами поддерева (0, если их меньше двух)
+
+        Node(long start, long end, Task task, int priority) {
+            this.start = start;
+            this.end = end;
+            this.task = task;
+            this.priority = priority;
+            update();
+        }
+
+        void update() {
+            minStart = left != null ? left.minStart : start;
+            maxEnd = right != null ? right.maxEnd : end;
+            long gap = 0;
+            if (left != null) gap = Math.max(left.maxGap, start - left.maxEnd);
+            if (right != null) gap = Math.max(gap, Math.max(right.maxGap, right.minStart - end));
+            maxGap = gap;
+        }
+    }
+
+    // Число бронирований
+    public int size() {
+        return startByTask.size();
+    }
+
+    // Снятие всех бронирований
+    public void clear() {
+        root = null;
+        startByTask.clear();
+    }
+
+    // Бронирование времени под задачу (повторное бронирование задачи заменяет прежнее,
+    // пустой интервал только снимает прежнее бронирование)
+    public void book(Task task, LocalDateTime start, LocalDateTime end) {
+        book(task, WorkingTimeCalculator.toEpochMinute(start), WorkingTimeCalculator.toEpochMinute(end));
+    }
+
+    public void book(Task task, long startMinute, long endMinute) {
+        release(task);
+        if (endMinute <= startMinute) return;
+        if (!isFree(startMinute, endMinute)) {
+            throw new IllegalStateException("Resource '" + resource.getName() + "' is already booked at "
+                    + WorkingTimeCalculator.fromEpochMinute(startMinute));
+        }
+        Node[] parts = split(root, startMinute);
+        root = merge(merge(parts[0], new Node(startMinute, endMinute, task, random.nextInt())), parts[1]);
+        startByTask.put(task, startMinute);
+    }
+
+    // Снятие бронирования задачи
+    public boolean release(Task task) {
+        Long start = startByTask.remove(task);
+        if (start == null) return false;
+        Node[] lower = split(root, start);
+        Node[] upper = split(lower[1], start + 1);
+        root = merge(lower[0], upper[1]);
+        return true;
+    }
+
+    // Забронирована ли задача
+    public boolean isBooked(Task task) {
+        return startByTask.containsKey(task);
+    }
+
+    // Свободен ли исполнитель во всем интервале [start, end)
+    public boolean isFree(LocalDateTime start, LocalDateTime end) {
+        return isFree(WorkingTimeCalculator.toEpochMinute(start), WorkingTimeCalculator.toEpochMinute(end));
+    }
+
+    public boolean isFree(long startMinute, long endMinute) {
+        Node before = floor(startMinute);
+        if (before != null && before.end > startMinute) return false;
+        Node after = ceiling(startMinute);
+        return after == null || after.start >= endMinute;
+    }
+
+    // Самое раннее начало работы длительностью duration не раньше notBefore,
+    // которая целиком помещается в свободный промежуток (с учетом рабочего времени
+    // проекта и исполнителя). Короткие задачи занимают окна, оставшиеся между бронированиями.
+    public LocalDateTime findEarliestSlot(LocalDateTime notBefore, Duration duration, Calendar projectCalendar) {
+        CompiledCalendar project = projectCalendar != null ? projectCalendar.compile() : null;
+        CompiledCalendar own = resource.getResourceCalendar() != null ? resource.getResourceCalendar().compile() : null;
+        long minutes = duration != null ? Math.max(0, duration.toMinutes()) : 0;
+        return WorkingTimeCalculator.fromEpochMinute(
+                findEarliestSlot(WorkingTimeCalculator.toEpochMinute(notBefore), minutes, project, own));
+    }
+
+    public long findEarliestSlot(long notBefore, long minutes, CompiledCalendar projectCalendar, CompiledCalendar resourceCalendar) {
+        long candidate = notBefore;
+        Node containing = floor(candidate);
+        if (containing != null && containing.end > candidate) candidate = containing.end;
+
+        while (true) {
+            Node next = ceiling(candidate);
+            long gapEnd = next != null ? next.start : Long.MAX_VALUE;
+
+            long start = minutes > 0
+                    ? WorkingTimeCalculator.addWorkingMinutes(candidate, 1, projectCalendar, resourceCalendar) - 1
+                    : candidate;
+            if (start < gapEnd) {
+                long end = WorkingTimeCalculator.addWorkingMinutes(start, minutes, projectCalendar, resourceCalendar);
+                if (end <= gapEnd) return start;
+            }
+
+            // Следующий промежуток, который хотя бы по длине вмещает работу
+            lastEnd = NONE;
+            long gapStart = findGap(root, next.start, minutes);
+            candidate = gapStart != NONE ? gapStart : root.maxEnd;
+        }
+    }
+
+    // Начало первого промежутка длиной не меньше length между интервалами с началом >= from
+    private long findGap(Node node, long from, long length) {
+        if (node == null) return NONE;
+        if (node.start < from) return findGap(node.right, from, length);
+
+        long found = findGap(node.left, from, length);
+        if (found != NONE) return found;
+        if (lastEnd != NONE && node.start - lastEnd >= length) return lastEnd;
+        lastEnd = node.end;
+        return findGapInSubtree(node.right, length);
+    }
+
+    private long findGapInSubtree(Node node, long length) {
+        if (node == null) return NONE;
+        if (lastEnd != NONE && node.minStart - lastEnd >= length) return lastEnd;
+        if (node.maxGap < length) {
+            lastEnd = node.maxEnd;
+            return NONE;
+        }
+
+        long found = findGapInSubtree(node.left, length);
+        if (found != NONE) return found;
+        if (lastEnd != NONE && node.start - lastEnd >= length) return lastEnd;
+        lastEnd = node.end;
+        return findGapInSubtree(node.right, length);
+    }
+
+    // Последний интервал с началом <= minute
+    private Node floor(long minute) {
+        Node node = root;
+        Node result = null;
+        while (node != null) {
+            if (node.start <= minute) {
+                result = node;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return result;
+    }
+
+    // Первый интервал с началом >= minute
+    private Node ceiling(long minute) {
+        Node node = root;
+        Node result = null;
+        while (node != null) {
+            if (node.start >= minute) {
+                result = node;
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return result;
+    }
+
+    // Разделение на интервалы с началом < key и >= key
+    private static Node[] split(Node node, long key) {
+        if (node == null) return new Node[]{null, null};
+        if (node.start < key) {
+            Node[] parts = split(node.right, key);
+            node.right = parts[0];
+            node.update();
+            return new Node[]{node, parts[1]};
+        }
+        Node[] parts = split(node.left, key);
+        node.left = parts[1];
+        node.update();
+        return new Node[]{parts[0], node};
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) return right;
+        if (right == null) return left;
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    // Бронирования в порядке времени
+    public List<Task> getBookedTasks() {
+        List<Task> tasks = new ArrayList<>(startByTask.size());
+        collect(root, tasks);
+        return tasks;
+    }
+
+    private static void collect(Node node, List<Task> tasks) {
+        if (node == null) return;
+        collect(node.left, tasks);
+        tasks.add(node.task);
+        collect(node.right, tasks);
+    }
+}
@@ -0,0 +1,146 @@
+package TaskManagement;
+
+import java.time.Duration;
+import java.util.random.RandomGenerator;
+
+// Распределение длительности задачи для анализа рисков (в рабочих минутах).
+// Треугольное и PERT задаются оптимистичной, наиболее вероятной и пессимистичной оценками,
+// логнормальное - медианой и разбросом (sigma логарифма).
+public abstract class DurationDistribution {
+
+    // Случайная длительность в минутах
+    public abstract double sampleMinutes(RandomGenerator random);
+
+    // Среднее значение распределения в минутах
+    public abstract double getMeanMinutes();
+
+    // Треугольное распределение
+    public static DurationDistribution triangular(Duration minimum, Duration mostLikely, Duration maximum) {
+        return new Triangular(minutesOf(minimum), minutesOf(mostLikely), minutesOf(maximum));
+    }
+
+    // PERT (бета-распределение с весом 4 у наиболее вероятной оценки)
+    public static DurationDistribution pert(Duration minimum, Duration mostLikely, Duration maximum) {
+        return new Pert(minutesOf(minimum), minutesOf(mostLikely), minutesOf(maximum));
+    }
+
+    // Логнормальное распределение
+    public static DurationDistribution lognormal(Duration median, double sigma) {
+        if (median == null || median.isNegative() || median.isZero()) {
+            throw new IllegalArgumentException("Lognormal median must be positive.");
+        }
+        if (!(sigma >= 0)) {
+            throw new IllegalArgumentException("Lognormal sigma must not be negative.");
+        }
+        return new Lognormal(Math.log(minutesOf(median)), sigma);
+    }
+
+    private static double minutesOf(Duration duration) {
+        if (duration == null || duration.isNegative()) {
+            throw new IllegalArgumentException("Duration estimates must not be negative.");
+        }
+        return duration.getSeconds() / 60.0 + duration.getNano() / 60e9;
+    }
+
+    private static void checkOrder(double minimum, double mostLikely, double maximum) {
+        if (minimum > mostLikely || mostLikely > maximum) {
+            throw new IllegalArgumentException("Duration estimates must satisfy minimum <= most likely <= maximum.");
+        }
+    }
+
+    private static final class Triangular extends DurationDistribution {
+        private final double minimum;
+        private final double mostLikely;
+        private final double maximum;
+        private final double modeShare; // Доля площади слева от моды
+
+        Triangular(double minimum, double mostLikely, double maximum) {
+            checkOrder(minimum, mostLikely, maximum);
+            this.minimum = minimum;
+            this.mostLikely = mostLikely;
+            this.maximum = maximum;
+            this.modeShare = maximum > minimum ? (mostLikely - minimum) / (maximum - minimum) : 0;
+        }
+
+        // Обратная функция распределения
+        @Override
+        public double sampleMinutes(RandomGenerator random) {
+            double u = random.nextDouble();
+            double range = maximum - minimum;
+            if (u < modeShare) {
+                return minimum + Math.sqrt(u * range * (mostLikely - minimum));
+            }
+            return maximum - Math.sqrt((1 - u) * range * (maximum - mostLikely));
+        }
+
+        @Override
+        public double getMeanMinutes() {
+            return (minimum + mostLikely + maximum) / 3;
+        }
+    }
+
+    private static final class Pert extends DurationDistribution {
+        private final double minimum;
+        private final double range;
+        private final double alpha;
+        private final double beta;
+
+        Pert(double minimum, double mostLikely, double maximum) {
+            checkOrder(minimum, mostLikely, maximum);
+            this.minimum = minimum;
+            this.range = maximum - minimum;
+            this.alpha = range > 0 ? 1 + 4 * (mostLikely - minimum) / range : 1;
+            this.beta = range > 0 ? 1 + 4 * (maximum - mostLikely) / range : 1;
+        }
+
+        // Бета-величина через две гамма-величины
+        @Override
+        public double sampleMinutes(RandomGenerator random) {
+            if (range == 0) return minimum;
+            double x = gamma(alpha, random);
+            double y = gamma(beta, random);
+            return minimum + range * x / (x + y);
+        }
+
+        @Override
+        public double getMeanMinutes() {
+            return minimum + range * alpha / (alpha + beta);
+        }
+
+        // Гамма-распределение с параметром формы shape >= 1 (метод Марсальи-Цанга)
+        private static double gamma(double shape, RandomGenerator random) {
+            double d = shape - 1.0 / 3;
+            double c = 1 / Math.sqrt(9 * d);
+            while (true) {
+                double x = random.nextGaussian();
+                double v = 1 + c * x;
+                if (v <= 0) continue;
+                v = v * v * v;
+                double u = random.nextDouble();
+                if (u < 1 - 0.0331 * x * x * x * x || Math.log(u) < 0.5 * x * x + d * (1 - v + Math.log(v))) {
+                    return d * v;
+                }
+            }
+        }
+    }
+
+    private static final class Lognormal extends DurationDistribution {
+        private final double mu;
+        private final double sigma;
+
+        Lognormal(double mu, double sigma) {
+            this.mu = mu;
+            this.sigma = sigma;
+        }
+
+        @Override
+        public double sampleMinutes(RandomGenerator random) {
+            return Math.exp(mu + sigma * random.nextGaussian());
+        }
+
+        @Override
+        public double getMeanMinutes() {
+            return Math.exp(mu + sigma * sigma / 2);
+        }
+    }
+}
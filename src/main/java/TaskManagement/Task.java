@@ -1,19 +1,27 @@
 package TaskManagement;
 
 import CalendarManagement.Calendar;
+import CalendarManagement.WorkingTimeCalculator;
+import Monitoring.GanttMetrics;
+import Monitoring.QuietMode;
 import ResourceManagement.Resource;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
 
+import java.time.Clock;
 import java.time.DayOfWeek;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Objects;
 
 
 // Класс задачи
+@Slf4j
 @Getter
 @Setter
 public class Task {
@@ -46,6 +54,22 @@ public class Task {
     // Приоритет (по умолчанию 50, от 1 до 100)
     private int priority;
 
+    // Распределение длительности для анализа рисков (если не задано - длительность считается точной)
+    private DurationDistribution durationDistribution;
+
+    // Часы, по которым отмечаются фактические даты (при симуляции - виртуальные)
+    private Clock clock = Clock.systemDefaultZone();
+
+    // Слушатели изменений (проекты, в которые входит задача)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final List<TaskListener> listeners = new ArrayList<>();
+
+    // Маска полей, измененных с последнего сохранения (биты TaskField)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private int dirtyFields;
+
     // Конструктор
     public Task(String name, Duration estimatedDuration) {
         this.name = name;
@@ -72,18 +96,19 @@ public class Task {
 
     // Добавление "нижней" задачи
     public void addSubTask(Task subTask) {
-        System.out.println("Пытаемся добавить подзадачу: " + subTask.getName() + " к задаче: " + this.getName());
+        if (QuietMode.isDebugEnabled(log)) log.debug("Пытаемся добавить подзадачу: {} к задаче: {}", subTask.getName(), name);
 
         // Проверка на цикличность
-        if (this == subTask || subTask.getDependencies().contains(this)) {
-            System.out.println("Ошибка: подзадача вызывает цикл.");
+        if (this == subTask || containsTask(subTask.dependencies, this) || !fireBeforeEdgeAdded(this, subTask)) {
+            log.warn("Подзадача {} вызывает цикл с задачей {}.", subTask.getName(), name);
             return;
         }
 
         this.subTasks.add(subTask);
         subTask.dependencies.add(this);
+        fireEdgeAdded(this, subTask);
 
-        System.out.println("Подзадача " + subTask.getName() + " успешно добавлена.");
+        if (QuietMode.isDebugEnabled(log)) log.debug("Подзадача {} успешно добавлена к задаче {}.", subTask.getName(), name);
     }
 
 
@@ -93,53 +118,170 @@ public class Task {
     // Добавление списка "нижних" задач
     public void addSubTasks(List<Task> subTasksList) {
         for (Task subTask : subTasksList) {
-            if (this == subTask || subTask.getDependencies().contains(this)) {
+            if (this == subTask || containsTask(subTask.dependencies, this) || !fireBeforeEdgeAdded(this, subTask)) {
                 throw new IllegalArgumentException("Unable to add a subtask due to loop creation");
             }
             this.subTasks.add(subTask);
             subTask.dependencies.add(this);
+            fireEdgeAdded(this, subTask);
         }
     }
 
     // Добавление "верхней" задачи
     public void addDependentTask(Task dependentTask) {
-        if (this == dependentTask || dependentTask.getSubTasks().contains(this)) {
+        if (this == dependentTask || containsTask(dependentTask.subTasks, this) || !fireBeforeEdgeAdded(dependentTask, this)) {
             throw new IllegalArgumentException("Unable to add a dependency due to loop creation");
         }
         this.dependencies.add(dependentTask);
         dependentTask.subTasks.add(this);
+        fireEdgeAdded(dependentTask, this);
     }
 
     // Добавление списка "верхних" задач
     public void addDependentTasks(List<Task> dependentTasksList) {
         for (Task dependentTask : dependentTasksList) {
-            if (this == dependentTask || dependentTask.getSubTasks().contains(this)) {
+            if (this == dependentTask || containsTask(dependentTask.subTasks, this) || !fireBeforeEdgeAdded(dependentTask, this)) {
                 throw new IllegalArgumentException("Unable to add a dependency due to loop creation");
             }
             this.dependencies.add(dependentTask);
             dependentTask.subTasks.add(this);
+            fireEdgeAdded(dependentTask, this);
         }
     }
 
+    // Удаление "нижней" задачи
+    public void removeSubTask(Task subTask) {
+        if (removeTask(this.subTasks, subTask)) {
+            removeTask(subTask.dependencies, this);
+            fireEdgeRemoved(this, subTask);
+        }
+    }
+
+    // Удаление "верхней" задачи
+    public void removeDependentTask(Task dependentTask) {
+        dependentTask.removeSubTask(this);
+    }
+
+    // Списки связей сравнивают задачи по ссылке: equals сравнивает id,
+    // а у задач разных проектов id могут совпадать
+    private static boolean containsTask(List<Task> tasks, Task task) {
+        for (Task candidate : tasks) {
+            if (candidate == task) return true;
+        }
+        return false;
+    }
 
-    // Метод для проверки создания цикла
-    private boolean createsCycle(Task parentTask, Task subTask) {
-        if (subTask == parentTask) return true;
-        for (Task dependency : subTask.getDependencies()) {
-            if (createsCycle(parentTask, dependency)) {
+    private static boolean removeTask(List<Task> tasks, Task task) {
+        for (int i = 0; i < tasks.size(); i++) {
+            if (tasks.get(i) == task) {
+                tasks.remove(i);
                 return true;
             }
         }
         return false;
     }
 
+    // Подписка на изменения задачи
+    public void addListener(TaskListener listener) {
+        if (!listeners.contains(listener)) listeners.add(listener);
+    }
+
+    // Отписка от изменений задачи
+    public void removeListener(TaskListener listener) {
+        listeners.remove(listener);
+    }
+
+    // Уведомление слушателей обеих задач о новой связи
+    private static boolean fireBeforeEdgeAdded(Task parent, Task child) {
+        for (TaskListener listener : parent.listeners) {
+            if (!listener.beforeEdgeAdded(parent, child)) return false;
+        }
+        for (TaskListener listener : child.listeners) {
+            if (!parent.listeners.contains(listener) && !listener.beforeEdgeAdded(parent, child)) return false;
+        }
+        return true;
+    }
+
+    // Уведомление слушателей об изменении состояния задачи
+    private void fireChanged() {
+        for (TaskListener listener : listeners) {
+            listener.taskChanged(this);
+        }
+    }
+
+    // Отметка измененного поля
+    private synchronized void markDirty(TaskField field) {
+        dirtyFields |= field.bit();
+    }
+
+    // Есть ли несохраненные изменения
+    public synchronized boolean isDirty() {
+        return dirtyFields != 0;
+    }
+
+    // Измененные поля (отметки снимаются)
+    public synchronized EnumSet<TaskField> takeDirtyFields() {
+        EnumSet<TaskField> fields = EnumSet.noneOf(TaskField.class);
+        for (TaskField field : TaskField.values()) {
+            if ((dirtyFields & field.bit()) != 0) fields.add(field);
+        }
+        dirtyFields = 0;
+        return fields;
+    }
+
+    // Смена статуса с уведомлением слушателей
+    private void changeStatusTo(TaskStatus newStatus) {
+        TaskStatus previous = this.status;
+        this.status = newStatus;
+        if (previous != newStatus) {
+            markDirty(TaskField.STATUS);
+            for (TaskListener listener : listeners) {
+                listener.statusChanged(this, previous);
+            }
+        }
+    }
+
+    // Смена исполнителя с уведомлением слушателей
+    private void changeResourceTo(Resource newResource) {
+        Resource previous = this.assignedResource;
+        this.assignedResource = newResource;
+        if (previous != newResource) {
+            markDirty(TaskField.RESOURCE);
+            for (TaskListener listener : listeners) {
+                listener.resourceChanged(this, previous);
+            }
+        }
+    }
+
+    // Уведомление слушателей обеих задач о добавленной связи
+    private static void fireEdgeAdded(Task parent, Task child) {
+        for (TaskListener listener : parent.listeners) {
+            listener.edgeAdded(parent, child);
+        }
+        for (TaskListener listener : child.listeners) {
+            if (!parent.listeners.contains(listener)) listener.edgeAdded(parent, child);
+        }
+    }
+
+    // Уведомление слушателей обеих задач об удалении связи
+    private static void fireEdgeRemoved(Task parent, Task child) {
+        for (TaskListener listener : parent.listeners) {
+            listener.edgeRemoved(parent, child);
+        }
+        for (TaskListener listener : child.listeners) {
+            if (!parent.listeners.contains(listener)) listener.edgeRemoved(parent, child);
+        }
+    }
+
     // Начало задачи
     public void start() {
         if (canStart()) {
             // Сначала начинаем главную задачу
-            this.status = TaskStatus.IN_PROGRESS;
-            this.factualStartDate = LocalDateTime.now();
-            System.out.println("Задача " + name + " начата.");
+            changeStatusTo(TaskStatus.IN_PROGRESS);
+            this.factualStartDate = LocalDateTime.now(clock);
+            markDirty(TaskField.FACTUAL_DATES);
+            fireChanged();
+            if (QuietMode.isInfoEnabled(log)) log.info("Задача {} начата.", name);
 
             // После завершения главной задачи начинаем подзадачи
             for (Task subTask : subTasks) {
@@ -149,7 +291,7 @@ public class Task {
                 }
             }
         } else {
-            System.out.println("Невозможно начать задачу " + name + ". Зависимые задачи не завершены.");
+            log.warn("Невозможно начать задачу {}. Зависимые задачи не завершены.", name);
         }
     }
 
@@ -157,30 +299,36 @@ public class Task {
     // Переключение ПАУЗА-ПРОГРЕСС
     public void togglePauseTask() {
         if(this.status==TaskStatus.IN_PROGRESS) {
-            this.status = TaskStatus.PAUSED;
-            pauseStartTime = LocalDateTime.now();
-            System.out.println("Задача " + name + " приостановлена.");
+            changeStatusTo(TaskStatus.PAUSED);
+            pauseStartTime = LocalDateTime.now(clock);
+            markDirty(TaskField.PAUSE);
+            fireChanged();
+            if (QuietMode.isInfoEnabled(log)) log.info("Задача {} приостановлена.", name);
         } else if(this.status==TaskStatus.PAUSED) {
-            this.status = TaskStatus.IN_PROGRESS;
-            Duration pauseDuration = Duration.between(pauseStartTime, LocalDateTime.now());
+            changeStatusTo(TaskStatus.IN_PROGRESS);
+            Duration pauseDuration = Duration.between(pauseStartTime, LocalDateTime.now(clock));
             totalPauseDuration = totalPauseDuration.plus(pauseDuration);
-            System.out.println("Задача " + name + " возобновлена.");
+            markDirty(TaskField.PAUSE);
+            fireChanged();
+            if (QuietMode.isInfoEnabled(log)) log.info("Задача {} возобновлена.", name);
         }
     }
 
     // Завершение задачи
     public void complete() {
         if (this.status == TaskStatus.IN_PROGRESS) {
-            this.status = TaskStatus.COMPLETED;
-            this.factualEndDate = LocalDateTime.now();
-            this.factualDuration = Duration.between(factualStartDate, LocalDateTime.now())
+            changeStatusTo(TaskStatus.COMPLETED);
+            this.factualEndDate = LocalDateTime.now(clock);
+            this.factualDuration = Duration.between(factualStartDate, factualEndDate)
                     .minus(totalPauseDuration);
-            System.out.println("Задача " + name + " завершена. " +
-                    "Фактическая продолжительность: " + factualDuration +
-                    "   Длительность перерывов: " + totalPauseDuration +
-                    "   Время окончания задачи: " + factualEndDate);
+            markDirty(TaskField.FACTUAL_DATES);
+            fireChanged();
+            if (QuietMode.isInfoEnabled(log)) {
+                log.info("Задача {} завершена. Фактическая продолжительность: {}   Длительность перерывов: {}   Время окончания задачи: {}",
+                        name, factualDuration, totalPauseDuration, factualEndDate);
+            }
         } else {
-            System.out.println("Задачу нельзя завершить, так как она не выполняется.");
+            log.warn("Задачу {} нельзя завершить, так как она не выполняется.", name);
         }
     }
 
@@ -191,7 +339,7 @@ public class Task {
                 if (dependentTask.getEstimatedStartDate() == null || dependentTask.getEstimatedStartDate().isBefore(this.factualEndDate)) {
                     dependentTask.setEstimatedStartDate(this.factualEndDate.plusHours(1)); // Задача начнется через час после завершения
                     dependentTask.updateEstimatedEndDate(); // Пересчитываем оценочную дату окончания для зависимой задачи
-                    System.out.println("Расписание для зависимой задачи " + dependentTask.getName() + " пересчитано.");
+                    if (QuietMode.isDebugEnabled(log)) log.debug("Расписание для зависимой задачи {} пересчитано.", dependentTask.getName());
                 }
             }
 
@@ -199,7 +347,7 @@ public class Task {
                 if (subTask.getEstimatedStartDate() == null || subTask.getEstimatedStartDate().isBefore(this.factualEndDate)) {
                     subTask.setEstimatedStartDate(this.factualEndDate.plusHours(1)); // Задача начнется через час после завершения
                     subTask.updateEstimatedEndDate(); // Пересчитываем оценочную дату окончания для подзадачи
-                    System.out.println("Расписание для подзадачи " + subTask.getName() + " пересчитано.");
+                    if (QuietMode.isDebugEnabled(log)) log.debug("Расписание для подзадачи {} пересчитано.", subTask.getName());
                 }
             }
         }
@@ -208,7 +356,7 @@ public class Task {
 
     public void changeStatus(TaskStatus newStatus) {
         if (this.status == newStatus) {
-            System.out.println("Статус задачи " + name + " уже установлен: " + newStatus);
+            if (QuietMode.isDebugEnabled(log)) log.debug("Статус задачи {} уже установлен: {}", name, newStatus);
             return;
         }
 
@@ -219,7 +367,7 @@ public class Task {
                     start();
                     recalculateSchedule();
                 } else {
-                    System.out.println("Невозможно начать задачу " + name);
+                    log.warn("Невозможно начать задачу {}", name);
                 }
                 break;
 
@@ -228,7 +376,7 @@ public class Task {
                     complete();
                     recalculateSchedule();
                 } else {
-                    System.out.println("Невозможно завершить задачу " + name + " из статуса " + this.status);
+                    log.warn("Невозможно завершить задачу {} из статуса {}", name, this.status);
                 }
                 break;
 
@@ -241,28 +389,29 @@ public class Task {
                 if (this.status == TaskStatus.IN_PROGRESS) {
                     togglePauseTask();
                 } else {
-                    System.out.println("Невозможно поставить задачу " + name + " на паузу");
+                    log.warn("Невозможно поставить задачу {} на паузу", name);
                 }
                 break;
 
             default:
-                System.out.println("Статус " + newStatus + " не поддерживается для задачи " + name);
+                log.warn("Статус {} не поддерживается для задачи {}", newStatus, name);
                 break;
         }
 
-        System.out.println("Статус задачи " + name + " изменен на " + newStatus);
+        if (QuietMode.isInfoEnabled(log)) log.info("Статус задачи {} изменен на {}", name, newStatus);
     }
 
 
     // Назначение исполнителя
     public void assignResource(Resource resource) {
-        if(this.getAssignedResource()!=null) System.out.println("Этой задаче уже присвоен исполнитель.");
+        if(this.getAssignedResource()!=null) log.warn("Задаче {} уже присвоен исполнитель.", name);
         else {
             if (this.status == TaskStatus.NOT_STARTED || this.status == TaskStatus.PAUSED) {
-                this.assignedResource = resource;
-                System.out.println("Задача " + name + " назначена исполнителю " + resource.getName());
+                changeResourceTo(resource);
+                fireChanged();
+                if (QuietMode.isInfoEnabled(log)) log.info("Задача {} назначена исполнителю {}", name, resource.getName());
             } else {
-                System.out.println("Невозможно назначить исполнителя на уже начатую или завершённую задачу.");
+                log.warn("Невозможно назначить исполнителя на уже начатую или завершённую задачу {}.", name);
             }
         }
     }
@@ -276,7 +425,7 @@ public class Task {
             assignResource(newResource);
             togglePauseTask();
         } else {
-            System.out.println("Невозможно переназначить ресурс для завершённой или отменённой задачи.");
+            log.warn("Невозможно переназначить ресурс для завершённой или отменённой задачи {}.", name);
         }
     }
 
@@ -285,44 +434,80 @@ public class Task {
         return dateTime.getHour() >= startHour && dateTime.getHour() < endHour && dateTime.getDayOfWeek() != DayOfWeek.SATURDAY && dateTime.getDayOfWeek() != DayOfWeek.SUNDAY;
     }
 
-    // Расчет оценочной даты окончания задачи
+    // Расчет оценочной даты окончания задачи (по пересечению календарей проекта и исполнителя)
     public LocalDateTime calculateEndDate(LocalDateTime startDate, Duration duration, Calendar projectCalendar, Calendar resourceCalendar) {
-        if (startDate == null || duration == null) {
-            return null;
-        }
-
-        LocalDateTime currentDateTime = startDate;
-        long minutesLeft = duration.toMinutes();
-
-        while (minutesLeft > 0) {
-            boolean isWorkHour = true;
-            if (projectCalendar != null) isWorkHour = projectCalendar.isWorkHour(currentDateTime);
-            if (resourceCalendar != null) isWorkHour = isWorkHour && resourceCalendar.isWorkHour(currentDateTime);
-            if (isWorkHour) minutesLeft--;
-            currentDateTime = currentDateTime.plusMinutes(1);
-            if (!isWorkHour) {
-                currentDateTime = projectCalendar != null
-                        ? projectCalendar.getNextWorkingTime(currentDateTime)
-                        : resourceCalendar.getNextWorkingTime(currentDateTime);
-            }
-        }
-
-        return currentDateTime;
+        long start = GanttMetrics.start();
+        LocalDateTime endDate = WorkingTimeCalculator.addWorkingTime(startDate, duration, projectCalendar, resourceCalendar);
+        GanttMetrics.stop(GanttMetrics.Phase.END_DATE, start);
+        return endDate;
     }
 
     public void cancelTask() {
         if (this.status == TaskStatus.IN_PROGRESS || this.status == TaskStatus.PAUSED || this.status == TaskStatus.NOT_STARTED) {
-            this.status = TaskStatus.CANCELLED;
-            System.out.println("Задача " + name + " отменена.");
+            changeStatusTo(TaskStatus.CANCELLED);
+            fireChanged();
+            if (QuietMode.isInfoEnabled(log)) log.info("Задача {} отменена.", name);
 
         } else {
-            System.out.println("Нельзя отменить задачу, которая уже завершена.");
+            log.warn("Нельзя отменить задачу {}, которая уже завершена.", name);
         }
     }
 
     // Обновление estimatedEndDate при изменении estimatedStartDate или estimatedDuration
     public void updateEstimatedEndDate() {
         this.estimatedEndDate = calculateEndDate(this.estimatedStartDate, this.estimatedDuration, this.calendar, this.resourceCalendar);
+        markDirty(TaskField.ESTIMATED_DATES);
+        fireChanged();
+    }
+
+    public void setEstimatedEndDate(LocalDateTime newEndDate) {
+        this.estimatedEndDate = newEndDate;
+        markDirty(TaskField.ESTIMATED_DATES);
+        fireChanged();
+    }
+
+    public void setFactualStartDate(LocalDateTime newStartDate) {
+        this.factualStartDate = newStartDate;
+        markDirty(TaskField.FACTUAL_DATES);
+        fireChanged();
+    }
+
+    public void setFactualEndDate(LocalDateTime newEndDate) {
+        this.factualEndDate = newEndDate;
+        markDirty(TaskField.FACTUAL_DATES);
+        fireChanged();
+    }
+
+    // Смена id меняет хеш: задачу, уже лежащую в хеш-коллекциях по значению, нужно сначала оттуда убрать.
+    // Id задачи уникален в проекте: id, занятый другой задачей проекта, отклоняется
+    public void setId(Long newId) {
+        Long previous = this.id;
+        if (Objects.equals(previous, newId)) return;
+        for (TaskListener listener : listeners) {
+            if (!listener.beforeIdChanged(this, newId)) {
+                throw new IllegalArgumentException("Task id " + newId + " is already used in the project");
+            }
+        }
+        this.id = newId;
+        for (TaskListener listener : listeners) listener.idChanged(this, previous);
+    }
+
+    public void setName(String newName) {
+        String previous = this.name;
+        this.name = newName;
+        markDirty(TaskField.NAME);
+        for (TaskListener listener : listeners) listener.nameChanged(this, previous);
+        fireChanged();
+    }
+
+    public void setStatus(TaskStatus newStatus) {
+        changeStatusTo(newStatus);
+        fireChanged();
+    }
+
+    public void setAssignedResource(Resource newResource) {
+        changeResourceTo(newResource);
+        fireChanged();
     }
 
     public void setEstimatedStartDate(LocalDateTime newStartDate) {
@@ -332,6 +517,10 @@ public class Task {
 
     public void setEstimatedDuration(Duration newDuration) {
         this.estimatedDuration = newDuration;
+        markDirty(TaskField.DURATION);
+        for (TaskListener listener : listeners) {
+            listener.durationChanged(this);
+        }
         updateEstimatedEndDate();
     }
 
@@ -347,8 +536,12 @@ public class Task {
 
     // Назначить приоритет
     public void setPriority(int priority) {
-        if(priority>0 && priority<=100) this.priority = priority;
-        else System.out.println("Priority must be over 0 and less than 100");
+        if(priority>0 && priority<=100) {
+            this.priority = priority;
+            markDirty(TaskField.PRIORITY);
+            for (TaskListener listener : listeners) listener.priorityChanged(this);
+        }
+        else log.warn("Priority must be over 0 and less than 100");
     }
 
     public boolean hasDependencies() {
@@ -367,16 +560,18 @@ public class Task {
         return "Task{" + name + "}";
     }
 
+    // Задачи равны при одинаковом id (имена могут повторяться); задача без id равна только самой себе
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Task task = (Task) o;
-        return Objects.equals(name, task.name);
+        return id != null && id.equals(task.id);
     }
 
+    // Хеш по id, у задачи без id - по ссылке (согласован с equals)
     @Override
     public int hashCode() {
-        return Objects.hash(name);
+        return id != null ? Long.hashCode(id) : System.identityHashCode(this);
     }
 }
@@ -0,0 +1,18 @@
+package TaskManagement;
+
+// Сохраняемые поля задачи (для отслеживания измененных полей)
+public enum TaskField {
+    NAME,
+    DURATION,
+    ESTIMATED_DATES,
+    FACTUAL_DATES,
+    STATUS,
+    PRIORITY,
+    RESOURCE,
+    PAUSE; // Начало текущей паузы и суммарная пауза
+
+    // Бит поля в маске
+    public int bit() {
+        return 1 << ordinal();
+    }
+}
@@ -0,0 +1,53 @@
+package TaskManagement;
+
+import ResourceManagement.Resource;
+
+// Слушатель изменений задачи (через него проект поддерживает свои индексы)
+public interface TaskListener {
+
+    // Перед добавлением связи parent -> child (false запрещает связь)
+    default boolean beforeEdgeAdded(Task parent, Task child) {
+        return true;
+    }
+
+    // После добавления связи parent -> child
+    default void edgeAdded(Task parent, Task child) {
+    }
+
+    // После удаления связи parent -> child
+    default void edgeRemoved(Task parent, Task child) {
+    }
+
+    // После изменения приоритета задачи
+    default void priorityChanged(Task task) {
+    }
+
+    // После изменения оценочной длительности задачи
+    default void durationChanged(Task task) {
+    }
+
+    // После смены исполнителя задачи
+    default void resourceChanged(Task task, Resource previous) {
+    }
+
+    // После смены статуса задачи
+    default void statusChanged(Task task, TaskStatus previous) {
+    }
+
+    // Перед сменой id задачи (false запрещает смену)
+    default boolean beforeIdChanged(Task task, Long newId) {
+        return true;
+    }
+
+    // После смены id задачи
+    default void idChanged(Task task, Long previous) {
+    }
+
+    // После переименования задачи
+    default void nameChanged(Task task, String previous) {
+    }
+
+    // После изменения состояния задачи (сроки, статус, исполнитель)
+    default void taskChanged(Task task) {
+    }
+}
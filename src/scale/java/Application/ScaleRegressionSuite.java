@@ -0,0 +1,261 @@
+package Application;
+
+import Monitoring.QuietMode;
+import ProjectManagement.Project;
+import ProjectManagement.ProjectGenerator;
+import ProjectManagement.ProjectJsonLoader;
+import TaskManagement.Task;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Проверка масштабируемости на синтетических проектах.
+// Каждый сценарий генерирует проект (ProjectGenerator, фиксированный seed) и замеряет операции над ним;
+// время каждой операции и пиковый объем занятой кучи за сценарий сравниваются с порогами из scale-ceilings.properties.
+// Превышение любого порога - ненулевой код выхода. Сценарии подобраны под известные обрывы масштабирования:
+// длинные задачи с праздниками (поминутный обход календаря), глубокая цепочка (перерасчет только на один уровень),
+// широкий граф (квадратичные проходы), большой JSON (загрузка).
+// Аргументы: имена сценариев (по умолчанию все, кроме больших), --large - добавить большие сценарии,
+// --record - записать замеры с запасом в target/scale-ceilings.properties (для обновления порогов).
+public class ScaleRegressionSuite {
+
+    private static final String CEILINGS = "/scale-ceilings.properties";
+    private static final Path RECORDED_CEILINGS = Paths.get("target", "scale-ceilings.properties");
+    private static final double RECORD_MARGIN = 1.5;
+    // Нижние границы записываемых порогов: короткие замеры слишком шумные для порога "с запасом"
+    private static final long MIN_MILLIS_CEILING = 100;
+    private static final long MIN_MEGABYTES_CEILING = 32;
+
+    // Замеряемая операция сценария
+    @FunctionalInterface
+    private interface Step {
+        void run(Project project) throws Exception;
+    }
+
+    private static final class Scenario {
+        final String name;
+        final boolean large;
+        final ProjectGenerator generator;
+        final boolean loadFromJson; // Проект не генерируется в памяти, а загружается из JSON (шаг load)
+        final Map<String, Step> steps = new LinkedHashMap<>();
+
+        Scenario(String name, boolean large, ProjectGenerator generator, boolean loadFromJson) {
+            this.name = name;
+            this.large = large;
+            this.generator = generator;
+            this.loadFromJson = loadFromJson;
+        }
+
+        Scenario step(String stepName, Step step) {
+            steps.put(stepName, step);
+            return this;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        boolean large = false;
+        boolean record = false;
+        Set<String> selected = new HashSet<>();
+        for (String arg : args) {
+            switch (arg) {
+                case "--large" -> large = true;
+                case "--record" -> record = true;
+                default -> selected.add(arg);
+            }
+        }
+
+        Properties ceilings = new Properties();
+        try (InputStream in = ScaleRegressionSuite.class.getResourceAsStream(CEILINGS)) {
+            if (in != null) ceilings.load(in);
+        }
+        Properties measured = new Properties();
+        List<String> failures = new ArrayList<>();
+
+        // Сообщения задач о своих действиях на время замеров отключаются
+        PrintStream console = System.out;
+        boolean quiet = QuietMode.isGlobal();
+        QuietMode.setGlobal(true);
+        try {
+            for (Scenario scenario : scenarios()) {
+                if (selected.isEmpty() ? scenario.large && !large : !selected.contains(scenario.name)) continue;
+                run(scenario, console, ceilings, measured, failures);
+            }
+        } finally {
+            QuietMode.setGlobal(quiet);
+        }
+
+        if (record) {
+            Files.createDirectories(RECORDED_CEILINGS.getParent());
+            try (Writer out = Files.newBufferedWriter(RECORDED_CEILINGS, StandardCharsets.UTF_8)) {
+                measured.store(out, "Measured values x" + RECORD_MARGIN);
+            }
+            System.out.println("Пороги записаны в " + RECORDED_CEILINGS.toAbsolutePath());
+        }
+
+        if (failures.isEmpty()) {
+            System.out.println("Все пороги соблюдены");
+        } else {
+            System.out.println("Превышены пороги:");
+            for (String failure : failures) System.out.println("  " + failure);
+            System.exit(1);
+        }
+    }
+
+    private static List<Scenario> scenarios() {
+        List<Scenario> scenarios = new ArrayList<>();
+
+        ProjectGenerator wide = new ProjectGenerator(1, 200_000);
+        wide.setLayerWidth(2_000);
+        wide.setMaxFanIn(4);
+        wide.setResourceCount(500);
+        wide.setCalendarCount(8);
+        scenarios.add(new Scenario("wide", false, wide, false)
+                .step("schedule", Project::calculateSchedule)
+                .step("reschedule", ScaleRegressionSuite::rescheduleFirstTask)
+                .step("critical-path", Project::calculateCriticalPath));
+
+        ProjectGenerator deep = new ProjectGenerator(2, 50_000);
+        deep.setLayerWidth(1);
+        deep.setMaxFanIn(1);
+        deep.setLookbackLayers(1);
+        deep.setHubShare(0);
+        deep.setResourceCount(20);
+        scenarios.add(new Scenario("deep", false, deep, false)
+                .step("schedule", Project::calculateSchedule)
+                .step("reschedule", ScaleRegressionSuite::rescheduleFirstTask));
+
+        ProjectGenerator longTasks = new ProjectGenerator(3, 20_000);
+        longTasks.setMinDuration(Duration.ofHours(200));
+        longTasks.setMaxDuration(Duration.ofHours(4_000));
+        longTasks.setHolidayDensity(0.1);
+        longTasks.setCalendarYears(60);
+        scenarios.add(new Scenario("long-durations", false, longTasks, false)
+                .step("schedule", Project::calculateSchedule));
+
+        ProjectGenerator json = new ProjectGenerator(4, 200_000);
+        json.setLayerWidth(1_000);
+        scenarios.add(new Scenario("json", false, json, true)
+                .step("schedule", Project::calculateSchedule));
+
+        ProjectGenerator million = new ProjectGenerator(5, 1_000_000);
+        million.setLayerWidth(5_000);
+        million.setResourceCount(2_000);
+        scenarios.add(new Scenario("million", true, million, false)
+                .step("schedule", Project::calculateSchedule)
+                .step("reschedule", ScaleRegressionSuite::rescheduleFirstTask));
+
+        return scenarios;
+    }
+
+    // Изменение длительности первой задачи и перерасчет ее нисходящего конуса
+    private static void rescheduleFirstTask(Project project) {
+        Task first = project.getSortedTasks().get(0);
+        first.setEstimatedDuration(first.getEstimatedDuration().plusHours(8));
+        project.recalculateProjectSchedule();
+    }
+
+    private static void run(Scenario scenario, PrintStream console, Properties ceilings, Properties measured,
+                            List<String> failures) throws Exception {
+        console.println("Сценарий " + scenario.name + ": " + scenario.generator.getTaskCount() + " задач");
+        System.gc();
+        HeapSampler heap = new HeapSampler();
+        heap.start();
+
+        Project project;
+        Path file = null;
+        try {
+            if (scenario.loadFromJson) {
+                file = Files.createTempFile("gantt-scale", ".json");
+                scenario.generator.writeJson(file);
+                long start = System.nanoTime();
+                project = ProjectJsonLoader.load(file, scenario.name);
+                check(scenario.name + ".load", (System.nanoTime() - start) / 1_000_000, MIN_MILLIS_CEILING, "мс", console, ceilings, measured, failures);
+            } else {
+                project = scenario.generator.generateProject();
+            }
+
+            for (Map.Entry<String, Step> step : scenario.steps.entrySet()) {
+                long start = System.nanoTime();
+                step.getValue().run(project);
+                check(scenario.name + "." + step.getKey(), (System.nanoTime() - start) / 1_000_000, MIN_MILLIS_CEILING, "мс", console, ceilings, measured, failures);
+            }
+        } finally {
+            heap.stop();
+            if (file != null) Files.deleteIfExists(file);
+        }
+
+        check(scenario.name + ".heapMb", heap.peakBytes() >> 20, MIN_MEGABYTES_CEILING, "МБ", console, ceilings, measured, failures);
+    }
+
+    // Пиковый объем занятой кучи: общий объем (все области вместе) опрашивается фоновым потоком.
+    // Пики отдельных областей складывать нельзя - они достигаются в разные моменты, и сумма завышает замер.
+    // Пик между опросами может быть пропущен, поэтому замер - нижняя оценка с точностью до интервала опроса
+    private static final class HeapSampler implements Runnable {
+        private static final long INTERVAL_MILLIS = 5;
+
+        private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        private final AtomicLong peak = new AtomicLong();
+        private volatile boolean running;
+        private Thread thread;
+
+        void start() {
+            running = true;
+            sample();
+            thread = new Thread(this, "heap-sampler");
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        void stop() throws InterruptedException {
+            running = false;
+            thread.join();
+            sample();
+        }
+
+        long peakBytes() {
+            return peak.get();
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                sample();
+                try {
+                    Thread.sleep(INTERVAL_MILLIS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+
+        private void sample() {
+            long used = memory.getHeapMemoryUsage().getUsed();
+            peak.accumulateAndGet(used, Math::max);
+        }
+    }
+
+    private static void check(String key, long value, long minimumCeiling, String unit, PrintStream console,
+                              Properties ceilings, Properties measured, List<String> failures) {
+        measured.setProperty(key, Long.toString(Math.max(minimumCeiling, (long) Math.ceil(value * RECORD_MARGIN))));
+        String ceiling = ceilings.getProperty(key);
+        if (ceiling == null) {
+            console.printf("  %-28s %8d %s (порог не задан)%n", key, value, unit);
+        } else if (value > Long.parseLong(ceiling.trim())) {
+            console.printf("  %-28s %8d %s > %s - ПРЕВЫШЕН%n", key, value, unit, ceiling.trim());
+            failures.add(key + ": " + value + " " + unit + " > " + ceiling.trim());
+        } else {
+            console.printf("  %-28s %8d %s <= %s%n", key, value, unit, ceiling.trim());
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package Application.RealTimeExecution;
+
+import ProjectManagement.Project;
+import ResourceManagement.Resource;
+import TaskManagement.Task;
+import TaskManagement.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Выполнение задач: порядок зависимостей, одна задача исполнителя за раз; отмена запуска не отменяет задачи
+class ProjectExecutorTests {
+
+    private static Project project(int tasks, int resources, long seed) {
+        Random random = new Random(seed);
+        Project project = new Project("P", null);
+        List<Resource> resourceList = new ArrayList<>();
+        for (int i = 0; i < resources; i++) {
+            Resource resource = new Resource("R" + i, null);
+            resourceList.add(resource);
+            project.addResource(resource);
+        }
+        List<Task> taskList = new ArrayList<>();
+        for (int i = 0; i < tasks; i++) {
+            Task task = new Task("T" + i, Duration.ofHours(1));
+            task.setAssignedResource(resourceList.get(random.nextInt(resources)));
+            task.setPriority(1 + random.nextInt(100));
+            taskList.add(task);
+        }
+        for (int i = 0; i < tasks; i++) {
+            int from = random.nextInt(tasks);
+            int to = random.nextInt(tasks);
+            if (from < to) taskList.get(from).addSubTask(taskList.get(to));
+        }
+        project.addTasks(taskList);
+        return project;
+    }
+
+    @Test
+    void tasksRunAfterDependenciesAndOnePerResource() throws InterruptedException {
+        Project project = project(60, 4, 1);
+        Map<Resource, AtomicInteger> running = new ConcurrentHashMap<>();
+        Set<Task> finished = ConcurrentHashMap.newKeySet();
+        List<String> violations = Collections.synchronizedList(new ArrayList<>());
+        ProjectExecutor executor = new ProjectExecutor(project, task -> {
+            for (Task dependency : task.getDependencies()) {
+                if (!finished.contains(dependency)) violations.add(task.getName() + " before " + dependency.getName());
+            }
+            AtomicInteger counter = running.computeIfAbsent(task.getAssignedResource(), r -> new AtomicInteger());
+            if (counter.incrementAndGet() > 1) violations.add("resource " + task.getAssignedResource().getName() + " is busy");
+            Thread.sleep(1);
+            counter.decrementAndGet();
+            finished.add(task);
+        });
+
+        executor.execute();
+        assertEquals(List.of(), violations);
+        assertEquals(60, executor.getCompletedCount());
+        assertEquals(0, executor.getSkippedCount());
+        for (Task task : project.getTasks()) assertEquals(TaskStatus.COMPLETED, task.getStatus());
+    }
+
+    @Test
+    void cancelledRunLeavesTasksForNextRun() throws InterruptedException {
+        Project project = project(20, 20, 2);
+        CountDownLatch started = new CountDownLatch(1);
+        ProjectExecutor executor = new ProjectExecutor(project, task -> {
+            started.countDown();
+            Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+        });
+        executor.start();
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        executor.cancel();
+        assertTrue(executor.isCancelled());
+
+        int inProgress = 0;
+        for (Task task : project.getTasks()) {
+            assertNotEquals(TaskStatus.CANCELLED, task.getStatus(), task.getName());
+            if (task.getStatus() == TaskStatus.IN_PROGRESS) inProgress++;
+        }
+        assertTrue(inProgress > 0);
+
+        // Следующий запуск продолжает начатые задачи и выполняет остальные
+        ProjectExecutor next = new ProjectExecutor(project, task -> { });
+        next.execute();
+        assertEquals(20, next.getCompletedCount());
+        for (Task task : project.getTasks()) assertEquals(TaskStatus.COMPLETED, task.getStatus());
+    }
+
+    @Test
+    void factualDatesAreMarkedByExecutionClock() throws InterruptedException {
+        Project project = project(10, 2, 3);
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 9, 0);
+        VirtualClock clock = new VirtualClock(start);
+        // Работа задачи переводит модельное время; задачи одного исполнителя идут по одной,
+        // поэтому окончание каждой задачи не раньше ее начала
+        ProjectExecutor executor = new ProjectExecutor(project, task -> {
+            synchronized (clock) {
+                clock.advanceTo(clock.getTime().plusMinutes(30));
+            }
+        }, clock);
+        executor.execute();
+
+        assertEquals(10, executor.getCompletedCount());
+        LocalDateTime last = start.plusMinutes(30 * 10);
+        for (Task task : project.getTasks()) {
+            assertFalse(task.getFactualStartDate().isBefore(start), task.getName());
+            assertFalse(task.getFactualEndDate().isBefore(task.getFactualStartDate()), task.getName());
+            assertFalse(task.getFactualEndDate().isAfter(last), task.getName());
+        }
+        assertEquals(last, clock.getTime());
+    }
+}
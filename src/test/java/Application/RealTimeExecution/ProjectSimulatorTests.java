@@ -0,0 +1,78 @@
+package Application.RealTimeExecution;
+
+import ProjectManagement.Project;
+import ResourceManagement.Resource;
+import TaskManagement.Task;
+import TaskManagement.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Симуляция дает модельные даты каждой задачи: после зависимостей, по одной у исполнителя, по приоритету
+class ProjectSimulatorTests {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    @Test
+    void simulatedDatesFollowDependenciesAndResources() {
+        Project project = new Project("P", null);
+        Resource resource = new Resource("R", null);
+        project.addResource(resource);
+        Task design = new Task("Design", Duration.ofHours(2));
+        Task low = new Task("Low", Duration.ofHours(1));
+        Task high = new Task("High", Duration.ofHours(3));
+        Task free = new Task("Free", Duration.ofHours(4));
+        low.assignResource(resource);
+        high.assignResource(resource);
+        low.setPriority(10);
+        high.setPriority(90);
+        design.addSubTasks(List.of(low, high));
+        project.addTasks(List.of(design, low, high, free));
+
+        ProjectSimulator simulator = new ProjectSimulator(project);
+        LocalDateTime end = simulator.simulate(START);
+
+        assertEquals(START, simulator.getStartDate(design));
+        assertEquals(START.plusHours(2), simulator.getEndDate(design));
+        assertEquals(START.plusHours(2), simulator.getStartDate(high));
+        assertEquals(START.plusHours(5), simulator.getEndDate(high));
+        assertEquals(START.plusHours(5), simulator.getStartDate(low));
+        assertEquals(START.plusHours(6), simulator.getEndDate(low));
+        assertEquals(START, simulator.getStartDate(free));
+        assertEquals(START.plusHours(4), simulator.getEndDate(free));
+        assertEquals(START.plusHours(6), end);
+        assertEquals(4, simulator.getCompletedCount());
+        assertEquals(4, simulator.getStartDates().size());
+
+        // Задачи проекта не изменяются
+        assertEquals(TaskStatus.NOT_STARTED, low.getStatus());
+        assertNull(low.getFactualStartDate());
+    }
+
+    @Test
+    void skippedAndCompletedTasksHaveNoSimulatedDates() {
+        Project project = new Project("P", null);
+        Task cancelled = new Task("Cancelled", Duration.ofHours(1));
+        Task follower = new Task("Follower", Duration.ofHours(1));
+        Task other = new Task("Other", Duration.ofHours(1));
+        cancelled.addSubTask(follower);
+        project.addTasks(List.of(cancelled, follower, other));
+        cancelled.cancelTask();
+
+        ProjectSimulator simulator = new ProjectSimulator(project);
+        simulator.simulate(START);
+        assertNull(simulator.getStartDate(cancelled));
+        assertNull(simulator.getEndDate(follower));
+        assertEquals(START.plusHours(1), simulator.getEndDate(other));
+        assertEquals(2, simulator.getSkippedCount());
+
+        // Повторная симуляция заменяет результат предыдущей
+        simulator.simulate(START.plusDays(1));
+        assertEquals(START.plusDays(1), simulator.getStartDate(other));
+        assertEquals(1, simulator.getEndDates().size());
+    }
+}
@@ -0,0 +1,34 @@
+package CalendarManagement;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Календарь хранит свои копии выходных: изменение чужого массива не обходит сброс скомпилированного календаря
+class CalendarTests {
+
+    private static final LocalDate SATURDAY = LocalDate.of(2024, 1, 6);
+    private static final LocalDate MONDAY = LocalDate.of(2024, 1, 8);
+
+    @Test
+    void weekendsArraysAreCopied() {
+        int[] weekends = {6, 7};
+        Calendar calendar = new Calendar(9, 17, new ArrayList<>(), weekends);
+        assertFalse(calendar.isWorkDay(SATURDAY));
+
+        weekends[0] = 1;
+        calendar.getWeekends()[1] = 1;
+        assertArrayEquals(new int[]{6, 7}, calendar.getWeekends());
+        assertFalse(calendar.isWorkDay(SATURDAY));
+        assertTrue(calendar.isWorkDay(MONDAY));
+
+        int[] replaced = {1};
+        calendar.setWeekends(replaced);
+        replaced[0] = 6;
+        assertFalse(calendar.isWorkDay(MONDAY));
+        assertTrue(calendar.isWorkDay(SATURDAY));
+    }
+}
@@ -0,0 +1,106 @@
+package CalendarManagement;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Расчет по интервалам сравнивается с прежним поминутным обходом календаря (Task.calculateEndDate)
+class WorkingTimeCalculatorTests {
+
+    private static final int[] SATURDAY_SUNDAY = {6, 7};
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2024, 10, 7, 0, 0);
+
+    // Прежний поминутный обход: час окончания рабочего дня входит в рабочее время
+    private static LocalDateTime minuteLoop(LocalDateTime startDate, Duration duration,
+                                            Calendar projectCalendar, Calendar resourceCalendar) {
+        LocalDateTime currentDateTime = startDate;
+        long minutesLeft = duration.toMinutes();
+        while (minutesLeft > 0) {
+            boolean isWorkHour = true;
+            if (projectCalendar != null) isWorkHour = projectCalendar.isWorkHour(currentDateTime);
+            if (resourceCalendar != null) isWorkHour = isWorkHour && resourceCalendar.isWorkHour(currentDateTime);
+            if (isWorkHour) minutesLeft--;
+            currentDateTime = currentDateTime.plusMinutes(1);
+            if (!isWorkHour) {
+                currentDateTime = projectCalendar != null
+                        ? projectCalendar.getNextWorkingTime(currentDateTime)
+                        : resourceCalendar.getNextWorkingTime(currentDateTime);
+            }
+        }
+        return currentDateTime;
+    }
+
+    private static LocalDateTime bothWays(LocalDateTime start, Duration duration, Calendar project, Calendar resource) {
+        LocalDateTime expected = minuteLoop(start, duration, project, resource);
+        assertEquals(expected, WorkingTimeCalculator.addWorkingTime(start, duration, project, resource),
+                () -> "start " + start + ", duration " + duration);
+        return expected;
+    }
+
+    @Test
+    void endHourIsWorkingTime() {
+        Calendar calendar = new Calendar(9, 17, new ArrayList<>(), SATURDAY_SUNDAY);
+        // С 9:00 до 17:59 включительно - девять рабочих часов
+        assertEquals(MONDAY.withHour(18), bothWays(MONDAY.withHour(9), Duration.ofHours(9), calendar, null));
+        assertEquals(MONDAY.plusDays(1).withHour(9).withMinute(1),
+                bothWays(MONDAY.withHour(9), Duration.ofHours(9).plusMinutes(1), calendar, null));
+        assertEquals(MONDAY.withHour(17).withMinute(50), bothWays(MONDAY.withHour(17).withMinute(30), Duration.ofMinutes(20), calendar, null));
+    }
+
+    @Test
+    void weekendIsSkipped() {
+        Calendar calendar = new Calendar(9, 17, new ArrayList<>(), SATURDAY_SUNDAY);
+        LocalDateTime friday = MONDAY.plusDays(4).withHour(16);
+        assertEquals(MONDAY.plusDays(7).withHour(12), bothWays(friday, Duration.ofHours(5), calendar, null));
+        // Начало в выходной - с начала понедельника
+        assertEquals(MONDAY.plusDays(7).withHour(10), bothWays(friday.plusDays(1), Duration.ofHours(1), calendar, null));
+    }
+
+    @Test
+    void holidayIsSkipped() {
+        List<LocalDate> holidays = new ArrayList<>(List.of(MONDAY.toLocalDate().plusDays(1)));
+        Calendar calendar = new Calendar(9, 17, holidays, SATURDAY_SUNDAY);
+        assertEquals(MONDAY.plusDays(2).withHour(11), bothWays(MONDAY.withHour(17), Duration.ofHours(3), calendar, null));
+    }
+
+    @Test
+    void intersectionOfProjectAndResourceCalendars() {
+        Calendar project = new Calendar(9, 17, new ArrayList<>(List.of(MONDAY.toLocalDate().plusDays(2))), SATURDAY_SUNDAY);
+        Calendar resource = new Calendar(11, 20, new ArrayList<>(), new int[]{1});
+        bothWays(MONDAY.withHour(8), Duration.ofHours(20), project, resource);
+        bothWays(MONDAY.plusDays(1).withHour(16).withMinute(45), Duration.ofMinutes(30), project, resource);
+    }
+
+    @Test
+    void withoutCalendarsTimeIsContinuous() {
+        LocalDateTime start = MONDAY.withHour(22);
+        assertEquals(start.plusMinutes(150), WorkingTimeCalculator.addWorkingTime(start, Duration.ofMinutes(150), null, null));
+    }
+
+    @Test
+    void matchesMinuteLoopOnRandomCalendars() {
+        Random random = new Random(1);
+        for (int i = 0; i < 500; i++) {
+            Calendar project = random.nextInt(4) == 0 ? null : randomCalendar(random);
+            Calendar resource = project == null || random.nextBoolean() ? randomCalendar(random) : null;
+            LocalDateTime start = MONDAY.plusMinutes(random.nextInt(60 * 24 * 30));
+            bothWays(start, Duration.ofMinutes(random.nextInt(1500)), project, resource);
+        }
+    }
+
+    // Календари с общим рабочим временем каждую неделю (иначе поминутный обход не завершается)
+    private static Calendar randomCalendar(Random random) {
+        int startHour = 6 + random.nextInt(4);
+        int endHour = 12 + random.nextInt(6);
+        List<LocalDate> holidays = new ArrayList<>();
+        for (int i = 0; i < 5; i++) holidays.add(MONDAY.toLocalDate().plusDays(random.nextInt(60)));
+        return new Calendar(startHour, endHour, holidays, random.nextBoolean() ? SATURDAY_SUNDAY : new int[]{random.nextInt(5) + 1});
+    }
+}
@@ -0,0 +1,62 @@
+package Monitoring;
+
+import CalendarManagement.Calendar;
+import ProjectManagement.Project;
+import ResourceManagement.Resource;
+import TaskManagement.Task;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Метрики: замеры расчетов и показатели проекта пишутся только между enable и disable
+class GanttMetricsTests {
+
+    @Test
+    void phasesAndProjectGaugesAreRecordedWhileEnabled() {
+        Project project = new Project("Metrics", new Calendar(9, 17, new ArrayList<>(), new int[]{6, 7}));
+        Resource first = new Resource("R1", null);
+        Resource second = new Resource("R2", null);
+        project.addResources(List.of(first, second));
+        Task a = new Task("A", Duration.ofHours(1));
+        Task b = new Task("B", Duration.ofHours(1));
+        a.assignResource(first);
+        b.assignResource(second);
+        a.addSubTask(b);
+        project.addTasks(List.of(a, b));
+        project.setEstimatedStartDate(LocalDateTime.of(2024, 1, 1, 9, 0));
+
+        // Пока метрики выключены, замер не начинается
+        assertEquals(0, GanttMetrics.start());
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        GanttMetrics.monitorProject(project);
+        GanttMetrics.enable(registry);
+        try {
+            project.calculateSchedule();
+            a.setEstimatedDuration(Duration.ofHours(3));
+            project.recalculateProjectSchedule();
+            a.start();
+
+            assertEquals(1, registry.get("gantt.project.schedule").timer().count());
+            assertTrue(registry.get("gantt.project.reschedule").timer().count() >= 1);
+            assertTrue(registry.get("gantt.project.reschedule.tasks").summary().totalAmount() >= 2);
+            assertEquals(1.0, registry.get("gantt.project.tasks").tag("project", "Metrics").tag("status", "IN_PROGRESS").gauge().value());
+            assertEquals(1.0, registry.get("gantt.project.tasks").tag("project", "Metrics").tag("status", "NOT_STARTED").gauge().value());
+            assertEquals(0.5, registry.get("gantt.project.resource.utilization").tag("project", "Metrics").gauge().value());
+        } finally {
+            GanttMetrics.disable();
+            GanttMetrics.stopMonitoring(project);
+        }
+
+        // После выключения счетчики удалены из реестра
+        assertFalse(GanttMetrics.isEnabled());
+        assertNull(registry.find("gantt.project.schedule").timer());
+        assertNull(registry.find("gantt.project.tasks").gauge());
+    }
+}
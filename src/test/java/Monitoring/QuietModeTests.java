@@ -0,0 +1,57 @@
+package Monitoring;
+
+import TaskManagement.Task;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Тихий режим: сообщения о задачах подавляются во вложенных тихих участках текущего потока и глобально
+class QuietModeTests {
+
+    @Test
+    void taskMessagesAreSuppressedOnlyWhileQuiet() throws InterruptedException {
+        Logger logger = (Logger) LoggerFactory.getLogger(Task.class);
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+        try {
+            new Task("Loud", Duration.ofHours(1)).cancelTask();
+            int loud = appender.list.size();
+            assertTrue(loud > 0);
+
+            // Вложенные участки: режим действует до последнего exit
+            QuietMode.enter();
+            QuietMode.run(() -> new Task("Quiet", Duration.ofHours(1)).cancelTask());
+            assertTrue(QuietMode.isActive());
+            AtomicBoolean otherThreadQuiet = new AtomicBoolean(true);
+            Thread other = Thread.ofVirtual().start(() -> otherThreadQuiet.set(QuietMode.isActive()));
+            other.join();
+            assertFalse(otherThreadQuiet.get());
+            QuietMode.exit();
+            assertFalse(QuietMode.isActive());
+            assertEquals(loud, appender.list.size());
+
+            // Лишний exit не уходит в минус
+            QuietMode.exit();
+            assertFalse(QuietMode.isActive());
+
+            QuietMode.setGlobal(true);
+            try {
+                new Task("Global", Duration.ofHours(1)).cancelTask();
+                assertEquals(loud, appender.list.size());
+            } finally {
+                QuietMode.setGlobal(false);
+            }
+            assertTrue(appender.list.stream().noneMatch(event -> event.getFormattedMessage().contains("Quiet")));
+        } finally {
+            logger.detachAppender(appender);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package ProjectManagement;
+
+import CalendarManagement.Calendar;
+import TaskManagement.Task;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Инкрементальный пересчет (updateDuration) совпадает с новым расчетом CriticalPath.of,
+// в том числе после изменения связей, не меняющего порядок задач
+class CriticalPathTests {
+
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    private static void assertSameAsFresh(CriticalPath incremental, Project project, String where) {
+        CriticalPath fresh = CriticalPath.of(project);
+        assertEquals(fresh.getProjectDuration(), incremental.getProjectDuration(), where);
+        assertEquals(fresh.getProjectEndDate(), incremental.getProjectEndDate(), where);
+        assertEquals(fresh.getCriticalTasks(), incremental.getCriticalTasks(), where);
+        for (Task task : project.getTasks()) {
+            assertEquals(fresh.getEarliestStart(task), incremental.getEarliestStart(task), where + ", task " + task.getName());
+            assertEquals(fresh.getTotalSlack(task), incremental.getTotalSlack(task), where + ", task " + task.getName());
+            assertEquals(fresh.getFreeSlack(task), incremental.getFreeSlack(task), where + ", task " + task.getName());
+        }
+    }
+
+    @Test
+    void edgeAddedWithoutReorderIsNoticed() {
+        Project project = new Project("P", null);
+        Task x = new Task("X", Duration.ofHours(1));
+        Task y = new Task("Y", Duration.ofHours(2));
+        project.addTasks(List.of(x, y));
+        project.setEstimatedStartDate(MONDAY);
+        CriticalPath criticalPath = CriticalPath.of(project);
+        assertEquals(Duration.ofHours(2), criticalPath.getProjectDuration());
+
+        // X уже стоит перед Y: связь не переставляет задачи
+        x.addSubTask(y);
+        y.setEstimatedDuration(Duration.ofHours(3));
+        criticalPath.updateDuration(y);
+        assertEquals(Duration.ofHours(4), criticalPath.getProjectDuration());
+
+        x.removeSubTask(y);
+        criticalPath.updateDuration(x);
+        assertEquals(Duration.ofHours(3), criticalPath.getProjectDuration());
+    }
+
+    @Test
+    void randomChangesMatchFreshCalculation() {
+        for (long seed = 0; seed < 10; seed++) {
+            Random random = new Random(seed);
+            Project project = new Project("P", new Calendar(9, 17, new ArrayList<>(), new int[]{6, 7}));
+            List<Task> tasks = new ArrayList<>();
+            for (int i = 0; i < 30; i++) tasks.add(new Task("T" + i, Duration.ofMinutes(30 + random.nextInt(600))));
+            project.addTasks(tasks);
+            project.setEstimatedStartDate(MONDAY);
+            CriticalPath criticalPath = CriticalPath.of(project);
+
+            for (int round = 0; round < 100; round++) {
+                Task task = tasks.get(random.nextInt(tasks.size()));
+                Task other = tasks.get(random.nextInt(tasks.size()));
+                switch (random.nextInt(3)) {
+                    case 0 -> task.addSubTask(other);
+                    case 1 -> {
+                        if (!task.getSubTasks().isEmpty()) task.removeSubTask(task.getSubTasks().get(0));
+                    }
+                    default -> { }
+                }
+                task.setEstimatedDuration(Duration.ofMinutes(30 + random.nextInt(600)));
+                criticalPath.updateDuration(task);
+                assertSameAsFresh(criticalPath, project, "seed " + seed + ", round " + round);
+            }
+        }
+    }
+}
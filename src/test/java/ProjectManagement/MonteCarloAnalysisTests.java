@@ -0,0 +1,109 @@
+package ProjectManagement;
+
+import CalendarManagement.Calendar;
+import TaskManagement.DurationDistribution;
+import TaskManagement.Task;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Анализ Монте-Карло: результат при одном seed не зависит от числа потоков, без распределений совпадает с оценками
+class MonteCarloAnalysisTests {
+
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    private static Project project() {
+        Project project = new Project("P", new Calendar(9, 17, new ArrayList<>(), new int[]{6, 7}));
+        project.setEstimatedStartDate(MONDAY);
+        return project;
+    }
+
+    @Test
+    void resultDoesNotDependOnThreadCount() {
+        Random random = new Random(4);
+        Project project = project();
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            Task task = new Task("T" + i, Duration.ofMinutes(60 + random.nextInt(480)));
+            if (random.nextBoolean()) {
+                Duration likely = task.getEstimatedDuration();
+                task.setDurationDistribution(DurationDistribution.pert(likely.dividedBy(2), likely, likely.multipliedBy(3)));
+            }
+            tasks.add(task);
+        }
+        for (int i = 0; i < 300; i++) {
+            int from = random.nextInt(tasks.size());
+            int to = random.nextInt(tasks.size());
+            if (from < to) tasks.get(from).addSubTask(tasks.get(to));
+        }
+        project.addTasks(tasks);
+
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool several = new ForkJoinPool(4);
+        try {
+            MonteCarloAnalysis first = MonteCarloAnalysis.of(project, 1000, 7, single);
+            MonteCarloAnalysis second = MonteCarloAnalysis.of(project, 1000, 7, several);
+            for (double percentile : new double[]{0, 0.5, 0.8, 0.95, 1}) {
+                assertEquals(first.getDuration(percentile), second.getDuration(percentile));
+            }
+            assertEquals(first.getMeanDuration(), second.getMeanDuration());
+            for (Task task : tasks) {
+                assertEquals(first.getCriticalityIndex(task), second.getCriticalityIndex(task), task.getName());
+            }
+            assertEquals(first.getMostCriticalTasks(10), second.getMostCriticalTasks(10));
+
+            assertFalse(first.getP80().isBefore(first.getP50()));
+            assertFalse(first.getP95().isBefore(first.getP80()));
+        } finally {
+            single.shutdown();
+            several.shutdown();
+        }
+    }
+
+    @Test
+    void withoutDistributionsEveryIterationMatchesEstimates() {
+        Project project = project();
+        Task a = new Task("A", Duration.ofHours(3));
+        Task b = new Task("B", Duration.ofHours(2));
+        Task side = new Task("Side", Duration.ofHours(1));
+        a.addSubTask(b);
+        project.addTasks(List.of(a, b, side));
+
+        MonteCarloAnalysis analysis = MonteCarloAnalysis.of(project, 100, 1);
+        assertEquals(Duration.ofHours(5), analysis.getDeterministicDuration());
+        assertEquals(Duration.ofHours(5), analysis.getDuration(0));
+        assertEquals(Duration.ofHours(5), analysis.getDuration(1));
+        assertEquals(MONDAY.plusHours(5), analysis.getP95());
+        assertEquals(1.0, analysis.getCriticalityIndex(a));
+        assertEquals(1.0, analysis.getCriticalityIndex(b));
+        assertEquals(0.0, analysis.getCriticalityIndex(side));
+        assertEquals(List.of(a, b), analysis.getMostCriticalTasks(2));
+    }
+
+    @Test
+    void uncertainBranchIsCriticalInPartOfIterations() {
+        Project project = project();
+        Task uncertain = new Task("Uncertain", Duration.ofHours(2));
+        uncertain.setDurationDistribution(DurationDistribution.triangular(Duration.ofHours(1), Duration.ofHours(2), Duration.ofHours(3)));
+        Task fixed = new Task("Fixed", Duration.ofHours(2));
+        project.addTasks(List.of(uncertain, fixed));
+
+        MonteCarloAnalysis analysis = MonteCarloAnalysis.of(project, 2000, 3);
+        double index = analysis.getCriticalityIndex(uncertain);
+        assertTrue(index > 0.35 && index < 0.65, "criticality " + index);
+        assertTrue(analysis.getDuration(0.95).compareTo(Duration.ofHours(2)) > 0);
+        assertEquals(Duration.ofHours(2), analysis.getDuration(0));
+
+        Task outside = new Task("Outside", Duration.ofHours(1));
+        assertThrows(IllegalArgumentException.class, () -> analysis.getCriticalityIndex(outside));
+        assertThrows(IllegalArgumentException.class, () -> analysis.getDuration(1.5));
+        assertThrows(IllegalArgumentException.class, () -> MonteCarloAnalysis.of(project, 0, 3));
+    }
+}
@@ -0,0 +1,111 @@
+package ProjectManagement;
+
+import CalendarManagement.Calendar;
+import CalendarManagement.WorkingTimeCalculator;
+import ResourceManagement.Resource;
+import TaskManagement.Task;
+import TaskManagement.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Расчет по компонентам на пуле совпадает с последовательным проходом по всему порядку расчета
+class ParallelSchedulerTests {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+    // Исполнители делятся на группы; связи только внутри группы, поэтому компонент много
+    private static Project project(long seed) {
+        Random random = new Random(seed);
+        Calendar calendar = new Calendar(9, 17, new ArrayList<>(List.of(LocalDate.of(2024, 1, 15))), new int[]{6, 7});
+        Project project = new Project("P", calendar);
+        int groups = 40;
+        List<List<Resource>> resources = new ArrayList<>();
+        for (int g = 0; g < groups; g++) {
+            List<Resource> group = new ArrayList<>();
+            for (int r = 0; r < 2; r++) {
+                Resource resource = new Resource("R" + g + "." + r, new Calendar(8 + random.nextInt(3), 16, new ArrayList<>(), new int[]{6, 7}));
+                group.add(resource);
+                project.addResource(resource);
+            }
+            resources.add(group);
+        }
+        List<List<Task>> tasks = new ArrayList<>();
+        List<Task> all = new ArrayList<>();
+        for (int g = 0; g < groups; g++) {
+            List<Task> group = new ArrayList<>();
+            for (int i = 0; i < 25; i++) {
+                Task task = new Task("T" + g + "." + i, Duration.ofMinutes(30 + random.nextInt(600)));
+                task.assignResource(resources.get(g).get(random.nextInt(2)));
+                task.setPriority(1 + random.nextInt(100));
+                if (random.nextInt(20) == 0) task.setStatus(TaskStatus.CANCELLED);
+                group.add(task);
+                all.add(task);
+            }
+            for (int e = 0; e < 30; e++) {
+                int from = random.nextInt(group.size());
+                int to = random.nextInt(group.size());
+                if (from < to) group.get(from).addSubTask(group.get(to));
+            }
+            tasks.add(group);
+        }
+        Collections.shuffle(all, random);
+        project.addTasks(all);
+        project.setEstimatedStartDate(START);
+        return project;
+    }
+
+    @Test
+    void componentsScheduledInParallelMatchSequentialPass() {
+        Project project = project(1);
+        List<Task> order = project.getTaskOrder().getScheduleOrder().getTasks();
+        Calendar calendar = project.getProjectCalendar();
+
+        // Последовательный проход: одна занятость исполнителей на весь порядок
+        Map<Task, LocalDateTime> ends = new IdentityHashMap<>();
+        Map<Resource, LocalDateTime> available = new IdentityHashMap<>();
+        List<LocalDateTime> expectedStarts = new ArrayList<>();
+        for (Task task : order) {
+            LocalDateTime start = START;
+            for (Task dependency : task.getDependencies()) {
+                if (ends.get(dependency).isAfter(start)) start = ends.get(dependency);
+            }
+            LocalDateTime free = available.getOrDefault(task.getAssignedResource(), START);
+            if (free.isAfter(start)) start = free;
+            start = calendar.getNextWorkingTime(start);
+            LocalDateTime end = WorkingTimeCalculator.addWorkingTime(start, task.getEstimatedDuration(),
+                    calendar, task.getAssignedResource().getResourceCalendar());
+            ends.put(task, end);
+            if (task.getStatus() != TaskStatus.CANCELLED) available.put(task.getAssignedResource(), end);
+            expectedStarts.add(start);
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ParallelScheduler scheduler = new ParallelScheduler(order, START, calendar);
+            scheduler.run(pool);
+            assertTrue(scheduler.getComponentCount() >= 40);
+            for (int i = 0; i < order.size(); i++) {
+                assertEquals(expectedStarts.get(i), scheduler.getStartDate(i), order.get(i).getName());
+                assertEquals(ends.get(order.get(i)), scheduler.getEndDate(i), order.get(i).getName());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void taskWithoutResourceIsRejected() {
+        Project project = new Project("P", new Calendar(9, 17, new ArrayList<>(), new int[]{6, 7}));
+        project.addTask(new Task("A", Duration.ofHours(1)));
+        project.setEstimatedStartDate(START);
+        IllegalStateException error = assertThrows(IllegalStateException.class, project::calculateSchedule);
+        assertTrue(error.getMessage().contains("'A'"));
+    }
+}
@@ -0,0 +1,140 @@
+package ProjectManagement;
+
+import ResourceManagement.Resource;
+import TaskManagement.Task;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Проверки графа в ProjectBuilder.build: повторные связи отбрасываются, ошибки не меняют задачи
+class ProjectBuilderTests {
+
+    private static Task task(String name) {
+        return new Task(name, Duration.ofHours(1));
+    }
+
+    @Test
+    void repeatedEdgesAreDropped() {
+        ProjectBuilder builder = new ProjectBuilder("P", null);
+        Task a = task("A");
+        Task b = task("B");
+        a.setId(1L);
+        a.addSubTask(b);
+        int ia = builder.addTask(a);
+        int ib = builder.addTask(b);
+        assertEquals(ia, builder.addTask(a));
+        builder.addEdge(ia, ib);
+        builder.addEdge(a, b);
+        builder.addDependency(ib, 1L);
+        builder.addDependency(ib, "A");
+
+        Project project = builder.build();
+        assertEquals(List.of(a, b), project.getSortedTasks());
+        assertEquals(List.of(b), a.getSubTasks());
+        assertEquals(List.of(a), b.getDependencies());
+    }
+
+    @Test
+    void referencesToTasksAddedLaterAreResolved() {
+        ProjectBuilder builder = new ProjectBuilder("P", null);
+        Task child = task("Child");
+        Task parent = task("Parent");
+        parent.setId(5L);
+        int ic = builder.addTask(child);
+        builder.addDependency(ic, 5L);
+        builder.addTask(parent);
+
+        Project project = builder.build();
+        assertEquals(List.of(parent, child), project.getSortedTasks());
+    }
+
+    @Test
+    void cycleFailsWithoutChangingTasks() {
+        ProjectBuilder builder = new ProjectBuilder("P", null);
+        Resource resource = new Resource("R", null);
+        builder.addResource(resource);
+        Task a = task("A");
+        Task b = task("B");
+        int ia = builder.addTask(a);
+        int ib = builder.addTask(b);
+        builder.assignResource(ia, "R");
+        builder.addEdge(ia, ib);
+        builder.addEdge(ib, ia);
+
+        IllegalStateException error = assertThrows(IllegalStateException.class, builder::build);
+        assertTrue(error.getMessage().contains("cycle"));
+        assertNull(a.getAssignedResource());
+        assertTrue(a.getSubTasks().isEmpty());
+        assertTrue(b.getSubTasks().isEmpty());
+        assertTrue(builder.getProject().getTasks().isEmpty());
+    }
+
+    @Test
+    void selfLoopIsCycle() {
+        ProjectBuilder builder = new ProjectBuilder("P", null);
+        int ia = builder.addTask(task("A"));
+        builder.addEdge(ia, ia);
+        assertThrows(IllegalStateException.class, builder::build);
+    }
+
+    @Test
+    void danglingReferencesAreReported() {
+        ProjectBuilder byId = new ProjectBuilder("P", null);
+        byId.addDependency(byId.addTask(task("A")), 42L);
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, byId::build);
+        assertTrue(error.getMessage().contains("#42"));
+
+        ProjectBuilder byName = new ProjectBuilder("P", null);
+        byName.addDependency(byName.addTask(task("A")), "Missing");
+        error = assertThrows(IllegalArgumentException.class, byName::build);
+        assertTrue(error.getMessage().contains("Missing"));
+
+        // Связь, заданная у задачи до сборки, с задачей вне построителя
+        Task outside = task("Outside");
+        Task inside = task("Inside");
+        outside.addSubTask(inside);
+        ProjectBuilder existing = new ProjectBuilder("P", null);
+        existing.addTask(inside);
+        error = assertThrows(IllegalArgumentException.class, existing::build);
+        assertTrue(error.getMessage().contains("Outside"));
+
+        ProjectBuilder resource = new ProjectBuilder("P", null);
+        resource.assignResource(resource.addTask(task("A")), "Nobody");
+        error = assertThrows(IllegalArgumentException.class, resource::build);
+        assertTrue(error.getMessage().contains("Nobody"));
+    }
+
+    @Test
+    void duplicateIdsFailBeforeAnyChange() {
+        ProjectBuilder builder = new ProjectBuilder("P", null);
+        Resource resource = new Resource("R", null);
+        builder.addResource(resource);
+        Task a = task("A");
+        Task b = task("B");
+        a.setId(9L);
+        b.setId(9L);
+        builder.assignResource(builder.addTask(a), "R");
+        builder.addTask(b);
+
+        assertThrows(IllegalArgumentException.class, builder::build);
+        assertNull(a.getAssignedResource());
+        assertTrue(builder.getProject().getTasks().isEmpty());
+    }
+
+    @Test
+    void resourcesWithSameNameResolveToFirst() {
+        ProjectBuilder builder = new ProjectBuilder("P", null);
+        Resource first = new Resource("R", null);
+        Resource second = new Resource("R", null);
+        builder.addResources(List.of(first, second));
+        Task a = task("A");
+        builder.assignResource(builder.addTask(a), "R");
+        builder.requireResources(true);
+
+        builder.build();
+        assertSame(first, a.getAssignedResource());
+    }
+}
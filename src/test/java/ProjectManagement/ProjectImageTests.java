@@ -0,0 +1,108 @@
+package ProjectManagement;
+
+import CalendarManagement.Calendar;
+import ResourceManagement.Resource;
+import TaskManagement.Task;
+import TaskManagement.TaskStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Снимок проекта: чтение полей без сборки модели и восстановление проекта с теми же задачами, связями и состоянием
+class ProjectImageTests {
+
+    @TempDir
+    Path directory;
+
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    private static Clock at(LocalDateTime time) {
+        return Clock.fixed(time.toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+    }
+
+    @Test
+    void projectSurvivesWriteAndOpen() throws IOException {
+        Calendar calendar = new Calendar(9, 17, new ArrayList<>(List.of(LocalDate.of(2024, 1, 15))), new int[]{6, 7});
+        Project project = new Project("Image", calendar);
+        Resource anna = new Resource("Anna", new Calendar(8, 16, new ArrayList<>(), new int[]{6, 7}));
+        Resource boris = new Resource("Boris", null);
+        project.addResources(List.of(anna, boris));
+        Task design = new Task("Design", Duration.ofHours(2));
+        Task build = new Task("Build", Duration.ofMinutes(90));
+        Task review = new Task("Review", Duration.ofHours(1));
+        Task unassigned = new Task("Unassigned", Duration.ofMinutes(15));
+        design.assignResource(anna);
+        build.assignResource(boris);
+        review.assignResource(anna);
+        build.setPriority(80);
+        design.addSubTasks(List.of(build, review));
+        build.addSubTask(review);
+        project.addTasks(List.of(design, build, review));
+        project.setEstimatedStartDate(MONDAY);
+        project.calculateScheduleWithBackfilling();
+        // Задача без исполнителя и без сроков
+        project.addTask(unassigned);
+
+        // Выполненная и приостановленная задачи
+        design.setClock(at(MONDAY));
+        design.start();
+        design.setClock(at(MONDAY.plusHours(2)));
+        design.complete();
+        build.setClock(at(MONDAY.plusHours(2)));
+        build.start();
+        build.setClock(at(MONDAY.plusHours(3)));
+        build.togglePauseTask();
+
+        Path path = directory.resolve("project.img");
+        ProjectImage.write(project, path, 42);
+        ProjectImage image = ProjectImage.open(path);
+
+        assertEquals("Image", image.getProjectName());
+        assertEquals(MONDAY, image.getProjectStartDate());
+        assertEquals(42, image.getJournalSequence());
+        assertEquals(4, image.getTaskCount());
+        assertEquals(3, image.getEdgeCount());
+        assertEquals(List.of(LocalDate.of(2024, 1, 15)), image.getProjectCalendar().getHolidays());
+        assertEquals(2, image.getResources().size());
+
+        Project loaded = image.toProject();
+        assertEquals(project.getTasks().size(), loaded.getTasks().size());
+        for (Task original : project.getTasks()) {
+            Task copy = loaded.getTaskByName(original.getName());
+            String where = original.getName();
+            assertEquals(original.getId(), copy.getId(), where);
+            assertEquals(original.getEstimatedDuration(), copy.getEstimatedDuration(), where);
+            assertEquals(original.getPriority(), copy.getPriority(), where);
+            assertEquals(original.getStatus(), copy.getStatus(), where);
+            assertEquals(original.getEstimatedStartDate(), copy.getEstimatedStartDate(), where);
+            assertEquals(original.getEstimatedEndDate(), copy.getEstimatedEndDate(), where);
+            assertEquals(original.getFactualStartDate(), copy.getFactualStartDate(), where);
+            assertEquals(original.getFactualEndDate(), copy.getFactualEndDate(), where);
+            assertEquals(original.getFactualDuration(), copy.getFactualDuration(), where);
+            assertEquals(original.getPauseStartTime(), copy.getPauseStartTime(), where);
+            assertEquals(original.getAssignedResource() != null ? original.getAssignedResource().getName() : null,
+                    copy.getAssignedResource() != null ? copy.getAssignedResource().getName() : null, where);
+            assertEquals(original.getSubTasks().stream().map(Task::getName).sorted().toList(),
+                    copy.getSubTasks().stream().map(Task::getName).sorted().toList(), where);
+        }
+
+        // Приостановленная задача продолжается после загрузки
+        Task paused = loaded.getTaskByName("Build");
+        assertEquals(TaskStatus.PAUSED, paused.getStatus());
+        paused.setClock(at(MONDAY.plusHours(4)));
+        paused.togglePauseTask();
+        assertEquals(TaskStatus.IN_PROGRESS, paused.getStatus());
+        assertEquals(Duration.ofHours(1), paused.getTotalPauseDuration());
+    }
+}
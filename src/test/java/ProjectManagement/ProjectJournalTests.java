@@ -0,0 +1,110 @@
+package ProjectManagement;
+
+import ResourceManagement.Resource;
+import TaskManagement.Task;
+import TaskManagement.TaskStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Восстановление проекта из снимка и журнала: статус, фактические даты и паузы задач
+class ProjectJournalTests {
+
+    private static final Instant START = Instant.parse("2024-01-01T09:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    private static Project project(Task... tasks) {
+        Project project = new Project("P", null);
+        Resource resource = new Resource("R", null);
+        resource.setId(1L);
+        project.addResource(resource);
+        for (Task task : tasks) task.setAssignedResource(resource);
+        project.addTasks(List.of(tasks));
+        project.setEstimatedStartDate(LocalDateTime.ofInstant(START, ZoneOffset.UTC));
+        return project;
+    }
+
+    private static void at(Task task, Duration sinceStart) {
+        task.setClock(Clock.fixed(START.plus(sinceStart), ZoneOffset.UTC));
+    }
+
+    private static Task recovered(Path directory, String name) throws IOException {
+        try (ProjectJournal journal = ProjectJournal.recover(directory)) {
+            return journal.getProject().getTaskByName(name);
+        }
+    }
+
+    @Test
+    void pausedTaskResumesAfterRecovery() throws IOException {
+        Task task = new Task("A", Duration.ofHours(4));
+        Project project = project(task);
+        try (ProjectJournal journal = ProjectJournal.create(directory, project)) {
+            at(task, Duration.ZERO);
+            task.start();
+            at(task, Duration.ofHours(1));
+            task.togglePauseTask();
+            journal.sync();
+        }
+
+        Task restored = recovered(directory, "A");
+        assertEquals(TaskStatus.PAUSED, restored.getStatus());
+        assertEquals(task.getFactualStartDate(), restored.getFactualStartDate());
+        assertEquals(task.getPauseStartTime(), restored.getPauseStartTime());
+        assertEquals(Duration.ZERO, restored.getTotalPauseDuration());
+
+        at(restored, Duration.ofHours(3));
+        restored.togglePauseTask();
+        assertEquals(TaskStatus.IN_PROGRESS, restored.getStatus());
+        assertEquals(Duration.ofHours(2), restored.getTotalPauseDuration());
+    }
+
+    @Test
+    void completedTaskKeepsFactualDurationAfterCompaction() throws IOException {
+        Task first = new Task("A", Duration.ofHours(4));
+        Task second = new Task("B", Duration.ofHours(2));
+        first.addSubTask(second);
+        Project project = project(first, second);
+        try (ProjectJournal journal = ProjectJournal.create(directory, project)) {
+            at(first, Duration.ZERO);
+            first.start();
+            at(first, Duration.ofHours(1));
+            first.togglePauseTask();
+            at(first, Duration.ofMinutes(90));
+            first.togglePauseTask();
+            at(first, Duration.ofHours(5));
+            first.complete();
+            journal.sync();
+            // Состояние первой задачи - в снимке, второй - в журнале после уплотнения
+            journal.compact();
+            at(second, Duration.ofHours(5));
+            second.start();
+            at(second, Duration.ofHours(6));
+            second.togglePauseTask();
+            journal.sync();
+        }
+
+        try (ProjectJournal journal = ProjectJournal.recover(directory)) {
+            Task a = journal.getProject().getTaskByName("A");
+            Task b = journal.getProject().getTaskByName("B");
+            assertEquals(TaskStatus.COMPLETED, a.getStatus());
+            assertEquals(Duration.ofMinutes(270), a.getFactualDuration());
+            assertEquals(Duration.ofMinutes(30), a.getTotalPauseDuration());
+            assertEquals(first.getFactualEndDate(), a.getFactualEndDate());
+            assertEquals(List.of(b), a.getSubTasks());
+            assertEquals(TaskStatus.PAUSED, b.getStatus());
+            assertEquals(second.getPauseStartTime(), b.getPauseStartTime());
+        }
+    }
+}
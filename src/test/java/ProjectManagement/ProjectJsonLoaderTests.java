@@ -0,0 +1,105 @@
+package ProjectManagement;
+
+import CalendarManagement.Calendar;
+import ResourceManagement.Resource;
+import TaskManagement.Task;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Потоковая загрузка JSON: подзадачи, ссылки на зависимости в любой форме, ссылки вперед и назначение id
+class ProjectJsonLoaderTests {
+
+    @Test
+    void loadsBundledTestData() throws IOException {
+        try (Reader reader = new InputStreamReader(
+                getClass().getResourceAsStream("/testdata/one.json"), StandardCharsets.UTF_8)) {
+            Project project = ProjectJsonLoader.load(reader, "One");
+
+            assertEquals(3, project.getResources().size());
+            assertEquals(9, project.getProjectCalendar().getStartHour());
+            Task main = project.getTaskByName("Main Task 1");
+            Task sub = project.getTaskByName("Sub Task 1");
+            assertEquals(List.of(sub), main.getSubTasks());
+            assertEquals("Vasya", main.getAssignedResource().getName());
+            assertEquals("Masha", sub.getAssignedResource().getName());
+            assertEquals(Duration.ofSeconds(3), sub.getEstimatedDuration());
+            assertEquals(50, main.getPriority());
+            assertNotEquals(main.getId(), sub.getId());
+        }
+    }
+
+    @Test
+    void dependencyReferencesAndForwardResources() throws IOException {
+        String json = """
+                {
+                  "startDate": "2024-01-01T09:00:00",
+                  "unknown": {"nested": [1, 2, 3]},
+                  "tasks": [
+                    {"name": "Design", "id": 10, "durationHours": 2, "assignedResourceName": "Anna"},
+                    {"name": "Build", "durationMinutes": 90, "assignedResourceName": "Anna",
+                     "dependencies": [10]},
+                    {"name": "Test", "durationHours": 1, "dependencies": ["Build", {"id": 10}], "priority": 70},
+                    {"name": "Release", "durationHours": 1, "dependencies": [{"name": "Test"}, 12]}
+                  ],
+                  "resources": [{"name": "Anna", "calendar": null}]
+                }
+                """;
+        Project project = ProjectJsonLoader.load(new StringReader(json), "P");
+
+        Task design = project.getTaskByName("Design");
+        Task build = project.getTaskByName("Build");
+        Task test = project.getTaskByName("Test");
+        Task release = project.getTaskByName("Release");
+        assertEquals(LocalDateTime.of(2024, 1, 1, 9, 0), project.getEstimatedStartDate());
+        assertEquals(10L, design.getId());
+        assertEquals(11L, build.getId());
+        assertEquals(12L, test.getId());
+        assertSame(design.getAssignedResource(), build.getAssignedResource());
+        assertEquals(Duration.ofMinutes(90), build.getEstimatedDuration());
+        assertEquals(List.of(design), build.getDependencies());
+        assertEquals(2, test.getDependencies().size());
+        assertTrue(test.getDependencies().containsAll(List.of(build, design)));
+        // Повторная ссылка на ту же зависимость отбрасывается
+        assertEquals(List.of(test), release.getDependencies());
+        assertEquals(70, test.getPriority());
+        assertEquals(List.of(design, build, test, release), project.getSortedTasks());
+    }
+
+    @Test
+    void missingDependencyIsReported() {
+        String json = """
+                {"tasks": [{"name": "A", "durationHours": 1, "dependencies": ["Missing"]}]}
+                """;
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> ProjectJsonLoader.load(new StringReader(json), "P"));
+        assertTrue(error.getMessage().contains("Missing"));
+    }
+
+    @Test
+    void calendarAdapterRoundTrip() throws IOException {
+        Calendar calendar = new Calendar(8, 16, new ArrayList<>(List.of(LocalDate.of(2024, 5, 1))), new int[]{5, 6});
+        String json = ProjectJsonLoader.CALENDAR_ADAPTER.toJson(calendar);
+        Calendar read = ProjectJsonLoader.CALENDAR_ADAPTER.fromJson(json);
+        assertEquals(8, read.getStartHour());
+        assertEquals(16, read.getEndHour());
+        assertEquals(List.of(LocalDate.of(2024, 5, 1)), read.getHolidays());
+        assertArrayEquals(new int[]{5, 6}, read.getWeekends());
+
+        Resource resource = ProjectJsonLoader.RESOURCE_ADAPTER.fromJson(
+                ProjectJsonLoader.RESOURCE_ADAPTER.toJson(new Resource("R", calendar)));
+        assertEquals("R", resource.getName());
+        assertEquals(8, resource.getResourceCalendar().getStartHour());
+    }
+}
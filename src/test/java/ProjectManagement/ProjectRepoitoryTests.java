@@ -0,0 +1,106 @@
+package ProjectManagement;
+
+import CalendarManagement.Calendar;
+import ResourceManagement.Resource;
+import TaskManagement.Task;
+import TaskManagement.TaskField;
+import TaskManagement.TaskStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Сохранение и загрузка проекта в PostgreSQL (нужна локальная база:
+// mvn test -Dgantt.test.datasource.url=jdbc:postgresql://localhost:5432/gantt_test
+//           -Dgantt.test.datasource.username=... -Dgantt.test.datasource.password=...)
+@EnabledIfSystemProperty(named = "gantt.test.datasource.url", matches = ".+")
+class ProjectRepoitoryTests {
+
+    private static final Instant START = Instant.parse("2024-01-01T09:00:00Z");
+
+    private static ProjectRepoitory repository() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                System.getProperty("gantt.test.datasource.url"),
+                System.getProperty("gantt.test.datasource.username", ""),
+                System.getProperty("gantt.test.datasource.password", ""));
+        ProjectRepoitory repository = new ProjectRepoitory(new JdbcTemplate(dataSource));
+        repository.createSchema();
+        return repository;
+    }
+
+    private static void at(Task task, Duration sinceStart) {
+        task.setClock(Clock.fixed(START.plus(sinceStart), ZoneOffset.UTC));
+    }
+
+    private static void assertSameState(Task expected, Task actual) {
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getStatus(), actual.getStatus());
+        assertEquals(expected.getEstimatedDuration(), actual.getEstimatedDuration());
+        assertEquals(expected.getFactualStartDate(), actual.getFactualStartDate());
+        assertEquals(expected.getFactualEndDate(), actual.getFactualEndDate());
+        assertEquals(expected.getFactualDuration(), actual.getFactualDuration());
+        assertEquals(expected.getTotalPauseDuration(), actual.getTotalPauseDuration());
+        assertEquals(expected.getPauseStartTime(), actual.getPauseStartTime());
+    }
+
+    @Test
+    void pauseAndFactualDurationSurviveSaveLoadAndUpdate() {
+        ProjectRepoitory repository = repository();
+        Project project = new Project("P", new Calendar(9, 17, new ArrayList<>(), new int[]{6, 7}));
+        Resource resource = new Resource("R", null);
+        resource.setId(1L);
+        project.addResource(resource);
+        Task done = new Task("Done", Duration.ofHours(4));
+        Task paused = new Task("Paused", Duration.ofHours(2));
+        done.addSubTask(paused);
+        done.assignResource(resource);
+        paused.assignResource(resource);
+        project.addTasks(List.of(done, paused));
+
+        at(done, Duration.ZERO);
+        done.start();
+        at(done, Duration.ofHours(1));
+        done.togglePauseTask();
+        at(done, Duration.ofMinutes(90));
+        done.togglePauseTask();
+        at(done, Duration.ofHours(5));
+        done.complete();
+        at(paused, Duration.ofHours(5));
+        paused.start();
+        at(paused, Duration.ofHours(6));
+        paused.togglePauseTask();
+
+        long projectId = repository.saveProject(project);
+        try {
+            Project loaded = repository.loadProject(projectId);
+            assertSameState(done, loaded.getTaskByName("Done"));
+            assertSameState(paused, loaded.getTaskByName("Paused"));
+
+            // Возобновление: запись изменившихся полей паузы
+            paused.takeDirtyFields();
+            at(paused, Duration.ofHours(7));
+            paused.togglePauseTask();
+            EnumSet<TaskField> fields = paused.takeDirtyFields();
+            assertTrue(fields.contains(TaskField.PAUSE));
+            assertEquals(1, repository.updateTasks(projectId, List.of(new TaskChange(paused, fields))));
+
+            Task reloaded = repository.loadProject(projectId).getTaskByName("Paused");
+            assertSameState(paused, reloaded);
+            assertEquals(TaskStatus.IN_PROGRESS, reloaded.getStatus());
+            assertEquals(Duration.ofHours(1), reloaded.getTotalPauseDuration());
+        } finally {
+            repository.deleteProject(projectId);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package ProjectManagement;
+
+import CalendarManagement.Calendar;
+import ResourceManagement.Resource;
+import TaskManagement.Task;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Снимок проекта после изменений совпадает с состоянием задач; неизмененные срезы разделяются с прошлым снимком
+class ProjectSnapshotTests {
+
+    private static void assertMatchesProject(Project project, String where) {
+        ProjectSnapshot snapshot = project.getSnapshot();
+        List<Task> sortedTasks = project.getSortedTasks();
+        assertEquals(sortedTasks.size(), snapshot.getSortedTasks().size(), where);
+        LocalDateTime start = null;
+        LocalDateTime end = null;
+        for (int i = 0; i < sortedTasks.size(); i++) {
+            Task task = sortedTasks.get(i);
+            TaskSnapshot taskSnapshot = snapshot.getSortedTasks().get(i);
+            String at = where + ", position " + i;
+            assertEquals(task.getName(), taskSnapshot.getName(), at);
+            assertEquals(task.getPriority(), taskSnapshot.getPriority(), at);
+            assertEquals(task.getEstimatedStartDate(), taskSnapshot.getEstimatedStartDate(), at);
+            assertEquals(task.getEstimatedEndDate(), taskSnapshot.getEstimatedEndDate(), at);
+            assertEquals(task.getSubTasks().stream().map(Task::getName).toList(), taskSnapshot.getSubTaskNames(), at);
+            if (task.getEstimatedStartDate() != null && (start == null || task.getEstimatedStartDate().isBefore(start))) {
+                start = task.getEstimatedStartDate();
+            }
+            if (task.getEstimatedEndDate() != null && (end == null || task.getEstimatedEndDate().isAfter(end))) {
+                end = task.getEstimatedEndDate();
+            }
+        }
+        assertEquals(start, snapshot.getEstimatedStartDate(), where);
+        assertEquals(end, snapshot.getEstimatedEndDate(), where);
+        assertEquals(start != null && end != null ? Duration.between(start, end) : null, snapshot.getEstimatedDuration(), where);
+    }
+
+    @Test
+    void snapshotFollowsEdgePriorityAndScheduleChanges() {
+        for (long seed = 0; seed < 5; seed++) {
+            Random random = new Random(seed);
+            Project project = new Project("P", new Calendar(9, 17, new ArrayList<>(), new int[]{6, 7}));
+            Resource resource = new Resource("R", null);
+            project.addResource(resource);
+            List<Task> tasks = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                Task task = new Task("T" + i, Duration.ofMinutes(30 + random.nextInt(600)));
+                task.assignResource(resource);
+                tasks.add(task);
+            }
+            project.addTasks(tasks);
+            project.setEstimatedStartDate(LocalDateTime.of(2024, 1, 1, 9, 0));
+            assertMatchesProject(project, "seed " + seed);
+
+            for (int round = 0; round < 200; round++) {
+                Task task = tasks.get(random.nextInt(tasks.size()));
+                Task other = tasks.get(random.nextInt(tasks.size()));
+                switch (random.nextInt(5)) {
+                    // Связь в любом направлении: обратная переставляет задачи
+                    case 0, 1 -> task.addSubTask(other);
+                    case 2 -> {
+                        if (!task.getSubTasks().isEmpty()) task.removeSubTask(task.getSubTasks().get(0));
+                    }
+                    case 3 -> task.setPriority(1 + random.nextInt(100));
+                    default -> project.calculateSchedule();
+                }
+                assertMatchesProject(project, "seed " + seed + ", round " + round);
+            }
+        }
+    }
+
+    @Test
+    void priorityChangeReplacesOnlyItsTask() {
+        Project project = new Project("P", null);
+        Task a = new Task("A", Duration.ofHours(1));
+        Task b = new Task("B", Duration.ofHours(1));
+        Task c = new Task("C", Duration.ofHours(1));
+        project.addTasks(List.of(a, b, c));
+        ProjectSnapshot before = project.getSnapshot();
+
+        b.setPriority(80);
+        ProjectSnapshot after = project.getSnapshot();
+        assertEquals(before.getVersion() + 1, after.getVersion());
+        assertSame(before.getSortedTasks().get(0), after.getSortedTasks().get(0));
+        assertSame(before.getSortedTasks().get(2), after.getSortedTasks().get(2));
+        assertEquals(80, after.getSortedTasks().get(1).getPriority());
+    }
+
+    @Test
+    void edgeWithoutReorderReplacesOnlyParent() {
+        Project project = new Project("P", null);
+        Task a = new Task("A", Duration.ofHours(1));
+        Task b = new Task("B", Duration.ofHours(1));
+        Task c = new Task("C", Duration.ofHours(1));
+        project.addTasks(List.of(a, b, c));
+        ProjectSnapshot before = project.getSnapshot();
+
+        a.addSubTask(c);
+        ProjectSnapshot after = project.getSnapshot();
+        assertEquals(List.of("C"), after.getSortedTasks().get(0).getSubTaskNames());
+        assertSame(before.getSortedTasks().get(1), after.getSortedTasks().get(1));
+        assertSame(before.getSortedTasks().get(2), after.getSortedTasks().get(2));
+
+        // Обратная связь переставляет C перед B: меняются только их позиции
+        c.addSubTask(b);
+        assertEquals(List.of(a, c, b), project.getSortedTasks());
+        assertEquals(List.of("A", "C", "B"), project.getSnapshot().getSortedTasks().stream().map(TaskSnapshot::getName).toList());
+        assertSame(after.getSortedTasks().get(0), project.getSnapshot().getSortedTasks().get(0));
+    }
+}
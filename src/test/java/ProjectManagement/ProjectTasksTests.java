@@ -0,0 +1,118 @@
+package ProjectManagement;
+
+import TaskManagement.Task;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Задачи с одинаковыми именами различаются по id; id уникален в проекте
+class ProjectTasksTests {
+
+    private static Task task(String name) {
+        return new Task(name, Duration.ofHours(1));
+    }
+
+    @Test
+    void tasksWithSameNameAreDistinct() {
+        Project project = new Project("P", null);
+        Task first = task("Design");
+        Task second = task("design");
+        project.addTasks(List.of(first, second));
+
+        assertEquals(2, project.getTasks().size());
+        assertNotEquals(first, second);
+        assertNotEquals(first.getId(), second.getId());
+        Set<Task> set = new HashSet<>(List.of(first, second));
+        assertEquals(2, set.size());
+
+        // Поиск без учета регистра, при одинаковых именах - добавленная раньше
+        assertSame(first, project.getTaskByName("DESIGN"));
+        first.setName("Review");
+        assertSame(second, project.getTaskByName("design"));
+        assertSame(first, project.getTaskByName("review"));
+        project.removeTask(second);
+        assertNull(project.getTaskByName("design"));
+    }
+
+    @Test
+    void explicitIdTakenByAssignedIdIsRejected() {
+        Project project = new Project("P", null);
+        Task assigned = task("A");
+        project.addTask(assigned);
+        assertEquals(1L, assigned.getId());
+
+        Task duplicate = task("B");
+        duplicate.setId(1L);
+        assertThrows(IllegalArgumentException.class, () -> project.addTask(duplicate));
+        assertEquals(List.of(assigned), project.getTasks());
+        assertFalse(project.getTaskOrder().contains(duplicate));
+
+        // После удаления задачи ее id снова свободен
+        project.removeTask(assigned);
+        project.addTask(duplicate);
+        assertEquals(List.of(duplicate), project.getTasks());
+    }
+
+    @Test
+    void assignedIdsSkipExplicitIds() {
+        Project project = new Project("P", null);
+        Task explicit = task("A");
+        explicit.setId(7L);
+        project.addTask(explicit);
+        Task assigned = task("B");
+        project.addTask(assigned);
+        assertEquals(8L, assigned.getId());
+
+        assertThrows(IllegalArgumentException.class, () -> assigned.setId(7L));
+        assertEquals(8L, assigned.getId());
+
+        explicit.setId(20L);
+        Task next = task("C");
+        project.addTask(next);
+        assertEquals(21L, next.getId());
+        Task reused = task("D");
+        reused.setId(7L);
+        project.addTask(reused);
+        assertEquals(4, project.getTasks().size());
+    }
+
+    @Test
+    void edgesDistinguishTasksOfDifferentProjectsWithSameId() {
+        Project projectA = new Project("A", null);
+        Project projectB = new Project("B", null);
+        Task a1 = task("A1");
+        Task b1 = task("B1");
+        Task b2 = task("B2");
+        projectA.addTask(a1);
+        projectB.addTasks(List.of(b1, b2));
+        assertEquals(a1.getId(), b1.getId());
+
+        a1.addSubTask(b2);
+        b1.addSubTask(b2);
+        assertEquals(2, b2.getDependencies().size());
+        assertSame(a1, b2.getDependencies().get(0));
+        assertSame(b1, b2.getDependencies().get(1));
+
+        // Удаление связи убирает именно эту задачу
+        b1.removeSubTask(b2);
+        assertEquals(List.of(), b1.getSubTasks());
+        assertSame(a1, b2.getDependencies().get(0));
+        assertEquals(1, b2.getDependencies().size());
+    }
+
+    @Test
+    void hashFollowsId() {
+        Task a = task("A");
+        Task b = task("B");
+        assertNotEquals(a, b);
+        a.setId(3L);
+        b.setId(3L);
+        assertEquals(a, b);
+        assertEquals(a.hashCode(), b.hashCode());
+    }
+}
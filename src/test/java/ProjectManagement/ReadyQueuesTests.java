@@ -0,0 +1,99 @@
+package ProjectManagement;
+
+import ResourceManagement.Resource;
+import TaskManagement.Task;
+import TaskManagement.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Следующая задача исполнителя из очередей совпадает с перебором задач проекта, в том числе после изменений
+class ReadyQueuesTests {
+
+    // Готовая задача исполнителя с наибольшим приоритетом, при равенстве - добавленная в проект раньше
+    private static Task expectedNext(Project project, Resource resource) {
+        Task best = null;
+        for (Task task : project.getTasks()) {
+            if (task.getAssignedResource() != resource || task.getStatus() != TaskStatus.NOT_STARTED) continue;
+            boolean ready = true;
+            for (Task dependency : task.getDependencies()) {
+                if (dependency.getStatus() != TaskStatus.COMPLETED) ready = false;
+            }
+            if (ready && (best == null || task.getPriority() > best.getPriority())) best = task;
+        }
+        return best;
+    }
+
+    @Test
+    void nextTaskMatchesScanAfterRandomChanges() {
+        for (long seed = 0; seed < 50; seed++) {
+            Random random = new Random(seed);
+            Project project = new Project("P", null);
+            List<Resource> resources = List.of(new Resource("R1", null), new Resource("R2", null));
+            project.addResources(resources);
+            // Часть задач вне проекта: они становятся внешними зависимостями
+            List<Task> tasks = new ArrayList<>();
+            for (int i = 0; i < 25; i++) {
+                Task task = new Task("T" + i, Duration.ofHours(1));
+                task.setPriority(1 + random.nextInt(5));
+                task.assignResource(resources.get(random.nextInt(resources.size())));
+                tasks.add(task);
+                if (random.nextBoolean()) project.addTask(task);
+            }
+            project.getNextTaskForResource(resources.get(0));
+
+            for (int step = 0; step < 300; step++) {
+                Task task = tasks.get(random.nextInt(tasks.size()));
+                Task other = tasks.get(random.nextInt(tasks.size()));
+                int kind = random.nextInt(8);
+                switch (kind) {
+                    case 0 -> {
+                        if (!project.getTasks().contains(task)) project.addTask(task);
+                    }
+                    case 1 -> project.removeTask(task);
+                    case 2 -> {
+                        if (tasks.indexOf(task) < tasks.indexOf(other) && !task.getSubTasks().contains(other)) task.addSubTask(other);
+                    }
+                    case 3 -> {
+                        if (task.getSubTasks().contains(other)) task.removeSubTask(other);
+                    }
+                    case 4 -> task.setStatus(TaskStatus.COMPLETED);
+                    case 5 -> task.setStatus(TaskStatus.NOT_STARTED);
+                    case 6 -> task.setPriority(1 + random.nextInt(5));
+                    default -> task.assignResource(resources.get(random.nextInt(resources.size())));
+                }
+                for (Resource resource : resources) {
+                    String where = "seed " + seed + ", step " + step + ", change " + kind + ", resource " + resource.getName();
+                    assertSame(expectedNext(project, resource), project.getNextTaskForResource(resource), where);
+                }
+            }
+        }
+    }
+
+    @Test
+    void externalDependencyBlocksUntilCompleted() {
+        Project project = new Project("P", null);
+        Resource resource = new Resource("R", null);
+        project.addResource(resource);
+        Task outside = new Task("Outside", Duration.ofHours(1));
+        Task inside = new Task("Inside", Duration.ofHours(1));
+        inside.assignResource(resource);
+        outside.addSubTask(inside);
+        project.addTask(inside);
+
+        assertNull(project.getNextTaskForResource(resource));
+        outside.setStatus(TaskStatus.COMPLETED);
+        assertSame(inside, project.getNextTaskForResource(resource));
+        outside.setStatus(TaskStatus.NOT_STARTED);
+        assertNull(project.getNextTaskForResource(resource));
+
+        // Без связи внешняя задача больше не влияет на очередь
+        outside.removeSubTask(inside);
+        assertSame(inside, project.getNextTaskForResource(resource));
+        inside.start();
+        assertNull(project.getNextTaskForResource(resource));
+    }
+}
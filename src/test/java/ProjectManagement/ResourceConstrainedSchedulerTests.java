@@ -0,0 +1,103 @@
+package ProjectManagement;
+
+import CalendarManagement.Calendar;
+import ResourceManagement.Resource;
+import TaskManagement.Task;
+import TaskManagement.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Расчет по событиям: освободившийся исполнитель берет готовую задачу с наивысшим приоритетом
+class ResourceConstrainedSchedulerTests {
+
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    private static Calendar calendar() {
+        return new Calendar(9, 17, new ArrayList<>(), new int[]{6, 7});
+    }
+
+    @Test
+    void laterReadyHigherPriorityTaskOvertakes() {
+        Project project = new Project("P", calendar());
+        Resource shared = new Resource("R", null);
+        Resource other = new Resource("S", null);
+        project.addResources(List.of(shared, other));
+        Task current = new Task("Current", Duration.ofHours(3));
+        Task low = new Task("Low", Duration.ofHours(1));
+        Task blocker = new Task("Blocker", Duration.ofHours(2));
+        Task high = new Task("High", Duration.ofHours(1));
+        current.assignResource(shared);
+        low.assignResource(shared);
+        blocker.assignResource(other);
+        high.assignResource(shared);
+        current.setPriority(50);
+        low.setPriority(10);
+        high.setPriority(90);
+        blocker.addSubTask(high);
+        project.addTasks(List.of(current, low, blocker, high));
+        project.setEstimatedStartDate(MONDAY);
+
+        project.calculateResourceConstrainedSchedule();
+        assertEquals(MONDAY, current.getEstimatedStartDate());
+        assertEquals(MONDAY.plusHours(2), blocker.getEstimatedEndDate());
+        // High стала готовой позже Low, но исполнитель освободился позже обеих
+        assertEquals(MONDAY.plusHours(3), high.getEstimatedStartDate());
+        assertEquals(MONDAY.plusHours(4), low.getEstimatedStartDate());
+    }
+
+    @Test
+    void randomScheduleRespectsDependenciesAndResources() {
+        for (long seed = 0; seed < 10; seed++) {
+            Random random = new Random(seed);
+            Project project = new Project("P", calendar());
+            List<Resource> resources = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                Resource resource = new Resource("R" + i, new Calendar(8 + random.nextInt(3), 15 + random.nextInt(3), new ArrayList<>(), new int[]{6, 7}));
+                resources.add(resource);
+                project.addResource(resource);
+            }
+            List<Task> tasks = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                Task task = new Task("T" + i, Duration.ofMinutes(30 + random.nextInt(600)));
+                task.assignResource(resources.get(random.nextInt(resources.size())));
+                task.setPriority(1 + random.nextInt(100));
+                if (random.nextInt(15) == 0) task.setStatus(TaskStatus.CANCELLED);
+                tasks.add(task);
+            }
+            for (int i = 0; i < 300; i++) {
+                int from = random.nextInt(tasks.size());
+                int to = random.nextInt(tasks.size());
+                if (from < to) tasks.get(from).addSubTask(tasks.get(to));
+            }
+            project.addTasks(tasks);
+            project.setEstimatedStartDate(MONDAY);
+            project.calculateResourceConstrainedSchedule();
+
+            Map<Resource, List<Task>> byResource = new IdentityHashMap<>();
+            for (Task task : tasks) {
+                String where = "seed " + seed + ", task " + task.getName();
+                assertFalse(task.getEstimatedStartDate().isBefore(MONDAY), where);
+                assertFalse(task.getEstimatedEndDate().isBefore(task.getEstimatedStartDate()), where);
+                for (Task dependency : task.getDependencies()) {
+                    assertFalse(task.getEstimatedStartDate().isBefore(dependency.getEstimatedEndDate()), where);
+                }
+                if (task.getStatus() != TaskStatus.CANCELLED) {
+                    byResource.computeIfAbsent(task.getAssignedResource(), r -> new ArrayList<>()).add(task);
+                }
+            }
+            // Задачи одного исполнителя не пересекаются
+            for (List<Task> list : byResource.values()) {
+                list.sort(Comparator.comparing(Task::getEstimatedStartDate));
+                for (int i = 1; i < list.size(); i++) {
+                    assertFalse(list.get(i).getEstimatedStartDate().isBefore(list.get(i - 1).getEstimatedEndDate()),
+                            "seed " + seed + ", task " + list.get(i).getName());
+                }
+            }
+        }
+    }
+}
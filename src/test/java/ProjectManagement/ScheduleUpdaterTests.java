@@ -0,0 +1,157 @@
+package ProjectManagement;
+
+import CalendarManagement.Calendar;
+import ResourceManagement.Resource;
+import TaskManagement.Task;
+import TaskManagement.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Перерасчет конуса измененных задач (recalculateProjectSchedule) дает те же сроки, что и полный calculateSchedule
+class ScheduleUpdaterTests {
+
+    private static final int TASKS = 40;
+    private static final int ROUNDS = 150;
+
+    @Test
+    void conePropagationMatchesFullSchedule() {
+        for (long seed = 0; seed < 10; seed++) {
+            compareOnRandomChanges(new Random(seed), seed);
+        }
+    }
+
+    private static void compareOnRandomChanges(Random random, long seed) {
+        Calendar calendar = new Calendar(9, 17, new ArrayList<>(List.of(LocalDate.of(2024, 1, 15))), new int[]{6, 7});
+        Project project = new Project("P", calendar);
+        List<Resource> resources = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Resource resource = new Resource("R" + i, new Calendar(8 + random.nextInt(3), 15 + random.nextInt(3), new ArrayList<>(), new int[]{6, 7}));
+            resources.add(resource);
+            project.addResource(resource);
+        }
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < TASKS; i++) tasks.add(newTask("T" + i, random, resources));
+        for (int i = 0; i < TASKS; i++) {
+            int from = random.nextInt(TASKS);
+            int to = random.nextInt(TASKS);
+            if (from < to) tasks.get(from).addSubTask(tasks.get(to));
+        }
+        project.addTasks(tasks);
+        project.setEstimatedStartDate(LocalDateTime.of(2024, 1, 1, 10, 0));
+        project.calculateSchedule();
+
+        for (int round = 0; round < ROUNDS; round++) {
+            List<Task> current = new ArrayList<>(project.getTasks());
+            Task task = current.get(random.nextInt(current.size()));
+            Task other = current.get(random.nextInt(current.size()));
+            int kind = random.nextInt(8);
+            switch (kind) {
+                case 0 -> task.setEstimatedDuration(Duration.ofMinutes(30 + random.nextInt(600)));
+                case 1 -> project.changeResource(task, resources.get(random.nextInt(resources.size())));
+                case 2 -> {
+                    if (task.getStatus() == TaskStatus.NOT_STARTED && random.nextInt(3) == 0) project.cancelTask(task);
+                }
+                case 3 -> task.addSubTask(other);
+                case 4 -> {
+                    if (current.size() > 3) project.removeTask(task);
+                }
+                case 5 -> {
+                    Task added = newTask("N" + round, random, resources);
+                    if (random.nextBoolean()) added.addDependentTask(task);
+                    else added.addSubTask(task);
+                    project.addTask(added);
+                }
+                case 6 -> task.setPriority(1 + random.nextInt(100));
+                default -> {
+                    if (!task.getSubTasks().isEmpty()) task.removeSubTask(task.getSubTasks().get(0));
+                }
+            }
+
+            project.recalculateProjectSchedule();
+            Map<Task, LocalDateTime[]> incremental = new IdentityHashMap<>();
+            for (Task t : project.getTasks()) {
+                incremental.put(t, new LocalDateTime[]{t.getEstimatedStartDate(), t.getEstimatedEndDate()});
+            }
+            project.calculateSchedule();
+            for (Task t : project.getTasks()) {
+                String where = "seed " + seed + ", round " + round + ", change " + kind + ", task " + t.getName();
+                assertEquals(t.getEstimatedStartDate(), incremental.get(t)[0], where);
+                assertEquals(t.getEstimatedEndDate(), incremental.get(t)[1], where);
+            }
+        }
+    }
+
+    @Test
+    void higherPriorityTaskAddedLaterGoesFirstOnSharedResource() {
+        Project project = new Project("P", new Calendar(9, 17, new ArrayList<>(), new int[]{6, 7}));
+        Resource resource = new Resource("R", null);
+        project.addResource(resource);
+        Task low = new Task("Low", Duration.ofHours(2));
+        Task high = new Task("High", Duration.ofHours(2));
+        low.assignResource(resource);
+        high.assignResource(resource);
+        low.setPriority(10);
+        high.setPriority(90);
+        project.addTasks(List.of(low, high));
+        LocalDateTime monday = LocalDateTime.of(2024, 1, 1, 9, 0);
+        project.setEstimatedStartDate(monday);
+
+        project.calculateSchedule();
+        assertEquals(monday, high.getEstimatedStartDate());
+        assertEquals(monday.plusHours(2), low.getEstimatedStartDate());
+
+        // Смена приоритета меняет очередь исполнителя и при инкрементальном пересчете
+        low.setPriority(95);
+        project.recalculateProjectSchedule();
+        assertEquals(monday, low.getEstimatedStartDate());
+        assertEquals(monday.plusHours(2), high.getEstimatedStartDate());
+    }
+
+    @Test
+    void statusChangesFromSeveralThreadsAreAllRecalculated() throws InterruptedException {
+        Random random = new Random(11);
+        Project project = new Project("P", new Calendar(9, 17, new ArrayList<>(), new int[]{6, 7}));
+        List<Resource> resources = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Resource resource = new Resource("R" + i, null);
+            resources.add(resource);
+            project.addResource(resource);
+        }
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) tasks.add(newTask("T" + i, random, resources));
+        project.addTasks(tasks);
+        project.setEstimatedStartDate(LocalDateTime.of(2024, 1, 1, 9, 0));
+        project.calculateSchedule();
+
+        // Каждый поток отменяет свою часть задач (как прерванные потоки ProjectExecutor)
+        int threads = 8;
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int first = t;
+            workers.add(Thread.ofVirtual().start(() -> {
+                for (int i = first; i < tasks.size(); i += threads) {
+                    if (i % 3 == 0) tasks.get(i).cancelTask();
+                }
+            }));
+        }
+        for (Thread worker : workers) worker.join();
+
+        project.recalculateProjectSchedule();
+        Map<Task, LocalDateTime> incremental = new IdentityHashMap<>();
+        for (Task t : tasks) incremental.put(t, t.getEstimatedStartDate());
+        project.calculateSchedule();
+        for (Task t : tasks) assertEquals(t.getEstimatedStartDate(), incremental.get(t), t.getName());
+    }
+
+    private static Task newTask(String name, Random random, List<Resource> resources) {
+        Task task = new Task(name, Duration.ofMinutes(30 + random.nextInt(600)));
+        task.assignResource(resources.get(random.nextInt(resources.size())));
+        return task;
+    }
+}
@@ -0,0 +1,154 @@
+package ProjectManagement;
+
+import TaskManagement.Task;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Порядок проекта поддерживается при добавлении связей и задач; связь, замыкающая цикл, отклоняется
+class TaskOrderTests {
+
+    private static Task task(String name) {
+        return new Task(name, Duration.ofHours(1));
+    }
+
+    // Каждая связь идет вперед по порядку, позиции согласованы со списком
+    private static void assertTopological(Project project) {
+        TaskOrder order = project.getTaskOrder();
+        List<Task> sorted = project.getSortedTasks();
+        assertEquals(project.getTasks().size(), sorted.size());
+        for (int i = 0; i < sorted.size(); i++) {
+            Task task = sorted.get(i);
+            assertEquals(i, order.positionOf(task));
+            assertSame(task, order.taskAt(i));
+            for (Task subTask : task.getSubTasks()) {
+                assertTrue(order.positionOf(subTask) > i, () -> task.getName() + " -> " + subTask.getName());
+            }
+        }
+    }
+
+    private static boolean reachable(Task from, Task to) {
+        Set<Task> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<Task> stack = new ArrayDeque<>(List.of(from));
+        while (!stack.isEmpty()) {
+            Task current = stack.pop();
+            if (current == to) return true;
+            for (Task next : current.getSubTasks()) {
+                if (visited.add(next)) stack.push(next);
+            }
+        }
+        return false;
+    }
+
+    @Test
+    void edgesAddedInAnyDirectionKeepOrderAndCyclesAreRejected() {
+        Random random = new Random(3);
+        Project project = new Project("P", null);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 80; i++) tasks.add(task("T" + i));
+        project.addTasks(tasks);
+
+        int rejected = 0;
+        for (int i = 0; i < 300; i++) {
+            Task parent = tasks.get(random.nextInt(tasks.size()));
+            Task child = tasks.get(random.nextInt(tasks.size()));
+            if (parent.getSubTasks().contains(child)) continue;
+            boolean cycle = reachable(child, parent);
+            parent.addSubTask(child);
+            assertEquals(!cycle, parent.getSubTasks().contains(child), () -> parent.getName() + " -> " + child.getName());
+            if (cycle) rejected++;
+            assertTopological(project);
+        }
+        assertTrue(rejected > 0);
+    }
+
+    @Test
+    void cycleWithinProjectThrowsAndLeavesOrder() {
+        Project project = new Project("P", null);
+        Task a = task("A");
+        Task b = task("B");
+        Task c = task("C");
+        project.addTasks(List.of(a, b, c));
+        a.addSubTask(b);
+        b.addSubTask(c);
+        List<Task> before = new ArrayList<>(project.getSortedTasks());
+
+        assertThrows(IllegalArgumentException.class, () -> c.addSubTasks(List.of(a)));
+        assertFalse(c.getSubTasks().contains(a));
+        assertEquals(before, project.getSortedTasks());
+    }
+
+    @Test
+    void taskClosingCycleIsNotAdded() {
+        // Связи вне проекта не проверяются: цикл обнаруживается при добавлении последней задачи
+        Task x = task("X");
+        Task y = task("Y");
+        Task z = task("Z");
+        x.addSubTask(y);
+        y.addSubTask(z);
+        z.addSubTask(x);
+
+        Project project = new Project("P", null);
+        project.addTask(x);
+        project.addTask(y);
+        assertThrows(IllegalStateException.class, () -> project.addTask(z));
+        assertEquals(List.of(x, y), project.getTasks());
+        assertFalse(project.getTaskOrder().contains(z));
+        assertEquals(2, project.getTaskOrder().size());
+    }
+
+    @Test
+    void scheduleOrderTakesHigherPriorityReadyTaskFirst() {
+        Project project = new Project("P", null);
+        Task a = task("A");
+        Task b = task("B");
+        Task c = task("C");
+        Task d = task("D");
+        a.setPriority(50);
+        b.setPriority(90);
+        c.setPriority(100);
+        d.setPriority(70);
+        a.addSubTask(c);
+        project.addTasks(List.of(a, b, c, d));
+
+        assertEquals(List.of(a, b, c, d), project.getSortedTasks());
+        assertEquals(List.of(b, d, a, c), project.getTaskOrder().getScheduleOrder().getTasks());
+
+        // Смена приоритета строит новый порядок расчета; поддерживаемый порядок не меняется
+        TaskOrder.ScheduleOrder before = project.getTaskOrder().getScheduleOrder();
+        a.setPriority(95);
+        TaskOrder.ScheduleOrder after = project.getTaskOrder().getScheduleOrder();
+        assertNotSame(before, after);
+        assertEquals(List.of(a, c, b, d), after.getTasks());
+        assertEquals(List.of(a, b, c, d), project.getSortedTasks());
+    }
+
+    @Test
+    void addingTasksWithEdgesKeepsOrder() {
+        Random random = new Random(5);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 60; i++) tasks.add(task("T" + i));
+        for (int i = 0; i < 120; i++) {
+            int from = random.nextInt(tasks.size());
+            int to = random.nextInt(tasks.size());
+            if (from < to) tasks.get(from).addSubTask(tasks.get(to));
+        }
+        // Задачи добавляются в обратном порядке: подзадачи раньше родителей
+        Collections.reverse(tasks);
+        Project project = new Project("P", null);
+        project.addTasks(tasks);
+        assertTopological(project);
+
+        // Порядок расчета тоже топологический
+        TaskOrder.ScheduleOrder scheduleOrder = project.getTaskOrder().getScheduleOrder();
+        assertEquals(tasks.size(), scheduleOrder.size());
+        for (Task task : tasks) {
+            for (Task subTask : task.getSubTasks()) {
+                assertTrue(scheduleOrder.positionOf(subTask) > scheduleOrder.positionOf(task));
+            }
+        }
+    }
+}
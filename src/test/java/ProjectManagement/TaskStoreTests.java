@@ -0,0 +1,127 @@
+package ProjectManagement;
+
+import CalendarManagement.Calendar;
+import ResourceManagement.Resource;
+import TaskManagement.Task;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Сроки, рассчитанные в TaskStore и записанные обратно (applyTo), совпадают с расчетом проекта
+class TaskStoreTests {
+
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    private static Calendar calendar() {
+        return new Calendar(9, 17, new ArrayList<>(), new int[]{6, 7});
+    }
+
+    // Сроки задач проекта: сначала расчет хранилища, затем расчет проекта
+    private static void assertStoreMatchesProject(Project project, String where) {
+        TaskStore store = TaskStore.from(project);
+        store.calculateSchedule(project.getEstimatedStartDate(), project.getProjectCalendar());
+        store.applyTo(project);
+        Map<Task, LocalDateTime[]> fromStore = new IdentityHashMap<>();
+        for (Task task : project.getTasks()) {
+            fromStore.put(task, new LocalDateTime[]{task.getEstimatedStartDate(), task.getEstimatedEndDate()});
+        }
+        project.calculateSchedule();
+        for (Task task : project.getTasks()) {
+            assertEquals(task.getEstimatedStartDate(), fromStore.get(task)[0], where + ", task " + task.getName());
+            assertEquals(task.getEstimatedEndDate(), fromStore.get(task)[1], where + ", task " + task.getName());
+        }
+    }
+
+    @Test
+    void datesGoBackToTheirTasksWhenRowsAreReordered() {
+        // Порядок строк хранилища (по приоритету) отличается от порядка задач проекта
+        Project project = new Project("P", calendar());
+        Resource resource = new Resource("R", null);
+        project.addResource(resource);
+        Task x = new Task("X", Duration.ofHours(1));
+        Task y = new Task("Y", Duration.ofHours(2));
+        Task z = new Task("Z", Duration.ofHours(5));
+        x.setPriority(10);
+        y.setPriority(50);
+        z.setPriority(90);
+        for (Task task : List.of(x, y, z)) task.assignResource(resource);
+        project.addTasks(List.of(x, y, z));
+        project.setEstimatedStartDate(MONDAY);
+
+        TaskStore store = TaskStore.from(project);
+        assertEquals(z.getId().intValue(), store.getId(0));
+        store.calculateSchedule(MONDAY, project.getProjectCalendar());
+        store.applyTo(project);
+
+        assertEquals(MONDAY, z.getEstimatedStartDate());
+        assertEquals(MONDAY.plusHours(5), z.getEstimatedEndDate());
+        assertEquals(MONDAY.plusHours(5), y.getEstimatedStartDate());
+        assertEquals(MONDAY.plusHours(7), y.getEstimatedEndDate());
+        assertEquals(MONDAY.plusHours(7), x.getEstimatedStartDate());
+
+        assertStoreMatchesProject(project, "X/Y/Z");
+    }
+
+    @Test
+    void randomProjectsMatchProjectSchedule() {
+        for (long seed = 0; seed < 10; seed++) {
+            Random random = new Random(seed);
+            Project project = new Project("P", calendar());
+            List<Resource> resources = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                Resource resource = new Resource("R" + i, new Calendar(8 + random.nextInt(3), 15 + random.nextInt(3), new ArrayList<>(), new int[]{6, 7}));
+                resources.add(resource);
+                project.addResource(resource);
+            }
+            List<Task> tasks = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                Task task = new Task("T" + i, Duration.ofMinutes(30 + random.nextInt(600)));
+                task.setPriority(1 + random.nextInt(100));
+                task.assignResource(resources.get(random.nextInt(resources.size())));
+                tasks.add(task);
+            }
+            for (int i = 0; i < 50; i++) {
+                int from = random.nextInt(tasks.size());
+                int to = random.nextInt(tasks.size());
+                if (from < to) tasks.get(from).addSubTask(tasks.get(to));
+            }
+            project.addTasks(tasks);
+            project.setEstimatedStartDate(MONDAY.plusHours(1));
+            assertStoreMatchesProject(project, "seed " + seed);
+        }
+    }
+
+    @Test
+    void changedProjectIsRejected() {
+        Project project = new Project("P", calendar());
+        Task a = new Task("A", Duration.ofHours(1));
+        Task b = new Task("B", Duration.ofHours(1));
+        Resource resource = new Resource("R", null);
+        project.addResource(resource);
+        a.assignResource(resource);
+        b.assignResource(resource);
+        project.addTasks(List.of(a, b));
+        TaskStore store = TaskStore.from(project);
+        store.calculateSchedule(MONDAY, project.getProjectCalendar());
+
+        project.removeTask(b);
+        Task c = new Task("C", Duration.ofHours(1));
+        c.assignResource(resource);
+        project.addTask(c);
+        assertThrows(IllegalStateException.class, () -> store.applyTo(project));
+        assertNull(a.getEstimatedStartDate());
+    }
+
+    @Test
+    void idOutsideIntRangeIsRejected() {
+        Project project = new Project("P", calendar());
+        Task task = new Task("A", Duration.ofHours(1));
+        task.setId(Integer.MAX_VALUE + 1L);
+        project.addTask(task);
+        assertThrows(IllegalArgumentException.class, () -> TaskStore.from(project));
+    }
+}
@@ -0,0 +1,119 @@
+package ProjectManagement;
+
+import TaskManagement.Task;
+import TaskManagement.TaskField;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Отложенная запись: пишутся только измененные задачи и поля, изменения задачи сливаются, сбойные изменения отклоняются
+class WriteBehindFlusherTests {
+
+    // Хранилище без базы: запоминает пакеты, может отказывать в записи выбранных задач
+    private static final class RecordingRepository extends ProjectRepoitory {
+        final List<List<TaskChange>> batches = new ArrayList<>();
+        final Set<Long> failing = new HashSet<>();
+
+        RecordingRepository() {
+            super(null);
+        }
+
+        @Override
+        public int updateTasks(long projectId, List<TaskChange> changes) {
+            for (TaskChange change : changes) {
+                if (failing.contains(change.getId())) throw new IllegalStateException("Row " + change.getId() + " failed");
+            }
+            batches.add(List.copyOf(changes));
+            return changes.size();
+        }
+    }
+
+    private static Project project(int tasks) {
+        Project project = new Project("P", null);
+        for (int i = 0; i < tasks; i++) project.addTask(new Task("T" + i, Duration.ofHours(1)));
+        project.enableChangeTracking();
+        project.drainChanges(); // Отметки новых задач
+        return project;
+    }
+
+    @Test
+    void onlyChangedFieldsAreWrittenInBatches() {
+        Project project = project(100);
+        RecordingRepository repository = new RecordingRepository();
+        WriteBehindFlusher flusher = new WriteBehindFlusher(repository, project, 1, Duration.ofMinutes(1), 2);
+
+        List<Task> tasks = project.getTasks();
+        tasks.get(3).setPriority(70);
+        tasks.get(3).setEstimatedDuration(Duration.ofHours(5));
+        tasks.get(7).setName("Renamed");
+        tasks.get(9).setPriority(20);
+        assertEquals(3, flusher.flush());
+
+        assertEquals(2, repository.batches.size());
+        Map<Long, TaskChange> written = new HashMap<>();
+        for (List<TaskChange> batch : repository.batches) {
+            assertTrue(batch.size() <= 2);
+            for (TaskChange change : batch) written.put(change.getId(), change);
+        }
+        TaskChange third = written.get(tasks.get(3).getId());
+        assertTrue(third.getFields().containsAll(EnumSet.of(TaskField.PRIORITY, TaskField.DURATION)));
+        assertEquals(70, third.getPriority());
+        assertEquals(Set.of(TaskField.NAME), written.get(tasks.get(7).getId()).getFields());
+        assertEquals(3, written.size());
+
+        // Без новых изменений писать нечего
+        assertEquals(0, flusher.flush());
+    }
+
+    @Test
+    void failedChangeIsMergedRetriedAndFinallyRejected() {
+        Project project = project(10);
+        RecordingRepository repository = new RecordingRepository();
+        WriteBehindFlusher flusher = new WriteBehindFlusher(repository, project, 1, Duration.ofMinutes(1), 50);
+        Task poison = project.getTasks().get(2);
+        Task healthy = project.getTasks().get(5);
+        repository.failing.add(poison.getId());
+
+        poison.setPriority(60);
+        healthy.setPriority(40);
+        assertThrows(IllegalStateException.class, flusher::flush);
+        assertEquals(2, flusher.getPendingCount());
+
+        // Второе изменение той же задачи сливается с первым; после неудачи задачи пишутся по одной,
+        // поэтому здоровая задача записывается, а сбойная после MAX_ATTEMPTS попыток отклоняется
+        poison.setName("Poison");
+        int failures = 1;
+        for (int attempt = 0; attempt < 5 && flusher.getPendingCount() > 0; attempt++) {
+            try {
+                flusher.flush();
+            } catch (IllegalStateException e) {
+                failures++;
+            }
+        }
+        assertEquals(3, failures);
+        assertEquals(0, flusher.getPendingCount());
+        assertEquals(List.of(List.of(healthy.getId())),
+                repository.batches.stream().map(batch -> batch.stream().map(TaskChange::getId).toList()).toList());
+        List<TaskChange> rejected = flusher.drainRejected();
+        assertEquals(1, rejected.size());
+        assertEquals(EnumSet.of(TaskField.PRIORITY, TaskField.NAME), rejected.get(0).getFields());
+        assertEquals("Poison", rejected.get(0).getName());
+    }
+
+    @Test
+    void changesAreNotCollectedWhileTrackingIsDisabled() {
+        Project project = project(5);
+        project.disableChangeTracking();
+        project.getTasks().get(0).setPriority(99);
+        assertTrue(project.drainChanges().isEmpty());
+
+        // Отметка задачи сохраняется и попадает в сбор после включения
+        project.enableChangeTracking();
+        List<TaskChange> changes = project.drainChanges();
+        assertEquals(1, changes.size());
+        assertEquals(99, changes.get(0).getPriority());
+    }
+}
@@ -0,0 +1,96 @@
+package ResourceManagement;
+
+import CalendarManagement.Calendar;
+import TaskManagement.Task;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Занятость исполнителя: поиск окна, бронирование и снятие совпадают с перебором по минутам
+class ResourceTimelineTests {
+
+    private static final int HORIZON = 3000;
+
+    @Test
+    void earliestSlotMatchesMinuteScan() {
+        for (long seed = 0; seed < 20; seed++) {
+            Random random = new Random(seed);
+            ResourceTimeline timeline = new Resource("R", null).getTimeline();
+            Task[] busy = new Task[HORIZON]; // Задача, занимающая минуту
+            List<Task> booked = new ArrayList<>();
+
+            for (int step = 0; step < 400; step++) {
+                if (!booked.isEmpty() && random.nextInt(3) == 0) {
+                    Task task = booked.remove(random.nextInt(booked.size()));
+                    assertTrue(timeline.release(task));
+                    for (int m = 0; m < HORIZON; m++) if (busy[m] == task) busy[m] = null;
+                    continue;
+                }
+                long notBefore = random.nextInt(HORIZON / 2);
+                long minutes = 1 + random.nextInt(60);
+                long expected = notBefore;
+                while (!free(busy, expected, expected + minutes)) expected++;
+
+                long found = timeline.findEarliestSlot(notBefore, minutes, null, null);
+                assertEquals(expected, found, "seed " + seed + ", step " + step);
+                assertTrue(timeline.isFree(found, found + minutes));
+                if (found + minutes > HORIZON) continue;
+
+                Task task = new Task("T" + step, Duration.ofMinutes(minutes));
+                timeline.book(task, found, found + minutes);
+                for (long m = found; m < found + minutes; m++) busy[(int) m] = task;
+                booked.add(task);
+                assertEquals(booked.size(), timeline.size());
+            }
+
+            // Бронирования идут в порядке времени
+            List<Task> ordered = new ArrayList<>();
+            for (int m = 0; m < HORIZON; m++) {
+                if (busy[m] != null && (m == 0 || busy[m - 1] != busy[m])) ordered.add(busy[m]);
+            }
+            assertEquals(ordered, timeline.getBookedTasks());
+        }
+    }
+
+    private static boolean free(Task[] busy, long start, long end) {
+        for (long m = start; m < Math.min(end, HORIZON); m++) {
+            if (busy[(int) m] != null) return false;
+        }
+        return true;
+    }
+
+    @Test
+    void bookingChecksOverlapAndReplacesPreviousBooking() {
+        ResourceTimeline timeline = new Resource("R", null).getTimeline();
+        Task a = new Task("A", Duration.ofHours(1));
+        Task b = new Task("B", Duration.ofHours(1));
+        LocalDateTime nine = LocalDateTime.of(2024, 1, 1, 9, 0);
+        timeline.book(a, nine, nine.plusHours(1));
+        assertThrows(IllegalStateException.class, () -> timeline.book(b, nine.plusMinutes(30), nine.plusHours(2)));
+        assertFalse(timeline.isBooked(b));
+
+        // Повторное бронирование переносит задачу, пустой интервал снимает бронирование
+        timeline.book(a, nine.plusHours(2), nine.plusHours(3));
+        assertTrue(timeline.isFree(nine, nine.plusHours(2)));
+        timeline.book(a, nine, nine);
+        assertFalse(timeline.isBooked(a));
+        assertEquals(0, timeline.size());
+    }
+
+    @Test
+    void shortTaskFillsGapWithinWorkingHours() {
+        Calendar calendar = new Calendar(9, 17, new ArrayList<>(), new int[]{6, 7});
+        ResourceTimeline timeline = new Resource("R", null).getTimeline();
+        LocalDateTime monday = LocalDateTime.of(2024, 1, 1, 9, 0);
+        timeline.book(new Task("A", Duration.ofHours(2)), monday, monday.plusHours(2));
+        timeline.book(new Task("B", Duration.ofHours(4)), monday.plusHours(3), monday.plusHours(7));
+
+        assertEquals(monday.plusHours(2), timeline.findEarliestSlot(monday, Duration.ofHours(1), calendar));
+        // Двухчасовая работа не помещается в окно и начинается после B, продолжаясь во вторник утром
+        assertEquals(monday.plusHours(7), timeline.findEarliestSlot(monday, Duration.ofHours(2), calendar));
+    }
+}